@@ -0,0 +1,151 @@
+package com.hygie.llmorchestrator.benchmark;
+
+import com.hygie.llmorchestrator.model.AnalysisCategory;
+import com.hygie.llmorchestrator.model.ConfidenceLevel;
+import com.hygie.llmorchestrator.model.LlmRecommendation;
+import com.hygie.llmorchestrator.model.RecommendationSource;
+import com.hygie.llmorchestrator.service.ContradictionIndex;
+import kotlin.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmarks de la détection des contradictions entre recommandations.
+ *
+ * Compare l'ancien chemin de {@code ResponseValidationService} (chaque paire de
+ * recommandations comparée, texte des deux recommandations remis en minuscules
+ * et parcouru pour chaque opposition) à {@link ContradictionIndex}, qui indexe
+ * les recommandations par médicament et catégorie et analyse chaque texte une
+ * fois. Les recommandations sont générées: un à trois médicaments parmi
+ * cinquante, catégories uniformes, un terme d'opposition dans un texte sur deux.
+ * 500 recommandations correspondent à une réponse d'ensemble fusionnant les
+ * sorties de plusieurs modèles.
+ *
+ * Exécution: {@code java -jar target/benchmarks.jar ContradictionDetectionBenchmark}
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ContradictionDetectionBenchmark {
+
+    private static final String[][] OPPOSITIONS = {
+        {"augmenter", "diminuer"},
+        {"majorer", "réduire"},
+        {"arrêter", "continuer"},
+        {"interrompre", "poursuivre"},
+        {"contre-indiqué", "recommandé"}
+    };
+
+    private static final String FILLER =
+        "Compte tenu de la fonction rénale et des antécédents du patient, il convient de réévaluer le traitement";
+
+    @Param({"50", "500"})
+    private int recommendationCount;
+
+    private List<LlmRecommendation> recommendations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(42);
+        final AnalysisCategory[] categories = AnalysisCategory.values();
+        final ConfidenceLevel confidence = new ConfidenceLevel(0.8, "Recommandation générée", null);
+        final List<RecommendationSource> sources =
+            List.of(new RecommendationSource("guideline", "HAS 2023", null, 2023));
+
+        recommendations = new ArrayList<>(recommendationCount);
+        for (int i = 0; i < recommendationCount; i++) {
+            final List<String> medications = new ArrayList<>();
+            final int medicationCount = 1 + random.nextInt(3);
+            for (int m = 0; m < medicationCount; m++) {
+                medications.add("Medicament" + random.nextInt(50));
+            }
+
+            String suggestion = FILLER;
+            if (random.nextBoolean()) {
+                final String[] opposition = OPPOSITIONS[random.nextInt(OPPOSITIONS.length)];
+                suggestion = FILLER + ", puis " + opposition[random.nextInt(2)] + " la posologie.";
+            }
+
+            recommendations.add(new LlmRecommendation(
+                "rec-" + i,
+                categories[random.nextInt(categories.length)],
+                "Recommandation " + i + " portant sur " + String.join(", ", medications),
+                suggestion,
+                medications,
+                confidence,
+                sources));
+        }
+    }
+
+    @Benchmark
+    public List<Pair<LlmRecommendation, LlmRecommendation>> detectLegacy() {
+        final List<Pair<LlmRecommendation, LlmRecommendation>> contradictions = new ArrayList<>();
+        for (int i = 0; i < recommendations.size(); i++) {
+            for (int j = i + 1; j < recommendations.size(); j++) {
+                final LlmRecommendation rec1 = recommendations.get(i);
+                final LlmRecommendation rec2 = recommendations.get(j);
+                final Set<String> commonMedications = new HashSet<>(rec1.getMedications());
+                commonMedications.retainAll(new HashSet<>(rec2.getMedications()));
+                if (!commonMedications.isEmpty() && legacyAreContradictory(rec1, rec2)) {
+                    contradictions.add(new Pair<>(rec1, rec2));
+                }
+            }
+        }
+        return contradictions;
+    }
+
+    @Benchmark
+    public List<Pair<LlmRecommendation, LlmRecommendation>> detect() {
+        return ContradictionIndex.Companion.detect(recommendations);
+    }
+
+    // Équivalent de l'ancien ResponseValidationService.areContradictory
+    private static boolean legacyAreContradictory(LlmRecommendation rec1, LlmRecommendation rec2) {
+        final Set<Set<AnalysisCategory>> contradictoryPairs = Set.of(
+            Set.of(AnalysisCategory.DOSAGE_ADJUSTMENT, AnalysisCategory.ADHERENCE_OPTIMIZATION),
+            Set.of(AnalysisCategory.CONTRAINDICATION, AnalysisCategory.COST_OPTIMIZATION));
+        if (!contradictoryPairs.contains(categories(rec1.getCategory(), rec2.getCategory()))) {
+            return false;
+        }
+
+        final String combinedText1 = (rec1.getDescription() + " " + rec1.getSuggestion()).toLowerCase();
+        final String combinedText2 = (rec2.getDescription() + " " + rec2.getSuggestion()).toLowerCase();
+        for (final String[] opposition : OPPOSITIONS) {
+            if ((combinedText1.contains(opposition[0]) && combinedText2.contains(opposition[1]))
+                    || (combinedText1.contains(opposition[1]) && combinedText2.contains(opposition[0]))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<AnalysisCategory> categories(AnalysisCategory first, AnalysisCategory second) {
+        final Set<AnalysisCategory> categories = new HashSet<>();
+        categories.add(first);
+        categories.add(second);
+        return categories;
+    }
+}
@@ -0,0 +1,179 @@
+package com.hygie.llmorchestrator.benchmark;
+
+import com.hygie.llmorchestrator.service.MedicalTermMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Micro-benchmarks de la normalisation terminologique des réponses LLM.
+ *
+ * Compare l'ancien chemin de {@code MedicalTermsService} (une expression
+ * régulière compilée puis appliquée à tout le texte pour chaque terme et chaque
+ * abréviation, à chaque appel) à {@link MedicalTermMatcher}, qui reconnaît
+ * tous les termes en une passe. Le dictionnaire et les réponses sont générés:
+ * termes de un à trois mots, abréviations pour un terme sur cinq, réponses dont
+ * environ un mot sur vingt appartient au dictionnaire.
+ *
+ * Exécution: {@code java -jar target/benchmarks.jar MedicalTermsBenchmark}
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class MedicalTermsBenchmark {
+
+    private static final String[] SYLLABLES = {
+        "ca", "ro", "mi", "te", "lo", "pra", "zol", "dine", "xa", "ban", "sar", "tan", "vas", "tine",
+        "pam", "lol", "ril", "mab", "cil", "fen", "ine", "ol", "ide", "one", "ate", "ium"
+    };
+
+    @Param({"500", "5000"})
+    private int dictionarySize;
+
+    // Réponses LLM courante (4 Ko) et longue (64 Ko)
+    @Param({"4096", "65536"})
+    private int responseLength;
+
+    private Map<String, String> standardTerms;
+    private Map<String, String> abbreviations;
+    private MedicalTermMatcher matcher;
+    private String response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(42);
+        standardTerms = new LinkedHashMap<>();
+        abbreviations = new LinkedHashMap<>();
+        while (standardTerms.size() < dictionarySize) {
+            final int words = 1 + random.nextInt(3);
+            final StringBuilder term = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    term.append(' ');
+                }
+                term.append(word(random));
+            }
+            final String commonTerm = term.toString();
+            final String standardTerm = Character.toUpperCase(commonTerm.charAt(0)) + commonTerm.substring(1);
+            standardTerms.put(commonTerm, standardTerm);
+            if (standardTerms.size() % 5 == 0) {
+                abbreviations.put(abbreviation(commonTerm, standardTerms.size()), standardTerm);
+            }
+        }
+
+        final Map<String, String> allTerms = new HashMap<>(standardTerms);
+        allTerms.putAll(abbreviations);
+        matcher = new MedicalTermMatcher(allTerms);
+
+        final String[] terms = standardTerms.keySet().toArray(new String[0]);
+        final StringBuilder text = new StringBuilder(responseLength + 64);
+        while (text.length() < responseLength) {
+            if (random.nextInt(20) == 0) {
+                text.append(terms[random.nextInt(terms.length)].toUpperCase());
+            } else {
+                text.append(word(random));
+            }
+            text.append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        response = text.toString();
+    }
+
+    @Benchmark
+    public String normalizeLegacy() {
+        String normalizedText = response;
+        for (final Map.Entry<String, String> abbreviation : abbreviations.entrySet()) {
+            normalizedText = legacyPattern(abbreviation.getKey()).matcher(normalizedText)
+                .replaceAll(abbreviation.getValue());
+        }
+        for (final Map.Entry<String, String> term : standardTerms.entrySet()) {
+            normalizedText = legacyPattern(term.getKey()).matcher(normalizedText).replaceAll(term.getValue());
+        }
+        return normalizedText;
+    }
+
+    @Benchmark
+    public String normalize() {
+        return matcher.replaceAll(response);
+    }
+
+    @Benchmark
+    public Map<String, String> extractLegacy() {
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (final Map.Entry<String, String> term : standardTerms.entrySet()) {
+            if (legacyPattern(term.getKey()).matcher(response).find()) {
+                result.put(term.getKey(), term.getValue());
+            }
+        }
+        for (final Map.Entry<String, String> abbreviation : abbreviations.entrySet()) {
+            if (legacyPattern(abbreviation.getKey()).matcher(response).find()) {
+                result.put(abbreviation.getKey(), abbreviation.getValue());
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Map<String, String> extract() {
+        final Map<String, String> result = new LinkedHashMap<>();
+        final List<MedicalTermMatcher.Match> matches = matcher.findAll(response);
+        for (final MedicalTermMatcher.Match match : matches) {
+            result.put(match.getTerm(), match.getReplacement());
+        }
+        return result;
+    }
+
+    /**
+     * Coût de construction de l'automate, payé une fois au chargement du dictionnaire.
+     */
+    @Benchmark
+    public MedicalTermMatcher buildMatcher() {
+        final Map<String, String> allTerms = new HashMap<>(standardTerms);
+        allTerms.putAll(abbreviations);
+        return new MedicalTermMatcher(allTerms);
+    }
+
+    // Équivalent de "\\b$term\\b".toRegex(RegexOption.IGNORE_CASE)
+    private static Pattern legacyPattern(String term) {
+        return Pattern.compile("\\b" + term + "\\b", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    private static String word(SplittableRandom random) {
+        final int syllables = 2 + random.nextInt(3);
+        final StringBuilder word = new StringBuilder();
+        for (int s = 0; s < syllables; s++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    private static String abbreviation(String term, int index) {
+        final StringBuilder abbreviation = new StringBuilder();
+        for (final String word : term.split(" ")) {
+            abbreviation.append(word.charAt(0));
+        }
+        return abbreviation.append(index).toString();
+    }
+}
@@ -5,12 +5,15 @@ import com.hygie.llmorchestrator.model.AnalysisCategory
 import com.hygie.llmorchestrator.model.LlmModelType
 import com.hygie.llmorchestrator.model.LlmRequest
 import com.hygie.llmorchestrator.model.LlmResponse
+import com.hygie.llmorchestrator.model.LlmStreamEvent
+import com.hygie.llmorchestrator.model.LlmStreamEventType
 import com.hygie.llmorchestrator.service.LlmOrchestratorService
 import io.micrometer.core.annotation.Timed
 import org.slf4j.LoggerFactory
 import org.springframework.http.HttpStatus
 import org.springframework.http.MediaType
 import org.springframework.http.ResponseEntity
+import org.springframework.http.codec.ServerSentEvent
 import org.springframework.validation.annotation.Validated
 import org.springframework.web.bind.annotation.*
 import reactor.core.publisher.Flux
@@ -88,6 +91,65 @@ class LlmOrchestratorController(
             }
     }
 
+    /**
+     * Endpoint pour soumettre une requête d'analyse en recevant les recommandations
+     * au fil de leur génération (Server-Sent Events).
+     *
+     * Événements émis: `recommendation` pour chaque recommandation validée, puis
+     * `complete` avec la réponse complète qui fait foi, ou `error` en cas d'échec.
+     *
+     * @param request La requête contenant les données d'analyse
+     * @return Un flux d'événements SSE
+     */
+    @PostMapping("/analyze/stream", produces = [MediaType.TEXT_EVENT_STREAM_VALUE])
+    fun streamAnalyzeRequest(@RequestBody @Valid request: LlmRequest): Flux<ServerSentEvent<Any>> {
+        logger.info("Réception d'une requête d'analyse en diffusion pour {} médicaments", request.medications.size)
+
+        // Assertion #1: Vérifier que la requête contient au moins un médicament
+        require(request.medications.isNotEmpty()) {
+            "La requête doit contenir au moins un médicament"
+        }
+
+        // Assertion #2: Vérifier que la requête spécifie au moins une catégorie d'analyse
+        require(request.analysisCategories.isNotEmpty()) {
+            "La requête doit spécifier au moins une catégorie d'analyse"
+        }
+
+        return orchestratorService.streamRequest(request)
+            .onErrorResume { error ->
+                logger.error("Erreur lors du traitement en diffusion de la requête: {}", error.message, error)
+
+                val message = when (error) {
+                    is IllegalArgumentException -> "Requête invalide: ${error.message}"
+                    is LlmServiceException -> "Service d'analyse temporairement indisponible"
+                    else -> "Erreur interne lors du traitement de la requête"
+                }
+                Flux.just(LlmStreamEvent.error(request.requestId, message))
+            }
+            .map { event -> toServerSentEvent(event) }
+    }
+
+    /**
+     * Convertit un événement de réponse diffusée en événement SSE.
+     *
+     * @param event L'événement de la réponse
+     * @return L'événement SSE nommé d'après son type
+     */
+    private fun toServerSentEvent(event: LlmStreamEvent): ServerSentEvent<Any> {
+        val data: Any = when (event.type) {
+            LlmStreamEventType.RECOMMENDATION -> checkNotNull(event.recommendation)
+            LlmStreamEventType.COMPLETE -> checkNotNull(event.response)
+            LlmStreamEventType.ERROR -> mapOf(
+                "requestId" to event.requestId,
+                "message" to (event.message ?: "Erreur inconnue")
+            )
+        }
+
+        return ServerSentEvent.builder(data)
+            .event(event.type.name.lowercase())
+            .build()
+    }
+
     /**
      * Endpoint pour récupérer une réponse par son ID de requête.
      *
@@ -1,8 +1,11 @@
 package com.hygie.llmorchestrator.model
 
 import org.springframework.data.annotation.Id
+import org.springframework.data.mongodb.core.index.CompoundIndex
+import org.springframework.data.mongodb.core.index.Indexed
 import org.springframework.data.mongodb.core.mapping.Document
 import java.time.Instant
+import java.time.temporal.ChronoUnit
 import java.util.UUID
 import com.fasterxml.jackson.annotation.JsonFormat
 import javax.validation.constraints.NotBlank
@@ -162,6 +165,11 @@ data class LlmRecommendation(
 /**
  * Réponse globale retournée par le service d'orchestration LLM.
  *
+ * Les réponses expirent via un index TTL sur l'horodatage, après la durée de
+ * rétention `llm.retention.responses`; les statistiques d'utilisation survivent
+ * dans les agrégats [LlmResponseRollup]. L'index est créé, et sa durée mise à
+ * jour au démarrage, par le service d'agrégats.
+ *
  * @property requestId Identifiant de la requête correspondante
  * @property recommendations Liste des recommandations pharmaceutiques
  * @property summary Résumé de l'analyse complète
@@ -209,3 +217,100 @@ data class LlmModelInfo(
     val modelVersion: String,
     val tokenCount: Int
 )
+
+/**
+ * Granularité des agrégats de réponses LLM.
+ *
+ * @property unit Unité de troncature de l'horodatage d'une réponse (UTC)
+ */
+enum class RollupGranularity(val unit: ChronoUnit) {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS)
+}
+
+/**
+ * Agrégat des réponses LLM d'un modèle sur une heure ou un jour.
+ *
+ * Tenu à jour par incréments à chaque réponse enregistrée. Le document sans
+ * catégorie porte les compteurs de la réponse (nombre, temps de traitement,
+ * tokens); un document par catégorie porte ceux de ses recommandations (nombre,
+ * confiance). Une réponse d'ensemble compte pour chacun de ses modèles; le
+ * document sans modèle ni catégorie compte chaque réponse une seule fois, pour
+ * le total tous modèles confondus. Les histogrammes sont indexés par borne: `le500`... `inf` pour le temps de
+ * traitement en millisecondes, `d0`... `d9` pour le décile de confiance.
+ *
+ * @property id Identifiant déterministe: granularité, début de période, modèle, catégorie
+ * @property granularity Granularité de l'agrégat
+ * @property bucketStart Début de la période agrégée
+ * @property modelType Modèle agrégé, null pour le total tous modèles confondus
+ * @property category Catégorie des recommandations agrégées, null pour les compteurs de réponse
+ * @property responseCount Nombre de réponses
+ * @property processingTimeTotalMs Somme des temps de traitement
+ * @property processingTimeMaxMs Temps de traitement maximal
+ * @property tokenCount Somme des tokens utilisés
+ * @property latencyHistogram Répartition des temps de traitement
+ * @property recommendationCount Nombre de recommandations
+ * @property confidenceTotal Somme des scores de confiance
+ * @property confidenceHistogram Répartition des scores de confiance par décile
+ * @property expiresAt Date d'expiration de l'agrégat (index TTL)
+ */
+@Document(collection = "llm_response_rollups")
+@CompoundIndex(name = "rollup_period", def = "{'granularity': 1, 'modelType': 1, 'bucketStart': 1}")
+data class LlmResponseRollup(
+    @Id val id: String,
+    val granularity: RollupGranularity,
+    val bucketStart: Instant,
+    val modelType: LlmModelType? = null,
+    val category: AnalysisCategory? = null,
+    val responseCount: Long = 0,
+    val processingTimeTotalMs: Long = 0,
+    val processingTimeMaxMs: Long = 0,
+    val tokenCount: Long = 0,
+    val latencyHistogram: Map<String, Long> = emptyMap(),
+    val recommendationCount: Long = 0,
+    val confidenceTotal: Double = 0.0,
+    val confidenceHistogram: Map<String, Long> = emptyMap(),
+    @Indexed(name = "rollup_retention", expireAfterSeconds = 0)
+    val expiresAt: Instant
+)
+
+/**
+ * Types d'événements d'une réponse LLM diffusée au fil de la génération.
+ */
+enum class LlmStreamEventType {
+    RECOMMENDATION,  // Recommandation validée, dès que son bloc est complet
+    COMPLETE,        // Réponse complète validée et persistée, qui fait foi
+    ERROR            // Échec du traitement, qui met fin à la diffusion
+}
+
+/**
+ * Événement d'une réponse LLM diffusée au fil de la génération.
+ *
+ * Les recommandations sont transmises une à une dès leur validation; l'événement
+ * final porte la réponse complète, validée dans son ensemble, qui remplace les
+ * recommandations reçues jusque-là.
+ *
+ * @property type Type de l'événement
+ * @property requestId Identifiant de la requête correspondante
+ * @property recommendation Recommandation transmise (événement RECOMMENDATION)
+ * @property response Réponse complète (événement COMPLETE)
+ * @property message Message d'erreur (événement ERROR)
+ */
+data class LlmStreamEvent(
+    val type: LlmStreamEventType,
+    val requestId: String,
+    val recommendation: LlmRecommendation? = null,
+    val response: LlmResponse? = null,
+    val message: String? = null
+) {
+    companion object {
+        fun recommendation(requestId: String, recommendation: LlmRecommendation) =
+            LlmStreamEvent(LlmStreamEventType.RECOMMENDATION, requestId, recommendation = recommendation)
+
+        fun complete(response: LlmResponse) =
+            LlmStreamEvent(LlmStreamEventType.COMPLETE, response.requestId, response = response)
+
+        fun error(requestId: String, message: String) =
+            LlmStreamEvent(LlmStreamEventType.ERROR, requestId, message = message)
+    }
+}
@@ -13,7 +13,9 @@ import java.time.Instant
  * Interface de repository pour les réponses générées par les LLMs.
  *
  * Fournit des méthodes pour persister et récupérer les réponses d'analyse
- * médicamenteuse générées par les modèles LLM.
+ * médicamenteuse générées par les modèles LLM. La rétention est assurée par
+ * l'index TTL de [LlmResponse.timestamp]; les statistiques d'utilisation se
+ * lisent dans les agrégats de [com.hygie.llmorchestrator.service.ResponseRollupService].
  *
  * @author Hygie-AI Team
  */
@@ -65,12 +67,4 @@ interface LlmResponseRepository : ReactiveMongoRepository<LlmResponse, String> {
      * @return Un Mono contenant le nombre de réponses
      */
     fun countByRecommendationsConfidenceLevelScoreGreaterThan(confidenceThreshold: Double): Mono<Long>
-
-    /**
-     * Supprime les réponses antérieures à une date donnée.
-     *
-     * @param threshold La date seuil
-     * @return Un Mono contenant le nombre de documents supprimés
-     */
-    fun deleteByTimestampBefore(threshold: Instant): Mono<Long>
 }
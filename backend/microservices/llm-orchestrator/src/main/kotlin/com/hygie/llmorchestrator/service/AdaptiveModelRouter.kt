@@ -0,0 +1,264 @@
+package com.hygie.llmorchestrator.service
+
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import reactor.core.publisher.Mono
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Routage adaptatif des requêtes entre les modèles selon leurs performances récentes.
+ *
+ * Pour chaque modèle, le routeur tient une moyenne mobile exponentielle (EWMA) de
+ * la latence, du taux d'erreur et de la profondeur de file observée à l'envoi,
+ * ainsi que le nombre d'appels en cours. La sélection suit le principe des deux
+ * choix aléatoires: deux modèles candidats sont tirés au hasard et le meilleur
+ * l'emporte. Un modèle dont la latence prévue (latence moyenne multipliée par
+ * les appels en cours) respecte le SLO et dont le taux d'erreur reste sous le
+ * seuil est préféré; à égalité, le coût le plus faible, pénalisé par le taux
+ * d'erreur, départage. Tirer deux candidats plutôt que prendre le meilleur
+ * évite que tous les appels simultanés se ruent sur le même modèle.
+ *
+ * Un modèle jamais observé part d'une latence égale à la moitié du SLO: il est
+ * essayé sans être inondé. Les statistiques d'un modèle qui ne reçoit plus
+ * d'appels s'estompent avec le temps: à chaque demi-vie de recouvrement sans
+ * observation, l'écart de sa latence à cette valeur initiale et son taux
+ * d'erreur sont divisés par deux. Un modèle écarté ne reste donc pas écarté
+ * faute de trafic: une fois par demi-vie sans observation, il reçoit en outre
+ * un appel de sonde à la place du modèle qui l'a battu, dont l'issue remplace
+ * l'estimation par une mesure. Le routeur ne dépend que de [LlmProviderService]:
+ * des modèles simulés suffisent à l'exercer, sans réseau.
+ *
+ * @property meterRegistry Registre pour les métriques
+ * @property latencySlo Latence visée pour un appel de modèle
+ * @property maxErrorRate Taux d'erreur au-delà duquel un modèle n'est plus préféré
+ * @property alpha Poids d'une nouvelle observation dans les moyennes mobiles
+ * @property recoveryHalfLife Demi-vie des statistiques d'un modèle sans observation
+ * @property nanoTime Horloge monotone des mesures, en nanosecondes
+ * @author Hygie-AI Team
+ */
+@Component
+class AdaptiveModelRouter(
+    private val meterRegistry: MeterRegistry,
+    @Value("\${llm.models.adaptive.latency-slo:8s}") private val latencySlo: Duration,
+    @Value("\${llm.models.adaptive.max-error-rate:0.2}") private val maxErrorRate: Double,
+    @Value("\${llm.models.adaptive.ewma-alpha:0.2}") private val alpha: Double,
+    @Value("\${llm.models.adaptive.recovery-half-life:30s}") private val recoveryHalfLife: Duration,
+    private val nanoTime: () -> Long = System::nanoTime
+) {
+    private val logger = LoggerFactory.getLogger(AdaptiveModelRouter::class.java)
+    private val statistics = ConcurrentHashMap<String, ProviderStatistics>()
+
+    init {
+        // Assertion #1: Vérification des paramètres des moyennes mobiles
+        require(alpha > 0.0 && alpha <= 1.0) { "Le poids EWMA doit être compris dans ]0, 1] (actuel: $alpha)" }
+
+        // Assertion #2: Vérification du SLO et du seuil d'erreur
+        require(!latencySlo.isNegative && !latencySlo.isZero && maxErrorRate in 0.0..1.0) {
+            "Le SLO de latence doit être positif et le seuil d'erreur compris dans [0, 1]"
+        }
+        require(!recoveryHalfLife.isNegative && !recoveryHalfLife.isZero) {
+            "La demi-vie de recouvrement doit être positive"
+        }
+    }
+
+    /**
+     * Statistiques glissantes d'un modèle.
+     *
+     * Les moyennes sont mises à jour sous le verrou de l'instance; le nombre
+     * d'appels en cours est un compteur atomique lu sans verrou.
+     */
+    class ProviderStatistics(private val initialLatencyMs: Double, now: Long) {
+        val outstanding = AtomicInteger()
+
+        // Instant jusqu'auquel les moyennes ont été estompées, et dernière observation ou sonde
+        private var decayedAt = now
+        private var lastActivity = now
+
+        @Volatile
+        var latencyMs = initialLatencyMs
+            private set
+
+        @Volatile
+        var errorRate = 0.0
+            private set
+
+        @Volatile
+        var queueDepth = 0.0
+            private set
+
+        @Synchronized
+        internal fun recordDispatch(alpha: Double, depth: Int) {
+            queueDepth += alpha * (depth - queueDepth)
+        }
+
+        @Synchronized
+        internal fun recordOutcome(alpha: Double, elapsedMs: Double, success: Boolean, now: Long, halfLifeNanos: Long) {
+            decay(now, halfLifeNanos)
+            lastActivity = now
+            latencyMs += alpha * (elapsedMs - latencyMs)
+            errorRate += alpha * ((if (success) 0.0 else 1.0) - errorRate)
+        }
+
+        /**
+         * Estompe les moyennes pour le temps écoulé depuis le dernier estompage:
+         * l'écart à la latence initiale, le taux d'erreur et la profondeur de file
+         * sont divisés par deux à chaque demi-vie.
+         */
+        @Synchronized
+        internal fun decay(now: Long, halfLifeNanos: Long) {
+            val idle = now - decayedAt
+            if (idle <= 0) {
+                return
+            }
+            decayedAt = now
+            val keep = Math.pow(0.5, idle.toDouble() / halfLifeNanos)
+            latencyMs = initialLatencyMs + (latencyMs - initialLatencyMs) * keep
+            errorRate *= keep
+            queueDepth *= keep
+        }
+
+        /**
+         * Réserve un appel de sonde si le modèle n'a été ni observé ni sondé depuis une demi-vie.
+         *
+         * @return true si l'appelant doit envoyer la sonde
+         */
+        @Synchronized
+        internal fun claimProbe(now: Long, halfLifeNanos: Long): Boolean {
+            if (outstanding.get() > 0 || now - lastActivity < halfLifeNanos) {
+                return false
+            }
+            lastActivity = now
+            return true
+        }
+
+        /**
+         * Latence attendue d'un nouvel appel, compte tenu des appels en cours.
+         */
+        fun predictedLatencyMs(): Double = latencyMs * (1 + outstanding.get())
+    }
+
+    /**
+     * Choisit un modèle parmi les candidats par deux choix aléatoires.
+     *
+     * @param candidates Les modèles opérationnels
+     * @return Le modèle sélectionné
+     */
+    fun select(candidates: List<LlmProviderService>): LlmProviderService {
+        require(candidates.isNotEmpty()) { "Aucun modèle candidat pour le routage adaptatif" }
+
+        if (candidates.size == 1) {
+            return candidates.first()
+        }
+
+        val random = ThreadLocalRandom.current()
+        val first = random.nextInt(candidates.size)
+        var second = random.nextInt(candidates.size - 1)
+        if (second >= first) {
+            second++
+        }
+
+        val selected = better(candidates[first], candidates[second], nanoTime())
+        logger.debug("Routage adaptatif vers {} (latence prévue {} ms)",
+            selected.getModelType(), statisticsFor(selected).predictedLatencyMs().toLong())
+        return selected
+    }
+
+    /**
+     * Suit un appel de modèle: appels en cours, latence et issue.
+     *
+     * Un appel annulé n'est compté ni comme succès ni comme erreur.
+     *
+     * @param provider Le modèle appelé
+     * @param call L'appel, exécuté à la souscription
+     * @return L'appel instrumenté
+     */
+    fun <T> track(provider: LlmProviderService, call: Mono<T>): Mono<T> = Mono.defer {
+        val stats = statisticsFor(provider)
+        stats.recordDispatch(alpha, stats.outstanding.getAndIncrement())
+        val start = nanoTime()
+
+        call.doOnSuccess { recordOutcome(stats, start, true) }
+            .doOnError { recordOutcome(stats, start, false) }
+            .doFinally { stats.outstanding.decrementAndGet() }
+    }
+
+    /**
+     * Retourne les statistiques courantes d'un modèle.
+     *
+     * @param provider Le modèle
+     * @return Ses statistiques glissantes
+     */
+    fun statisticsFor(provider: LlmProviderService): ProviderStatistics {
+        val name = provider.getModelType().name
+        statistics[name]?.let { return it }
+        return statistics.computeIfAbsent(name) {
+            registerGauges(it, ProviderStatistics(latencySlo.toMillis() / 2.0, nanoTime()))
+        }
+    }
+
+    private fun better(a: LlmProviderService, b: LlmProviderService, now: Long): LlmProviderService {
+        val statsA = statisticsFor(a)
+        val statsB = statisticsFor(b)
+        val halfLife = recoveryHalfLife.toNanos()
+        statsA.decay(now, halfLife)
+        statsB.decay(now, halfLife)
+
+        val aWithinSlo = withinSlo(statsA)
+        val (winner, loser) = if (aWithinSlo != withinSlo(statsB)) {
+            if (aWithinSlo) a to b else b to a
+        } else if (cost(statsA) <= cost(statsB)) {
+            a to b
+        } else {
+            b to a
+        }
+
+        // Le perdant sans observation récente reçoit une sonde pour remesurer ses performances
+        if (statisticsFor(loser).claimProbe(now, halfLife)) {
+            logger.debug("Appel de sonde vers {} à la place de {}", loser.getModelType(), winner.getModelType())
+            return loser
+        }
+        return winner
+    }
+
+    private fun recordOutcome(stats: ProviderStatistics, start: Long, success: Boolean) {
+        val now = nanoTime()
+        stats.recordOutcome(alpha, (now - start) / 1_000_000.0, success, now, recoveryHalfLife.toNanos())
+    }
+
+    private fun withinSlo(stats: ProviderStatistics): Boolean =
+        stats.predictedLatencyMs() <= latencySlo.toMillis() && stats.errorRate <= maxErrorRate
+
+    // Un modèle qui échoue vite ne doit pas paraître rapide
+    private fun cost(stats: ProviderStatistics): Double =
+        stats.predictedLatencyMs() / (1.0 - stats.errorRate.coerceAtMost(MAX_ERROR_PENALTY))
+
+    private fun registerGauges(provider: String, stats: ProviderStatistics): ProviderStatistics {
+        Gauge.builder("llm.router.latency.ewma", stats) { it.latencyMs }
+            .description("Latence moyenne mobile d'un modèle, en millisecondes")
+            .tag("provider", provider)
+            .register(meterRegistry)
+        Gauge.builder("llm.router.error.rate", stats) { it.errorRate }
+            .description("Taux d'erreur moyen mobile d'un modèle")
+            .tag("provider", provider)
+            .register(meterRegistry)
+        Gauge.builder("llm.router.queue.depth", stats) { it.queueDepth }
+            .description("Profondeur de file moyenne mobile d'un modèle")
+            .tag("provider", provider)
+            .register(meterRegistry)
+        Gauge.builder("llm.router.outstanding", stats) { it.outstanding.get().toDouble() }
+            .description("Appels en cours vers un modèle")
+            .tag("provider", provider)
+            .register(meterRegistry)
+        return stats
+    }
+
+    companion object {
+        private const val MAX_ERROR_PENALTY = 0.95
+    }
+}
@@ -8,8 +8,10 @@ import io.micrometer.core.instrument.MeterRegistry
 import io.micrometer.core.instrument.Timer
 import org.slf4j.LoggerFactory
 import org.springframework.beans.factory.annotation.Value
+import org.springframework.http.MediaType
 import org.springframework.stereotype.Service
 import org.springframework.web.reactive.function.client.WebClient
+import reactor.core.publisher.Flux
 import reactor.core.publisher.Mono
 import java.time.Duration
 import java.time.Instant
@@ -28,6 +30,9 @@ import javax.annotation.PostConstruct
  * @property apiKey Clé API pour l'authentification
  * @property timeout Timeout pour les appels API en millisecondes
  * @property meterRegistry Registre pour les métriques
+ * @property batchingEnabled Regroupement en lots des appels simultanés
+ * @property maxBatchSize Nombre maximal de prompts par lot
+ * @property maxBatchWait Attente maximale d'un prompt avant le départ de son lot
  * @author Hygie-AI Team
  */
 @Service
@@ -36,11 +41,15 @@ class BioMistralService(
     @Value("\${llm.models.endpoints.biomistral}") private val baseUrl: String,
     @Value("\${llm.models.api-keys.biomistral:}") private val apiKey: String,
     @Value("\${llm.service.timeout:30000}") private val timeout: Long,
-    private val meterRegistry: MeterRegistry
+    private val meterRegistry: MeterRegistry,
+    @Value("\${llm.models.batching.enabled:false}") private val batchingEnabled: Boolean,
+    @Value("\${llm.models.batching.max-batch-size:8}") private val maxBatchSize: Int,
+    @Value("\${llm.models.batching.max-wait:20ms}") private val maxBatchWait: Duration
 ) : LlmProviderService {
     private val logger = LoggerFactory.getLogger(BioMistralService::class.java)
     private lateinit var requestTimer: Timer
     private lateinit var tokenCounter: Timer
+    private var batcher: MicroBatchDispatcher<Map<String, Any>, Map<*, *>>? = null
     private var isAvailable = true
 
     @PostConstruct
@@ -67,6 +76,12 @@ class BioMistralService(
             "Le timeout doit être entre 1000 et 60000 ms"
         }
 
+        if (batchingEnabled && maxBatchSize > 1) {
+            batcher = MicroBatchDispatcher("biomistral", maxBatchSize, maxBatchWait, meterRegistry, ::generateBatch)
+            logger.info("Regroupement des appels BioMistral par lots de {} prompts, attente maximale {} ms",
+                maxBatchSize, maxBatchWait.toMillis())
+        }
+
         // Vérification de disponibilité initiale
         checkAvailability()
     }
@@ -122,23 +137,15 @@ class BioMistralService(
         logger.debug("Appel au service BioMistral pour la requête: {}", originalRequest.requestId)
 
         // Préparation de la requête
-        val requestBody = mapOf(
+        val requestBody = mapOf<String, Any>(
             "prompt" to prompt,
             "max_tokens" to originalRequest.maxTokens,
-            "temperature" to originalRequest.temperature,
-            "model" to "biomistral-7b",
-            "stream" to false
+            "temperature" to originalRequest.temperature
         )
 
         val startTime = Instant.now()
 
-        return webClient.post()
-            .uri("$baseUrl/generate")
-            .header("Content-Type", "application/json")
-            .header("Authorization", "Bearer $apiKey")
-            .bodyValue(requestBody)
-            .retrieve()
-            .bodyToMono(Map::class.java)
+        return generate(requestBody)
             .timeout(Duration.ofMillis(timeout))
             .map { response ->
                 val endTime = Instant.now()
@@ -147,6 +154,11 @@ class BioMistralService(
                 // Enregistrement des métriques
                 requestTimer.record(duration)
 
+                // Un lot peut contenir des échecs isolés
+                (response["error"] as? String)?.let { message ->
+                    throw LlmServiceException("Erreur du service BioMistral: $message")
+                }
+
                 // Extraction et traitement de la réponse
                 val rawText = response["text"] as? String
                     ?: throw LlmServiceException("Réponse invalide du service BioMistral")
@@ -176,6 +188,136 @@ class BioMistralService(
             }
     }
 
+    /**
+     * Envoie une génération, seule ou regroupée avec les générations simultanées.
+     *
+     * @param generation Le prompt et ses paramètres de génération
+     * @return Un Mono contenant la réponse brute du modèle
+     */
+    private fun generate(generation: Map<String, Any>): Mono<Map<*, *>> {
+        batcher?.let { return it.submit(generation) }
+
+        return webClient.post()
+            .uri("$baseUrl/generate")
+            .header("Content-Type", "application/json")
+            .header("Authorization", "Bearer $apiKey")
+            .bodyValue(generation + mapOf("model" to "biomistral-7b", "stream" to false))
+            .retrieve()
+            .bodyToMono(Map::class.java)
+            .map<Map<*, *>> { it }
+    }
+
+    /**
+     * Envoie un lot de générations en un seul appel.
+     *
+     * Le serveur rend un résultat par génération, dans l'ordre du lot:
+     * `{"text": ..., "usage": ...}` ou `{"error": ...}` pour un échec isolé.
+     *
+     * @param generations Les générations du lot
+     * @return Un Mono contenant les réponses brutes, dans l'ordre du lot
+     */
+    private fun generateBatch(generations: List<Map<String, Any>>): Mono<List<Map<*, *>>> {
+        val requestBody = mapOf(
+            "model" to "biomistral-7b",
+            "requests" to generations
+        )
+
+        return webClient.post()
+            .uri("$baseUrl/generate/batch")
+            .header("Content-Type", "application/json")
+            .header("Authorization", "Bearer $apiKey")
+            .bodyValue(requestBody)
+            .retrieve()
+            .bodyToMono(Map::class.java)
+            .map { response ->
+                val results = response["results"] as? List<*>
+                    ?: throw LlmServiceException("Réponse de lot invalide du service BioMistral")
+                results.map { it as? Map<*, *> ?: mapOf("error" to "Résultat de lot invalide") }
+            }
+    }
+
+    /**
+     * Appelle le service LLM en diffusant les recommandations au fil de la génération.
+     *
+     * Le modèle renvoie sa génération en NDJSON, un objet `{"text": ...}` par
+     * fragment, le dernier portant éventuellement `usage`. Chaque bloc de
+     * recommandation est analysé dès qu'il est complet; le délai d'appel
+     * s'applique entre deux fragments. Pas de nouvelle tentative: des
+     * recommandations ont pu être transmises avant l'erreur.
+     *
+     * @param prompt Le prompt optimisé pour le modèle
+     * @param originalRequest La requête originale
+     * @return Un Flux des recommandations puis de la réponse complète
+     */
+    @CircuitBreaker(name = "biomistralService")
+    override fun streamLlmService(
+        prompt: String,
+        originalRequest: LlmRequest
+    ): Flux<LlmStreamEvent> {
+        logger.debug("Appel en diffusion au service BioMistral pour la requête: {}", originalRequest.requestId)
+
+        val requestBody = mapOf(
+            "prompt" to prompt,
+            "max_tokens" to originalRequest.maxTokens,
+            "temperature" to originalRequest.temperature,
+            "model" to "biomistral-7b",
+            "stream" to true
+        )
+
+        return Flux.defer {
+            val startTime = Instant.now()
+            val splitter = RecommendationBlockSplitter()
+            val recommendations = mutableListOf<LlmRecommendation>()
+            var reportedTokenCount: Int? = null
+
+            webClient.post()
+                .uri("$baseUrl/generate")
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer $apiKey")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToFlux(Map::class.java)
+                .timeout(Duration.ofMillis(timeout))
+                .concatMapIterable { chunk ->
+                    ((chunk["usage"] as? Map<*, *>)?.get("total_tokens") as? Int)?.let {
+                        reportedTokenCount = it
+                    }
+                    val text = chunk["text"] as? String ?: ""
+                    parseBlocks(splitter.append(text), originalRequest, recommendations)
+                }
+                .concatWith(Flux.defer {
+                    val lastEvents = parseBlocks(splitter.finish(), originalRequest, recommendations)
+                    val rawText = splitter.fullText
+                    if (rawText.isBlank()) {
+                        throw LlmServiceException("Réponse invalide du service BioMistral")
+                    }
+
+                    // Enregistrement des métriques
+                    requestTimer.record(Duration.between(startTime, Instant.now()))
+                    val tokenCount = reportedTokenCount ?: estimateTokenCount(prompt, rawText)
+                    tokenCounter.record(Duration.ofMillis(tokenCount.toLong()))
+
+                    val response = buildResponse(originalRequest, recommendations, splitter.summary, tokenCount)
+                    logger.info("Réponse BioMistral diffusée pour la requête {} avec {} recommandations",
+                        originalRequest.requestId, recommendations.size)
+
+                    Flux.fromIterable(lastEvents).concatWith(Mono.just(LlmStreamEvent.complete(response)))
+                })
+                .onErrorMap { error ->
+                    logger.error("Erreur lors de la diffusion du service BioMistral: {}", error.message, error)
+
+                    when (error) {
+                        is LlmServiceException -> error
+                        is TimeoutException -> LlmServiceException(
+                            "Délai d'attente dépassé pour le service BioMistral", error)
+                        else -> LlmServiceException(
+                            "Erreur du service BioMistral: ${error.message}", error)
+                    }
+                }
+        }
+    }
+
     /**
      * Obtient des métriques sur les performances du modèle.
      *
@@ -223,34 +365,61 @@ class BioMistralService(
         // Dans une implémentation réelle, nous utiliserions une logique plus robuste
         // pour extraire les recommandations structurées du texte brut
 
-        // Pour cet exemple, nous construisons une réponse structurée simplifiée
+        // Recherche de sections commençant par "Recommandation" ou "Problème",
+        // découpées comme lors d'une réponse diffusée
+        val splitter = RecommendationBlockSplitter()
+        val recommendationBlocks = splitter.append(rawResponse) + splitter.finish()
+
         val recommendations = mutableListOf<LlmRecommendation>()
+        parseBlocks(recommendationBlocks, originalRequest, recommendations)
 
-        // Analyse basique du texte pour extraire des recommandations
-        // Recherche de sections commençant par "Recommandation" ou "Problème"
-        val recommendationBlocks = extractRecommendationBlocks(rawResponse)
+        return buildResponse(originalRequest, recommendations, splitter.summary, tokenCount)
+    }
 
-        for (block in recommendationBlocks) {
+    /**
+     * Analyse des blocs de recommandation.
+     *
+     * @param blocks Les blocs de texte
+     * @param originalRequest Requête d'origine
+     * @param recommendations Recommandations de la réponse, complétées par celles des blocs
+     * @return Un événement par recommandation analysée
+     */
+    private fun parseBlocks(
+        blocks: List<String>,
+        originalRequest: LlmRequest,
+        recommendations: MutableList<LlmRecommendation>
+    ): List<LlmStreamEvent> {
+        val events = mutableListOf<LlmStreamEvent>()
+        for (block in blocks) {
             try {
                 val recommendation = parseRecommendationBlock(block, originalRequest.medications)
                 recommendations.add(recommendation)
+                events.add(LlmStreamEvent.recommendation(originalRequest.requestId, recommendation))
             } catch (e: Exception) {
                 logger.warn("Impossible de parser un bloc de recommandation: {}", e.message)
             }
         }
+        return events
+    }
 
-        // Extraction du résumé (première partie du texte avant les recommandations)
-        val summary = if (recommendationBlocks.isEmpty()) {
-            rawResponse
-        } else {
-            rawResponse.substring(0, rawResponse.indexOf(recommendationBlocks.first()))
-                .trim()
-                .takeIf { it.isNotBlank() } ?: "Analyse des médicaments complétée."
-        }
-
+    /**
+     * Construit la réponse structurée du modèle.
+     *
+     * @param originalRequest Requête d'origine
+     * @param recommendations Recommandations extraites
+     * @param summary Résumé de l'analyse
+     * @param tokenCount Nombre de tokens utilisés
+     * @return Réponse structurée
+     */
+    private fun buildResponse(
+        originalRequest: LlmRequest,
+        recommendations: List<LlmRecommendation>,
+        summary: String,
+        tokenCount: Int
+    ): LlmResponse {
         return LlmResponse(
             requestId = originalRequest.requestId,
-            recommendations = recommendations,
+            recommendations = recommendations.toList(),
             summary = summary,
             timestamp = Instant.now(),
             modelInfo = LlmModelInfo(
@@ -262,46 +431,6 @@ class BioMistralService(
         )
     }
 
-    /**
-     * Extrait les blocs de texte contenant des recommandations.
-     *
-     * @param rawText Texte brut de la réponse
-     * @return Liste des blocs de recommandation
-     */
-    private fun extractRecommendationBlocks(rawText: String): List<String> {
-        val blocks = mutableListOf<String>()
-        val markers = listOf(
-            "Recommandation", "Problème identifié", "Interaction détectée",
-            "Analyse:", "Suggestion:", "Contre-indication:"
-        )
-
-        // Recherche d'indices pour chaque marqueur
-        val indices = mutableListOf<Int>()
-        for (marker in markers) {
-            var startIdx = rawText.indexOf(marker)
-            while (startIdx >= 0) {
-                indices.add(startIdx)
-                startIdx = rawText.indexOf(marker, startIdx + 1)
-            }
-        }
-
-        // Tri des indices pour traiter les sections dans l'ordre
-        indices.sort()
-
-        // Extraction des blocs
-        for (i in indices.indices) {
-            val start = indices[i]
-            val end = if (i < indices.size - 1) indices[i + 1] else rawText.length
-
-            val block = rawText.substring(start, end).trim()
-            if (block.length > 50) { // Ignorer les blocs trop courts
-                blocks.add(block)
-            }
-        }
-
-        return blocks
-    }
-
     /**
      * Parse un bloc de texte en recommandation structurée.
      *
@@ -0,0 +1,94 @@
+package com.hygie.llmorchestrator.service
+
+/**
+ * Template de prompt compilé: fragments de texte fixes et variables à substituer.
+ *
+ * La compilation découpe une fois le template autour de ses variables; le rendu
+ * écrit ensuite les fragments et les sections directement dans un tampon, sans
+ * remplacements successifs sur le prompt entier. Le contenu d'une section n'est
+ * jamais réinterprété: une variable figurant dans le contexte patient reste du
+ * texte. Une instance est immuable et peut être partagée entre threads.
+ *
+ * @author Hygie-AI Team
+ */
+class CompiledPromptTemplate private constructor(
+    private val fragments: Array<String>,
+    private val placeholders: Array<Placeholder>
+) {
+
+    /**
+     * Variables reconnues dans les templates.
+     *
+     * @property marker La variable telle qu'écrite dans le template
+     */
+    enum class Placeholder(val marker: String) {
+        PATIENT_CONTEXT("{PATIENT_CONTEXT}"),
+        MEDICATIONS("{MEDICATIONS}"),
+        ANALYSIS_INSTRUCTIONS("{ANALYSIS_INSTRUCTIONS}"),
+        ADDITIONAL_CONTEXT("{ADDITIONAL_CONTEXT}"),
+        REQUEST_ID("{REQUEST_ID}")
+    }
+
+    /**
+     * Nombre de tokens estimé du texte fixe du template.
+     */
+    val fixedTokens: Int = fragments.sumOf { TokenEstimator.estimate(it) }
+
+    /**
+     * Nombre d'occurrences d'une variable dans le template.
+     *
+     * @param placeholder La variable
+     * @return Son nombre d'occurrences
+     */
+    fun occurrences(placeholder: Placeholder): Int = placeholders.count { it == placeholder }
+
+    /**
+     * Écrit le prompt dans un tampon.
+     *
+     * @param out Le tampon de destination
+     * @param section Écrit dans le tampon la section correspondant à une variable
+     */
+    fun render(out: StringBuilder, section: (Placeholder, StringBuilder) -> Unit) {
+        for (index in placeholders.indices) {
+            out.append(fragments[index])
+            section(placeholders[index], out)
+        }
+        out.append(fragments[placeholders.size])
+    }
+
+    companion object {
+        private val PLACEHOLDERS = Placeholder.values()
+
+        /**
+         * Compile un template.
+         *
+         * @param template Le texte du template
+         * @return Le template compilé
+         */
+        fun compile(template: String): CompiledPromptTemplate {
+            val fragments = mutableListOf<String>()
+            val placeholders = mutableListOf<Placeholder>()
+            var fragmentStart = 0
+            var index = template.indexOf('{')
+            while (index >= 0) {
+                val placeholder = PLACEHOLDERS.firstOrNull { template.startsWith(it.marker, index) }
+                if (placeholder != null) {
+                    fragments.add(template.substring(fragmentStart, index))
+                    placeholders.add(placeholder)
+                    fragmentStart = index + placeholder.marker.length
+                    index = template.indexOf('{', fragmentStart)
+                } else {
+                    index = template.indexOf('{', index + 1)
+                }
+            }
+            fragments.add(template.substring(fragmentStart))
+
+            // Assertion #1: Vérification du découpage
+            check(fragments.size == placeholders.size + 1) {
+                "Un template compilé alterne fragments et variables"
+            }
+
+            return CompiledPromptTemplate(fragments.toTypedArray(), placeholders.toTypedArray())
+        }
+    }
+}
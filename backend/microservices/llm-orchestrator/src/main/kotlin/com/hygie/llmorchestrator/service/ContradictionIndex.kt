@@ -0,0 +1,182 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.model.AnalysisCategory
+import com.hygie.llmorchestrator.model.LlmRecommendation
+import java.util.EnumMap
+import java.util.TreeMap
+
+/**
+ * Index des recommandations d'une réponse pour la détection des contradictions.
+ *
+ * Deux recommandations se contredisent si elles portent sur un même médicament,
+ * relèvent de deux catégories opposées et contiennent chacune un terme d'une
+ * même opposition directe (augmenter/diminuer, arrêter/continuer...).
+ *
+ * Les recommandations sont indexées par médicament normalisé puis par catégorie:
+ * une recommandation n'est comparée qu'à celles de la catégorie opposée portant
+ * sur ses propres médicaments. Son texte est analysé une seule fois, à l'ajout,
+ * en un masque des termes d'opposition qu'il contient; comparer deux
+ * recommandations revient alors à croiser leurs masques. Une recommandation
+ * hors des catégories opposées, ou sans terme d'opposition, ne peut contredire
+ * aucune autre et n'est pas indexée.
+ *
+ * Une instance sert à une seule réponse et n'est pas partagée entre threads.
+ *
+ * @author Hygie-AI Team
+ */
+class ContradictionIndex {
+
+    /**
+     * Recommandation indexée, avec son rang d'ajout et son masque de termes.
+     */
+    private class Entry(val position: Int, val recommendation: LlmRecommendation, val terms: Long)
+
+    // Médicament normalisé -> catégorie -> recommandations indexées
+    private val entries = HashMap<String, EnumMap<AnalysisCategory, MutableList<Entry>>>()
+    private var size = 0
+
+    /**
+     * Ajoute une recommandation.
+     *
+     * @param recommendation La recommandation
+     * @return Les recommandations déjà ajoutées qu'elle contredit, dans leur ordre d'ajout
+     */
+    fun add(recommendation: LlmRecommendation): List<LlmRecommendation> {
+        val entry = entryOf(recommendation) ?: return emptyList()
+        val contradicted = contradicted(entry)
+        index(entry)
+        return contradicted.map { it.recommendation }
+    }
+
+    /**
+     * Ajoute une recommandation si elle ne contredit aucune de celles déjà ajoutées.
+     *
+     * @param recommendation La recommandation
+     * @return La première recommandation qu'elle contredit, auquel cas elle n'est
+     *         pas ajoutée, ou null si elle a été ajoutée
+     */
+    fun addIfConsistent(recommendation: LlmRecommendation): LlmRecommendation? {
+        val entry = entryOf(recommendation) ?: return null
+        val contradicted = contradicted(entry).firstOrNull()
+        if (contradicted == null) {
+            index(entry)
+        }
+        return contradicted?.recommendation
+    }
+
+    private fun entryOf(recommendation: LlmRecommendation): Entry? {
+        val position = size++
+        if (recommendation.category !in OPPOSED_CATEGORIES) {
+            return null
+        }
+        val terms = termsOf(recommendation)
+        return if (terms == 0L) null else Entry(position, recommendation, terms)
+    }
+
+    private fun contradicted(entry: Entry): Collection<Entry> {
+        val opposedCategories = OPPOSED_CATEGORIES.getValue(entry.recommendation.category)
+        val contradicted = TreeMap<Int, Entry>()
+        for (medication in medicationsOf(entry.recommendation)) {
+            val byCategory = entries[medication] ?: continue
+            for (category in opposedCategories) {
+                byCategory[category]?.forEach { other ->
+                    if (opposes(entry.terms, other.terms)) {
+                        contradicted[other.position] = other
+                    }
+                }
+            }
+        }
+        return contradicted.values
+    }
+
+    private fun index(entry: Entry) {
+        for (medication in medicationsOf(entry.recommendation)) {
+            entries.getOrPut(medication) { EnumMap(AnalysisCategory::class.java) }
+                .getOrPut(entry.recommendation.category) { mutableListOf() }
+                .add(entry)
+        }
+    }
+
+    companion object {
+        /**
+         * Catégories intrinsèquement contradictoires.
+         */
+        private val CONTRADICTORY_CATEGORIES = listOf(
+            AnalysisCategory.DOSAGE_ADJUSTMENT to AnalysisCategory.ADHERENCE_OPTIMIZATION,
+            AnalysisCategory.CONTRAINDICATION to AnalysisCategory.COST_OPTIMIZATION
+        )
+
+        /**
+         * Oppositions directes entre deux recommandations.
+         */
+        private val OPPOSITIONS = listOf(
+            "augmenter" to "diminuer",
+            "majorer" to "réduire",
+            "arrêter" to "continuer",
+            "interrompre" to "poursuivre",
+            "contre-indiqué" to "recommandé"
+        )
+
+        // Catégorie -> catégories qui lui sont opposées
+        private val OPPOSED_CATEGORIES = EnumMap<AnalysisCategory, MutableList<AnalysisCategory>>(
+            AnalysisCategory::class.java
+        ).apply {
+            for ((first, second) in CONTRADICTORY_CATEGORIES) {
+                getOrPut(first) { mutableListOf() }.add(second)
+                getOrPut(second) { mutableListOf() }.add(first)
+            }
+        }
+
+        // Le premier terme de l'opposition k occupe le bit 2k, le second le bit 2k + 1
+        private val TERMS = OPPOSITIONS.flatMap { listOf(it.first, it.second) }.toTypedArray()
+
+        private val FIRST_TERMS = OPPOSITIONS.indices.fold(0L) { mask, k -> mask or (1L shl (2 * k)) }
+
+        init {
+            // Assertion #1: Vérification de la capacité du masque
+            check(TERMS.size <= Long.SIZE_BITS) { "Trop de termes d'opposition pour un masque de ${Long.SIZE_BITS} bits" }
+        }
+
+        /**
+         * Détecte les contradictions entre recommandations.
+         *
+         * @param recommendations Liste des recommandations à analyser
+         * @return Les paires de recommandations contradictoires, dans l'ordre de la liste
+         */
+        fun detect(recommendations: List<LlmRecommendation>): List<Pair<LlmRecommendation, LlmRecommendation>> {
+            val index = ContradictionIndex()
+            val positions = mutableListOf<Long>()
+            recommendations.forEachIndexed { later, recommendation ->
+                val entry = index.entryOf(recommendation) ?: return@forEachIndexed
+                for (earlier in index.contradicted(entry)) {
+                    positions.add((earlier.position.toLong() shl 32) or later.toLong())
+                }
+                index.index(entry)
+            }
+            positions.sort()
+
+            return positions.map { pair ->
+                recommendations[(pair ushr 32).toInt()] to recommendations[(pair and 0xFFFFFFFFL).toInt()]
+            }
+        }
+
+        private fun termsOf(recommendation: LlmRecommendation): Long {
+            val text = (recommendation.description + " " + recommendation.suggestion).lowercase()
+            var terms = 0L
+            for (bit in TERMS.indices) {
+                if (text.contains(TERMS[bit])) {
+                    terms = terms or (1L shl bit)
+                }
+            }
+            return terms
+        }
+
+        // Un terme de la première recommandation et le terme opposé dans la seconde
+        private fun opposes(terms1: Long, terms2: Long): Boolean =
+            (((terms1 and FIRST_TERMS) shl 1) and terms2) != 0L ||
+                (((terms2 and FIRST_TERMS) shl 1) and terms1) != 0L
+
+        private fun medicationsOf(recommendation: LlmRecommendation): Set<String> =
+            recommendation.medications.mapTo(HashSet()) { it.trim().lowercase() }
+    }
+}
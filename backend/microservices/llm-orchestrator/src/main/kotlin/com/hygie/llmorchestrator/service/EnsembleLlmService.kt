@@ -29,6 +29,8 @@ import javax.annotation.PostConstruct
  * @property medFoundService Service pour le modèle MedFound
  * @property fallbackStrategy Stratégie de repli en cas d'échec d'un modèle
  * @property loadBalancingStrategy Stratégie de répartition de charge
+ * @property scatterGatherExecutor Exécution simultanée des modèles avec doublement et quorum
+ * @property adaptiveModelRouter Routage selon la latence, le taux d'erreur et la charge des modèles
  * @property meterRegistry Registre pour les métriques
  * @author Hygie-AI Team
  */
@@ -39,6 +41,8 @@ class EnsembleLlmService(
     @Qualifier("medFoundService") private val medFoundService: LlmProviderService,
     @Value("\${llm.models.fallback-strategy:sequential}") private val fallbackStrategy: String,
     @Value("\${llm.models.load-balancing:round-robin}") private val loadBalancingStrategy: String,
+    private val scatterGatherExecutor: ScatterGatherExecutor,
+    private val adaptiveModelRouter: AdaptiveModelRouter,
     private val meterRegistry: MeterRegistry
 ) : LlmProviderService {
     private val logger = LoggerFactory.getLogger(EnsembleLlmService::class.java)
@@ -68,8 +72,8 @@ class EnsembleLlmService(
         }
 
         // Assertion #2: Vérifier que les stratégies configurées sont valides
-        require(fallbackStrategy in listOf("sequential", "parallel", "vote")) {
-            "Stratégie de fallback invalide: $fallbackStrategy (valeurs acceptées: sequential, parallel, vote)"
+        require(fallbackStrategy in listOf("sequential", "parallel", "vote", "scatter-gather")) {
+            "Stratégie de fallback invalide: $fallbackStrategy (valeurs acceptées: sequential, parallel, vote, scatter-gather)"
         }
 
         require(loadBalancingStrategy in listOf("round-robin", "weighted", "adaptive")) {
@@ -137,6 +141,52 @@ class EnsembleLlmService(
         }
     }
 
+    /**
+     * Appelle le service d'ensemble en diffusant les recommandations au fil de la génération.
+     *
+     * Une analyse d'une seule catégorie est confiée à un seul modèle, choisi comme
+     * par [callLlmService]: son flux est transmis tel quel, et diffusé au fil de la
+     * génération si ce modèle diffuse (BioMistral). Une analyse de plusieurs
+     * catégories combine les réponses de plusieurs modèles: la combinaison n'étant
+     * connue qu'au retour du dernier, ses recommandations sont émises à la fin.
+     *
+     * @param prompt Le prompt optimisé
+     * @param originalRequest La requête originale
+     * @return Un Flux des recommandations puis de la réponse complète
+     */
+    @CircuitBreaker(name = "ensembleLlmService")
+    override fun streamLlmService(
+        prompt: String,
+        originalRequest: LlmRequest
+    ): Flux<LlmStreamEvent> {
+        if (originalRequest.analysisCategories.size != 1) {
+            return super.streamLlmService(prompt, originalRequest)
+        }
+
+        return Flux.defer {
+            val startTime = Instant.now()
+            val selectedService = serviceForCategory(originalRequest.analysisCategories.first())
+            val service = if (selectedService.isOperational()) {
+                selectedService
+            } else {
+                alternativeTo(selectedService)
+                    ?: return@defer Flux.error<LlmStreamEvent>(LlmServiceException("Aucun modèle LLM n'est disponible actuellement"))
+            }
+
+            logger.debug("Diffusion de la requête {} par le modèle {}", originalRequest.requestId, service.getModelType())
+
+            service.streamLlmService(prompt, originalRequest).map { event ->
+                val response = event.response
+                if (event.type != LlmStreamEventType.COMPLETE || response == null) {
+                    return@map event
+                }
+                val duration = Duration.between(startTime, Instant.now())
+                requestTimer.record(duration)
+                LlmStreamEvent.complete(response.copy(processingTimeMs = duration.toMillis()))
+            }
+        }
+    }
+
     /**
      * Appelle un seul modèle spécialisé pour une catégorie spécifique.
      *
@@ -151,19 +201,7 @@ class EnsembleLlmService(
         category: AnalysisCategory
     ): Mono<LlmResponse> {
         // Sélection du modèle le plus approprié pour la catégorie
-        val selectedService = when (category) {
-            AnalysisCategory.DRUG_INTERACTION,
-            AnalysisCategory.CONTRAINDICATION -> bioMistralService
-
-            AnalysisCategory.ELDERLY_APPROPRIATENESS,
-            AnalysisCategory.SIDE_EFFECT_RISK -> hippoMistralService
-
-            AnalysisCategory.DOSAGE_ADJUSTMENT,
-            AnalysisCategory.THERAPEUTIC_REDUNDANCY,
-            AnalysisCategory.COST_OPTIMIZATION -> medFoundService
-
-            else -> selectModelByLoadBalancing()
-        }
+        val selectedService = serviceForCategory(category)
 
         // Assertion #1: Vérifier que le service sélectionné est opérationnel
         if (!selectedService.isOperational()) {
@@ -176,7 +214,29 @@ class EnsembleLlmService(
         logger.info("Utilisation du modèle {} pour l'analyse de catégorie {}",
             selectedService.getModelType(), category)
 
-        return selectedService.callLlmService(prompt, originalRequest)
+        return callProvider(selectedService, prompt, originalRequest)
+    }
+
+    /**
+     * Sélectionne le modèle spécialisé d'une catégorie d'analyse.
+     *
+     * @param category La catégorie d'analyse
+     * @return Le modèle spécialisé, ou celui de la répartition de charge
+     */
+    private fun serviceForCategory(category: AnalysisCategory): LlmProviderService {
+        return when (category) {
+            AnalysisCategory.DRUG_INTERACTION,
+            AnalysisCategory.CONTRAINDICATION -> bioMistralService
+
+            AnalysisCategory.ELDERLY_APPROPRIATENESS,
+            AnalysisCategory.SIDE_EFFECT_RISK -> hippoMistralService
+
+            AnalysisCategory.DOSAGE_ADJUSTMENT,
+            AnalysisCategory.THERAPEUTIC_REDUNDANCY,
+            AnalysisCategory.COST_OPTIMIZATION -> medFoundService
+
+            else -> selectModelByLoadBalancing()
+        }
     }
 
     /**
@@ -231,7 +291,7 @@ class EnsembleLlmService(
                 // Traitement groupé des catégories par le modèle assigné
                 Flux.fromIterable(assignments)
                     .flatMap { (category, request) ->
-                        service.callLlmService(prompt, request)
+                        callProvider(service, prompt, request)
                     }
                     .collectList()
             }
@@ -259,25 +319,28 @@ class EnsembleLlmService(
         originalRequest: LlmRequest,
         unavailableService: LlmProviderService
     ): Mono<LlmResponse> {
-        // Liste des services disponibles excluant le service indisponible
-        val availableServices = listOf(
-            bioMistralService,
-            hippoMistralService,
-            medFoundService
-        ).filter { it != unavailableService && it.isOperational() }
-
-        if (availableServices.isEmpty()) {
-            return Mono.error(LlmServiceException(
+        val alternativeService = alternativeTo(unavailableService)
+            ?: return Mono.error(LlmServiceException(
                 "Aucun modèle LLM n'est disponible actuellement"))
-        }
-
-        // Sélection du premier service disponible
-        val alternativeService = availableServices.first()
 
         logger.info("Utilisation du modèle alternatif {} en remplacement de {}",
             alternativeService.getModelType(), unavailableService.getModelType())
 
-        return alternativeService.callLlmService(prompt, originalRequest)
+        return callProvider(alternativeService, prompt, originalRequest)
+    }
+
+    /**
+     * Sélectionne le premier modèle opérationnel autre qu'un modèle indisponible.
+     *
+     * @param unavailableService Le service indisponible
+     * @return Le modèle de remplacement, ou null si aucun n'est disponible
+     */
+    private fun alternativeTo(unavailableService: LlmProviderService): LlmProviderService? {
+        return listOf(
+            bioMistralService,
+            hippoMistralService,
+            medFoundService
+        ).firstOrNull { it != unavailableService && it.isOperational() }
     }
 
     /**
@@ -311,7 +374,7 @@ class EnsembleLlmService(
                 // Appel parallèle à tous les modèles disponibles
                 Flux.fromIterable(availableServices)
                     .flatMap { service ->
-                        service.callLlmService(prompt, originalRequest)
+                        callProvider(service, prompt, originalRequest)
                             .onErrorResume { error ->
                                 logger.warn("Erreur avec le modèle {}: {}",
                                     service.getModelType(), error.message)
@@ -332,7 +395,7 @@ class EnsembleLlmService(
                 // Appel à tous les modèles et combinaison par vote
                 Flux.fromIterable(availableServices)
                     .flatMap { service ->
-                        service.callLlmService(prompt, originalRequest)
+                        callProvider(service, prompt, originalRequest)
                             .onErrorResume { error ->
                                 logger.warn("Erreur avec le modèle {}: {}",
                                     service.getModelType(), error.message)
@@ -349,6 +412,12 @@ class EnsembleLlmService(
                         }
                     }
             }
+            "scatter-gather" -> {
+                // Appels simultanés bornés, doublés au-delà du p95, combinés dès le quorum
+                scatterGatherExecutor.execute(prompt, originalRequest, availableServices) { responses ->
+                    combineResponses(responses, originalRequest)
+                }
+            }
             else -> {
                 // Stratégie séquentielle (par défaut)
                 callSequentialModels(prompt, originalRequest, availableServices)
@@ -377,7 +446,7 @@ class EnsembleLlmService(
         // Appel au premier service
         val service = availableServices.first()
 
-        return service.callLlmService(prompt, originalRequest)
+        return callProvider(service, prompt, originalRequest)
             .onErrorResume { error ->
                 logger.warn("Erreur avec le modèle {}: {}, essai avec le modèle suivant",
                     service.getModelType(), error.message)
@@ -615,19 +684,39 @@ class EnsembleLlmService(
     }
 
     /**
-     * Sélectionne un modèle selon une stratégie adaptative.
-     * Cette implémentation est simplifiée et utiliserait normalement
-     * des métriques de performance en temps réel.
+     * Sélectionne un modèle selon une stratégie adaptative: latence, taux
+     * d'erreur et appels en cours de chaque modèle, observés en temps réel.
      *
      * @return Le service LLM sélectionné
      */
     private fun selectAdaptiveModel(): LlmProviderService {
-        // Dans une implémentation réelle, cette méthode utiliserait des métriques
-        // comme le temps de réponse, le taux d'erreur et la qualité des réponses
-        // pour ajuster dynamiquement les poids des modèles
+        val services = listOf(
+            bioMistralService,
+            hippoMistralService,
+            medFoundService
+        ).filter { it.isOperational() }
 
-        // Pour cette démonstration, nous utilisons une version simplifiée
-        return selectWeightedModel()
+        if (services.isEmpty()) {
+            throw LlmServiceException("Aucun modèle LLM n'est disponible actuellement")
+        }
+
+        return adaptiveModelRouter.select(services)
+    }
+
+    /**
+     * Appelle un modèle en alimentant les statistiques du routage adaptatif.
+     *
+     * @param service Le modèle appelé
+     * @param prompt Le prompt optimisé
+     * @param request La requête transmise au modèle
+     * @return Un Mono contenant la réponse du modèle
+     */
+    private fun callProvider(
+        service: LlmProviderService,
+        prompt: String,
+        request: LlmRequest
+    ): Mono<LlmResponse> {
+        return adaptiveModelRouter.track(service, service.callLlmService(prompt, request))
     }
 
     /**
@@ -6,6 +6,7 @@ import com.hygie.llmorchestrator.repository.LlmResponseRepository
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker
 import io.github.resilience4j.retry.annotation.Retry
 import io.github.resilience4j.timelimiter.annotation.TimeLimiter
+import io.micrometer.core.instrument.Counter
 import io.micrometer.core.instrument.MeterRegistry
 import io.micrometer.core.instrument.Timer
 import org.slf4j.LoggerFactory
@@ -13,12 +14,15 @@ import org.springframework.beans.factory.annotation.Qualifier
 import org.springframework.beans.factory.annotation.Value
 import org.springframework.data.redis.core.ReactiveRedisTemplate
 import org.springframework.stereotype.Service
+import reactor.core.publisher.Flux
 import reactor.core.publisher.Mono
 import reactor.core.scheduler.Schedulers
 import java.time.Duration
 import java.time.Instant
 import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicBoolean
 import javax.annotation.PostConstruct
 
 /**
@@ -30,11 +34,13 @@ import javax.annotation.PostConstruct
  *
  * @property llmProviders Map des fournisseurs de modèles LLM par type
  * @property llmResponseRepository Repository pour persister les réponses
+ * @property responseRollupService Agrégats des réponses pour les statistiques d'utilisation
  * @property redisTemplate Template pour la gestion du cache Redis
  * @property promptEngineeringService Service de génération de prompts optimisés
  * @property meterRegistry Registre pour les métriques d'observabilité
  * @property cacheTtl Durée de vie du cache en secondes
  * @property cacheEnabled Flag indiquant si le cache est activé
+ * @property singleFlightEnabled Flag indiquant si les requêtes identiques simultanées partagent un même appel LLM
  *
  * @author Hygie-AI Team
  */
@@ -42,18 +48,27 @@ import javax.annotation.PostConstruct
 class LlmOrchestratorService(
     private val llmProviders: Map<LlmModelType, LlmProviderService>,
     private val llmResponseRepository: LlmResponseRepository,
+    private val responseRollupService: ResponseRollupService,
     private val redisTemplate: ReactiveRedisTemplate<String, LlmResponse>,
     private val promptEngineeringService: PromptEngineeringService,
     private val responseValidationService: ResponseValidationService,
     private val meterRegistry: MeterRegistry,
     @Value("\${llm.cache.ttl:3600}") private val cacheTtl: Long,
-    @Value("\${llm.cache.enabled:true}") private val cacheEnabled: Boolean
+    @Value("\${llm.cache.enabled:true}") private val cacheEnabled: Boolean,
+    @Value("\${llm.cache.single-flight:true}") private val singleFlightEnabled: Boolean
 ) {
     private val logger = LoggerFactory.getLogger(LlmOrchestratorService::class.java)
     private lateinit var requestTimer: Timer
     private lateinit var processingTimer: Timer
+    private lateinit var cacheHitCounter: Counter
+    private lateinit var cacheMissCounter: Counter
+    private lateinit var sharedCallCounter: Counter
+    private lateinit var firstRecommendationTimer: Timer
     private val responseCache = redisTemplate.opsForValue()
 
+    // Appels LLM en cours, par clé de cache: les requêtes identiques s'y abonnent
+    private val inFlight = ConcurrentHashMap<String, Mono<LlmResponse>>()
+
     /**
      * Initialise les compteurs et timers pour les métriques.
      */
@@ -67,6 +82,24 @@ class LlmOrchestratorService(
             .description("Durée de traitement interne des requêtes LLM")
             .register(meterRegistry)
 
+        cacheHitCounter = Counter.builder("llm.cache.lookups")
+            .description("Consultations du cache des réponses LLM")
+            .tag("result", "hit")
+            .register(meterRegistry)
+
+        cacheMissCounter = Counter.builder("llm.cache.lookups")
+            .description("Consultations du cache des réponses LLM")
+            .tag("result", "miss")
+            .register(meterRegistry)
+
+        sharedCallCounter = Counter.builder("llm.singleflight.shared")
+            .description("Requêtes servies par un appel LLM identique déjà en cours")
+            .register(meterRegistry)
+
+        firstRecommendationTimer = Timer.builder("llm.stream.first-recommendation")
+            .description("Délai avant la première recommandation d'une réponse diffusée")
+            .register(meterRegistry)
+
         logger.info("Service d'orchestration LLM initialisé avec cache {}",
             if (cacheEnabled) "activé (TTL: ${cacheTtl}s)" else "désactivé")
     }
@@ -94,12 +127,146 @@ class LlmOrchestratorService(
         logger.info("Traitement de la requête LLM [{}] pour {} médicaments et {} catégories d'analyse",
             requestId, request.medications.size, request.analysisCategories.size)
 
-        // Vérification du cache si activé
-        return if (cacheEnabled) {
-            checkCache(requestId)
-                .switchIfEmpty(processRequestInternal(request, startTime))
+        // Clé adressée par contenu: les requêtes identiques partagent cache et appel LLM
+        val cacheKey = ResponseCacheKeys.of(request, promptEngineeringService.templateVersion)
+        val response = if (cacheEnabled) {
+            checkCache(cacheKey, requestId)
+                .switchIfEmpty(Mono.defer { callOnce(cacheKey, request, startTime) })
         } else {
-            processRequestInternal(request, startTime)
+            callOnce(cacheKey, request, startTime)
+        }
+
+        // Une réponse partagée est rattachée à la requête qui la reçoit
+        return response.map { if (it.requestId == requestId) it else it.copy(requestId = requestId) }
+    }
+
+    /**
+     * Traite une requête d'analyse en diffusant les recommandations au fil de la génération.
+     *
+     * Chaque recommandation est validée dès que son bloc est complet et transmise
+     * aussitôt; la réponse complète est ensuite validée dans son ensemble,
+     * persistée et mise en cache comme par [processRequest], puis transmise en
+     * dernier. Une réponse en cache est rejouée sous la même forme. Les flux ne
+     * partagent pas d'appel LLM entre requêtes identiques simultanées.
+     *
+     * Seul BioMistral diffuse sa génération, y compris lorsqu'il est choisi par
+     * l'ensemble pour une analyse d'une seule catégorie; les autres modèles et
+     * les analyses d'ensemble sur plusieurs catégories émettent leurs
+     * recommandations à la fin de l'appel.
+     *
+     * @param request La requête d'analyse
+     * @return Un Flux des recommandations validées puis de la réponse complète
+     * @throws LlmServiceException Si une erreur survient pendant le traitement
+     */
+    @CircuitBreaker(name = "llmService")
+    fun streamRequest(request: LlmRequest): Flux<LlmStreamEvent> {
+        // Assertion #1: Validation des préconditions
+        request.validate()
+
+        val requestId = request.requestId
+        val startTime = Instant.now()
+
+        logger.info("Traitement en diffusion de la requête LLM [{}] pour {} médicaments",
+            requestId, request.medications.size)
+
+        val cacheKey = ResponseCacheKeys.of(request, promptEngineeringService.templateVersion)
+        val cached = if (cacheEnabled) checkCache(cacheKey, requestId) else Mono.empty()
+
+        return cached
+            .flatMapMany { response ->
+                val labelled = if (response.requestId == requestId) response else response.copy(requestId = requestId)
+                Flux.fromIterable(labelled.recommendations)
+                    .map { LlmStreamEvent.recommendation(requestId, it) }
+                    .concatWith(Mono.just(LlmStreamEvent.complete(labelled)))
+            }
+            .switchIfEmpty(Flux.defer { streamRequestInternal(request, startTime, cacheKey) })
+    }
+
+    /**
+     * Traitement interne d'une requête diffusée.
+     *
+     * @param request La requête à traiter
+     * @param startTime L'heure de début du traitement
+     * @param cacheKey La clé de cache de la réponse
+     * @return Un Flux des recommandations validées puis de la réponse complète
+     */
+    private fun streamRequestInternal(
+        request: LlmRequest,
+        startTime: Instant,
+        cacheKey: String
+    ): Flux<LlmStreamEvent> {
+        val processingStart = Instant.now()
+        val validator = responseValidationService.streamValidator(request)
+        val awaitingFirstRecommendation = AtomicBoolean(true)
+
+        return selectModel(request)
+            .flatMapMany { selectedService ->
+                promptEngineeringService.generatePrompt(request)
+                    .flatMapMany { optimizedPrompt -> selectedService.streamLlmService(optimizedPrompt, request) }
+            }
+            // Dans l'ordre de génération: le validateur n'est appelé que pour une recommandation à la fois
+            .concatMap { event ->
+                when (event.type) {
+                    LlmStreamEventType.RECOMMENDATION -> {
+                        val recommendation = checkNotNull(event.recommendation) {
+                            "Événement de recommandation sans recommandation"
+                        }
+                        Mono.defer { Mono.justOrEmpty(validator.validate(recommendation)) }
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .map { LlmStreamEvent.recommendation(request.requestId, it) }
+                            .doOnNext {
+                                if (awaitingFirstRecommendation.compareAndSet(true, false)) {
+                                    firstRecommendationTimer.record(Duration.between(startTime, Instant.now()))
+                                }
+                            }
+                    }
+                    LlmStreamEventType.COMPLETE -> {
+                        val rawResponse = checkNotNull(event.response) {
+                            "Événement de fin sans réponse complète"
+                        }
+                        finalizeResponse(rawResponse, request, startTime, processingStart, cacheKey)
+                            .map { LlmStreamEvent.complete(it) }
+                    }
+                    LlmStreamEventType.ERROR -> Mono.just(event)
+                }
+            }
+            .onErrorMap { error -> toServiceException(error, request) }
+    }
+
+    /**
+     * Traite la requête, ou s'abonne au traitement d'une requête identique déjà en cours.
+     *
+     * L'appel partagé n'est pas annulé lorsque l'un des abonnés abandonne (délai
+     * dépassé): les autres continuent d'attendre son résultat, qui est ensuite mis
+     * en cache. Il est retiré des appels en cours dès sa fin.
+     *
+     * @param cacheKey La clé de cache de la requête
+     * @param request La requête à traiter
+     * @param startTime L'heure de début du traitement
+     * @return Un Mono contenant la réponse LLM
+     */
+    private fun callOnce(cacheKey: String, request: LlmRequest, startTime: Instant): Mono<LlmResponse> {
+        if (!singleFlightEnabled) {
+            return processRequestInternal(request, startTime, cacheKey)
+        }
+
+        return Mono.defer {
+            var leader = false
+            val call = inFlight.computeIfAbsent(cacheKey) {
+                leader = true
+                lateinit var shared: Mono<LlmResponse>
+                // Retrait conditionnel: un appel plus récent de même clé a pu être enregistré depuis la fin
+                shared = processRequestInternal(request, startTime, cacheKey)
+                    .doFinally { inFlight.remove(cacheKey, shared) }
+                    .cache()
+                shared
+            }
+
+            if (!leader) {
+                sharedCallCounter.increment()
+                logger.debug("Requête [{}] rattachée à un appel LLM identique en cours", request.requestId)
+            }
+            call
         }
     }
 
@@ -108,11 +275,13 @@ class LlmOrchestratorService(
      *
      * @param request La requête à traiter
      * @param startTime L'heure de début du traitement
+     * @param cacheKey La clé de cache de la réponse
      * @return Un Mono contenant la réponse LLM
      */
     private fun processRequestInternal(
         request: LlmRequest,
-        startTime: Instant
+        startTime: Instant,
+        cacheKey: String
     ): Mono<LlmResponse> {
         val processingStart = Instant.now()
 
@@ -126,21 +295,40 @@ class LlmOrchestratorService(
                         selectedService.callLlmService(optimizedPrompt, request)
                     }
             }
-            .flatMap { rawResponse ->
-                // Validation de la réponse
-                responseValidationService.validateResponse(rawResponse, request)
-                    .map { validatedResponse ->
-                        // Construction de la réponse finale avec métriques
-                        val endTime = Instant.now()
-                        val processingTimeMs = Duration.between(processingStart, endTime).toMillis()
-
-                        // Assertion #2: Vérification du temps de traitement
-                        require(processingTimeMs >= 0) {
-                            "Temps de traitement négatif détecté: $processingTimeMs ms"
-                        }
+            .flatMap { rawResponse -> finalizeResponse(rawResponse, request, startTime, processingStart, cacheKey) }
+            .onErrorMap { error -> toServiceException(error, request) }
+    }
 
-                        validatedResponse.copy(processingTimeMs = processingTimeMs)
-                    }
+    /**
+     * Valide, persiste et met en cache la réponse d'un modèle.
+     *
+     * @param rawResponse La réponse brute du modèle
+     * @param request La requête traitée
+     * @param startTime L'heure de début du traitement
+     * @param processingStart L'heure de début du traitement interne
+     * @param cacheKey La clé de cache de la réponse
+     * @return Un Mono contenant la réponse validée et persistée
+     */
+    private fun finalizeResponse(
+        rawResponse: LlmResponse,
+        request: LlmRequest,
+        startTime: Instant,
+        processingStart: Instant,
+        cacheKey: String
+    ): Mono<LlmResponse> {
+        // Validation de la réponse
+        return responseValidationService.validateResponse(rawResponse, request)
+            .map { validatedResponse ->
+                // Construction de la réponse finale avec métriques
+                val endTime = Instant.now()
+                val processingTimeMs = Duration.between(processingStart, endTime).toMillis()
+
+                // Assertion #2: Vérification du temps de traitement
+                require(processingTimeMs >= 0) {
+                    "Temps de traitement négatif détecté: $processingTimeMs ms"
+                }
+
+                validatedResponse.copy(processingTimeMs = processingTimeMs)
             }
             .flatMap { response ->
                 // Persistance de la réponse
@@ -148,10 +336,13 @@ class LlmOrchestratorService(
                     .doOnSuccess { saved ->
                         if (cacheEnabled) {
                             // Mise en cache de la réponse
-                            responseCache.set(request.requestId, saved, Duration.ofSeconds(cacheTtl))
+                            responseCache.set(cacheKey, saved, Duration.ofSeconds(cacheTtl))
                                 .subscribe()
                         }
 
+                        // Agrégats des statistiques d'utilisation, hors du chemin de la réponse
+                        responseRollupService.record(saved).subscribe()
+
                         // Enregistrement des métriques
                         val totalDuration = Duration.between(startTime, Instant.now())
                         requestTimer.record(totalDuration)
@@ -161,32 +352,44 @@ class LlmOrchestratorService(
                             request.requestId, saved.processingTimeMs, saved.recommendations.size)
                     }
             }
-            .onErrorMap { error ->
-                logger.error("Erreur lors du traitement de la requête LLM [{}]: {}",
-                    request.requestId, error.message, error)
-
-                when (error) {
-                    is TimeoutException -> LlmServiceException(
-                        "Délai d'exécution dépassé pour la requête: ${request.requestId}", error)
-                    is IllegalArgumentException -> LlmServiceException(
-                        "Validation échouée: ${error.message}", error)
-                    else -> LlmServiceException(
-                        "Erreur lors du traitement de la requête: ${error.message}", error)
-                }
-            }
     }
 
     /**
-     * Vérifie si une réponse existe déjà en cache.
+     * Convertit une erreur de traitement en exception du service LLM.
      *
+     * @param error L'erreur survenue
+     * @param request La requête traitée
+     * @return L'exception à propager
+     */
+    private fun toServiceException(error: Throwable, request: LlmRequest): Throwable {
+        logger.error("Erreur lors du traitement de la requête LLM [{}]: {}",
+            request.requestId, error.message, error)
+
+        return when (error) {
+            is TimeoutException -> LlmServiceException(
+                "Délai d'exécution dépassé pour la requête: ${request.requestId}", error)
+            is IllegalArgumentException -> LlmServiceException(
+                "Validation échouée: ${error.message}", error)
+            else -> LlmServiceException(
+                "Erreur lors du traitement de la requête: ${error.message}", error)
+        }
+    }
+
+    /**
+     * Vérifie si une réponse à une requête identique existe déjà en cache.
+     *
+     * @param cacheKey La clé de cache de la requête
      * @param requestId L'identifiant de la requête
      * @return Un Mono contenant la réponse si elle existe en cache
      */
-    private fun checkCache(requestId: String): Mono<LlmResponse> {
-        return responseCache.get(requestId)
+    private fun checkCache(cacheKey: String, requestId: String): Mono<LlmResponse> {
+        return responseCache.get(cacheKey)
             .doOnSuccess { cachedResponse ->
                 if (cachedResponse != null) {
+                    cacheHitCounter.increment()
                     logger.debug("Réponse trouvée en cache pour la requête [{}]", requestId)
+                } else {
+                    cacheMissCounter.increment()
                 }
             }
     }
@@ -252,6 +455,19 @@ class LlmOrchestratorService(
         } ?: llmProviders.values.first()
     }
 
+    /**
+     * Calcule les statistiques d'utilisation des modèles depuis une date.
+     *
+     * Les statistiques sont lues dans les agrégats horaires et journaliers, sans
+     * parcourir les réponses.
+     *
+     * @param modelType Le modèle, ou null pour tous les modèles
+     * @param startDate Le début de la période
+     * @return Un Mono contenant les statistiques par modèle et par catégorie
+     */
+    fun getModelUsageStats(modelType: LlmModelType?, startDate: Instant): Mono<Map<String, Any>> =
+        responseRollupService.usageStats(modelType, startDate)
+
     /**
      * Méthode de repli en cas d'échec du circuit breaker.
      *
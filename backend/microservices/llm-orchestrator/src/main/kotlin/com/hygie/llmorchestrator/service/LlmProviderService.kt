@@ -3,6 +3,8 @@ package com.hygie.llmorchestrator.service
 import com.hygie.llmorchestrator.model.LlmModelType
 import com.hygie.llmorchestrator.model.LlmRequest
 import com.hygie.llmorchestrator.model.LlmResponse
+import com.hygie.llmorchestrator.model.LlmStreamEvent
+import reactor.core.publisher.Flux
 import reactor.core.publisher.Mono
 
 /**
@@ -39,6 +41,25 @@ interface LlmProviderService {
      */
     fun callLlmService(prompt: String, originalRequest: LlmRequest): Mono<LlmResponse>
 
+    /**
+     * Appelle le service LLM en diffusant les recommandations au fil de la génération.
+     *
+     * Le flux émet un événement par recommandation extraite, puis un événement
+     * final portant la réponse complète. Par défaut, pour un modèle qui ne diffuse
+     * pas sa génération, les événements sont émis à la fin de l'appel.
+     *
+     * @param prompt Le prompt optimisé pour le modèle
+     * @param originalRequest La requête originale
+     * @return Un Flux des recommandations puis de la réponse complète
+     */
+    fun streamLlmService(prompt: String, originalRequest: LlmRequest): Flux<LlmStreamEvent> {
+        return callLlmService(prompt, originalRequest).flatMapMany { response ->
+            Flux.fromIterable(response.recommendations)
+                .map { LlmStreamEvent.recommendation(response.requestId, it) }
+                .concatWith(Mono.just(LlmStreamEvent.complete(response)))
+        }
+    }
+
     /**
      * Obtient des métriques sur les performances du modèle.
      *
@@ -1,10 +1,14 @@
 package com.hygie.llmorchestrator.service
 
 import com.hygie.llmorchestrator.model.RecommendationSource
+import io.micrometer.core.instrument.MeterRegistry
 import org.slf4j.LoggerFactory
 import org.springframework.beans.factory.annotation.Value
 import org.springframework.stereotype.Service
 import org.springframework.web.reactive.function.client.WebClient
+import org.springframework.web.reactive.function.client.WebClientResponseException
+import org.springframework.web.util.UriComponentsBuilder
+import reactor.core.publisher.Flux
 import reactor.core.publisher.Mono
 import java.time.Duration
 import java.time.Year
@@ -30,23 +34,45 @@ data class SourceValidationResult(
  * Ce service vérifie l'existence et la fiabilité des sources scientifiques
  * citées dans les recommandations pharmaceutiques.
  *
+ * Les sources d'une réponse sont validées ensemble: les résultats connus sont
+ * lus dans le cache en une fois, et les DOI et PMID restant à résoudre sont
+ * regroupés en lots, sur une courte fenêtre, en un appel CrossRef ou PubMed par
+ * lot. Un même identifiant demandé simultanément par plusieurs réponses n'est
+ * résolu qu'une fois. Les URL des résolveurs sont configurables: un serveur
+ * simulé local peut remplacer CrossRef et PubMed.
+ *
  * @property webClient Client HTTP pour les vérifications externes
+ * @property sourceCache Cache des résultats de validation
+ * @property meterRegistry Registre pour les métriques
  * @property pubmedApiKey Clé API pour PubMed
  * @property validationEnabled Flag indiquant si la validation externe est activée
  * @property timeoutMs Délai maximum pour les requêtes de validation
+ * @property crossrefUrl URL de base de l'API CrossRef
+ * @property pubmedUrl URL de base des E-utilities PubMed
+ * @property batchSize Nombre maximal d'identifiants par appel à un résolveur
+ * @property batchWindow Attente maximale d'un identifiant avant l'appel de son lot
  * @author Hygie-AI Team
  */
 @Service
 class MedicalSourcesService(
     private val webClient: WebClient,
+    private val sourceCache: SourceValidationCache,
+    private val meterRegistry: MeterRegistry,
     @Value("\${llm.validation.pubmed-api-key:}") private val pubmedApiKey: String,
     @Value("\${llm.validation.source-validation-enabled:true}") private val validationEnabled: Boolean,
-    @Value("\${llm.validation.source-validation-timeout-ms:5000}") private val timeoutMs: Long
+    @Value("\${llm.validation.source-validation-timeout-ms:5000}") private val timeoutMs: Long,
+    @Value("\${llm.validation.resolvers.crossref:https://api.crossref.org}") private val crossrefUrl: String,
+    @Value("\${llm.validation.resolvers.pubmed:https://eutils.ncbi.nlm.nih.gov/entrez/eutils}") private val pubmedUrl: String,
+    @Value("\${llm.validation.resolvers.batch-size:20}") private val batchSize: Int,
+    @Value("\${llm.validation.resolvers.batch-window:25ms}") private val batchWindow: Duration
 ) {
     private val logger = LoggerFactory.getLogger(MedicalSourcesService::class.java)
 
-    // Cache des résultats de validation (référence -> résultat)
-    private val validationCache = ConcurrentHashMap<String, SourceValidationResult>()
+    // Résolutions en cours (identifiant -> résultat partagé), pour ne résoudre qu'une fois
+    private val inFlight = ConcurrentHashMap<String, Mono<Boolean>>()
+
+    private lateinit var doiBatcher: MicroBatchDispatcher<String, Boolean>
+    private lateinit var pmidBatcher: MicroBatchDispatcher<String, Boolean>
 
     // Liste des journaux médicaux reconnus
     private val recognizedJournals = ConcurrentHashMap<String, Int>()
@@ -73,6 +99,9 @@ class MedicalSourcesService(
         } else if (validationEnabled) {
             logger.warn("Validation des sources activée mais aucune clé API PubMed fournie")
         }
+
+        doiBatcher = MicroBatchDispatcher("crossref", batchSize, batchWindow, meterRegistry, ::validateDois)
+        pmidBatcher = MicroBatchDispatcher("pubmed", batchSize, batchWindow, meterRegistry, ::validatePmids)
     }
 
     /**
@@ -143,55 +172,116 @@ class MedicalSourcesService(
      * @param source La source à valider
      * @return Un résultat de validation
      */
-    fun validateSource(source: RecommendationSource): SourceValidationResult {
-        // Vérifier d'abord le cache pour éviter des validations redondantes
-        val cacheKey = source.reference.trim()
-        validationCache[cacheKey]?.let { cachedResult ->
-            logger.debug("Résultat de validation trouvé en cache pour: {}", cacheKey)
-            return cachedResult
+    fun validateSource(source: RecommendationSource): SourceValidationResult =
+        validateSources(listOf(source)).getValue(source)
+
+    /**
+     * Valide ensemble plusieurs sources médicales, typiquement celles d'une réponse.
+     *
+     * @param sources Les sources à valider
+     * @return Le résultat de validation de chaque source
+     */
+    fun validateSources(sources: Collection<RecommendationSource>): Map<RecommendationSource, SourceValidationResult> {
+        if (sources.isEmpty()) {
+            return emptyMap()
+        }
+
+        val timedOut = { sources.associateWith { unavailable(it, "Timeout lors de la validation externe") } }
+
+        // Les résolutions ont leur propre délai: celui-ci ne protège que du blocage
+        return validateSourcesAsync(sources)
+            .timeout(Duration.ofMillis(timeoutMs * 2))
+            .onErrorResume { error ->
+                logger.warn("Validation de {} sources interrompue: {}", sources.size, error.message)
+                Mono.fromSupplier { timedOut() }
+            }
+            .block()
+            ?: timedOut()
+    }
+
+    /**
+     * Valide des sources, sans bloquer.
+     *
+     * Les sources de même référence partagent un résultat, validé une seule fois.
+     *
+     * @param sources Les sources à valider
+     * @return Un Mono contenant le résultat de validation de chaque source
+     */
+    fun validateSourcesAsync(
+        sources: Collection<RecommendationSource>
+    ): Mono<Map<RecommendationSource, SourceValidationResult>> {
+        val byKey = sources.groupBy { cacheKey(it) }
+
+        return sourceCache.getAll(byKey.keys).flatMap { cached ->
+            logger.debug("Validation de {} sources, {} trouvées en cache", byKey.size, cached.size)
+
+            Flux.fromIterable(byKey.entries.filter { it.key !in cached })
+                .flatMap { (key, group) ->
+                    validateUncached(group.first()).map { (result, outcome) ->
+                        sourceCache.put(key, result, outcome)
+                        key to result
+                    }
+                }
+                .collectMap({ it.first }, { it.second })
+                .map { validated ->
+                    sources.associateWith { source ->
+                        val key = cacheKey(source)
+                        cached[key] ?: validated.getValue(key)
+                    }
+                }
         }
+    }
+
+    private fun cacheKey(source: RecommendationSource): String = source.reference.trim()
 
+    /**
+     * Valide une source absente du cache.
+     *
+     * @param source La source à valider
+     * @return Un Mono contenant le résultat et son issue, qui fixe sa durée de vie en cache
+     */
+    private fun validateUncached(
+        source: RecommendationSource
+    ): Mono<Pair<SourceValidationResult, SourceValidationCache.Outcome>> {
         // Validation de base (locale)
         val basicValidation = performBasicValidation(source)
         if (!basicValidation.isValid) {
-            cacheValidationResult(cacheKey, basicValidation)
-            return basicValidation
+            return Mono.just(basicValidation to SourceValidationCache.Outcome.INVALID)
         }
 
         // Si la validation externe est désactivée, s'arrêter ici
         if (!validationEnabled) {
-            val result = SourceValidationResult(true, null, source.reference)
-            cacheValidationResult(cacheKey, result)
-            return result
+            return Mono.just(SourceValidationResult(true, null, source.reference) to SourceValidationCache.Outcome.VALID)
         }
 
-        // Effectuer une validation externe (asynchrone)
+        // Effectuer une validation externe
         return performExternalValidation(source)
-            .doOnSuccess { result -> cacheValidationResult(cacheKey, result) }
-            .doOnError { error ->
+            .map { result ->
+                result to if (result.isValid) SourceValidationCache.Outcome.VALID else SourceValidationCache.Outcome.INVALID
+            }
+            .onErrorResume { error ->
                 logger.error("Erreur lors de la validation externe de la source: {}", error.message, error)
-                val fallbackResult = SourceValidationResult(
-                    isValid = true, // Considérer valide en cas d'erreur technique
-                    reason = "Validation externe indisponible: ${error.message}",
-                    validatedReference = source.reference
+                Mono.just(
+                    unavailable(source, "Validation externe indisponible: ${error.message}") to
+                        SourceValidationCache.Outcome.UNAVAILABLE
                 )
-                cacheValidationResult(cacheKey, fallbackResult)
             }
-            .onErrorReturn(
-                SourceValidationResult(
-                    isValid = true, // Considérer valide en cas d'erreur technique
-                    reason = "Validation externe indisponible",
-                    validatedReference = source.reference
-                )
-            )
-            .block(Duration.ofMillis(timeoutMs))
-            ?: SourceValidationResult(
-                isValid = true, // Considérer valide en cas de timeout
-                reason = "Timeout lors de la validation externe",
-                validatedReference = source.reference
-            )
     }
 
+    /**
+     * Résultat de repli quand la validation externe n'a pas pu aboutir.
+     *
+     * @param source La source concernée
+     * @param reason La cause de l'indisponibilité
+     * @return Un résultat valide: une panne technique n'invalide pas une source
+     */
+    private fun unavailable(source: RecommendationSource, reason: String): SourceValidationResult =
+        SourceValidationResult(
+            isValid = true, // Considérer valide en cas d'erreur technique
+            reason = reason,
+            validatedReference = source.reference
+        )
+
     /**
      * Effectue une validation de base (locale) de la source.
      *
@@ -411,54 +501,34 @@ class MedicalSourcesService(
     }
 
     /**
-     * Valide un DOI via l'API CrossRef.
+     * Valide un DOI via l'API CrossRef, regroupé avec les DOI demandés simultanément.
      *
      * @param doi Le DOI à valider
-     * @return Un Mono indiquant si le DOI est valide
+     * @return Un Mono indiquant si le DOI est valide, en erreur si CrossRef est injoignable
      */
-    private fun validateDoi(doi: String): Mono<Boolean> {
-        return webClient.get()
-            .uri("https://api.crossref.org/works/$doi")
-            .retrieve()
-            .bodyToMono(Map::class.java)
-            .map { response ->
-                val status = response["status"] as? String
-                status == "ok"
-            }
-            .timeout(Duration.ofMillis(timeoutMs))
-            .onErrorReturn(false)
-    }
+    private fun validateDoi(doi: String): Mono<Boolean> =
+        coalesced("doi:${doi.lowercase()}") { doiBatcher.submit(doi) }
 
     /**
-     * Valide un PMID via l'API PubMed.
+     * Valide un PMID via l'API PubMed, regroupé avec les PMID demandés simultanément.
      *
      * @param pmid Le PMID à valider
-     * @return Un Mono indiquant si le PMID est valide
+     * @return Un Mono indiquant si le PMID est valide, en erreur si PubMed est injoignable
      */
-    private fun validatePmid(pmid: String): Mono<Boolean> {
-        val baseUrl = "https://eutils.ncbi.nlm.nih.gov/entrez/eutils/esummary.fcgi"
-        val apiKeyParam = if (pubmedApiKey.isNotBlank()) "&api_key=$pubmedApiKey" else ""
-
-        return webClient.get()
-            .uri("$baseUrl?db=pubmed&id=$pmid&retmode=json$apiKeyParam")
-            .retrieve()
-            .bodyToMono(Map::class.java)
-            .map { response ->
-                val result = response["result"] as? Map<*, *>
-                result?.containsKey(pmid) == true
-            }
-            .timeout(Duration.ofMillis(timeoutMs))
-            .onErrorReturn(false)
-    }
+    private fun validatePmid(pmid: String): Mono<Boolean> =
+        coalesced("pmid:$pmid") { pmidBatcher.submit(pmid) }
 
     /**
      * Valide une URL en vérifiant son accessibilité.
      *
+     * Une réponse 4xx invalide l'URL; une erreur serveur ou réseau est une
+     * indisponibilité, qui ne l'invalide pas.
+     *
      * @param url L'URL à valider
      * @return Un Mono indiquant si l'URL est accessible
      */
-    private fun validateUrl(url: String): Mono<Boolean> {
-        return webClient.head()
+    private fun validateUrl(url: String): Mono<Boolean> = coalesced("url:$url") {
+        webClient.head()
             .uri(url)
             .retrieve()
             .toBodilessEntity()
@@ -466,21 +536,71 @@ class MedicalSourcesService(
                 response.statusCode.is2xxSuccessful
             }
             .timeout(Duration.ofMillis(timeoutMs))
-            .onErrorReturn(false)
+            .onErrorResume({ it is WebClientResponseException && it.statusCode.is4xxClientError }) {
+                Mono.just(false)
+            }
     }
 
     /**
-     * Met en cache un résultat de validation.
+     * Partage une résolution en cours entre les demandes simultanées du même identifiant.
      *
-     * @param key La clé du cache (référence)
-     * @param result Le résultat de validation
+     * @param key L'identifiant, préfixé par son type
+     * @param resolve La résolution, lancée si aucune n'est en cours
+     * @return Un Mono contenant le résultat de la résolution
      */
-    private fun cacheValidationResult(key: String, result: SourceValidationResult) {
-        validationCache[key] = result
-        // Limiter la taille du cache à 1000 entrées
-        if (validationCache.size > 1000) {
-            val keysToRemove = validationCache.keys.take(100)
-            keysToRemove.forEach { validationCache.remove(it) }
+    private fun coalesced(key: String, resolve: () -> Mono<Boolean>): Mono<Boolean> =
+        inFlight.computeIfAbsent(key) {
+            lateinit var mono: Mono<Boolean>
+            // Retrait conditionnel: une résolution plus récente du même identifiant a pu être enregistrée depuis la fin
+            mono = resolve().doFinally { inFlight.remove(key, mono) }.cache()
+            mono
         }
+
+    /**
+     * Valide un lot de DOI en un appel CrossRef.
+     *
+     * @param dois Les DOI du lot
+     * @return Un Mono indiquant la validité de chaque DOI, dans l'ordre du lot
+     */
+    private fun validateDois(dois: List<String>): Mono<List<Boolean>> {
+        val uri = UriComponentsBuilder.fromHttpUrl("$crossrefUrl/works")
+            .queryParam("filter", dois.joinToString(",") { "doi:$it" })
+            .queryParam("rows", dois.size)
+            .queryParam("select", "DOI")
+            .encode()
+            .build()
+            .toUri()
+
+        return webClient.get()
+            .uri(uri)
+            .retrieve()
+            .bodyToMono(Map::class.java)
+            .map { response ->
+                val items = (response["message"] as? Map<*, *>)?.get("items") as? List<*> ?: emptyList<Any>()
+                val found = items.mapNotNullTo(HashSet()) { ((it as? Map<*, *>)?.get("DOI") as? String)?.lowercase() }
+                dois.map { it.lowercase() in found }
+            }
+            .timeout(Duration.ofMillis(timeoutMs))
+    }
+
+    /**
+     * Valide un lot de PMID en un appel PubMed.
+     *
+     * @param pmids Les PMID du lot
+     * @return Un Mono indiquant la validité de chaque PMID, dans l'ordre du lot
+     */
+    private fun validatePmids(pmids: List<String>): Mono<List<Boolean>> {
+        val apiKeyParam = if (pubmedApiKey.isNotBlank()) "&api_key=$pubmedApiKey" else ""
+
+        return webClient.get()
+            .uri("$pubmedUrl/esummary.fcgi?db=pubmed&id=${pmids.joinToString(",")}&retmode=json$apiKeyParam")
+            .retrieve()
+            .bodyToMono(Map::class.java)
+            .map { response ->
+                val result = response["result"] as? Map<*, *>
+                // Un PMID inconnu figure dans le résultat avec une erreur
+                pmids.map { pmid -> (result?.get(pmid) as? Map<*, *>)?.containsKey("error") == false }
+            }
+            .timeout(Duration.ofMillis(timeoutMs))
     }
 }
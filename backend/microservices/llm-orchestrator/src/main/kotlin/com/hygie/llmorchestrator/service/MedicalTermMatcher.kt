@@ -0,0 +1,211 @@
+package com.hygie.llmorchestrator.service
+
+/**
+ * Reconnaissance simultanée de tous les termes d'un dictionnaire dans un texte.
+ *
+ * Automate d'Aho-Corasick construit une fois à partir des termes (insensibles à
+ * la casse): le texte est parcouru en une seule passe, quel que soit le nombre
+ * de termes. Comme avec `\b` dans une expression régulière, une occurrence
+ * n'est retenue que si ses deux extrémités sont des limites de mot (lettres,
+ * chiffres et `_` formant les mots). Les termes sont comparés littéralement.
+ *
+ * Les transitions de chaque état sont stockées dans des tableaux triés, parcourus
+ * par dichotomie: l'automate reste compact même pour un grand dictionnaire.
+ * Une instance est immuable et peut être partagée entre threads.
+ *
+ * @param terms Les termes à reconnaître et leur forme normalisée
+ * @author Hygie-AI Team
+ */
+class MedicalTermMatcher(terms: Map<String, String>) {
+
+    /**
+     * Occurrence d'un terme du dictionnaire.
+     *
+     * @property start Position du premier caractère dans le texte
+     * @property end Position suivant le dernier caractère
+     * @property term Le terme du dictionnaire, en minuscules
+     * @property replacement Sa forme normalisée
+     */
+    data class Match(val start: Int, val end: Int, val term: String, val replacement: String)
+
+    private val patterns: Array<String>
+    private val replacements: Array<String>
+
+    // Automate: transitions triées par caractère, lien d'échec, terme reconnu et
+    // lien vers le plus proche suffixe reconnaissant un terme (-1 si aucun)
+    private val edgeChars: Array<CharArray>
+    private val edgeTargets: Array<IntArray>
+    private val failure: IntArray
+    private val output: IntArray
+    private val outputLink: IntArray
+
+    init {
+        val entries = terms.entries
+            .map { (term, replacement) -> foldCase(term.trim()) to replacement }
+            .filter { it.first.isNotEmpty() }
+            .associate { it }
+        patterns = entries.keys.toTypedArray()
+        replacements = Array(patterns.size) { entries.getValue(patterns[it]) }
+
+        // Construction du trie
+        val children = mutableListOf(sortedMapOf<Char, Int>())
+        val terminal = mutableListOf(-1)
+        for ((index, pattern) in patterns.withIndex()) {
+            var state = 0
+            for (c in pattern) {
+                state = children[state].getOrPut(c) {
+                    children.add(sortedMapOf())
+                    terminal.add(-1)
+                    children.size - 1
+                }
+            }
+            terminal[state] = index
+        }
+
+        val stateCount = children.size
+        edgeChars = Array(stateCount) { state -> children[state].keys.toCharArray() }
+        edgeTargets = Array(stateCount) { state -> children[state].values.toIntArray() }
+        output = terminal.toIntArray()
+        failure = IntArray(stateCount)
+        outputLink = IntArray(stateCount) { -1 }
+
+        // Liens d'échec, en largeur depuis la racine
+        val queue = ArrayDeque<Int>()
+        for (child in edgeTargets[0]) {
+            queue.addLast(child)
+        }
+        while (queue.isNotEmpty()) {
+            val state = queue.removeFirst()
+            val chars = edgeChars[state]
+            val targets = edgeTargets[state]
+            for (i in chars.indices) {
+                val child = targets[i]
+                var fallback = failure[state]
+                var next = transition(fallback, chars[i])
+                while (next < 0 && fallback != 0) {
+                    fallback = failure[fallback]
+                    next = transition(fallback, chars[i])
+                }
+                failure[child] = if (next >= 0 && next != child) next else 0
+                outputLink[child] = if (output[failure[child]] >= 0) failure[child] else outputLink[failure[child]]
+                queue.addLast(child)
+            }
+        }
+
+        // Assertion #1: Vérification de l'automate
+        check(output.count { it >= 0 } == patterns.size) {
+            "Chaque terme du dictionnaire doit être reconnu par un état de l'automate"
+        }
+    }
+
+    /**
+     * Nombre de termes du dictionnaire.
+     */
+    val size: Int
+        get() = patterns.size
+
+    /**
+     * Recherche toutes les occurrences des termes, y compris imbriquées ou chevauchantes.
+     *
+     * @param text Le texte à analyser
+     * @return Les occurrences, par position de fin croissante
+     */
+    fun findAll(text: String): List<Match> {
+        val matches = mutableListOf<Match>()
+        scan(text) { start, end, pattern ->
+            matches.add(Match(start, end, patterns[pattern], replacements[pattern]))
+        }
+        return matches
+    }
+
+    /**
+     * Remplace les termes par leur forme normalisée, en une passe.
+     *
+     * Parmi des occurrences qui se chevauchent, la plus à gauche puis la plus
+     * longue l'emporte: "insuffisance rénale" est remplacé en entier plutôt que
+     * "insuffisance" seul.
+     *
+     * @param text Le texte à normaliser
+     * @return Le texte normalisé, ou le texte lui-même s'il ne contient aucun terme
+     */
+    fun replaceAll(text: String): String {
+        // Pour chaque position de départ, la fin et le terme de l'occurrence la plus longue
+        var longestEnd: IntArray? = null
+        var longestPattern: IntArray? = null
+        scan(text) { start, end, pattern ->
+            val ends = longestEnd ?: IntArray(text.length).also { longestEnd = it }
+            val found = longestPattern ?: IntArray(text.length).also { longestPattern = it }
+            if (end > ends[start]) {
+                ends[start] = end
+                found[start] = pattern
+            }
+        }
+        val ends = longestEnd ?: return text
+        val found = longestPattern ?: return text
+
+        val result = StringBuilder(text.length + text.length / 8)
+        var position = 0
+        while (position < text.length) {
+            if (ends[position] > 0) {
+                result.append(replacements[found[position]])
+                position = ends[position]
+            } else {
+                result.append(text[position])
+                position++
+            }
+        }
+
+        // Assertion #2: Vérification du parcours complet
+        check(position == text.length) { "Le texte doit être parcouru jusqu'à sa fin" }
+
+        return result.toString()
+    }
+
+    /**
+     * Parcourt le texte et signale chaque occurrence bornée par des limites de mot.
+     */
+    private inline fun scan(text: String, onMatch: (start: Int, end: Int, pattern: Int) -> Unit) {
+        if (patterns.isEmpty()) {
+            return
+        }
+        var state = 0
+        for (position in text.indices) {
+            val c = text[position].lowercaseChar()
+            var next = transition(state, c)
+            while (next < 0 && state != 0) {
+                state = failure[state]
+                next = transition(state, c)
+            }
+            state = if (next >= 0) next else 0
+
+            var candidate = if (output[state] >= 0) state else outputLink[state]
+            while (candidate >= 0) {
+                val pattern = output[candidate]
+                val end = position + 1
+                val start = end - patterns[pattern].length
+                if (isBoundary(text, start) && isBoundary(text, end)) {
+                    onMatch(start, end, pattern)
+                }
+                candidate = outputLink[candidate]
+            }
+        }
+    }
+
+    private fun transition(state: Int, c: Char): Int {
+        val index = edgeChars[state].binarySearch(c)
+        return if (index >= 0) edgeTargets[state][index] else -1
+    }
+
+    private fun isBoundary(text: String, index: Int): Boolean {
+        val before = index > 0 && isWordChar(text[index - 1])
+        val after = index < text.length && isWordChar(text[index])
+        return before != after
+    }
+
+    private fun isWordChar(c: Char): Boolean = c.isLetterOrDigit() || c == '_'
+
+    // Minuscules caractère par caractère, comme le texte parcouru: les positions
+    // des occurrences correspondent ainsi à celles du texte d'origine
+    private fun foldCase(term: String): String =
+        buildString(term.length) { term.forEach { append(it.lowercaseChar()) } }
+}
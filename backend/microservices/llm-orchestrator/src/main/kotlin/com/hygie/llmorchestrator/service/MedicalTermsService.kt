@@ -6,7 +6,6 @@ import org.springframework.beans.factory.annotation.Value
 import org.springframework.core.io.ResourceLoader
 import java.nio.charset.StandardCharsets
 import javax.annotation.PostConstruct
-import java.util.concurrent.ConcurrentHashMap
 
 /**
  * Service de validation et de normalisation des termes médicaux.
@@ -14,6 +13,10 @@ import java.util.concurrent.ConcurrentHashMap
  * Ce service garantit l'exactitude et la cohérence de la terminologie médicale
  * utilisée dans les recommandations pharmaceutiques.
  *
+ * Le dictionnaire chargé est publié d'un bloc: un rechargement remplace
+ * ensemble les termes, les abréviations et l'automate qui les reconnaît, et un
+ * terme retiré du fichier cesse d'être reconnu.
+ *
  * @property resourceLoader Chargeur de ressources Spring
  * @property medicalTermsPath Chemin vers le fichier de terminologie médicale
  * @property strictValidation Active la validation stricte de la terminologie
@@ -29,11 +32,27 @@ class MedicalTermsService(
 ) {
     private val logger = LoggerFactory.getLogger(MedicalTermsService::class.java)
 
-    // Map des termes médicaux normalisés (terme courant -> terme standard)
-    private val standardTerms = ConcurrentHashMap<String, String>()
+    /**
+     * Dictionnaire chargé, immuable.
+     *
+     * @property standardTerms Termes courants et leur terme standard
+     * @property abbreviations Abréviations et leur forme complète
+     */
+    private class Dictionary(
+        val standardTerms: Map<String, String>,
+        val abbreviations: Map<String, String>
+    ) {
+        // Termes standard en minuscules, pour la validation d'un terme
+        val standardTermValues: Set<String> = standardTerms.values.mapTo(HashSet()) { it.lowercase() }
+
+        // Automate reconnaissant en une passe termes courants et abréviations; une
+        // abréviation identique à un terme courant l'emporte, comme lorsqu'elles
+        // étaient remplacées en premier
+        val matcher = MedicalTermMatcher(standardTerms + abbreviations)
+    }
 
-    // Map des abréviations médicales (abréviation -> forme complète)
-    private val medicalAbbreviations = ConcurrentHashMap<String, String>()
+    @Volatile
+    private var dictionary = Dictionary(emptyMap(), emptyMap())
 
     /**
      * Charge les dictionnaires de termes médicaux et d'abréviations.
@@ -51,18 +70,20 @@ class MedicalTermsService(
 
             val content = resource.inputStream.readAllBytes().toString(StandardCharsets.UTF_8)
             val lines = content.lines().filter { it.isNotBlank() }
+            val standardTerms = HashMap<String, String>()
+            val medicalAbbreviations = HashMap<String, String>()
 
             for (line in lines) {
                 val parts = line.split(";")
                 if (parts.size >= 2) {
-                    val commonTerm = parts[0].trim().toLowerCase()
+                    val commonTerm = parts[0].trim().lowercase()
                     val standardTerm = parts[1].trim()
 
                     standardTerms[commonTerm] = standardTerm
 
                     // Enregistrer également les éventuelles abréviations
                     if (parts.size >= 3 && parts[2].trim().isNotBlank()) {
-                        val abbreviation = parts[2].trim().toLowerCase()
+                        val abbreviation = parts[2].trim().lowercase()
                         medicalAbbreviations[abbreviation] = standardTerm
                     }
                 }
@@ -78,6 +99,9 @@ class MedicalTermsService(
                 "Aucune abréviation médicale chargée"
             }
 
+            // Publication d'un bloc: un dictionnaire invalide laisse le précédent en place
+            dictionary = Dictionary(standardTerms, medicalAbbreviations)
+
             logger.info("{} termes médicaux et {} abréviations chargés avec succès",
                 standardTerms.size, medicalAbbreviations.size)
 
@@ -98,26 +122,15 @@ class MedicalTermsService(
         text: String,
         requireStrictTerminology: Boolean = false
     ): String {
+        val current = dictionary
+
         // Si le dictionnaire est vide ou si la validation n'est pas activée, retourner le texte tel quel
-        if (standardTerms.isEmpty() || (!strictValidation && !requireStrictTerminology)) {
+        if (current.standardTerms.isEmpty() || (!strictValidation && !requireStrictTerminology)) {
             return text
         }
 
-        var normalizedText = text
-
-        // Remplacer les abréviations par leur forme complète
-        for ((abbreviation, fullForm) in medicalAbbreviations) {
-            val regex = "\\b$abbreviation\\b".toRegex(RegexOption.IGNORE_CASE)
-            normalizedText = normalizedText.replace(regex, fullForm)
-        }
-
-        // Normaliser les termes médicaux courants vers leur forme standard
-        for ((commonTerm, standardTerm) in standardTerms) {
-            val regex = "\\b$commonTerm\\b".toRegex(RegexOption.IGNORE_CASE)
-            normalizedText = normalizedText.replace(regex, standardTerm)
-        }
-
-        return normalizedText
+        // Abréviations et termes courants remplacés par leur forme standard en une passe
+        return current.matcher.replaceAll(text)
     }
 
     /**
@@ -127,17 +140,18 @@ class MedicalTermsService(
      * @return true si le terme est valide ou a un équivalent standard
      */
     fun isValidMedicalTerm(term: String): Boolean {
-        if (standardTerms.isEmpty()) {
+        val current = dictionary
+        if (current.standardTerms.isEmpty()) {
             // Sans dictionnaire, on ne peut pas valider, donc on considère le terme comme valide
             return true
         }
 
-        val normalizedTerm = term.trim().toLowerCase()
+        val normalizedTerm = term.trim().lowercase()
 
         // Le terme est valide s'il existe dans le dictionnaire ou est lui-même un terme standard
-        return standardTerms.containsKey(normalizedTerm) ||
-               standardTerms.values.any { it.equals(term, ignoreCase = true) } ||
-               medicalAbbreviations.containsKey(normalizedTerm)
+        return current.standardTerms.containsKey(normalizedTerm) ||
+               current.standardTermValues.contains(normalizedTerm) ||
+               current.abbreviations.containsKey(normalizedTerm)
     }
 
     /**
@@ -149,24 +163,14 @@ class MedicalTermsService(
     fun extractMedicalTerms(text: String): Map<String, String> {
         val result = mutableMapOf<String, String>()
 
-        if (standardTerms.isEmpty()) {
+        val current = dictionary
+        if (current.standardTerms.isEmpty()) {
             return result
         }
 
-        // Pour chaque terme médical connu, vérifier s'il apparaît dans le texte
-        for ((commonTerm, standardTerm) in standardTerms) {
-            val regex = "\\b$commonTerm\\b".toRegex(RegexOption.IGNORE_CASE)
-            if (regex.containsMatchIn(text)) {
-                result[commonTerm] = standardTerm
-            }
-        }
-
-        // Vérifier également les abréviations
-        for ((abbreviation, fullForm) in medicalAbbreviations) {
-            val regex = "\\b$abbreviation\\b".toRegex(RegexOption.IGNORE_CASE)
-            if (regex.containsMatchIn(text)) {
-                result[abbreviation] = fullForm
-            }
+        // Termes courants et abréviations présents dans le texte, en une passe
+        for (match in current.matcher.findAll(text)) {
+            result[match.term] = match.replacement
         }
 
         return result
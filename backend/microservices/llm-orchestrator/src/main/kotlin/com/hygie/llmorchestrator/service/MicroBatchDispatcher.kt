@@ -0,0 +1,178 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.exception.LlmServiceException
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.DistributionSummary
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import reactor.core.Disposable
+import reactor.core.publisher.Mono
+import reactor.core.publisher.MonoSink
+import reactor.core.scheduler.Scheduler
+import reactor.core.scheduler.Schedulers
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+/**
+ * Regroupement en lots des appels simultanés à un service distant (serveur
+ * d'inférence, résolveur de références).
+ *
+ * Les entrées soumises sont accumulées jusqu'à ce que le lot atteigne
+ * `maxBatchSize` entrées ou que la plus ancienne attende depuis `maxWait`; le
+ * lot part alors en un seul appel et chaque sortie est rendue au [Mono] de
+ * l'entrée de même rang. Un échec de l'appel groupé, ou sa fin sans sortie, est
+ * propagé à toutes les entrées du lot. Une entrée annulée avant le départ de son lot en est retirée.
+ *
+ * L'appel groupé est fourni sous forme de fonction: un service simulé
+ * suffit à exercer le regroupement.
+ *
+ * Métriques, étiquetées par `dispatcher`: `llm.batch.size` (entrées par lot),
+ * `llm.batch.wait` (attente d'une entrée avant le départ de son lot) et
+ * `llm.batch.dispatches` (lots envoyés, par déclencheur `size` ou `time`).
+ *
+ * @param name Nom du regroupement, pour les métriques
+ * @param maxBatchSize Nombre maximal d'entrées par lot
+ * @param maxWait Attente maximale d'une entrée avant le départ de son lot
+ * @param meterRegistry Registre pour les métriques
+ * @param sendBatch Appel groupé, rendant une sortie par entrée, dans l'ordre des entrées
+ * @param scheduler Ordonnanceur des départs sur délai
+ * @author Hygie-AI Team
+ */
+class MicroBatchDispatcher<I, O>(
+    name: String,
+    private val maxBatchSize: Int,
+    private val maxWait: Duration,
+    meterRegistry: MeterRegistry,
+    private val sendBatch: (List<I>) -> Mono<List<O>>,
+    private val scheduler: Scheduler = Schedulers.parallel()
+) {
+    /**
+     * Entrée en attente et destinataire de sa sortie.
+     */
+    private class Pending<I, O>(val input: I, val sink: MonoSink<O>, val submittedAt: Long)
+
+    private val lock = Any()
+    private var pending = ArrayList<Pending<I, O>>(maxBatchSize)
+
+    // Départ sur délai du lot en cours, et numéro de ce lot pour ignorer un départ périmé
+    private var flushTask: Disposable? = null
+    private var generation = 0L
+
+    private val batchSize: DistributionSummary
+    private val waitTimer: Timer
+    private val sizeDispatches: Counter
+    private val timeDispatches: Counter
+
+    init {
+        // Assertion #1: Vérification de la taille des lots
+        require(maxBatchSize >= 1) { "La taille maximale d'un lot doit être positive (actuelle: $maxBatchSize)" }
+
+        // Assertion #2: Vérification de l'attente maximale
+        require(!maxWait.isNegative && !maxWait.isZero) { "L'attente maximale d'un lot doit être positive" }
+
+        batchSize = DistributionSummary.builder("llm.batch.size")
+            .description("Nombre d'entrées par lot envoyé au service distant")
+            .tag("dispatcher", name)
+            .register(meterRegistry)
+        waitTimer = Timer.builder("llm.batch.wait")
+            .description("Attente d'une entrée avant le départ de son lot")
+            .tag("dispatcher", name)
+            .register(meterRegistry)
+        sizeDispatches = Counter.builder("llm.batch.dispatches")
+            .description("Lots envoyés au service distant")
+            .tags("dispatcher", name, "trigger", "size")
+            .register(meterRegistry)
+        timeDispatches = Counter.builder("llm.batch.dispatches")
+            .description("Lots envoyés au service distant")
+            .tags("dispatcher", name, "trigger", "time")
+            .register(meterRegistry)
+    }
+
+    /**
+     * Soumet une entrée, envoyée avec les entrées simultanées.
+     *
+     * @param input L'entrée
+     * @return Un Mono contenant la sortie correspondant à l'entrée
+     */
+    fun submit(input: I): Mono<O> = Mono.create { sink ->
+        val item = Pending(input, sink, System.nanoTime())
+        var full: List<Pending<I, O>>? = null
+
+        // Enregistré avant l'ajout: une annulation concurrente ne peut laisser l'entrée dans le lot
+        sink.onCancel {
+            synchronized(lock) {
+                if (pending.remove(item) && pending.isEmpty()) {
+                    // Lot vide: son départ sur délai ne doit pas écourter l'attente du lot suivant
+                    generation++
+                    flushTask?.dispose()
+                    flushTask = null
+                }
+            }
+        }
+
+        synchronized(lock) {
+            pending.add(item)
+            if (pending.size >= maxBatchSize) {
+                full = takePending()
+            } else if (pending.size == 1) {
+                val batchGeneration = generation
+                flushTask = scheduler.schedule({ flushOnTimeout(batchGeneration) }, maxWait.toNanos(), TimeUnit.NANOSECONDS)
+            }
+        }
+
+        full?.let {
+            sizeDispatches.increment()
+            dispatch(it)
+        }
+    }
+
+    private fun flushOnTimeout(batchGeneration: Long) {
+        val batch = synchronized(lock) {
+            if (batchGeneration != generation || pending.isEmpty()) {
+                return
+            }
+            takePending()
+        }
+        timeDispatches.increment()
+        dispatch(batch)
+    }
+
+    // Appelé sous le verrou
+    private fun takePending(): List<Pending<I, O>> {
+        val batch = pending
+        pending = ArrayList(maxBatchSize)
+        generation++
+        flushTask?.dispose()
+        flushTask = null
+        return batch
+    }
+
+    private fun dispatch(batch: List<Pending<I, O>>) {
+        val now = System.nanoTime()
+        batchSize.record(batch.size.toDouble())
+        batch.forEach { waitTimer.record(now - it.submittedAt, TimeUnit.NANOSECONDS) }
+
+        var answered = false
+        Mono.defer { sendBatch(batch.map { it.input }) }
+            .subscribe(
+                { outputs ->
+                    answered = true
+                    if (outputs.size != batch.size) {
+                        val error = LlmServiceException(
+                            "Le service distant a rendu ${outputs.size} sorties pour un lot de ${batch.size} entrées")
+                        batch.forEach { it.sink.error(error) }
+                    } else {
+                        batch.forEachIndexed { index, item -> item.sink.success(outputs[index]) }
+                    }
+                },
+                { error -> batch.forEach { it.sink.error(error) } },
+                {
+                    // Un appel groupé terminé sans sortie laisserait les entrées en attente indéfiniment
+                    if (!answered) {
+                        val error = LlmServiceException("Le service distant n'a rendu aucune sortie pour un lot de ${batch.size} entrées")
+                        batch.forEach { it.sink.error(error) }
+                    }
+                }
+            )
+    }
+}
@@ -4,6 +4,7 @@ import com.hygie.llmorchestrator.model.AnalysisCategory
 import com.hygie.llmorchestrator.model.LlmModelType
 import com.hygie.llmorchestrator.model.LlmRequest
 import com.hygie.llmorchestrator.model.MedicationInfo
+import com.hygie.llmorchestrator.service.CompiledPromptTemplate.Placeholder
 import org.slf4j.LoggerFactory
 import org.springframework.beans.factory.annotation.Value
 import org.springframework.core.io.Resource
@@ -12,6 +13,9 @@ import org.springframework.stereotype.Service
 import reactor.core.publisher.Mono
 import reactor.core.scheduler.Schedulers
 import java.nio.charset.StandardCharsets
+import java.security.MessageDigest
+import java.text.Normalizer
+import java.util.HexFormat
 import java.util.concurrent.ConcurrentHashMap
 import javax.annotation.PostConstruct
 
@@ -24,6 +28,8 @@ import javax.annotation.PostConstruct
  * @property resourceLoader Chargeur de ressources Spring
  * @property templatesPath Chemin vers les templates de prompts
  * @property contextWindowSize Taille maximale de la fenêtre de contexte pour les modèles
+ * @property templateVersionLabel Version déclarée des templates, à incrémenter lorsque leur usage change
+ * @property tokenBudget Nombre de tokens estimé alloué à un prompt
  * @author Hygie-AI Team
  */
 @Service
@@ -32,11 +38,31 @@ class PromptEngineeringService(
     @Value("\${llm.prompt-engineering.templates-path:classpath:prompts/}")
     private val templatesPath: String,
     @Value("\${llm.prompt-engineering.context-window-size:16384}")
-    private val contextWindowSize: Int
+    private val contextWindowSize: Int,
+    @Value("\${llm.prompt-engineering.template-version:1}")
+    private val templateVersionLabel: String,
+    @Value("\${llm.prompt-engineering.token-budget:4096}")
+    private val tokenBudget: Int
 ) {
     private val logger = LoggerFactory.getLogger(PromptEngineeringService::class.java)
     private val promptTemplates = ConcurrentHashMap<String, String>()
 
+    // Templates compilés, par version des templates puis clé de template
+    private val compiledTemplates = ConcurrentHashMap<String, CompiledPromptTemplate>()
+
+    // Tampon d'assemblage réutilisé d'un prompt à l'autre sur chaque thread
+    private val promptBuffer = ThreadLocal.withInitial { StringBuilder(INITIAL_BUFFER_CAPACITY) }
+
+    /**
+     * Version des templates chargés: la version déclarée suivie d'une empreinte de
+     * leur contenu et des limites de taille du prompt (budget en tokens, fenêtre
+     * de contexte). Elle entre dans les clés du cache des réponses, qui sont ainsi
+     * invalidées dès qu'un template ou un budget est modifié.
+     */
+    @Volatile
+    var templateVersion: String = templateVersionLabel
+        private set
+
     /**
      * Charge les templates de prompts au démarrage du service.
      */
@@ -95,7 +121,30 @@ class PromptEngineeringService(
             }
         }
 
-        logger.info("{} templates de prompts chargés avec succès", promptTemplates.size)
+        templateVersion = "$templateVersionLabel-" + fingerprintTemplates()
+        compiledTemplates.clear()
+
+        logger.info("{} templates de prompts chargés avec succès (version {})",
+            promptTemplates.size, templateVersion)
+    }
+
+    /**
+     * Calcule l'empreinte du contenu des templates chargés et des limites de taille du prompt.
+     *
+     * @return Les 12 premiers caractères hexadécimaux du SHA-256 des limites puis des templates triés par clé
+     */
+    private fun fingerprintTemplates(): String {
+        val digest = MessageDigest.getInstance("SHA-256")
+        // Un autre budget tronque autrement le même contexte: la réponse en cache ne vaut plus
+        digest.update("$tokenBudget/$contextWindowSize".toByteArray(StandardCharsets.UTF_8))
+        digest.update(0.toByte())
+        for ((key, content) in promptTemplates.toSortedMap()) {
+            digest.update(key.toByteArray(StandardCharsets.UTF_8))
+            digest.update(0.toByte())
+            digest.update(content.toByteArray(StandardCharsets.UTF_8))
+            digest.update(0.toByte())
+        }
+        return HexFormat.of().formatHex(digest.digest()).substring(0, 12)
     }
 
     /**
@@ -113,21 +162,49 @@ class PromptEngineeringService(
             val template = promptTemplates[templateKey] ?: promptTemplates["${request.modelType}_general"]
             ?: throw IllegalStateException("Aucun template disponible pour: $templateKey")
 
-            // Génération des sections du prompt
-            val patientContextSection = formatPatientContext(request.patientContext)
-            val medicationsSection = formatMedications(request.medications)
+            val compiled = compiledTemplate(templateKey, template)
+
+            // Sections obligatoires: instructions d'analyse et identifiant de requête
             val analysisInstructionsSection = formatAnalysisInstructions(request.analysisCategories)
-            val additionalContextSection = formatAdditionalContext(request.additionalContext)
+            val fixedTokens = compiled.fixedTokens +
+                TokenEstimator.estimate(analysisInstructionsSection) *
+                    compiled.occurrences(Placeholder.ANALYSIS_INSTRUCTIONS) +
+                TokenEstimator.estimate(request.requestId) * compiled.occurrences(Placeholder.REQUEST_ID)
+
+            // Répartition du budget restant entre médicaments, contexte patient et contexte additionnel
+            val medications = prioritizeMedications(request.medications)
+            val medicationLines = formatMedicationLines(medications)
+            val budgets = allocateBudget(
+                tokenBudget - fixedTokens,
+                intArrayOf(
+                    medicationsDemand(medicationLines) * compiled.occurrences(Placeholder.MEDICATIONS),
+                    patientContextDemand(request.patientContext) * compiled.occurrences(Placeholder.PATIENT_CONTEXT),
+                    additionalContextDemand(request.additionalContext) *
+                        compiled.occurrences(Placeholder.ADDITIONAL_CONTEXT)
+                )
+            )
 
-            // Substitution des variables dans le template
-            var finalPrompt = template
-                .replace("{PATIENT_CONTEXT}", patientContextSection)
-                .replace("{MEDICATIONS}", medicationsSection)
-                .replace("{ANALYSIS_INSTRUCTIONS}", analysisInstructionsSection)
-                .replace("{ADDITIONAL_CONTEXT}", additionalContextSection)
-                .replace("{REQUEST_ID}", request.requestId)
+            val buffer = promptBuffer.get()
+            buffer.setLength(0)
+            compiled.render(buffer) { placeholder, out ->
+                when (placeholder) {
+                    Placeholder.PATIENT_CONTEXT -> writePatientContext(out, request.patientContext,
+                        budgets[1] / compiled.occurrences(placeholder))
+                    Placeholder.MEDICATIONS -> writeMedications(out, medications, medicationLines,
+                        budgets[0] / compiled.occurrences(placeholder))
+                    Placeholder.ANALYSIS_INSTRUCTIONS -> out.append(analysisInstructionsSection)
+                    Placeholder.ADDITIONAL_CONTEXT -> writeAdditionalContext(out, request.additionalContext,
+                        budgets[2] / compiled.occurrences(placeholder))
+                    Placeholder.REQUEST_ID -> out.append(request.requestId)
+                }
+            }
+            var finalPrompt = buffer.toString()
+            if (buffer.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+                promptBuffer.set(StringBuilder(INITIAL_BUFFER_CAPACITY))
+            }
 
-            // Troncature si nécessaire pour respecter la taille maximale de contexte
+            // Filet de sécurité: le budget en tokens n'étant qu'une estimation,
+            // la taille maximale de contexte en caractères reste garantie
             // Assertion #1: Vérifier que la taille du prompt est conforme à la taille de contexte
             val promptLength = finalPrompt.length
             if (promptLength > contextWindowSize) {
@@ -141,8 +218,10 @@ class PromptEngineeringService(
                 "Le prompt généré est vide pour la requête: ${request.requestId}"
             }
 
-            logger.debug("Prompt généré pour la requête {} ({} caractères)",
-                request.requestId, finalPrompt.length)
+            if (logger.isDebugEnabled) {
+                logger.debug("Prompt généré pour la requête {} ({} caractères, ~{} tokens sur {})",
+                    request.requestId, finalPrompt.length, TokenEstimator.estimate(finalPrompt), tokenBudget)
+            }
 
             finalPrompt
         }.subscribeOn(Schedulers.boundedElastic())
@@ -206,38 +285,186 @@ class PromptEngineeringService(
     }
 
     /**
-     * Formate le contexte patient pour le prompt.
+     * Retourne le template compilé, compilé une fois par version des templates.
      *
-     * @param patientContext Le contexte patient brut
-     * @return Le contexte patient formaté
+     * @param templateKey La clé du template
+     * @param template Le texte du template
+     * @return Le template compilé
      */
-    private fun formatPatientContext(patientContext: String): String {
-        // Vérification de la taille du contexte patient
-        if (patientContext.length > 10000) {
-            return "CONTEXTE PATIENT:\n" + patientContext.substring(0, 10000) +
-                "\n[Contexte tronqué en raison de sa taille...]"
+    private fun compiledTemplate(templateKey: String, template: String): CompiledPromptTemplate {
+        return compiledTemplates.computeIfAbsent("$templateVersion/$templateKey") {
+            CompiledPromptTemplate.compile(template)
         }
-        return "CONTEXTE PATIENT:\n$patientContext"
     }
 
     /**
-     * Formate la liste des médicaments pour le prompt.
+     * Répartit un budget de tokens entre des sections selon leurs parts.
+     *
+     * Une section demandant moins que sa part reçoit sa demande, et le reliquat
+     * est redistribué entre les autres au prorata de leurs parts.
+     *
+     * @param available Le nombre de tokens disponibles
+     * @param demands Le nombre de tokens demandés par section, dans l'ordre de [SECTION_SHARES]
+     * @return Le nombre de tokens alloués par section
+     */
+    private fun allocateBudget(available: Int, demands: IntArray): IntArray {
+        val granted = IntArray(demands.size)
+        val pending = demands.indices.filter { demands[it] > 0 }.toMutableList()
+        var remaining = maxOf(available, 0)
+
+        while (pending.isNotEmpty()) {
+            val totalShare = pending.sumOf { SECTION_SHARES[it] }
+            val satisfied = pending.filter { demands[it] <= remaining * SECTION_SHARES[it] / totalShare }
+            if (satisfied.isEmpty()) {
+                pending.forEach { granted[it] = (remaining * SECTION_SHARES[it] / totalShare).toInt() }
+                break
+            }
+            for (section in satisfied) {
+                granted[section] = demands[section]
+                remaining -= demands[section]
+            }
+            pending.removeAll(satisfied)
+        }
+
+        // Assertion #1: Vérification de la répartition
+        check(granted.sum() <= maxOf(available, 0)) { "La répartition excède le budget de tokens" }
+
+        return granted
+    }
+
+    private fun patientContextDemand(patientContext: String): Int =
+        TokenEstimator.estimate(PATIENT_CONTEXT_HEADER) + TokenEstimator.estimate(patientContext)
+
+    private fun medicationsDemand(lines: List<String>): Int =
+        TokenEstimator.estimate(MEDICATIONS_HEADER) + lines.sumOf { TokenEstimator.estimate(it) }
+
+    private fun additionalContextDemand(additionalContext: String?): Int {
+        if (additionalContext.isNullOrBlank()) {
+            return 0
+        }
+        return TokenEstimator.estimate(ADDITIONAL_CONTEXT_HEADER) + TokenEstimator.estimate(additionalContext)
+    }
+
+    /**
+     * Écrit le contexte patient, tronqué au budget alloué.
+     *
+     * @param out Le tampon du prompt
+     * @param patientContext Le contexte patient brut
+     * @param budget Le nombre de tokens alloués à la section
+     */
+    private fun writePatientContext(out: StringBuilder, patientContext: String, budget: Int) {
+        out.append(PATIENT_CONTEXT_HEADER)
+        appendWithinBudget(out, patientContext, budget - TokenEstimator.estimate(PATIENT_CONTEXT_HEADER),
+            "\n[Contexte tronqué en raison de sa taille...]")
+    }
+
+    /**
+     * Ordonne les médicaments, les plus à risque en premier.
+     *
+     * Les médicaments actifs à haut risque (anticoagulants, insulines, opioïdes,
+     * médicaments à marge thérapeutique étroite) sont placés en tête, puis les
+     * autres médicaments actifs, puis les inactifs: si le budget ne permet pas de
+     * tout détailler, ce sont les moins à risque qui sont résumés.
      *
      * @param medications La liste des médicaments à analyser
-     * @return La section du prompt concernant les médicaments
+     * @return Les médicaments par ordre de priorité
+     */
+    private fun prioritizeMedications(medications: List<MedicationInfo>): List<MedicationInfo> {
+        return medications.map { it to medicationPriority(it) }
+            .sortedBy { it.second }
+            .map { it.first }
+    }
+
+    /**
+     * Formate les lignes des médicaments pour le prompt.
+     *
+     * @param medications Les médicaments par ordre de priorité
+     * @return Les lignes de la section, numérotées dans cet ordre
      */
-    private fun formatMedications(medications: List<MedicationInfo>): String {
-        val sb = StringBuilder("MÉDICAMENTS À ANALYSER:\n")
-
-        for ((index, med) in medications.withIndex()) {
-            sb.append("${index + 1}. ${med.name} - ${med.dosage}")
-            med.route?.let { sb.append(", Voie: $it") }
-            med.duration?.let { sb.append(", Durée: $it") }
-            sb.append(", Statut: ${if (med.isActive) "Actif" else "Inactif"}")
+    private fun formatMedicationLines(medications: List<MedicationInfo>): List<String> {
+        val sb = StringBuilder()
+        return medications.mapIndexed { index, med ->
+            sb.setLength(0)
+            sb.append(index + 1).append(". ").append(med.name).append(" - ").append(med.dosage)
+            med.route?.let { sb.append(", Voie: ").append(it) }
+            med.duration?.let { sb.append(", Durée: ").append(it) }
+            sb.append(", Statut: ").append(if (med.isActive) "Actif" else "Inactif")
             sb.append("\n")
+            sb.toString()
         }
+    }
 
-        return sb.toString()
+    private fun medicationPriority(medication: MedicationInfo): Int {
+        if (!medication.isActive) {
+            return 2
+        }
+        return if (isHighRisk(medication.name)) 0 else 1
+    }
+
+    /**
+     * Indique si un nom de médicament (DCI ou commercial) désigne un médicament à haut risque.
+     *
+     * La comparaison porte sur les mots entiers du nom, sans casse ni accents:
+     * « Héparine sodique » et « HEPARINE » correspondent, « Lithiase » non.
+     *
+     * @param name Le nom du médicament
+     * @return true si l'un des mots du nom figure parmi les médicaments à haut risque
+     */
+    internal fun isHighRisk(name: String): Boolean =
+        foldAccents(name).split(NON_WORD).any { it in HIGH_RISK_MEDICATIONS }
+
+    /**
+     * Écrit la liste des médicaments dans le budget alloué.
+     *
+     * Les lignes sont écrites par ordre de priorité tant qu'elles tiennent; les
+     * médicaments restants sont ensuite cités par leur seul nom, puis comptés.
+     *
+     * @param out Le tampon du prompt
+     * @param medications Les médicaments par ordre de priorité
+     * @param lines Les lignes correspondantes
+     * @param budget Le nombre de tokens alloués à la section
+     */
+    private fun writeMedications(
+        out: StringBuilder,
+        medications: List<MedicationInfo>,
+        lines: List<String>,
+        budget: Int
+    ) {
+        out.append(MEDICATIONS_HEADER)
+
+        // Si tout ne tient pas, de la place est réservée au résumé des médicaments restants
+        var remaining = budget - TokenEstimator.estimate(MEDICATIONS_HEADER)
+        if (medicationsDemand(lines) > budget) {
+            remaining -= TRUNCATION_NOTE_TOKENS
+        }
+
+        var written = 0
+        for (line in lines) {
+            val cost = TokenEstimator.estimate(line)
+            if (cost > remaining) {
+                break
+            }
+            out.append(line)
+            remaining -= cost
+            written++
+        }
+        if (written == lines.size) {
+            return
+        }
+
+        out.append("[").append(lines.size - written).append(" autre(s) médicament(s) non détaillé(s)")
+        var separator = ": "
+        for (medication in medications.subList(written, medications.size)) {
+            val name = medication.name
+            val cost = TokenEstimator.estimate(name) + 1
+            if (cost > remaining) {
+                break
+            }
+            out.append(separator).append(name)
+            separator = ", "
+            remaining -= cost
+        }
+        out.append("]\n")
     }
 
     /**
@@ -284,16 +511,36 @@ class PromptEngineeringService(
     }
 
     /**
-     * Formate le contexte additionnel pour le prompt.
+     * Écrit le contexte additionnel, tronqué au budget alloué.
      *
+     * @param out Le tampon du prompt
      * @param additionalContext Le contexte additionnel fourni
-     * @return La section formattée du contexte additionnel
+     * @param budget Le nombre de tokens alloués à la section
      */
-    private fun formatAdditionalContext(additionalContext: String?): String {
+    private fun writeAdditionalContext(out: StringBuilder, additionalContext: String?, budget: Int) {
         if (additionalContext.isNullOrBlank()) {
-            return ""
+            return
+        }
+        val contentBudget = budget - TokenEstimator.estimate(ADDITIONAL_CONTEXT_HEADER)
+        if (contentBudget <= TRUNCATION_NOTE_TOKENS && TokenEstimator.estimate(additionalContext) > contentBudget) {
+            return
         }
-        return "\nCONTEXTE ADDITIONNEL:\n$additionalContext"
+        out.append(ADDITIONAL_CONTEXT_HEADER)
+        appendWithinBudget(out, additionalContext, contentBudget,
+            "\n[Contexte additionnel tronqué en raison de la taille de la requête...]")
+    }
+
+    /**
+     * Écrit un texte en entier s'il tient dans le budget, sinon son début suivi
+     * d'une mention de troncature, dont la place est prise sur le budget.
+     */
+    private fun appendWithinBudget(out: StringBuilder, text: String, budget: Int, truncationNote: String) {
+        if (TokenEstimator.fittingLength(text, maxOf(budget, 0)) == text.length) {
+            out.append(text)
+            return
+        }
+        val length = TokenEstimator.fittingLength(text, maxOf(budget - TRUNCATION_NOTE_TOKENS, 0))
+        out.append(text, 0, length).append(truncationNote)
     }
 
     /**
@@ -387,4 +634,49 @@ class PromptEngineeringService(
 
         return truncatedPrompt
     }
+
+    companion object {
+        private const val PATIENT_CONTEXT_HEADER = "CONTEXTE PATIENT:\n"
+        private const val MEDICATIONS_HEADER = "MÉDICAMENTS À ANALYSER:\n"
+        private const val ADDITIONAL_CONTEXT_HEADER = "\nCONTEXTE ADDITIONNEL:\n"
+
+        // Tokens réservés à une mention de troncature
+        private const val TRUNCATION_NOTE_TOKENS = 24
+
+        // Parts du budget: médicaments, contexte patient, contexte additionnel
+        private val SECTION_SHARES = doubleArrayOf(0.5, 0.35, 0.15)
+
+        private const val INITIAL_BUFFER_CAPACITY = 8 * 1024
+        private const val MAX_RETAINED_BUFFER_CAPACITY = 256 * 1024
+
+        private val NON_WORD = Regex("[^a-z0-9]+")
+        private val COMBINING_MARKS = Regex("\\p{M}+")
+
+        // Médicaments à haut risque (liste ISMP des médicaments à haut niveau
+        // d'alerte, marge thérapeutique étroite): DCI puis noms commerciaux
+        // courants en France, comparés mot à mot sans casse ni accents
+        private val HIGH_RISK_MEDICATIONS = listOf(
+            "warfarine", "fluindione", "acénocoumarol", "apixaban", "rivaroxaban", "dabigatran",
+            "edoxaban", "héparine", "énoxaparine", "daltéparine", "tinzaparine", "fondaparinux",
+            "insuline", "glibenclamide", "gliclazide", "glimépiride", "répaglinide",
+            "morphine", "oxycodone", "fentanyl", "hydromorphone", "méthadone", "buprénorphine", "tramadol",
+            "digoxine", "amiodarone", "flécaïnide", "lithium", "méthotrexate", "colchicine",
+            "ciclosporine", "tacrolimus", "carbamazépine", "phénytoïne", "valproate", "valproïque",
+            "clozapine", "potassium",
+            "coumadine", "préviscan", "sintrom", "eliquis", "xarelto", "pradaxa", "lixiana",
+            "lovenox", "fragmine", "innohep", "arixtra", "calciparine",
+            "lantus", "toujeo", "levemir", "tresiba", "abasaglar", "novorapid", "humalog", "apidra",
+            "daonil", "diamicron", "amarel", "novonorm",
+            "skenan", "moscontin", "actiskenan", "oxycontin", "oxynorm", "durogesic", "subutex", "topalgic",
+            "hémigoxine", "cordarone", "flécaine", "téralithe", "novatrex", "imeth", "metoject",
+            "néoral", "sandimmun", "prograf", "advagraf", "tégrétol", "dihydan", "dépakine", "dépakote",
+            "leponex", "kaleorid"
+        ).map { foldAccents(it) }.toSet()
+
+        /**
+         * Forme d'un texte sans casse ni accents, pour les comparaisons de noms.
+         */
+        private fun foldAccents(text: String): String =
+            Normalizer.normalize(text, Normalizer.Form.NFD).replace(COMBINING_MARKS, "").lowercase()
+    }
 }
@@ -0,0 +1,112 @@
+package com.hygie.llmorchestrator.service
+
+/**
+ * Découpage incrémental d'une réponse de modèle en blocs de recommandation.
+ *
+ * Un bloc commence à un marqueur ("Recommandation", "Problème identifié"...) et
+ * s'étend jusqu'au marqueur suivant. Le texte est reçu par fragments: un bloc est
+ * rendu dès que le marqueur suivant est arrivé, sans attendre la fin de la
+ * génération, et le dernier à la fin du texte. Un marqueur coupé entre deux
+ * fragments est reconnu à l'arrivée du second. Le découpage est identique à celui
+ * du texte complet, qui n'en est que le cas d'un fragment unique.
+ *
+ * Une instance sert à une seule réponse et n'est pas partagée entre threads.
+ *
+ * @author Hygie-AI Team
+ */
+class RecommendationBlockSplitter {
+
+    private val text = StringBuilder()
+
+    // Tout marqueur se terminant avant cette position a déjà été reconnu
+    private var scannedLength = 0
+
+    // Début du bloc en cours, -1 avant le premier marqueur
+    private var blockStart = -1
+
+    // Début du premier bloc retenu, -1 tant qu'aucun ne l'a été
+    private var firstBlockStart = -1
+
+    /**
+     * Ajoute un fragment de texte.
+     *
+     * @param chunk Le fragment reçu
+     * @return Les blocs complétés par ce fragment
+     */
+    fun append(chunk: CharSequence): List<String> {
+        text.append(chunk)
+
+        val markerPositions = mutableListOf<Int>()
+        for (marker in MARKERS) {
+            var index = text.indexOf(marker, maxOf(0, scannedLength - marker.length + 1))
+            while (index >= 0) {
+                markerPositions.add(index)
+                index = text.indexOf(marker, index + 1)
+            }
+        }
+        scannedLength = text.length
+        markerPositions.sort()
+
+        val blocks = mutableListOf<String>()
+        for (position in markerPositions) {
+            if (blockStart >= 0) {
+                addBlock(blocks, blockStart, position)
+            }
+            blockStart = position
+        }
+        return blocks
+    }
+
+    /**
+     * Termine le découpage à la fin de la génération.
+     *
+     * @return Le dernier bloc, s'il est retenu
+     */
+    fun finish(): List<String> {
+        val blocks = mutableListOf<String>()
+        if (blockStart >= 0) {
+            addBlock(blocks, blockStart, text.length)
+            blockStart = -1
+        }
+        return blocks
+    }
+
+    /**
+     * Texte complet reçu jusqu'ici.
+     */
+    val fullText: String
+        get() = text.toString()
+
+    /**
+     * Résumé de l'analyse: le texte précédant la première recommandation, ou tout
+     * le texte s'il n'en contient aucune.
+     */
+    val summary: String
+        get() {
+            if (firstBlockStart < 0) {
+                return text.toString()
+            }
+            return text.substring(0, firstBlockStart).trim()
+                .takeIf { it.isNotBlank() } ?: "Analyse des médicaments complétée."
+        }
+
+    private fun addBlock(blocks: MutableList<String>, start: Int, end: Int) {
+        val block = text.substring(start, end).trim()
+        // Ignorer les blocs trop courts
+        if (block.length > MIN_BLOCK_LENGTH) {
+            if (firstBlockStart < 0) {
+                firstBlockStart = start
+            }
+            blocks.add(block)
+        }
+    }
+
+    companion object {
+        private val MARKERS = listOf(
+            "Recommandation", "Problème identifié", "Interaction détectée",
+            "Analyse:", "Suggestion:", "Contre-indication:"
+        )
+
+        private const val MIN_BLOCK_LENGTH = 50
+    }
+}
@@ -0,0 +1,87 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.model.LlmRequest
+import com.hygie.llmorchestrator.model.MedicationInfo
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.security.MessageDigest
+import java.util.HexFormat
+
+/**
+ * Clés de cache adressées par contenu pour les réponses LLM.
+ *
+ * Deux requêtes produisant le même prompt pour le même modèle partagent la même
+ * clé, quel que soit leur identifiant: la clé est l'empreinte SHA-256 d'une forme
+ * canonique de la requête (contexte patient aux espaces normalisés, médicaments
+ * triés, catégories triées, type de modèle, paramètres de génération) et de la
+ * version des templates de prompts. Chaque champ est préfixé par sa longueur pour
+ * qu'aucune concaténation de valeurs ne puisse en imiter une autre.
+ *
+ * @author Hygie-AI Team
+ */
+object ResponseCacheKeys {
+
+    private const val PREFIX = "llm:response:"
+    private val WHITESPACE = Regex("\\s+")
+
+    /**
+     * Calcule la clé de cache d'une requête.
+     *
+     * @param request La requête d'analyse
+     * @param templateVersion La version des templates de prompts
+     * @return La clé Redis de la réponse
+     */
+    fun of(request: LlmRequest, templateVersion: String): String {
+        // Assertion #1: Vérification de la version des templates
+        require(templateVersion.isNotBlank()) { "La version des templates ne peut pas être vide" }
+
+        val digest = MessageDigest.getInstance("SHA-256")
+        digest.field(templateVersion)
+        digest.field(request.modelType.name)
+        digest.field(normalize(request.patientContext))
+        digest.field(request.additionalContext?.let { normalize(it) })
+        digest.field(request.maxTokens.toString())
+        digest.field(request.temperature.toString())
+
+        val categories = request.analysisCategories.map { it.name }.sorted()
+        digest.field(categories.size.toString())
+        categories.forEach { digest.field(it) }
+
+        val medications = request.medications.map { canonical(it) }.sorted()
+        digest.field(medications.size.toString())
+        medications.forEach { digest.field(it) }
+
+        val key = PREFIX + HexFormat.of().formatHex(digest.digest())
+
+        // Assertion #2: Vérification du format de la clé
+        check(key.length == PREFIX.length + 64) { "Clé de cache mal formée: $key" }
+
+        return key
+    }
+
+    /**
+     * Forme canonique d'un médicament; le nom (DCI ou commercial) est insensible à la casse.
+     */
+    private fun canonical(medication: MedicationInfo): String {
+        return listOf(
+            normalize(medication.name).lowercase(),
+            normalize(medication.dosage),
+            medication.route?.let { normalize(it) }.orEmpty(),
+            medication.duration?.let { normalize(it) }.orEmpty(),
+            medication.startDate?.toString().orEmpty(),
+            medication.isActive.toString()
+        ).joinToString("\u0000")
+    }
+
+    private fun normalize(text: String): String = text.trim().replace(WHITESPACE, " ")
+
+    private fun MessageDigest.field(value: String?) {
+        if (value == null) {
+            update(ByteBuffer.allocate(4).putInt(-1).array())
+            return
+        }
+        val bytes = value.toByteArray(StandardCharsets.UTF_8)
+        update(ByteBuffer.allocate(4).putInt(bytes.size).array())
+        update(bytes)
+    }
+}
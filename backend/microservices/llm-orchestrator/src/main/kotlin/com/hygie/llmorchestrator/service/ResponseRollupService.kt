@@ -0,0 +1,462 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.model.AnalysisCategory
+import com.hygie.llmorchestrator.model.LlmModelType
+import com.hygie.llmorchestrator.model.LlmResponse
+import com.hygie.llmorchestrator.model.LlmResponseRollup
+import com.hygie.llmorchestrator.model.RollupGranularity
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import org.bson.Document
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.context.event.ApplicationReadyEvent
+import org.springframework.context.event.EventListener
+import org.springframework.data.domain.Sort
+import org.springframework.data.mongodb.core.BulkOperations
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate
+import org.springframework.data.mongodb.core.index.Index
+import org.springframework.data.mongodb.core.query.Criteria
+import org.springframework.data.mongodb.core.query.Query
+import org.springframework.data.mongodb.core.query.Update
+import org.springframework.stereotype.Service
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import java.time.Duration
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+import java.util.Date
+import java.util.EnumMap
+import javax.annotation.PostConstruct
+
+/**
+ * Agrégats horaires et journaliers des réponses LLM.
+ *
+ * Chaque réponse enregistrée incrémente, en une écriture groupée, les agrégats
+ * de sa période pour chacun de ses modèles: nombre de réponses, temps de
+ * traitement, tokens, et par catégorie le nombre et la confiance des
+ * recommandations. Un agrégat tous modèles confondus compte chaque réponse une
+ * seule fois, une réponse d'ensemble comptant pour chacun de ses modèles. Les
+ * statistiques d'utilisation sont calculées à partir de ces agrégats, sans
+ * relire les réponses, qui peuvent avoir expiré.
+ *
+ * Les agrégats horaires couvrent le début d'une période jusqu'au premier jour
+ * complet, les agrégats journaliers le reste: la période est arrondie à
+ * l'heure. Chaque granularité a sa propre rétention, par index TTL.
+ *
+ * Au démarrage, le service aligne l'index TTL des réponses sur leur rétention
+ * configurée, puis reconstitue une fois, depuis les réponses encore conservées,
+ * les agrégats tous modèles des périodes antérieures à leur introduction.
+ *
+ * @property mongoTemplate Template Mongo pour les incréments et les lectures
+ * @property meterRegistry Registre pour les métriques
+ * @property responseRetention Rétention des réponses (index TTL de llm_responses)
+ * @property hourlyRetention Rétention des agrégats horaires
+ * @property dailyRetention Rétention des agrégats journaliers
+ * @author Hygie-AI Team
+ */
+@Service
+class ResponseRollupService(
+    private val mongoTemplate: ReactiveMongoTemplate,
+    private val meterRegistry: MeterRegistry,
+    @Value("\${llm.retention.responses:90d}") private val responseRetention: Duration,
+    @Value("\${llm.retention.hourly-rollups:14d}") private val hourlyRetention: Duration,
+    @Value("\${llm.retention.daily-rollups:730d}") private val dailyRetention: Duration
+) {
+    private val logger = LoggerFactory.getLogger(ResponseRollupService::class.java)
+    private lateinit var failureCounter: Counter
+
+    @PostConstruct
+    fun initialize() {
+        // Assertion #1: Les agrégats horaires doivent couvrir au moins un jour entamé
+        require(hourlyRetention >= Duration.ofDays(2)) {
+            "La rétention des agrégats horaires doit être d'au moins 2 jours (actuelle: $hourlyRetention)"
+        }
+
+        // Assertion #2: Les agrégats journaliers durent plus longtemps que les horaires
+        require(dailyRetention >= hourlyRetention) {
+            "La rétention des agrégats journaliers doit dépasser celle des agrégats horaires"
+        }
+
+        // Assertion #3: Vérification de la rétention des réponses
+        require(!responseRetention.isNegative && !responseRetention.isZero) {
+            "La rétention des réponses doit être positive (actuelle: $responseRetention)"
+        }
+
+        failureCounter = Counter.builder("llm.rollups.failures")
+            .description("Réponses LLM non comptées dans les agrégats")
+            .register(meterRegistry)
+    }
+
+    /**
+     * Ajoute une réponse aux agrégats de sa période.
+     *
+     * Un échec est journalisé et compté, sans être propagé: la réponse est déjà
+     * enregistrée.
+     *
+     * @param response La réponse enregistrée
+     * @return Un Mono terminé une fois les agrégats mis à jour
+     */
+    fun record(response: LlmResponse): Mono<Void> {
+        if (response.modelInfo.modelType.isEmpty()) {
+            return Mono.empty()
+        }
+
+        val bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LlmResponseRollup::class.java)
+        val byCategory = response.recommendations.groupBy { it.category }
+
+        for (granularity in RollupGranularity.values()) {
+            val bucketStart = response.timestamp.truncatedTo(granularity.unit)
+            val expiresAt = bucketStart.plus(granularity.unit.duration).plus(retentionOf(granularity))
+
+            bulk.upsert(
+                byId(rollupId(granularity, bucketStart, null, null)),
+                onInsert(granularity, bucketStart, null, null, expiresAt).inc("responseCount", 1)
+            )
+
+            for (modelType in response.modelInfo.modelType) {
+                bulk.upsert(
+                    byId(rollupId(granularity, bucketStart, modelType, null)),
+                    onInsert(granularity, bucketStart, modelType, null, expiresAt)
+                        .inc("responseCount", 1)
+                        .inc("processingTimeTotalMs", response.processingTimeMs)
+                        .max("processingTimeMaxMs", response.processingTimeMs)
+                        .inc("tokenCount", response.modelInfo.tokenCount)
+                        .inc("latencyHistogram.${latencyBucket(response.processingTimeMs)}", 1)
+                        .inc("recommendationCount", response.recommendations.size)
+                )
+
+                for ((category, recommendations) in byCategory) {
+                    val update = onInsert(granularity, bucketStart, modelType, category, expiresAt)
+                        .inc("recommendationCount", recommendations.size)
+                        .inc("confidenceTotal", recommendations.sumOf { it.confidenceLevel.score })
+                    recommendations.groupingBy { confidenceBucket(it.confidenceLevel.score) }.eachCount()
+                        .forEach { (bucket, count) -> update.inc("confidenceHistogram.$bucket", count) }
+
+                    bulk.upsert(byId(rollupId(granularity, bucketStart, modelType, category)), update)
+                }
+            }
+        }
+
+        return bulk.execute()
+            .then()
+            .onErrorResume { error ->
+                failureCounter.increment()
+                logger.error("Échec de la mise à jour des agrégats pour la réponse {}: {}",
+                    response.requestId, error.message)
+                Mono.empty()
+            }
+    }
+
+    /**
+     * Calcule les statistiques d'utilisation des modèles à partir des agrégats.
+     *
+     * @param modelType Le modèle, ou null pour tous les modèles
+     * @param startDate Le début de la période, arrondi à l'heure
+     * @param endDate La fin de la période
+     * @return Un Mono contenant les statistiques par modèle et par catégorie
+     */
+    fun usageStats(
+        modelType: LlmModelType?,
+        startDate: Instant,
+        endDate: Instant = Instant.now()
+    ): Mono<Map<String, Any>> {
+        // Assertion #1: Vérification de la période
+        require(!startDate.isAfter(endDate)) { "La période des statistiques doit commencer avant sa fin" }
+
+        val hourlyStart = startDate.truncatedTo(ChronoUnit.HOURS)
+        val dailyStart = minOf(startDate.truncatedTo(ChronoUnit.DAYS).plus(1, ChronoUnit.DAYS), endDate)
+
+        val rollups = Flux.concat(
+            findRollups(RollupGranularity.HOUR, modelType, hourlyStart, dailyStart),
+            findRollups(RollupGranularity.DAY, modelType, dailyStart, endDate)
+        )
+
+        return rollups
+            .collect({ PeriodUsage() }) { usage, rollup -> usage.add(rollup) }
+            .map { usage ->
+                mapOf(
+                    "startDate" to hourlyStart.toString(),
+                    "endDate" to endDate.toString(),
+                    // Sans filtre, le total vient de l'agrégat tous modèles: une réponse d'ensemble compte pour chacun des siens
+                    "totalResponses" to if (modelType == null) usage.responses else usage.models.values.sumOf { it.responses },
+                    "models" to usage.models.mapKeys { it.key.name }.mapValues { it.value.toMap() }
+                )
+            }
+    }
+
+    /**
+     * Aligne l'index de rétention des réponses puis reconstitue les agrégats
+     * tous modèles, en arrière-plan du démarrage.
+     */
+    @EventListener(ApplicationReadyEvent::class)
+    fun onApplicationReady() {
+        reconcileResponseRetention()
+            .onErrorResume { error ->
+                logger.error("Échec de la mise à jour de l'index de rétention des réponses: {}", error.message)
+                Mono.empty()
+            }
+            .then(backfillAllModels())
+            .subscribe(
+                {},
+                { error -> logger.error("Échec de la reconstitution des agrégats tous modèles: {}", error.message) }
+            )
+    }
+
+    /**
+     * Aligne l'index TTL des réponses sur `llm.retention.responses`.
+     *
+     * L'index est créé s'il manque; sinon sa durée est modifiée en place
+     * (`collMod`) lorsqu'elle diffère de la rétention configurée, sans
+     * reconstruire l'index.
+     *
+     * @return Un Mono terminé une fois l'index à jour
+     */
+    fun reconcileResponseRetention(): Mono<Void> {
+        val indexOps = mongoTemplate.indexOps(LlmResponse::class.java)
+
+        return indexOps.indexInfo
+            .filter { it.name == RESPONSE_RETENTION_INDEX }
+            .collectList()
+            .flatMap { indexes ->
+                val current = indexes.firstOrNull()?.expireAfter?.orElse(null)
+                when {
+                    indexes.isEmpty() -> indexOps.ensureIndex(
+                        Index().on("timestamp", Sort.Direction.ASC)
+                            .named(RESPONSE_RETENTION_INDEX)
+                            .expire(responseRetention)
+                    ).then()
+                    current?.seconds == responseRetention.seconds -> Mono.empty<Void>()
+                    else -> {
+                        logger.info("Rétention des réponses modifiée: {} -> {}", current, responseRetention)
+                        mongoTemplate.executeCommand(
+                            Document("collMod", mongoTemplate.getCollectionName(LlmResponse::class.java))
+                                .append("index", Document("name", RESPONSE_RETENTION_INDEX)
+                                    .append("expireAfterSeconds", responseRetention.seconds))
+                        ).then()
+                    }
+                }
+            }
+    }
+
+    /**
+     * Reconstitue les agrégats tous modèles à partir des réponses conservées.
+     *
+     * Exécutée une seule fois: la fin de la reconstitution est marquée dans
+     * `llm_rollup_migrations`. Chaque période terminée dont toutes les réponses
+     * sont encore conservées est recalculée par agrégation côté serveur, et son
+     * agrégat tous modèles remplacé: la reconstitution peut être relancée sans
+     * compter deux fois. Les périodes plus anciennes restent sans total; la
+     * période en cours ne compte que les réponses enregistrées depuis le
+     * démarrage.
+     *
+     * @return Un Mono terminé une fois les agrégats reconstitués
+     */
+    fun backfillAllModels(): Mono<Void> {
+        val migration = Query(Criteria.where("_id").`is`(ALL_MODELS_BACKFILL))
+
+        return mongoTemplate.exists(migration, MIGRATIONS_COLLECTION)
+            .filter { done -> !done }
+            .flatMap {
+                // Marge pour les réponses horodatées avant une fin de période mais enregistrées après
+                val now = Instant.now().minus(BACKFILL_MARGIN)
+                Flux.fromArray(RollupGranularity.values())
+                    .concatMap { backfill(it, now) }
+                    .then(Mono.defer {
+                        mongoTemplate.save(
+                            Document("_id", ALL_MODELS_BACKFILL).append("completedAt", Date.from(Instant.now())),
+                            MIGRATIONS_COLLECTION
+                        )
+                    })
+                    .doOnSuccess { logger.info("Agrégats tous modèles reconstitués depuis les réponses conservées") }
+            }
+            .then()
+    }
+
+    private fun backfill(granularity: RollupGranularity, now: Instant): Mono<Void> {
+        val unit = granularity.unit.duration
+        val to = now.truncatedTo(granularity.unit)
+        // Première période complète encore couverte par la rétention des réponses
+        val oldest = now.minus(responseRetention)
+        val from = oldest.truncatedTo(granularity.unit).let { if (it == oldest) it else it.plus(unit) }
+        if (!from.isBefore(to)) {
+            return Mono.empty()
+        }
+
+        val bucketStart = Document("\$subtract", listOf(
+            "\$timestamp", Document("\$mod", listOf(Document("\$toLong", "\$timestamp"), unit.toMillis()))
+        ))
+        val epochSecond = Document("\$toString", Document("\$toLong",
+            Document("\$divide", listOf(Document("\$toLong", "\$_id"), 1000))))
+        val pipeline = listOf(
+            Document("\$match", Document("timestamp", Document("\$gte", Date.from(from)).append("\$lt", Date.from(to)))
+                .append("modelInfo.modelType.0", Document("\$exists", true))),
+            Document("\$group", Document("_id", bucketStart).append("responseCount", Document("\$sum", 1L))),
+            Document("\$project", Document("_id", Document("\$concat", listOf("${granularity.name}:", epochSecond, ":ALL:ALL")))
+                .append("granularity", Document("\$literal", granularity.name))
+                .append("bucketStart", "\$_id")
+                .append("responseCount", 1)
+                .append("expiresAt", Document("\$add", listOf("\$_id", unit.plus(retentionOf(granularity)).toMillis())))),
+            Document("\$merge", Document("into", mongoTemplate.getCollectionName(LlmResponseRollup::class.java))
+                .append("on", "_id")
+                .append("whenMatched", "replace")
+                .append("whenNotMatched", "insert"))
+        )
+
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(LlmResponse::class.java))
+            .flatMap { Mono.from(it.aggregate(pipeline).toCollection()) }
+    }
+
+    private fun findRollups(
+        granularity: RollupGranularity,
+        modelType: LlmModelType?,
+        from: Instant,
+        to: Instant
+    ): Flux<LlmResponseRollup> {
+        if (!from.isBefore(to)) {
+            return Flux.empty()
+        }
+
+        val criteria = Criteria.where("granularity").`is`(granularity)
+            .and("bucketStart").gte(from).lt(to)
+        modelType?.let { criteria.and("modelType").`is`(it) }
+
+        return mongoTemplate.find(Query(criteria), LlmResponseRollup::class.java)
+    }
+
+    private fun onInsert(
+        granularity: RollupGranularity,
+        bucketStart: Instant,
+        modelType: LlmModelType?,
+        category: AnalysisCategory?,
+        expiresAt: Instant
+    ): Update {
+        val update = Update()
+            .setOnInsert("granularity", granularity)
+            .setOnInsert("bucketStart", bucketStart)
+            .setOnInsert("expiresAt", expiresAt)
+        modelType?.let { update.setOnInsert("modelType", it) }
+        category?.let { update.setOnInsert("category", it) }
+        return update
+    }
+
+    private fun byId(id: String): Query = Query(Criteria.where("_id").`is`(id))
+
+    private fun rollupId(
+        granularity: RollupGranularity,
+        bucketStart: Instant,
+        modelType: LlmModelType?,
+        category: AnalysisCategory?
+    ): String = "${granularity.name}:${bucketStart.epochSecond}:${modelType?.name ?: "ALL"}:${category?.name ?: "ALL"}"
+
+    private fun retentionOf(granularity: RollupGranularity): Duration = when (granularity) {
+        RollupGranularity.HOUR -> hourlyRetention
+        RollupGranularity.DAY -> dailyRetention
+    }
+
+    /**
+     * Statistiques cumulées de la période: total tous modèles et détail par modèle.
+     */
+    private class PeriodUsage {
+        var responses = 0L
+        val models = EnumMap<LlmModelType, ModelUsage>(LlmModelType::class.java)
+
+        fun add(rollup: LlmResponseRollup) {
+            if (rollup.modelType == null) {
+                responses += rollup.responseCount
+            } else {
+                models.getOrPut(rollup.modelType) { ModelUsage() }.add(rollup)
+            }
+        }
+    }
+
+    /**
+     * Statistiques cumulées d'un modèle sur la période.
+     */
+    private class ModelUsage {
+        var responses = 0L
+        var recommendations = 0L
+        var processingTimeTotalMs = 0L
+        var processingTimeMaxMs = 0L
+        var tokens = 0L
+        val latencyHistogram = HashMap<String, Long>()
+        val categories = EnumMap<AnalysisCategory, CategoryUsage>(AnalysisCategory::class.java)
+
+        fun add(rollup: LlmResponseRollup) {
+            if (rollup.category != null) {
+                categories.getOrPut(rollup.category) { CategoryUsage() }.add(rollup)
+                return
+            }
+            responses += rollup.responseCount
+            recommendations += rollup.recommendationCount
+            processingTimeTotalMs += rollup.processingTimeTotalMs
+            processingTimeMaxMs = maxOf(processingTimeMaxMs, rollup.processingTimeMaxMs)
+            tokens += rollup.tokenCount
+            rollup.latencyHistogram.forEach { (bucket, count) -> latencyHistogram.merge(bucket, count) { a, b -> a + b } }
+        }
+
+        fun toMap(): Map<String, Any> = mapOf(
+            "responses" to responses,
+            "recommendations" to recommendations,
+            "averageProcessingTimeMs" to if (responses > 0) processingTimeTotalMs / responses else 0L,
+            "maxProcessingTimeMs" to processingTimeMaxMs,
+            "p95ProcessingTimeMs" to percentileUpperBound(0.95),
+            "tokens" to tokens,
+            "processingTimeDistribution" to LATENCY_BUCKETS.associateWith { latencyHistogram[it] ?: 0L },
+            "categories" to categories.mapKeys { it.key.name }.mapValues { it.value.toMap() }
+        )
+
+        // Borne supérieure de l'intervalle contenant le percentile, ou le maximum pour le dernier
+        private fun percentileUpperBound(percentile: Double): Long {
+            val rank = Math.ceil(percentile * responses).toLong()
+            var cumulative = 0L
+            LATENCY_BOUNDS_MS.forEachIndexed { index, bound ->
+                cumulative += latencyHistogram[LATENCY_BUCKETS[index]] ?: 0L
+                if (cumulative >= rank) {
+                    return minOf(bound, processingTimeMaxMs)
+                }
+            }
+            return processingTimeMaxMs
+        }
+    }
+
+    /**
+     * Statistiques cumulées des recommandations d'une catégorie sur la période.
+     */
+    private class CategoryUsage {
+        var recommendations = 0L
+        var confidenceTotal = 0.0
+        val confidenceHistogram = HashMap<String, Long>()
+
+        fun add(rollup: LlmResponseRollup) {
+            recommendations += rollup.recommendationCount
+            confidenceTotal += rollup.confidenceTotal
+            rollup.confidenceHistogram.forEach { (bucket, count) -> confidenceHistogram.merge(bucket, count) { a, b -> a + b } }
+        }
+
+        fun toMap(): Map<String, Any> = mapOf(
+            "recommendations" to recommendations,
+            "averageConfidence" to if (recommendations > 0) confidenceTotal / recommendations else 0.0,
+            "confidenceDistribution" to CONFIDENCE_BUCKETS.associateWith { confidenceHistogram[it] ?: 0L }
+        )
+    }
+
+    companion object {
+        private const val RESPONSE_RETENTION_INDEX = "llm_responses_retention"
+        private const val MIGRATIONS_COLLECTION = "llm_rollup_migrations"
+        private const val ALL_MODELS_BACKFILL = "all-models-rollups"
+        private val BACKFILL_MARGIN = Duration.ofMinutes(5)
+
+        // Bornes des intervalles de temps de traitement, en millisecondes
+        private val LATENCY_BOUNDS_MS = longArrayOf(250, 500, 1000, 2000, 5000, 10000, 20000, 30000)
+        private val LATENCY_BUCKETS = LATENCY_BOUNDS_MS.map { "le$it" } + "inf"
+        private val CONFIDENCE_BUCKETS = (0..9).map { "d$it" }
+
+        private fun latencyBucket(processingTimeMs: Long): String {
+            val index = LATENCY_BOUNDS_MS.indexOfFirst { processingTimeMs <= it }
+            return if (index >= 0) LATENCY_BUCKETS[index] else LATENCY_BUCKETS.last()
+        }
+
+        private fun confidenceBucket(score: Double): String = CONFIDENCE_BUCKETS[minOf((score * 10).toInt(), 9)]
+    }
+}
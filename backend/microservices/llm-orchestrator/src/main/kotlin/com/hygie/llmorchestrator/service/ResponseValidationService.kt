@@ -92,39 +92,43 @@ class ResponseValidationService(
         logger.debug("Validation de l'exactitude pour {} recommandations", response.recommendations.size)
 
         // Filtrer les recommandations avec une confiance suffisante
-        val validatedRecommendations = response.recommendations.filter { recommendation ->
-            val isConfidenceAcceptable = recommendation.confidenceLevel.score >= confidenceThreshold
+        val validatedRecommendations = response.recommendations.mapNotNull { accurateRecommendation(it) }
+
+        return response.copy(recommendations = validatedRecommendations)
+    }
 
+    /**
+     * Valide l'exactitude d'une recommandation.
+     *
+     * @param recommendation La recommandation à valider
+     * @return La recommandation aux termes normalisés, ou null si sa confiance est insuffisante
+     */
+    private fun accurateRecommendation(recommendation: LlmRecommendation): LlmRecommendation? {
+        if (recommendation.confidenceLevel.score < confidenceThreshold) {
             // Enregistrer les recommandations rejetées pour analyse
-            if (!isConfidenceAcceptable) {
-                logger.warn("Recommandation rejetée (confiance insuffisante): {}",
-                    recommendation.id)
-            }
+            logger.warn("Recommandation rejetée (confiance insuffisante): {}", recommendation.id)
+            return null
+        }
 
-            isConfidenceAcceptable
-        }.map { recommendation ->
-            // Validation des termes médicaux
-            val validatedDescription = medicalTermsService.validateAndNormalizeMedicalTerms(
-                recommendation.description)
-            val validatedSuggestion = medicalTermsService.validateAndNormalizeMedicalTerms(
-                recommendation.suggestion)
-
-            // Assertion #2: Vérification de la présence des informations essentielles
-            require(validatedDescription.isNotBlank()) {
-                "Description vide dans la recommandation: ${recommendation.id}"
-            }
-            require(validatedSuggestion.isNotBlank()) {
-                "Suggestion vide dans la recommandation: ${recommendation.id}"
-            }
+        // Validation des termes médicaux
+        val validatedDescription = medicalTermsService.validateAndNormalizeMedicalTerms(
+            recommendation.description)
+        val validatedSuggestion = medicalTermsService.validateAndNormalizeMedicalTerms(
+            recommendation.suggestion)
 
-            // Retourner la recommandation avec les termes validés
-            recommendation.copy(
-                description = validatedDescription,
-                suggestion = validatedSuggestion
-            )
+        // Assertion #2: Vérification de la présence des informations essentielles
+        require(validatedDescription.isNotBlank()) {
+            "Description vide dans la recommandation: ${recommendation.id}"
+        }
+        require(validatedSuggestion.isNotBlank()) {
+            "Suggestion vide dans la recommandation: ${recommendation.id}"
         }
 
-        return response.copy(recommendations = validatedRecommendations)
+        // Retourner la recommandation avec les termes validés
+        return recommendation.copy(
+            description = validatedDescription,
+            suggestion = validatedSuggestion
+        )
     }
 
     /**
@@ -144,25 +148,7 @@ class ResponseValidationService(
         val requestMedications = originalRequest.medications.map { it.name.toLowerCase() }.toSet()
 
         val validatedRecommendations = response.recommendations.filter { recommendation ->
-            // Vérifier que les médicaments mentionnés existent dans la requête d'origine
-            val allMedicationsExist = recommendation.medications.all { medication ->
-                val medicationExists = requestMedications.any { reqMed ->
-                    medication.toLowerCase().contains(reqMed) || reqMed.contains(medication.toLowerCase())
-                }
-
-                if (!medicationExists) {
-                    logger.warn("Médicament non trouvé dans la requête: {} (recommandation: {})",
-                        medication, recommendation.id)
-                }
-
-                medicationExists
-            }
-
-            // Vérifier la cohérence entre la catégorie et le contenu
-            val isCategoryConsistent = validateCategoryConsistency(
-                recommendation.category, recommendation.description, recommendation.suggestion)
-
-            allMedicationsExist && isCategoryConsistent
+            isConsistent(recommendation, requestMedications)
         }
 
         // Détection de contradictions entre recommandations
@@ -178,6 +164,36 @@ class ResponseValidationService(
         return response.copy(recommendations = validatedRecommendations)
     }
 
+    /**
+     * Vérifie qu'une recommandation ne cite que des médicaments de la requête et
+     * que son contenu correspond à sa catégorie.
+     *
+     * @param recommendation La recommandation à vérifier
+     * @param requestMedications Les noms des médicaments de la requête, en minuscules
+     * @return true si la recommandation est cohérente
+     */
+    private fun isConsistent(recommendation: LlmRecommendation, requestMedications: Set<String>): Boolean {
+        // Vérifier que les médicaments mentionnés existent dans la requête d'origine
+        val allMedicationsExist = recommendation.medications.all { medication ->
+            val medicationExists = requestMedications.any { reqMed ->
+                medication.toLowerCase().contains(reqMed) || reqMed.contains(medication.toLowerCase())
+            }
+
+            if (!medicationExists) {
+                logger.warn("Médicament non trouvé dans la requête: {} (recommandation: {})",
+                    medication, recommendation.id)
+            }
+
+            medicationExists
+        }
+
+        // Vérifier la cohérence entre la catégorie et le contenu
+        val isCategoryConsistent = validateCategoryConsistency(
+            recommendation.category, recommendation.description, recommendation.suggestion)
+
+        return allMedicationsExist && isCategoryConsistent
+    }
+
     /**
      * Valide la cohérence entre la catégorie d'analyse et le contenu de la recommandation.
      *
@@ -224,67 +240,7 @@ class ResponseValidationService(
      */
     private fun detectContradictions(
         recommendations: List<LlmRecommendation>
-    ): List<Pair<LlmRecommendation, LlmRecommendation>> {
-        val contradictions = mutableListOf<Pair<LlmRecommendation, LlmRecommendation>>()
-
-        // Analyser chaque paire de recommandations
-        for (i in recommendations.indices) {
-            for (j in i + 1 until recommendations.size) {
-                val rec1 = recommendations[i]
-                val rec2 = recommendations[j]
-
-                // Vérifier si les recommandations concernent les mêmes médicaments
-                val commonMedications = rec1.medications.intersect(rec2.medications.toSet())
-                if (commonMedications.isEmpty()) continue
-
-                // Vérifier les contradictions selon les catégories
-                if (areContradictory(rec1, rec2)) {
-                    contradictions.add(rec1 to rec2)
-                }
-            }
-        }
-
-        return contradictions
-    }
-
-    /**
-     * Détermine si deux recommandations sont contradictoires.
-     *
-     * @param rec1 Première recommandation
-     * @param rec2 Seconde recommandation
-     * @return true si les recommandations sont contradictoires
-     */
-    private fun areContradictory(rec1: LlmRecommendation, rec2: LlmRecommendation): Boolean {
-        // Catégories intrinsèquement contradictoires
-        val contradictoryPairs = setOf(
-            setOf(AnalysisCategory.DOSAGE_ADJUSTMENT, AnalysisCategory.ADHERENCE_OPTIMIZATION),
-            setOf(AnalysisCategory.CONTRAINDICATION, AnalysisCategory.COST_OPTIMIZATION)
-        )
-
-        if (contradictoryPairs.contains(setOf(rec1.category, rec2.category))) {
-            // Analyse plus fine du contenu
-            val combinedText1 = (rec1.description + " " + rec1.suggestion).toLowerCase()
-            val combinedText2 = (rec2.description + " " + rec2.suggestion).toLowerCase()
-
-            // Recherche d'oppositions directes (augmenter/diminuer, arrêter/continuer)
-            val oppositionPatterns = listOf(
-                Pair("augmenter", "diminuer"),
-                Pair("majorer", "réduire"),
-                Pair("arrêter", "continuer"),
-                Pair("interrompre", "poursuivre"),
-                Pair("contre-indiqué", "recommandé")
-            )
-
-            for ((term1, term2) in oppositionPatterns) {
-                if ((combinedText1.contains(term1) && combinedText2.contains(term2)) ||
-                    (combinedText1.contains(term2) && combinedText2.contains(term1))) {
-                    return true
-                }
-            }
-        }
-
-        return false
-    }
+    ): List<Pair<LlmRecommendation, LlmRecommendation>> = ContradictionIndex.detect(recommendations)
 
     /**
      * Résout les contradictions en conservant les recommandations les plus pertinentes.
@@ -325,22 +281,30 @@ class ResponseValidationService(
         // avec les sources originales. Pour cette implémentation, nous nous limitons
         // à la vérification de la terminologie médicale correcte.
 
-        val validatedRecommendations = response.recommendations.map { recommendation ->
-            // Vérification de la terminologie médicale précise
-            val normalizedDescription = medicalTermsService.validateAndNormalizeMedicalTerms(
-                recommendation.description, requireStrictTerminology = true)
-            val normalizedSuggestion = medicalTermsService.validateAndNormalizeMedicalTerms(
-                recommendation.suggestion, requireStrictTerminology = true)
-
-            recommendation.copy(
-                description = normalizedDescription,
-                suggestion = normalizedSuggestion
-            )
-        }
+        val validatedRecommendations = response.recommendations.map { semanticallyPreserved(it) }
 
         return response.copy(recommendations = validatedRecommendations)
     }
 
+    /**
+     * Normalise strictement la terminologie médicale d'une recommandation.
+     *
+     * @param recommendation La recommandation à valider
+     * @return La recommandation à la terminologie normalisée
+     */
+    private fun semanticallyPreserved(recommendation: LlmRecommendation): LlmRecommendation {
+        // Vérification de la terminologie médicale précise
+        val normalizedDescription = medicalTermsService.validateAndNormalizeMedicalTerms(
+            recommendation.description, requireStrictTerminology = true)
+        val normalizedSuggestion = medicalTermsService.validateAndNormalizeMedicalTerms(
+            recommendation.suggestion, requireStrictTerminology = true)
+
+        return recommendation.copy(
+            description = normalizedDescription,
+            suggestion = normalizedSuggestion
+        )
+    }
+
     /**
      * Valide la traçabilité des recommandations (citation des sources).
      *
@@ -355,63 +319,79 @@ class ResponseValidationService(
             return response
         }
 
-        val validatedRecommendations = response.recommendations.map { recommendation ->
-            // Vérification de la présence d'au moins une source
-            if (recommendation.sources.isEmpty()) {
-                logger.warn("Recommandation sans source: {}", recommendation.id)
-
-                // Ajouter une note sur l'absence de source
-                val updatedDescription = recommendation.description +
-                    "\n[Note: Cette recommandation n'est pas accompagnée de sources scientifiques validées.]"
-
-                return@map recommendation.copy(
-                    description = updatedDescription,
-                    confidenceLevel = recommendation.confidenceLevel.copy(
-                        score = recommendation.confidenceLevel.score * 0.8 // Réduction du score de confiance
-                    )
+        // Toutes les sources de la réponse sont validées en une fois
+        val sourceValidations = medicalSourcesService.validateSources(
+            response.recommendations.flatMap { it.sources })
+        val validatedRecommendations = response.recommendations.map { traceableRecommendation(it, sourceValidations) }
+
+        return response.copy(recommendations = validatedRecommendations)
+    }
+
+    /**
+     * Valide les sources d'une recommandation et ajuste sa confiance en conséquence.
+     *
+     * @param recommendation La recommandation à valider
+     * @param sourceValidations Résultats de validation des sources, au moins celles de la recommandation
+     * @return La recommandation aux sources validées
+     */
+    private fun traceableRecommendation(
+        recommendation: LlmRecommendation,
+        sourceValidations: Map<RecommendationSource, SourceValidationResult> =
+            medicalSourcesService.validateSources(recommendation.sources)
+    ): LlmRecommendation {
+        // Vérification de la présence d'au moins une source
+        if (recommendation.sources.isEmpty()) {
+            logger.warn("Recommandation sans source: {}", recommendation.id)
+
+            // Ajouter une note sur l'absence de source
+            val updatedDescription = recommendation.description +
+                "\n[Note: Cette recommandation n'est pas accompagnée de sources scientifiques validées.]"
+
+            return recommendation.copy(
+                description = updatedDescription,
+                confidenceLevel = recommendation.confidenceLevel.copy(
+                    score = recommendation.confidenceLevel.score * 0.8 // Réduction du score de confiance
                 )
-            }
+            )
+        }
 
-            // Vérification de la validité des sources
-            val validatedSources = recommendation.sources.filter { source ->
-                medicalSourcesService.validateSource(source).let { validation ->
-                    if (!validation.isValid) {
-                        logger.warn("Source invalide: {} - {}", source.reference, validation.reason)
-                    }
-                    validation.isValid
+        // Vérification de la validité des sources
+        val validatedSources = recommendation.sources.filter { source ->
+            sourceValidations.getValue(source).let { validation ->
+                if (!validation.isValid) {
+                    logger.warn("Source invalide: {} - {}", source.reference, validation.reason)
                 }
+                validation.isValid
             }
+        }
 
-            // Si aucune source n'est valide, ajuster la recommandation
-            if (validatedSources.isEmpty() && recommendation.sources.isNotEmpty()) {
-                logger.warn("Toutes les sources de la recommandation {} sont invalides", recommendation.id)
+        // Si aucune source n'est valide, ajuster la recommandation
+        return if (validatedSources.isEmpty() && recommendation.sources.isNotEmpty()) {
+            logger.warn("Toutes les sources de la recommandation {} sont invalides", recommendation.id)
 
-                val updatedDescription = recommendation.description +
-                    "\n[Note: Les sources citées n'ont pas pu être validées.]"
+            val updatedDescription = recommendation.description +
+                "\n[Note: Les sources citées n'ont pas pu être validées.]"
 
-                recommendation.copy(
-                    description = updatedDescription,
-                    sources = recommendation.sources, // Conserver les sources mais avec avertissement
-                    confidenceLevel = recommendation.confidenceLevel.copy(
-                        score = recommendation.confidenceLevel.score * 0.7 // Réduction significative du score
-                    )
+            recommendation.copy(
+                description = updatedDescription,
+                sources = recommendation.sources, // Conserver les sources mais avec avertissement
+                confidenceLevel = recommendation.confidenceLevel.copy(
+                    score = recommendation.confidenceLevel.score * 0.7 // Réduction significative du score
                 )
-            } else {
-                // Réajuster le score de confiance en fonction du ratio de sources valides
-                val validRatio = validatedSources.size.toDouble() / recommendation.sources.size
-                val adjustedConfidenceScore = recommendation.confidenceLevel.score *
-                    (0.3 + 0.7 * validRatio) // 30% de base + 70% proportionnel aux sources valides
-
-                recommendation.copy(
-                    sources = validatedSources,
-                    confidenceLevel = recommendation.confidenceLevel.copy(
-                        score = adjustedConfidenceScore
-                    )
+            )
+        } else {
+            // Réajuster le score de confiance en fonction du ratio de sources valides
+            val validRatio = validatedSources.size.toDouble() / recommendation.sources.size
+            val adjustedConfidenceScore = recommendation.confidenceLevel.score *
+                (0.3 + 0.7 * validRatio) // 30% de base + 70% proportionnel aux sources valides
+
+            recommendation.copy(
+                sources = validatedSources,
+                confidenceLevel = recommendation.confidenceLevel.copy(
+                    score = adjustedConfidenceScore
                 )
-            }
+            )
         }
-
-        return response.copy(recommendations = validatedRecommendations)
     }
 
     /**
@@ -428,20 +408,8 @@ class ResponseValidationService(
             // Vérification des problèmes éthiques potentiels
             val ethicalFlags = checkEthicalFlags(recommendation)
 
-            if (ethicalFlags.isNotEmpty()) {
-                ethicalIssues.addAll(ethicalFlags)
-
-                // Ajout d'une note sur les considérations éthiques
-                val ethicalNote = "\n[Note: Cette recommandation soulève des considérations éthiques: " +
-                    "${ethicalFlags.joinToString(", ")}. Une évaluation personnalisée par le pharmacien " +
-                    "est fortement recommandée.]"
-
-                recommendation.copy(
-                    suggestion = recommendation.suggestion + ethicalNote
-                )
-            } else {
-                recommendation
-            }
+            ethicalIssues.addAll(ethicalFlags)
+            withEthicalNote(recommendation, ethicalFlags)
         }
 
         // Si des problèmes éthiques ont été identifiés, les mentionner dans le résumé
@@ -461,6 +429,28 @@ class ResponseValidationService(
         )
     }
 
+    /**
+     * Ajoute à une recommandation la note signalant ses considérations éthiques.
+     *
+     * @param recommendation La recommandation
+     * @param ethicalFlags Les problèmes éthiques identifiés
+     * @return La recommandation annotée, ou inchangée sans problème éthique
+     */
+    private fun withEthicalNote(recommendation: LlmRecommendation, ethicalFlags: List<String>): LlmRecommendation {
+        if (ethicalFlags.isEmpty()) {
+            return recommendation
+        }
+
+        // Ajout d'une note sur les considérations éthiques
+        val ethicalNote = "\n[Note: Cette recommandation soulève des considérations éthiques: " +
+            "${ethicalFlags.joinToString(", ")}. Une évaluation personnalisée par le pharmacien " +
+            "est fortement recommandée.]"
+
+        return recommendation.copy(
+            suggestion = recommendation.suggestion + ethicalNote
+        )
+    }
+
     /**
      * Vérifie la présence de problèmes éthiques dans une recommandation.
      *
@@ -508,19 +498,78 @@ class ResponseValidationService(
         }
 
         // Assertion #2: Vérifier l'absence de recommandations à risque vital non sourcées
-        response.recommendations.forEach { recommendation ->
-            val isHighRisk = recommendation.description.toLowerCase().contains("risque vital") ||
-                recommendation.suggestion.toLowerCase().contains("risque vital") ||
-                recommendation.description.toLowerCase().contains("urgence médicale") ||
-                recommendation.suggestion.toLowerCase().contains("urgence médicale")
-
-            if (isHighRisk && (recommendation.sources.isEmpty() ||
-                recommendation.confidenceLevel.score < 0.9)) {
-                throw ValidationException(
-                    "Recommandation à risque vital détectée sans sources suffisantes ou " +
-                    "avec un niveau de confiance insuffisant: ${recommendation.id}"
-                )
+        response.recommendations.forEach { checkRecommendationSafety(it) }
+    }
+
+    /**
+     * Vérifie qu'une recommandation à risque vital est suffisamment sourcée.
+     *
+     * @param recommendation La recommandation à vérifier
+     * @throws ValidationException Si la recommandation est à risque vital sans sources suffisantes
+     */
+    private fun checkRecommendationSafety(recommendation: LlmRecommendation) {
+        val isHighRisk = recommendation.description.toLowerCase().contains("risque vital") ||
+            recommendation.suggestion.toLowerCase().contains("risque vital") ||
+            recommendation.description.toLowerCase().contains("urgence médicale") ||
+            recommendation.suggestion.toLowerCase().contains("urgence médicale")
+
+        if (isHighRisk && (recommendation.sources.isEmpty() ||
+            recommendation.confidenceLevel.score < 0.9)) {
+            throw ValidationException(
+                "Recommandation à risque vital détectée sans sources suffisantes ou " +
+                "avec un niveau de confiance insuffisant: ${recommendation.id}"
+            )
+        }
+    }
+
+    /**
+     * Validation incrémentale des recommandations d'une réponse diffusée.
+     *
+     * Chaque recommandation subit les mêmes contrôles que dans [validateResponse],
+     * dès son arrivée. Une recommandation contredisant une recommandation déjà
+     * transmise est écartée; la réponse complète, validée dans son ensemble à la
+     * fin de la diffusion, fait foi. Une instance sert à une seule réponse.
+     *
+     * @property originalRequest La requête d'origine
+     */
+    inner class StreamValidator(private val originalRequest: LlmRequest) {
+        private val requestMedications = originalRequest.medications.map { it.name.toLowerCase() }.toSet()
+        private val accepted = ContradictionIndex()
+
+        /**
+         * Valide une recommandation reçue.
+         *
+         * @param recommendation La recommandation extraite de la génération
+         * @return La recommandation validée, ou null si elle est écartée
+         * @throws ValidationException Si la recommandation est à risque vital sans sources suffisantes
+         */
+        fun validate(recommendation: LlmRecommendation): LlmRecommendation? {
+            val accurate = accurateRecommendation(recommendation) ?: return null
+            if (!isConsistent(accurate, requestMedications)) {
+                return null
+            }
+
+            val contradicted = accepted.addIfConsistent(accurate)
+            if (contradicted != null) {
+                logger.warn("Recommandation {} écartée de la diffusion: contredit la recommandation {}",
+                    accurate.id, contradicted.id)
+                return null
             }
+
+            val validated = semanticallyPreserved(accurate)
+                .let { if (sourceValidationEnabled) traceableRecommendation(it) else it }
+                .let { withEthicalNote(it, checkEthicalFlags(it)) }
+
+            checkRecommendationSafety(validated)
+            return validated
         }
     }
+
+    /**
+     * Crée le validateur incrémental d'une réponse diffusée.
+     *
+     * @param originalRequest La requête d'origine
+     * @return Un validateur propre à cette réponse
+     */
+    fun streamValidator(originalRequest: LlmRequest): StreamValidator = StreamValidator(originalRequest)
 }
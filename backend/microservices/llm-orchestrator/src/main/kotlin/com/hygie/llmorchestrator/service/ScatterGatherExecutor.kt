@@ -0,0 +1,223 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.exception.LlmServiceException
+import com.hygie.llmorchestrator.model.LlmRequest
+import com.hygie.llmorchestrator.model.LlmResponse
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.core.publisher.Sinks
+import java.time.Duration
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.TimeUnit
+import javax.annotation.PostConstruct
+
+/**
+ * Exécution d'un ensemble de modèles en dispersion-regroupement (scatter-gather).
+ *
+ * Les premiers modèles disponibles (`fan-out`) sont appelés simultanément,
+ * chacun borné par son propre délai. Lorsqu'un modèle ne répond pas dans son
+ * p95 observé, ou dès qu'il échoue, la même requête est envoyée à un modèle de
+ * réserve non encore sollicité; la première des deux réponses occupe la place
+ * du modèle lent ou défaillant.
+ * Dès que `quorum` réponses sont arrivées, elles sont combinées et les appels
+ * restants annulés: la latence n'est plus celle du modèle le plus lent.
+ *
+ * Métriques exportées par modèle: `llm.ensemble.provider.latency` (avec p95),
+ * `llm.ensemble.provider.calls` et `llm.ensemble.provider.wins` (réponses
+ * retenues), dont le rapport donne le taux de victoire, ainsi que
+ * `llm.ensemble.hedges`. Chaque appel, délai compris, alimente aussi les
+ * statistiques du routage adaptatif; un appel annulé n'y est pas compté.
+ *
+ * @property meterRegistry Registre pour les métriques
+ * @property adaptiveModelRouter Statistiques de latence et d'erreur des modèles
+ * @property fanOut Nombre de modèles appelés d'emblée
+ * @property quorum Nombre de réponses suffisant à la combinaison
+ * @property modelTimeout Délai maximal accordé à chaque modèle
+ * @property defaultHedgeDelay Délai avant doublement tant que le p95 d'un modèle est inconnu
+ * @property hedgeMinSamples Nombre d'appels réussis à partir duquel le p95 observé est utilisé
+ * @author Hygie-AI Team
+ */
+@Component
+class ScatterGatherExecutor(
+    private val meterRegistry: MeterRegistry,
+    private val adaptiveModelRouter: AdaptiveModelRouter,
+    @Value("\${llm.ensemble.scatter-gather.fan-out:2}") private val fanOut: Int,
+    @Value("\${llm.ensemble.scatter-gather.quorum:2}") private val quorum: Int,
+    @Value("\${llm.ensemble.scatter-gather.model-timeout:20s}") private val modelTimeout: Duration,
+    @Value("\${llm.ensemble.scatter-gather.hedge-delay:5s}") private val defaultHedgeDelay: Duration,
+    @Value("\${llm.ensemble.scatter-gather.hedge-min-samples:20}") private val hedgeMinSamples: Long
+) {
+    private val logger = LoggerFactory.getLogger(ScatterGatherExecutor::class.java)
+    private lateinit var hedgeCounter: Counter
+
+    /**
+     * Réponse d'un modèle et rôle dans lequel il a été appelé.
+     */
+    private data class ModelAnswer(val provider: String, val role: String, val response: LlmResponse)
+
+    @PostConstruct
+    fun initialize() {
+        // Assertion #1: Vérification du quorum
+        require(quorum in 1..fanOut) {
+            "Le quorum doit être compris entre 1 et le nombre de modèles appelés (actuel: $quorum / $fanOut)"
+        }
+
+        // Assertion #2: Vérification des délais
+        require(!modelTimeout.isNegative && !modelTimeout.isZero && !defaultHedgeDelay.isNegative) {
+            "Les délais de l'ensemble doivent être positifs"
+        }
+
+        hedgeCounter = Counter.builder("llm.ensemble.hedges")
+            .description("Nombre de requêtes doublées vers un modèle de réserve")
+            .register(meterRegistry)
+    }
+
+    /**
+     * Appelle les modèles simultanément et combine les réponses dès le quorum atteint.
+     *
+     * @param prompt Le prompt optimisé
+     * @param originalRequest La requête originale
+     * @param providers Les modèles disponibles, par ordre de préférence
+     * @param combine Combinaison des réponses retenues
+     * @return Un Mono contenant la réponse combinée
+     */
+    fun execute(
+        prompt: String,
+        originalRequest: LlmRequest,
+        providers: List<LlmProviderService>,
+        combine: (List<LlmResponse>) -> LlmResponse
+    ): Mono<LlmResponse> {
+        if (providers.isEmpty()) {
+            return Mono.error(LlmServiceException("Aucun modèle LLM n'est disponible actuellement"))
+        }
+
+        val primaries = providers.take(fanOut)
+        // Chaque modèle de réserve ne double qu'un seul modèle lent
+        val reserves = ConcurrentLinkedQueue(providers.drop(fanOut))
+        val requiredAnswers = minOf(quorum, primaries.size)
+
+        val slots = primaries.map { primary -> callWithHedge(prompt, originalRequest, primary, reserves) }
+
+        return Flux.merge(slots)
+            .take(requiredAnswers.toLong())
+            .collectList()
+            .flatMap { answers ->
+                if (answers.isEmpty()) {
+                    return@flatMap Mono.error<LlmResponse>(LlmServiceException(
+                        "Tous les modèles ont échoué à traiter la requête"))
+                }
+                if (answers.size < requiredAnswers) {
+                    logger.warn("Quorum non atteint pour la requête {}: {} réponse(s) sur {}",
+                        originalRequest.requestId, answers.size, requiredAnswers)
+                }
+                answers.forEach { winCounter(it.provider, it.role).increment() }
+                Mono.just(combine(answers.map { it.response }))
+            }
+    }
+
+    /**
+     * Appelle un modèle et, s'il dépasse son p95 ou échoue, un modèle de réserve.
+     *
+     * @return La première réponse obtenue, ou vide si aucun des deux n'a répondu
+     */
+    private fun callWithHedge(
+        prompt: String,
+        originalRequest: LlmRequest,
+        primary: LlmProviderService,
+        reserves: ConcurrentLinkedQueue<LlmProviderService>
+    ): Mono<ModelAnswer> {
+        // Signalé lorsque le modèle principal termine sans réponse (erreur ou délai dépassé)
+        val primaryFailed = Sinks.empty<Void>()
+        val primaryCall = timedCall(prompt, originalRequest, primary, ROLE_PRIMARY)
+            .switchIfEmpty(Mono.fromRunnable<ModelAnswer> { primaryFailed.tryEmitEmpty() })
+
+        // Déclenché au p95 du modèle principal ou dès son échec, sans attendre le p95;
+        // annulé avant son déclenchement si le modèle principal répond à temps
+        val hedgeCall = Mono.firstWithSignal(Mono.delay(hedgeDelay(primary)).then(), primaryFailed.asMono())
+            .then(Mono.defer {
+                val reserve = reserves.poll() ?: return@defer Mono.empty<ModelAnswer>()
+                hedgeCounter.increment()
+                logger.info("Modèle {} en échec ou plus lent que son p95 pour la requête {}, requête doublée vers {}",
+                    primary.getModelType(), originalRequest.requestId, reserve.getModelType())
+                timedCall(prompt, originalRequest, reserve, ROLE_HEDGE)
+            })
+
+        return Mono.firstWithValue(primaryCall, hedgeCall)
+            .onErrorResume { Mono.empty() }
+    }
+
+    /**
+     * Appel d'un modèle borné par son délai, mesuré et compté.
+     *
+     * @return La réponse du modèle, ou vide en cas d'erreur ou de délai dépassé
+     */
+    private fun timedCall(
+        prompt: String,
+        originalRequest: LlmRequest,
+        provider: LlmProviderService,
+        role: String
+    ): Mono<ModelAnswer> = Mono.defer {
+        val name = provider.getModelType().name
+        callCounter(name, role).increment()
+        val start = System.nanoTime()
+
+        // Le délai dépassé compte comme une erreur du modèle dans le routage adaptatif
+        adaptiveModelRouter.track(provider, provider.callLlmService(prompt, originalRequest).timeout(modelTimeout))
+            .map { response ->
+                latencyTimer(name).record(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+                ModelAnswer(name, role, response)
+            }
+            .onErrorResume { error ->
+                logger.warn("Modèle {} sans réponse pour la requête {}: {}",
+                    name, originalRequest.requestId, error.message)
+                Mono.empty()
+            }
+    }
+
+    /**
+     * Délai au-delà duquel un modèle est doublé: son p95 observé, ou le délai par
+     * défaut tant qu'il n'a pas assez d'appels réussis.
+     */
+    private fun hedgeDelay(provider: LlmProviderService): Duration {
+        val timer = latencyTimer(provider.getModelType().name)
+        if (timer.count() < hedgeMinSamples) {
+            return defaultHedgeDelay
+        }
+        val p95 = timer.takeSnapshot().percentileValues()
+            .firstOrNull { it.percentile() == HEDGE_PERCENTILE }
+            ?.value(TimeUnit.MILLISECONDS)
+            ?: return defaultHedgeDelay
+        return Duration.ofMillis(p95.toLong()).coerceAtMost(modelTimeout)
+    }
+
+    private fun latencyTimer(provider: String): Timer =
+        Timer.builder("llm.ensemble.provider.latency")
+            .description("Latence des appels aux modèles de l'ensemble")
+            .tag("provider", provider)
+            .publishPercentiles(HEDGE_PERCENTILE)
+            .register(meterRegistry)
+
+    private fun callCounter(provider: String, role: String): Counter =
+        Counter.builder("llm.ensemble.provider.calls")
+            .description("Nombre d'appels aux modèles de l'ensemble")
+            .tags("provider", provider, "role", role)
+            .register(meterRegistry)
+
+    private fun winCounter(provider: String, role: String): Counter =
+        Counter.builder("llm.ensemble.provider.wins")
+            .description("Nombre de réponses de modèles retenues dans la combinaison")
+            .tags("provider", provider, "role", role)
+            .register(meterRegistry)
+
+    companion object {
+        private const val HEDGE_PERCENTILE = 0.95
+        private const val ROLE_PRIMARY = "primary"
+        private const val ROLE_HEDGE = "hedge"
+    }
+}
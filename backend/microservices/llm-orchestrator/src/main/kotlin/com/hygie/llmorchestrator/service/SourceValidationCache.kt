@@ -0,0 +1,200 @@
+package com.hygie.llmorchestrator.service
+
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate
+import org.springframework.stereotype.Component
+import reactor.core.publisher.Mono
+import java.nio.charset.StandardCharsets
+import java.security.MessageDigest
+import java.time.Duration
+import java.util.HexFormat
+import javax.annotation.PostConstruct
+
+/**
+ * Cache des résultats de validation des sources médicales.
+ *
+ * Deux niveaux: un cache local borné, en mémoire, et Redis, partagé entre les
+ * instances et conservé aux redémarrages. La durée de vie d'un résultat dépend
+ * de son issue: longue pour une source validée, plus courte pour une source
+ * invalide (une référence peut être indexée après coup), très courte et locale
+ * seulement quand la validation externe était indisponible, pour réessayer
+ * rapidement sans figer une panne passagère dans Redis.
+ *
+ * Une erreur Redis n'interrompt jamais la validation: la clé est simplement
+ * traitée comme absente du cache.
+ *
+ * @property redisTemplate Template Redis pour le niveau persistant
+ * @property meterRegistry Registre pour les métriques
+ * @property maxSize Nombre maximal de résultats du cache local
+ * @property validTtl Durée de vie d'une source validée
+ * @property invalidTtl Durée de vie d'une source invalide
+ * @property unavailableTtl Durée de vie locale d'un résultat de repli
+ * @property nanoTime Horloge monotone des expirations locales, en nanosecondes
+ * @author Hygie-AI Team
+ */
+@Component
+class SourceValidationCache(
+    private val redisTemplate: ReactiveStringRedisTemplate,
+    private val meterRegistry: MeterRegistry,
+    @Value("\${llm.validation.source-cache.max-size:10000}") private val maxSize: Int,
+    @Value("\${llm.validation.source-cache.valid-ttl:7d}") private val validTtl: Duration,
+    @Value("\${llm.validation.source-cache.invalid-ttl:1d}") private val invalidTtl: Duration,
+    @Value("\${llm.validation.source-cache.unavailable-ttl:1m}") private val unavailableTtl: Duration,
+    private val nanoTime: () -> Long = System::nanoTime
+) {
+    private val logger = LoggerFactory.getLogger(SourceValidationCache::class.java)
+
+    /**
+     * Issue d'une validation, qui détermine sa durée de vie en cache.
+     */
+    enum class Outcome { VALID, INVALID, UNAVAILABLE }
+
+    private class Entry(val result: SourceValidationResult, val expiresAt: Long)
+
+    // Ordre d'accès: l'entrée la moins récemment lue est évincée en premier
+    private val local = object : LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Entry>): Boolean = size > maxSize
+    }
+
+    private lateinit var localHits: Counter
+    private lateinit var redisHits: Counter
+    private lateinit var misses: Counter
+
+    @PostConstruct
+    fun initialize() {
+        // Assertion #1: Vérification de la taille du cache local
+        require(maxSize > 0) { "La taille du cache de validation des sources doit être positive (actuelle: $maxSize)" }
+
+        // Assertion #2: Vérification des durées de vie
+        require(listOf(validTtl, invalidTtl, unavailableTtl).none { it.isNegative || it.isZero }) {
+            "Les durées de vie du cache de validation des sources doivent être positives"
+        }
+
+        localHits = Counter.builder("llm.sources.cache")
+            .description("Consultations du cache de validation des sources")
+            .tag("result", "local")
+            .register(meterRegistry)
+        redisHits = Counter.builder("llm.sources.cache")
+            .description("Consultations du cache de validation des sources")
+            .tag("result", "redis")
+            .register(meterRegistry)
+        misses = Counter.builder("llm.sources.cache")
+            .description("Consultations du cache de validation des sources")
+            .tag("result", "miss")
+            .register(meterRegistry)
+        Gauge.builder("llm.sources.cache.size", this) { synchronized(it.local) { it.local.size.toDouble() } }
+            .description("Résultats de validation du cache local")
+            .register(meterRegistry)
+
+        logger.info("Cache de validation des sources initialisé (taille: {}, durées de vie: {} / {} / {})",
+            maxSize, validTtl, invalidTtl, unavailableTtl)
+    }
+
+    /**
+     * Recherche les résultats de plusieurs sources, en une seule lecture Redis.
+     *
+     * @param keys Les clés des sources
+     * @return Un Mono contenant les résultats trouvés, par clé
+     */
+    fun getAll(keys: Collection<String>): Mono<Map<String, SourceValidationResult>> {
+        val found = HashMap<String, SourceValidationResult>()
+        val now = nanoTime()
+        synchronized(local) {
+            for (key in keys) {
+                val entry = local[key] ?: continue
+                if (entry.expiresAt - now > 0) {
+                    found[key] = entry.result
+                } else {
+                    local.remove(key)
+                }
+            }
+        }
+        localHits.increment(found.size.toDouble())
+
+        val remaining = keys.filterNot { it in found }
+        if (remaining.isEmpty()) {
+            return Mono.just(found)
+        }
+
+        return redisTemplate.opsForValue().multiGet(remaining.map { redisKey(it) })
+            .map<Map<String, SourceValidationResult>> { values ->
+                remaining.forEachIndexed { index, key ->
+                    values.getOrNull(index)?.let { decode(it) }?.let { result ->
+                        found[key] = result
+                        putLocal(key, result, LOCAL_TTL)
+                        redisHits.increment()
+                    }
+                }
+                misses.increment((keys.size - found.size).toDouble())
+                found
+            }
+            .onErrorResume { error ->
+                logger.warn("Cache Redis de validation des sources indisponible: {}", error.message)
+                misses.increment(remaining.size.toDouble())
+                Mono.just(found)
+            }
+    }
+
+    /**
+     * Enregistre le résultat de validation d'une source.
+     *
+     * @param key La clé de la source
+     * @param result Le résultat de validation
+     * @param outcome L'issue de la validation
+     */
+    fun put(key: String, result: SourceValidationResult, outcome: Outcome) {
+        val ttl = when (outcome) {
+            Outcome.VALID -> validTtl
+            Outcome.INVALID -> invalidTtl
+            Outcome.UNAVAILABLE -> unavailableTtl
+        }
+        putLocal(key, result, minOf(ttl, LOCAL_TTL))
+
+        if (outcome != Outcome.UNAVAILABLE) {
+            redisTemplate.opsForValue().set(redisKey(key), encode(result), ttl)
+                .subscribe(
+                    {},
+                    { error -> logger.warn("Échec de l'écriture du cache Redis de validation des sources: {}", error.message) }
+                )
+        }
+    }
+
+    private fun putLocal(key: String, result: SourceValidationResult, ttl: Duration) {
+        synchronized(local) {
+            local[key] = Entry(result, nanoTime() + ttl.toNanos())
+        }
+    }
+
+    private fun redisKey(key: String): String {
+        val digest = MessageDigest.getInstance("SHA-256").digest(key.toByteArray(StandardCharsets.UTF_8))
+        return PREFIX + HexFormat.of().formatHex(digest)
+    }
+
+    private fun encode(result: SourceValidationResult): String =
+        listOf(if (result.isValid) "1" else "0", result.reason.orEmpty(), result.validatedReference.orEmpty())
+            .joinToString(SEPARATOR)
+
+    private fun decode(value: String): SourceValidationResult? {
+        val fields = value.split(SEPARATOR, limit = 3)
+        if (fields.size != 3) {
+            return null
+        }
+        return SourceValidationResult(
+            isValid = fields[0] == "1",
+            reason = fields[1].ifEmpty { null },
+            validatedReference = fields[2].ifEmpty { null }
+        )
+    }
+
+    companion object {
+        private const val PREFIX = "llm:source:"
+        private const val SEPARATOR = "\u001F"
+
+        // Un résultat relu depuis Redis est gardé localement au plus ce temps
+        private val LOCAL_TTL = Duration.ofMinutes(10)
+    }
+}
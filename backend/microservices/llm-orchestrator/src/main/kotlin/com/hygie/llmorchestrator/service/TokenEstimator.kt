@@ -0,0 +1,77 @@
+package com.hygie.llmorchestrator.service
+
+/**
+ * Estimation locale du nombre de tokens d'un texte, sans tokenizer de modèle.
+ *
+ * Chaque suite de lettres ou de chiffres compte pour un token par tranche de
+ * trois caractères, chaque signe de ponctuation ou symbole pour un token; les
+ * espaces ne comptent pas. Les tokenizers BPE découpant finement le vocabulaire
+ * médical français (DCI, posologies), l'estimation est volontairement prudente:
+ * elle surestime plutôt qu'elle ne sous-estime la taille d'un prompt.
+ *
+ * @author Hygie-AI Team
+ */
+object TokenEstimator {
+
+    private const val CHARS_PER_TOKEN = 3
+
+    /**
+     * Estime le nombre de tokens d'un texte.
+     *
+     * @param text Le texte
+     * @return Le nombre de tokens estimé
+     */
+    fun estimate(text: CharSequence): Int {
+        var tokens = 0
+        var run = 0
+        for (c in text) {
+            if (c.isLetterOrDigit()) {
+                run++
+            } else {
+                tokens += (run + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN
+                run = 0
+                if (!c.isWhitespace()) {
+                    tokens++
+                }
+            }
+        }
+        return tokens + (run + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN
+    }
+
+    /**
+     * Longueur du plus long début de texte tenant dans un budget, coupé avant un
+     * séparateur pour ne pas tronquer un mot.
+     *
+     * @param text Le texte
+     * @param budget Le nombre de tokens disponibles
+     * @return La position de coupure, ou la longueur du texte s'il tient en entier
+     */
+    fun fittingLength(text: CharSequence, budget: Int): Int {
+        var tokens = 0
+        var run = 0
+        var lastBoundary = 0
+        for (index in text.indices) {
+            val c = text[index]
+            if (c.isLetterOrDigit()) {
+                run++
+                // Un nouveau token commence tous les CHARS_PER_TOKEN caractères du mot
+                if (run % CHARS_PER_TOKEN == 1) {
+                    if (tokens >= budget) {
+                        return lastBoundary
+                    }
+                    tokens++
+                }
+            } else {
+                run = 0
+                lastBoundary = index
+                if (!c.isWhitespace()) {
+                    if (tokens >= budget) {
+                        return lastBoundary
+                    }
+                    tokens++
+                }
+            }
+        }
+        return text.length
+    }
+}
@@ -0,0 +1,123 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.model.LlmModelType
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Tests unitaires pour le routage adaptatif des modèles.
+ *
+ * Ces tests vérifient, sur une horloge simulée, que le routeur préfère le
+ * modèle qui respecte le SLO, qu'un modèle écarté redevient éligible lorsque
+ * ses statistiques s'estompent et qu'il reçoit une sonde par demi-vie.
+ *
+ * @author Hygie-AI Team
+ */
+class AdaptiveModelRouterTest {
+
+    private val clock = AtomicLong(0)
+    private val bio = FakeLlmProvider(LlmModelType.BIOMISTRAL)
+    private val hippo = FakeLlmProvider(LlmModelType.HIPPOMISTRAL)
+
+    // Poids EWMA de 1: les moyennes valent la dernière observation
+    private val router = AdaptiveModelRouter(SimpleMeterRegistry(), Duration.ofSeconds(8), 0.2, 1.0,
+        Duration.ofSeconds(30)) { clock.get() }
+
+    private fun advance(duration: Duration) {
+        clock.addAndGet(duration.toNanos())
+    }
+
+    private fun observe(provider: LlmProviderService, latency: Duration, success: Boolean) {
+        val call = Mono.defer {
+            advance(latency)
+            if (success) Mono.just("ok") else Mono.error(IllegalStateException("Modèle indisponible"))
+        }
+        StepVerifier.create(router.track(provider, call).onErrorResume { Mono.empty() })
+            .expectNextCount(if (success) 1L else 0L)
+            .verifyComplete()
+    }
+
+    @Test
+    @DisplayName("Test de la préférence pour le modèle qui respecte le SLO")
+    fun testPrefersProviderWithinSlo() {
+        // Configuration
+        observe(bio, Duration.ofSeconds(1), true)
+        observe(hippo, Duration.ofSeconds(10), true)
+
+        // Exécution et vérification
+        repeat(20) { assertSame(bio, router.select(listOf(bio, hippo))) }
+        assertEquals(10_000.0, router.statisticsFor(hippo).latencyMs, 1e-6)
+    }
+
+    @Test
+    @DisplayName("Test de l'éviction d'un modèle en erreur")
+    fun testAvoidsFailingProvider() {
+        // Configuration: le modèle en échec répond plus vite
+        observe(bio, Duration.ofSeconds(2), true)
+        observe(hippo, Duration.ofMillis(100), false)
+
+        // Exécution et vérification
+        repeat(20) { assertSame(bio, router.select(listOf(bio, hippo))) }
+        assertEquals(1.0, router.statisticsFor(hippo).errorRate, 1e-9)
+    }
+
+    @Test
+    @DisplayName("Test de l'estompage des statistiques d'un modèle sans trafic")
+    fun testIdleStatisticsDecay() {
+        // Configuration
+        observe(bio, Duration.ofSeconds(1), true)
+        observe(hippo, Duration.ofSeconds(12), false)
+
+        // Exécution: trois demi-vies sans observation
+        advance(Duration.ofSeconds(90))
+        router.select(listOf(bio, hippo))
+
+        // Vérification: écarts divisés par huit, le modèle respecte de nouveau le SLO
+        val stats = router.statisticsFor(hippo)
+        assertEquals(0.125, stats.errorRate, 1e-9)
+        assertEquals(4_000.0 + (12_000.0 - 4_000.0) / 8, stats.latencyMs, 1e-6)
+        assertTrue(stats.errorRate <= 0.2 && stats.predictedLatencyMs() <= 8_000.0)
+    }
+
+    @Test
+    @DisplayName("Test d'une sonde par demi-vie vers un modèle écarté")
+    fun testProbesExcludedProviderOncePerHalfLife() {
+        // Configuration
+        observe(bio, Duration.ofSeconds(1), true)
+        observe(hippo, Duration.ofMillis(100), false)
+        assertSame(bio, router.select(listOf(bio, hippo)))
+
+        // Exécution et vérification: une seule sonde après une demi-vie
+        advance(Duration.ofSeconds(31))
+        assertSame(hippo, router.select(listOf(bio, hippo)), "Le modèle écarté devrait être sondé")
+        assertSame(bio, router.select(listOf(bio, hippo)), "La sonde suivante attend une nouvelle demi-vie")
+
+        // Une sonde réussie rétablit le modèle
+        observe(hippo, Duration.ofMillis(500), true)
+        assertEquals(0.0, router.statisticsFor(hippo).errorRate, 1e-9)
+        assertEquals(500.0, router.statisticsFor(hippo).latencyMs, 1e-6)
+    }
+
+    @Test
+    @DisplayName("Test de l'appel annulé, compté ni comme succès ni comme erreur")
+    fun testCancelledCallIsNotRecorded() {
+        // Exécution
+        val subscription = router.track(bio, Mono.never<String>()).subscribe()
+        assertEquals(1, router.statisticsFor(bio).outstanding.get())
+        subscription.dispose()
+
+        // Vérification
+        val stats = router.statisticsFor(bio)
+        assertEquals(0, stats.outstanding.get())
+        assertEquals(0.0, stats.errorRate)
+        assertEquals(4_000.0, stats.latencyMs, 1e-6)
+    }
+}
@@ -0,0 +1,219 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.model.AnalysisCategory
+import com.hygie.llmorchestrator.model.ConfidenceLevel
+import com.hygie.llmorchestrator.model.LlmRecommendation
+import com.hygie.llmorchestrator.model.RecommendationSource
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import java.util.SplittableRandom
+
+/**
+ * Tests unitaires pour l'index de détection des contradictions.
+ *
+ * Ces tests comparent [ContradictionIndex.detect] à l'ancienne comparaison de
+ * chaque paire de recommandations sur des réponses générées, puis vérifient
+ * l'ordre des paires, la normalisation des médicaments, l'absence de doublons
+ * et l'ajout incrémental utilisé par la validation d'une réponse diffusée.
+ *
+ * @author Hygie-AI Team
+ */
+class ContradictionIndexTest {
+
+    private val oppositions = listOf(
+        "augmenter" to "diminuer",
+        "majorer" to "réduire",
+        "arrêter" to "continuer",
+        "interrompre" to "poursuivre",
+        "contre-indiqué" to "recommandé"
+    )
+
+    private val contradictoryCategories = setOf(
+        setOf(AnalysisCategory.DOSAGE_ADJUSTMENT, AnalysisCategory.ADHERENCE_OPTIMIZATION),
+        setOf(AnalysisCategory.CONTRAINDICATION, AnalysisCategory.COST_OPTIMIZATION)
+    )
+
+    private fun recommendation(
+        id: String,
+        category: AnalysisCategory,
+        suggestion: String,
+        vararg medications: String
+    ) = LlmRecommendation(
+        id = id,
+        category = category,
+        description = "Recommandation $id",
+        suggestion = suggestion,
+        medications = medications.toList(),
+        confidenceLevel = ConfidenceLevel(0.8, "Recommandation générée"),
+        sources = listOf(RecommendationSource("guideline", "HAS 2023"))
+    )
+
+    /**
+     * Génère une réponse: médicaments répétés ou partagés, variantes de casse
+     * et d'espaces, zéro à deux termes d'opposition par texte.
+     */
+    private fun randomRecommendations(random: SplittableRandom, count: Int): List<LlmRecommendation> {
+        val categories = AnalysisCategory.values()
+        return (0 until count).map { i ->
+            val medications = (0..random.nextInt(4)).map {
+                val name = "Medicament${random.nextInt(8)}"
+                when (random.nextInt(3)) {
+                    0 -> name
+                    1 -> " ${name.uppercase()} "
+                    else -> name.lowercase()
+                }
+            }
+            val terms = (0 until random.nextInt(3)).map {
+                val opposition = oppositions[random.nextInt(oppositions.size)]
+                val term = if (random.nextBoolean()) opposition.first else opposition.second
+                if (random.nextInt(4) == 0) term.uppercase() else term
+            }
+            recommendation(
+                "rec-$i",
+                categories[random.nextInt(categories.size)],
+                "Réévaluer le traitement" + terms.joinToString("") { ", puis $it la posologie" },
+                *medications.toTypedArray()
+            )
+        }
+    }
+
+    // Ancienne règle: chaque paire comparée, médicaments normalisés comme dans l'index
+    private fun detectPairwise(recommendations: List<LlmRecommendation>): List<Pair<String, String>> {
+        val contradictions = mutableListOf<Pair<String, String>>()
+        for (i in recommendations.indices) {
+            for (j in i + 1 until recommendations.size) {
+                val rec1 = recommendations[i]
+                val rec2 = recommendations[j]
+                val common = normalized(rec1).intersect(normalized(rec2))
+                if (common.isNotEmpty() && areContradictory(rec1, rec2)) {
+                    contradictions.add(rec1.id to rec2.id)
+                }
+            }
+        }
+        return contradictions
+    }
+
+    private fun normalized(recommendation: LlmRecommendation): Set<String> =
+        recommendation.medications.map { it.trim().lowercase() }.toSet()
+
+    private fun areContradictory(rec1: LlmRecommendation, rec2: LlmRecommendation): Boolean {
+        if (setOf(rec1.category, rec2.category) !in contradictoryCategories) {
+            return false
+        }
+        val text1 = (rec1.description + " " + rec1.suggestion).lowercase()
+        val text2 = (rec2.description + " " + rec2.suggestion).lowercase()
+        return oppositions.any { (first, second) ->
+            (text1.contains(first) && text2.contains(second)) || (text1.contains(second) && text2.contains(first))
+        }
+    }
+
+    private fun detectIds(recommendations: List<LlmRecommendation>): List<Pair<String, String>> =
+        ContradictionIndex.detect(recommendations).map { (rec1, rec2) -> rec1.id to rec2.id }
+
+    @Test
+    @DisplayName("Test de l'équivalence avec la comparaison de chaque paire sur des réponses générées")
+    fun testMatchesPairwiseRule() {
+        val random = SplittableRandom(42)
+        var total = 0
+
+        repeat(200) { round ->
+            // Configuration
+            val recommendations = randomRecommendations(random, random.nextInt(60))
+
+            // Exécution
+            val expected = detectPairwise(recommendations)
+            val actual = detectIds(recommendations)
+
+            // Vérification
+            assertEquals(expected, actual, "Réponse générée n°$round")
+            total += actual.size
+        }
+        assertTrue(total > 0, "Les réponses générées devraient contenir des contradictions")
+    }
+
+    @Test
+    @DisplayName("Test de l'ordre des paires: rang de la première, puis de la seconde recommandation")
+    fun testPairOrder() {
+        // Configuration: les deux dernières contredisent chacune les deux premières
+        val recommendations = listOf(
+            recommendation("a", AnalysisCategory.DOSAGE_ADJUSTMENT, "Augmenter la dose", "Warfarine"),
+            recommendation("b", AnalysisCategory.DOSAGE_ADJUSTMENT, "Augmenter la dose", "Warfarine"),
+            recommendation("c", AnalysisCategory.ADHERENCE_OPTIMIZATION, "Diminuer la dose", "Warfarine"),
+            recommendation("d", AnalysisCategory.ADHERENCE_OPTIMIZATION, "Diminuer la dose", "Warfarine")
+        )
+
+        // Exécution et vérification
+        assertEquals(listOf("a" to "c", "a" to "d", "b" to "c", "b" to "d"), detectIds(recommendations))
+    }
+
+    @Test
+    @DisplayName("Test de la comparaison des médicaments sans tenir compte de la casse ni des espaces")
+    fun testMedicationMatchingIgnoresCaseAndWhitespace() {
+        // Configuration
+        val recommendations = listOf(
+            recommendation("a", AnalysisCategory.CONTRAINDICATION, "Traitement contre-indiqué", "Warfarine"),
+            recommendation("b", AnalysisCategory.COST_OPTIMIZATION, "Générique recommandé", "  WARFARINE ")
+        )
+
+        // Exécution et vérification
+        assertEquals(listOf("a" to "b"), detectIds(recommendations))
+    }
+
+    @Test
+    @DisplayName("Test d'une seule paire pour des recommandations partageant plusieurs médicaments")
+    fun testSharedMedicationsYieldSinglePair() {
+        // Configuration
+        val recommendations = listOf(
+            recommendation("a", AnalysisCategory.DOSAGE_ADJUSTMENT, "Arrêter puis majorer",
+                "Warfarine", "Aspirine", "warfarine"),
+            recommendation("b", AnalysisCategory.ADHERENCE_OPTIMIZATION, "Continuer sans réduire",
+                "Aspirine", "Warfarine", "ASPIRINE ")
+        )
+
+        // Exécution et vérification
+        assertEquals(listOf("a" to "b"), detectIds(recommendations))
+    }
+
+    @Test
+    @DisplayName("Test de l'ajout d'une recommandation contradictoire, renvoyée et indexée")
+    fun testAddReturnsContradicted() {
+        // Configuration
+        val index = ContradictionIndex()
+        val first = recommendation("a", AnalysisCategory.DOSAGE_ADJUSTMENT, "Augmenter la dose", "Warfarine", "Aspirine")
+        val second = recommendation("b", AnalysisCategory.DOSAGE_ADJUSTMENT, "Interrompre", "Aspirine")
+        val third = recommendation("c", AnalysisCategory.ADHERENCE_OPTIMIZATION, "Diminuer, puis poursuivre",
+            "aspirine", "Warfarine")
+
+        // Exécution et vérification
+        assertEquals(emptyList<LlmRecommendation>(), index.add(first))
+        assertEquals(emptyList<LlmRecommendation>(), index.add(second))
+        assertEquals(listOf(first, second), index.add(third))
+
+        // La recommandation contradictoire a été indexée
+        val fourth = recommendation("d", AnalysisCategory.DOSAGE_ADJUSTMENT, "Augmenter", "WARFARINE")
+        assertEquals(listOf(third), index.add(fourth))
+    }
+
+    @Test
+    @DisplayName("Test de l'ajout conditionnel utilisé par la validation d'une réponse diffusée")
+    fun testAddIfConsistent() {
+        // Configuration
+        val index = ContradictionIndex()
+        val accepted = recommendation("a", AnalysisCategory.DOSAGE_ADJUSTMENT, "Augmenter la dose", "Warfarine")
+        val rejected = recommendation("b", AnalysisCategory.ADHERENCE_OPTIMIZATION, "Diminuer la dose", " warfarine")
+        val unrelated = recommendation("c", AnalysisCategory.DRUG_INTERACTION, "Diminuer la dose", "Warfarine")
+        val later = recommendation("d", AnalysisCategory.DOSAGE_ADJUSTMENT, "Augmenter la dose", "Warfarine")
+
+        // Exécution et vérification
+        assertNull(index.addIfConsistent(accepted))
+        assertEquals(accepted, index.addIfConsistent(rejected))
+        assertNull(index.addIfConsistent(unrelated), "Une catégorie sans opposée ne contredit rien")
+
+        // La recommandation écartée n'a pas été indexée: elle ne contredit pas les suivantes
+        assertNull(index.addIfConsistent(later))
+        assertEquals(listOf(accepted, later), index.add(rejected))
+    }
+}
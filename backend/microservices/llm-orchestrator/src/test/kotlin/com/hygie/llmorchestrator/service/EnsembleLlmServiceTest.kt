@@ -0,0 +1,115 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.model.AnalysisCategory
+import com.hygie.llmorchestrator.model.ConfidenceLevel
+import com.hygie.llmorchestrator.model.LlmModelInfo
+import com.hygie.llmorchestrator.model.LlmModelType
+import com.hygie.llmorchestrator.model.LlmRecommendation
+import com.hygie.llmorchestrator.model.LlmRequest
+import com.hygie.llmorchestrator.model.LlmResponse
+import com.hygie.llmorchestrator.model.LlmStreamEvent
+import com.hygie.llmorchestrator.model.LlmStreamEventType
+import com.hygie.llmorchestrator.model.MedicationInfo
+import com.hygie.llmorchestrator.model.RecommendationSource
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import reactor.core.publisher.Flux
+import reactor.test.StepVerifier
+import java.time.Duration
+
+/**
+ * Tests unitaires pour la diffusion du service d'ensemble.
+ *
+ * Ces tests vérifient qu'une analyse d'une seule catégorie est diffusée par le
+ * modèle qui la traite, et qu'une analyse de plusieurs catégories est émise à
+ * la fin de la combinaison.
+ *
+ * @author Hygie-AI Team
+ */
+class EnsembleLlmServiceTest {
+
+    private val meterRegistry = SimpleMeterRegistry()
+    private val bioMistral = mock<BioMistralService>()
+    private val hippoMistral = FakeLlmProvider(LlmModelType.HIPPOMISTRAL, Duration.ofMillis(10))
+    private val medFound = FakeLlmProvider(LlmModelType.MEDFOUND, Duration.ofMillis(10))
+    private lateinit var ensemble: EnsembleLlmService
+
+    private val recommendation = LlmRecommendation(
+        category = AnalysisCategory.DRUG_INTERACTION,
+        description = "Association de la warfarine et de l'aspirine",
+        suggestion = "Remplacer l'aspirine par du paracétamol",
+        medications = listOf("Warfarine", "Aspirine"),
+        confidenceLevel = ConfidenceLevel(0.9, "Interaction documentée"),
+        sources = listOf(RecommendationSource("Thésaurus", "ANSM 2023"))
+    )
+
+    @BeforeEach
+    fun setUp() {
+        whenever(bioMistral.isOperational()).thenReturn(true)
+        whenever(bioMistral.getModelType()).thenReturn(LlmModelType.BIOMISTRAL)
+        val router = AdaptiveModelRouter(meterRegistry, Duration.ofSeconds(8), 0.2, 0.2, Duration.ofSeconds(30))
+        val executor = ScatterGatherExecutor(meterRegistry, router, 2, 2,
+            Duration.ofSeconds(20), Duration.ofSeconds(5), 20)
+        executor.initialize()
+        ensemble = EnsembleLlmService(bioMistral, hippoMistral, medFound, "sequential", "round-robin",
+            executor, router, meterRegistry)
+        ensemble.initialize()
+    }
+
+    private fun request(vararg categories: AnalysisCategory) = LlmRequest(
+        requestId = "r1",
+        patientContext = "Patient de 78 ans",
+        medications = listOf(MedicationInfo(name = "Warfarine", dosage = "5 mg/j")),
+        analysisCategories = categories.toSet()
+    )
+
+    @Test
+    @DisplayName("Test de la diffusion d'une analyse d'une seule catégorie par son modèle")
+    fun testSingleCategoryStreamsSelectedModel() {
+        // Configuration
+        val response = LlmResponse(
+            requestId = "r1",
+            recommendations = listOf(recommendation),
+            summary = "Une interaction",
+            modelInfo = LlmModelInfo(setOf(LlmModelType.BIOMISTRAL), "biomistral-7b", 120),
+            processingTimeMs = 0
+        )
+        whenever(bioMistral.streamLlmService(any(), any())).thenReturn(Flux.just(
+            LlmStreamEvent.recommendation("r1", recommendation),
+            LlmStreamEvent.complete(response)
+        ))
+
+        // Exécution et vérification
+        StepVerifier.create(ensemble.streamLlmService("prompt", request(AnalysisCategory.DRUG_INTERACTION)))
+            .assertNext { assertEquals(LlmStreamEventType.RECOMMENDATION, it.type) }
+            .assertNext {
+                assertEquals(LlmStreamEventType.COMPLETE, it.type)
+                assertEquals(setOf(LlmModelType.BIOMISTRAL), it.response?.modelInfo?.modelType)
+            }
+            .verifyComplete()
+
+        verify(bioMistral, never()).callLlmService(any(), any())
+    }
+
+    @Test
+    @DisplayName("Test de l'émission en fin de combinaison d'une analyse de plusieurs catégories")
+    fun testMultipleCategoriesReplayCombination() {
+        // Exécution et vérification: les deux modèles sollicités répondent sans recommandation
+        StepVerifier.create(ensemble.streamLlmService("prompt",
+            request(AnalysisCategory.ELDERLY_APPROPRIATENESS, AnalysisCategory.DOSAGE_ADJUSTMENT)))
+            .assertNext { assertEquals(LlmStreamEventType.COMPLETE, it.type) }
+            .verifyComplete()
+
+        assertEquals(1, hippoMistral.calls.get())
+        assertEquals(1, medFound.calls.get())
+        verify(bioMistral, never()).streamLlmService(any(), any())
+    }
+}
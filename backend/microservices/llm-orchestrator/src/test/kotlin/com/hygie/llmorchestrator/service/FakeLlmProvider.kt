@@ -0,0 +1,51 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.model.LlmModelInfo
+import com.hygie.llmorchestrator.model.LlmModelType
+import com.hygie.llmorchestrator.model.LlmRequest
+import com.hygie.llmorchestrator.model.LlmResponse
+import reactor.core.publisher.Mono
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Modèle simulé pour les tests: répond (ou échoue) après un délai fixe.
+ *
+ * Le délai passe par `Mono.delay`, créé à chaque appel: sous
+ * `StepVerifier.withVirtualTime`, il suit le temps virtuel.
+ *
+ * @property modelType Le type de modèle simulé
+ * @property latency Le délai de réponse
+ * @property failure L'erreur émise à la place de la réponse, ou null
+ * @author Hygie-AI Team
+ */
+class FakeLlmProvider(
+    private val modelType: LlmModelType,
+    var latency: Duration = Duration.ZERO,
+    var failure: Throwable? = null
+) : LlmProviderService {
+    val calls = AtomicInteger()
+    val cancellations = AtomicInteger()
+
+    override fun getModelType(): LlmModelType = modelType
+
+    override fun isOperational(): Boolean = true
+
+    override fun callLlmService(prompt: String, originalRequest: LlmRequest): Mono<LlmResponse> = Mono.defer {
+        calls.incrementAndGet()
+        val error = failure
+        Mono.delay(latency)
+            .flatMap { if (error != null) Mono.error(error) else Mono.just(response(originalRequest.requestId)) }
+            .doOnCancel { cancellations.incrementAndGet() }
+    }
+
+    override fun getModelMetrics(): Mono<Map<String, Any>> = Mono.just(mapOf("calls" to calls.get()))
+
+    private fun response(requestId: String) = LlmResponse(
+        requestId = requestId,
+        recommendations = emptyList(),
+        summary = modelType.name,
+        modelInfo = LlmModelInfo(setOf(modelType), "fake", 10),
+        processingTimeMs = latency.toMillis()
+    )
+}
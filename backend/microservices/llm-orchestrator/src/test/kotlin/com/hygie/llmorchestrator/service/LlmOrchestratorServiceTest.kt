@@ -0,0 +1,197 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.model.AnalysisCategory
+import com.hygie.llmorchestrator.model.LlmModelInfo
+import com.hygie.llmorchestrator.model.LlmModelType
+import com.hygie.llmorchestrator.model.LlmRequest
+import com.hygie.llmorchestrator.model.LlmResponse
+import com.hygie.llmorchestrator.model.MedicationInfo
+import com.hygie.llmorchestrator.repository.LlmResponseRepository
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.timeout
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.springframework.data.redis.core.ReactiveRedisTemplate
+import org.springframework.data.redis.core.ReactiveValueOperations
+import reactor.core.publisher.Mono
+import reactor.core.publisher.Sinks
+import reactor.test.StepVerifier
+import java.time.Duration
+
+/**
+ * Tests unitaires pour l'orchestrateur LLM.
+ *
+ * Ces tests vérifient que des requêtes identiques simultanées partagent un
+ * seul appel au modèle, chacune recevant la réponse sous son propre
+ * identifiant, et que la clé de cache ne dépend que du contenu de la requête.
+ *
+ * @author Hygie-AI Team
+ */
+class LlmOrchestratorServiceTest {
+
+    private val provider = mock<LlmProviderService>()
+    private val repository = mock<LlmResponseRepository>()
+    private val rollupService = mock<ResponseRollupService>()
+    private val redisTemplate = mock<ReactiveRedisTemplate<String, LlmResponse>>()
+    private val responseCache = mock<ReactiveValueOperations<String, LlmResponse>>()
+    private val promptEngineeringService = mock<PromptEngineeringService>()
+    private val validationService = mock<ResponseValidationService>()
+
+    @BeforeEach
+    fun setUp() {
+        whenever(provider.isOperational()).thenReturn(true)
+        whenever(provider.getModelType()).thenReturn(LlmModelType.BIOMISTRAL)
+        whenever(redisTemplate.opsForValue()).thenReturn(responseCache)
+        whenever(responseCache.get(any())).thenReturn(Mono.empty())
+        whenever(responseCache.set(any(), any(), any<Duration>())).thenReturn(Mono.just(true))
+        whenever(promptEngineeringService.templateVersion).thenReturn("1-test")
+        whenever(promptEngineeringService.generatePrompt(any())).thenReturn(Mono.just("prompt"))
+        whenever(validationService.validateResponse(any(), any()))
+            .thenAnswer { Mono.just(it.arguments[0] as LlmResponse) }
+        whenever(repository.save(any<LlmResponse>()))
+            .thenAnswer { Mono.just(it.arguments[0] as LlmResponse) }
+        whenever(rollupService.record(any())).thenReturn(Mono.empty())
+    }
+
+    private fun orchestrator(singleFlight: Boolean): LlmOrchestratorService {
+        val service = LlmOrchestratorService(
+            mapOf(LlmModelType.BIOMISTRAL to provider),
+            repository,
+            rollupService,
+            redisTemplate,
+            promptEngineeringService,
+            validationService,
+            SimpleMeterRegistry(),
+            3600,
+            true,
+            singleFlight
+        )
+        service.initialize()
+        return service
+    }
+
+    private fun request(requestId: String, vararg medications: String) = LlmRequest(
+        requestId = requestId,
+        patientContext = "Patiente de 82 ans,  insuffisance rénale modérée",
+        medications = medications.map { MedicationInfo(name = it, dosage = "1 cp/j") },
+        analysisCategories = setOf(AnalysisCategory.DRUG_INTERACTION, AnalysisCategory.DOSAGE_ADJUSTMENT),
+        modelType = LlmModelType.BIOMISTRAL
+    )
+
+    private fun response(requestId: String) = LlmResponse(
+        requestId = requestId,
+        recommendations = emptyList(),
+        summary = "Aucune interaction significative",
+        modelInfo = LlmModelInfo(setOf(LlmModelType.BIOMISTRAL), "test", 12),
+        processingTimeMs = 0
+    )
+
+    @Test
+    @DisplayName("Test du partage d'un appel LLM entre requêtes identiques simultanées")
+    fun testIdenticalConcurrentRequestsShareOneCall() {
+        // Configuration
+        val pending = Sinks.one<LlmResponse>()
+        whenever(provider.callLlmService(any(), any())).thenReturn(pending.asMono())
+        val service = orchestrator(singleFlight = true)
+
+        // Exécution et vérification: la seconde requête arrive pendant l'appel de la première
+        StepVerifier.create(Mono.zip(
+            service.processRequest(request("r1", "Warfarine", "Aspirine")),
+            service.processRequest(request("r2", "aspirine", "Warfarine"))
+        ))
+            .then {
+                verify(provider, timeout(1000)).callLlmService(any(), any())
+                pending.tryEmitValue(response("r1"))
+            }
+            .assertNext { responses ->
+                assertEquals("r1", responses.t1.requestId)
+                assertEquals("r2", responses.t2.requestId, "La réponse partagée devrait porter l'identifiant de sa requête")
+                assertEquals(responses.t1.summary, responses.t2.summary)
+            }
+            .verifyComplete()
+
+        verify(provider, times(1)).callLlmService(any(), any())
+        verify(repository, times(1)).save(any<LlmResponse>())
+    }
+
+    @Test
+    @DisplayName("Test d'un nouvel appel une fois l'appel partagé terminé")
+    fun testCompletedCallIsNotReused() {
+        // Configuration
+        whenever(provider.callLlmService(any(), any()))
+            .thenAnswer { Mono.just(response((it.arguments[1] as LlmRequest).requestId)) }
+        val service = orchestrator(singleFlight = true)
+
+        // Exécution
+        StepVerifier.create(service.processRequest(request("r1", "Warfarine")))
+            .expectNextCount(1)
+            .verifyComplete()
+        StepVerifier.create(service.processRequest(request("r2", "Warfarine")))
+            .assertNext { assertEquals("r2", it.requestId) }
+            .verifyComplete()
+
+        // Vérification: le cache Redis est simulé vide, chaque requête appelle donc le modèle
+        verify(provider, times(2)).callLlmService(any(), any())
+    }
+
+    @Test
+    @DisplayName("Test des appels distincts lorsque le partage est désactivé")
+    fun testSingleFlightDisabled() {
+        // Configuration
+        val pending = Sinks.one<LlmResponse>()
+        whenever(provider.callLlmService(any(), any())).thenReturn(pending.asMono())
+        val service = orchestrator(singleFlight = false)
+
+        // Exécution et vérification
+        StepVerifier.create(Mono.zip(
+            service.processRequest(request("r1", "Warfarine")),
+            service.processRequest(request("r2", "Warfarine"))
+        ))
+            .then {
+                verify(provider, timeout(1000).times(2)).callLlmService(any(), any())
+                pending.tryEmitValue(response("r1"))
+            }
+            .expectNextCount(1)
+            .verifyComplete()
+    }
+
+    @Test
+    @DisplayName("Test de la réponse en cache servie sans appel LLM")
+    fun testCachedResponseSkipsCall() {
+        // Configuration
+        whenever(responseCache.get(any())).thenReturn(Mono.just(response("r0")))
+        val service = orchestrator(singleFlight = true)
+
+        // Exécution et vérification
+        StepVerifier.create(service.processRequest(request("r1", "Warfarine")))
+            .assertNext { assertEquals("r1", it.requestId) }
+            .verifyComplete()
+        verify(provider, never()).callLlmService(any(), any())
+    }
+
+    @Test
+    @DisplayName("Test de la clé de cache adressée par contenu")
+    fun testCacheKeyDependsOnContentOnly() {
+        // Configuration
+        val first = request("r1", "Warfarine", "Aspirine")
+        val reordered = request("r2", "aspirine", " Warfarine ")
+            .copy(patientContext = "Patiente de 82 ans, insuffisance rénale modérée")
+
+        // Exécution et vérification
+        assertEquals(ResponseCacheKeys.of(first, "1"), ResponseCacheKeys.of(reordered, "1"),
+            "L'ordre, la casse et les espaces ne devraient pas changer la clé")
+        assertNotEquals(ResponseCacheKeys.of(first, "1"), ResponseCacheKeys.of(first, "2"),
+            "Une nouvelle version des templates devrait changer la clé")
+        assertNotEquals(ResponseCacheKeys.of(first, "1"),
+            ResponseCacheKeys.of(first.copy(temperature = 0.5), "1"))
+    }
+}
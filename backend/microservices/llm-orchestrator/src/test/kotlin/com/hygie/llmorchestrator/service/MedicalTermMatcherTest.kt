@@ -0,0 +1,110 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.service.MedicalTermMatcher.Match
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+
+/**
+ * Tests unitaires pour l'automate de reconnaissance des termes médicaux.
+ *
+ * Ces tests vérifient les liens d'échec de l'automate, les occurrences
+ * imbriquées et chevauchantes, le remplacement de la plus à gauche puis de la
+ * plus longue, les limites de mot et l'insensibilité à la casse.
+ *
+ * @author Hygie-AI Team
+ */
+class MedicalTermMatcherTest {
+
+    @Test
+    @DisplayName("Test du lien d'échec vers un terme commençant par le suffixe reconnu")
+    fun testFailureLinks() {
+        val matcher = MedicalTermMatcher(mapOf(
+            "prise de sang" to "prélèvement sanguin",
+            "sang froid" to "calme"
+        ))
+
+        // "sang froid" commence à l'intérieur de "prise de sang": l'automate y arrive par un lien d'échec
+        assertEquals(
+            listOf(
+                Match(0, 13, "prise de sang", "prélèvement sanguin"),
+                Match(9, 19, "sang froid", "calme")
+            ),
+            matcher.findAll("prise de sang froid")
+        )
+        assertEquals(listOf(Match(6, 16, "sang froid", "calme")), matcher.findAll("prise sang froid"))
+    }
+
+    @Test
+    @DisplayName("Test des occurrences imbriquées et du remplacement de la plus longue")
+    fun testNestedTermsAndLeftmostLongest() {
+        val matcher = MedicalTermMatcher(mapOf(
+            "insuffisance" to "défaillance",
+            "insuffisance rénale" to "néphropathie",
+            "rénale" to "rénal"
+        ))
+
+        // Toutes les occurrences, par position de fin croissante
+        assertEquals(
+            listOf(
+                Match(0, 12, "insuffisance", "défaillance"),
+                Match(0, 19, "insuffisance rénale", "néphropathie"),
+                Match(13, 19, "rénale", "rénal")
+            ),
+            matcher.findAll("insuffisance rénale")
+        )
+
+        // La plus à gauche, puis la plus longue, l'emporte
+        assertEquals("néphropathie aiguë", matcher.replaceAll("insuffisance rénale aiguë"))
+        assertEquals("défaillance cardiaque", matcher.replaceAll("insuffisance cardiaque"))
+        assertEquals("colique rénal", matcher.replaceAll("colique rénale"))
+    }
+
+    @Test
+    @DisplayName("Test du remplacement de la plus à gauche parmi des occurrences chevauchantes")
+    fun testOverlappingTermsReplaceLeftmost() {
+        val matcher = MedicalTermMatcher(mapOf(
+            "prise de sang" to "prélèvement sanguin",
+            "sang froid" to "calme"
+        ))
+
+        assertEquals("prélèvement sanguin froid", matcher.replaceAll("prise de sang froid"))
+        assertEquals("garder son calme", matcher.replaceAll("garder son sang froid"))
+    }
+
+    @Test
+    @DisplayName("Test des limites de mot autour des occurrences")
+    fun testWordBoundaries() {
+        val matcher = MedicalTermMatcher(mapOf("ains" to "anti-inflammatoires non stéroïdiens"))
+
+        assertEquals(
+            "gains, anti-inflammatoires non stéroïdiens, ains_x, ainsi et (anti-inflammatoires non stéroïdiens).",
+            matcher.replaceAll("gains, AINS, ains_x, ainsi et (ains).")
+        )
+        assertTrue(matcher.findAll("plains1 ains2").isEmpty(), "Un chiffre accolé fait partie du mot")
+    }
+
+    @Test
+    @DisplayName("Test de l'insensibilité à la casse, positions du texte d'origine conservées")
+    fun testCaseFolding() {
+        val matcher = MedicalTermMatcher(mapOf("Insuffisance Rénale" to "néphropathie"))
+        val text = "Patient: INSUFFISANCE RÉNALE aiguë"
+
+        val matches = matcher.findAll(text)
+
+        assertEquals(listOf(Match(9, 28, "insuffisance rénale", "néphropathie")), matches)
+        assertEquals("INSUFFISANCE RÉNALE", text.substring(matches[0].start, matches[0].end))
+        assertEquals("Patient: néphropathie aiguë", matcher.replaceAll(text))
+    }
+
+    @Test
+    @DisplayName("Test d'un dictionnaire vide ou de termes blancs")
+    fun testEmptyDictionary() {
+        val matcher = MedicalTermMatcher(mapOf("  " to "vide"))
+
+        assertEquals(0, matcher.size)
+        assertTrue(matcher.findAll("texte quelconque").isEmpty())
+        assertEquals("texte quelconque", matcher.replaceAll("texte quelconque"))
+    }
+}
@@ -0,0 +1,80 @@
+package com.hygie.llmorchestrator.service
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.springframework.core.io.DefaultResourceLoader
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Tests unitaires pour le service des termes médicaux.
+ *
+ * Ces tests vérifient la priorité des abréviations sur les termes courants et
+ * le remplacement complet du dictionnaire à son rechargement.
+ *
+ * @author Hygie-AI Team
+ */
+class MedicalTermsServiceTest {
+
+    @TempDir
+    lateinit var directory: Path
+
+    private val dictionary: Path
+        get() = directory.resolve("medical_terms.csv")
+
+    private fun service(content: String): MedicalTermsService {
+        Files.writeString(dictionary, content)
+        val service = MedicalTermsService(DefaultResourceLoader(), "${dictionary.toUri()}", true)
+        service.initialize()
+        return service
+    }
+
+    @Test
+    @DisplayName("Test de la priorité d'une abréviation identique à un terme courant")
+    fun testAbbreviationTakesPrecedence() {
+        val service = service(
+            "ta;tension artérielle basse;\n" +
+            "pression artérielle;pression artérielle;ta\n"
+        )
+
+        assertEquals("pression artérielle élevée", service.validateAndNormalizeMedicalTerms("TA élevée"))
+        assertEquals(mapOf("ta" to "pression artérielle"), service.extractMedicalTerms("TA élevée"))
+    }
+
+    @Test
+    @DisplayName("Test de l'oubli des termes retirés au rechargement du dictionnaire")
+    fun testReloadReplacesDictionary() {
+        // Configuration
+        val service = service("paracetamol;paracétamol;pcm\n")
+        assertTrue(service.isValidMedicalTerm("paracétamol"))
+
+        // Exécution
+        Files.writeString(dictionary, "ibuprofene;ibuprofène;ibu\n")
+        service.initialize()
+
+        // Vérification
+        assertFalse(service.isValidMedicalTerm("paracétamol"), "Un terme standard retiré ne devrait plus être valide")
+        assertFalse(service.isValidMedicalTerm("pcm"))
+        assertTrue(service.extractMedicalTerms("paracetamol 1 g").isEmpty())
+        assertEquals("ibuprofène 400 mg", service.validateAndNormalizeMedicalTerms("IBU 400 mg"))
+    }
+
+    @Test
+    @DisplayName("Test de la conservation du dictionnaire lorsque le rechargement échoue")
+    fun testInvalidReloadKeepsDictionary() {
+        // Configuration
+        val service = service("paracetamol;paracétamol;pcm\n")
+
+        // Exécution: un dictionnaire sans abréviation est refusé
+        Files.writeString(dictionary, "ibuprofene;ibuprofène\n")
+        service.initialize()
+
+        // Vérification
+        assertTrue(service.isValidMedicalTerm("paracétamol"))
+        assertFalse(service.isValidMedicalTerm("ibuprofène"))
+    }
+}
@@ -0,0 +1,177 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.exception.LlmServiceException
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import reactor.test.scheduler.VirtualTimeScheduler
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+
+/**
+ * Tests unitaires pour le regroupement en lots des appels simultanés.
+ *
+ * Ces tests vérifient, en temps virtuel, les départs sur taille et sur délai,
+ * la restitution de chaque sortie à son entrée, la propagation des échecs (y
+ * compris d'un appel groupé terminé sans sortie) et
+ * le retrait des entrées annulées avant le départ de leur lot.
+ *
+ * @author Hygie-AI Team
+ */
+class MicroBatchDispatcherTest {
+
+    private val meterRegistry = SimpleMeterRegistry()
+    private val scheduler = VirtualTimeScheduler.create()
+    private val batches = CopyOnWriteArrayList<List<Int>>()
+
+    private fun dispatcher(
+        maxBatchSize: Int = 3,
+        sendBatch: (List<Int>) -> Mono<List<String>> = { inputs -> Mono.just(inputs.map { "sortie-$it" }) }
+    ) = MicroBatchDispatcher<Int, String>("test", maxBatchSize, Duration.ofMillis(20), meterRegistry,
+        { inputs -> batches.add(inputs); sendBatch(inputs) }, scheduler)
+
+    private fun dispatches(trigger: String) =
+        meterRegistry.counter("llm.batch.dispatches", "dispatcher", "test", "trigger", trigger).count()
+
+    @Test
+    @DisplayName("Test du départ d'un lot complet sans attendre le délai")
+    fun testSizeTrigger() {
+        // Configuration
+        val dispatcher = dispatcher()
+
+        // Exécution et vérification
+        StepVerifier.withVirtualTime({
+            Flux.merge(dispatcher.submit(1), dispatcher.submit(2), dispatcher.submit(3))
+        }, { scheduler }, Long.MAX_VALUE)
+            .expectNext("sortie-1", "sortie-2", "sortie-3")
+            .verifyComplete()
+
+        assertEquals(listOf(listOf(1, 2, 3)), batches)
+        assertEquals(1.0, dispatches("size"))
+        assertEquals(0.0, dispatches("time"))
+    }
+
+    @Test
+    @DisplayName("Test du départ d'un lot incomplet au bout du délai")
+    fun testTimeTrigger() {
+        // Configuration
+        val dispatcher = dispatcher()
+
+        // Exécution et vérification
+        StepVerifier.withVirtualTime({
+            Flux.merge(dispatcher.submit(1), dispatcher.submit(2))
+        }, { scheduler }, Long.MAX_VALUE)
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(19))
+            .thenAwait(Duration.ofMillis(1))
+            .expectNext("sortie-1", "sortie-2")
+            .verifyComplete()
+
+        assertEquals(listOf(listOf(1, 2)), batches)
+        assertEquals(1.0, dispatches("time"))
+    }
+
+    @Test
+    @DisplayName("Test de la restitution de chaque sortie à son entrée")
+    fun testOutputsAreDemultiplexed() {
+        // Configuration: le service distant rend ses sorties dans l'ordre des entrées
+        val dispatcher = dispatcher(maxBatchSize = 2) { inputs -> Mono.just(inputs.map { "sortie-${it * 10}" }) }
+        val received = CopyOnWriteArrayList<String>()
+
+        // Exécution: deux lots successifs
+        (1..4).forEach { input -> dispatcher.submit(input).subscribe { received.add("$input=$it") } }
+
+        // Vérification
+        assertEquals(listOf(listOf(1, 2), listOf(3, 4)), batches)
+        assertEquals(listOf("1=sortie-10", "2=sortie-20", "3=sortie-30", "4=sortie-40"), received)
+    }
+
+    @Test
+    @DisplayName("Test de la propagation d'un échec à toutes les entrées du lot")
+    fun testBatchFailureReachesEveryInput() {
+        // Configuration
+        val dispatcher = dispatcher(maxBatchSize = 2) { Mono.error(IllegalStateException("Serveur indisponible")) }
+
+        // Exécution et vérification
+        StepVerifier.create(Flux.merge(
+            dispatcher.submit(1).onErrorResume { Mono.just(it.message!!) },
+            dispatcher.submit(2).onErrorResume { Mono.just(it.message!!) }
+        ))
+            .expectNext("Serveur indisponible")
+            .expectNext("Serveur indisponible")
+            .verifyComplete()
+    }
+
+    @Test
+    @DisplayName("Test de l'erreur lorsque le nombre de sorties diffère du nombre d'entrées")
+    fun testOutputCountMismatch() {
+        // Configuration
+        val dispatcher = dispatcher(maxBatchSize = 2) { Mono.just(listOf("seule")) }
+
+        // Exécution et vérification
+        StepVerifier.create(Flux.merge(dispatcher.submit(1), dispatcher.submit(2)))
+            .expectError(LlmServiceException::class.java)
+            .verify()
+    }
+
+    @Test
+    @DisplayName("Test de l'erreur lorsque l'appel groupé se termine sans sortie")
+    fun testEmptyBatchResponseFailsEveryInput() {
+        // Configuration
+        val dispatcher = dispatcher(maxBatchSize = 2) { Mono.empty() }
+
+        val failed = { error: Throwable -> Mono.just(error::class.java.simpleName) }
+
+        // Exécution et vérification: chaque entrée du lot échoue au lieu de rester en attente
+        StepVerifier.create(Flux.merge(
+            dispatcher.submit(1).onErrorResume(failed),
+            dispatcher.submit(2).onErrorResume(failed)
+        ))
+            .expectNext("LlmServiceException", "LlmServiceException")
+            .verifyComplete()
+    }
+
+    @Test
+    @DisplayName("Test du retrait d'une entrée annulée avant le départ de son lot")
+    fun testCancelledInputIsRemoved() {
+        // Configuration
+        val dispatcher = dispatcher()
+        val received = CopyOnWriteArrayList<String>()
+
+        // Exécution
+        val cancelled = dispatcher.submit(1).subscribe { received.add(it) }
+        dispatcher.submit(2).subscribe { received.add(it) }
+        cancelled.dispose()
+        scheduler.advanceTimeBy(Duration.ofMillis(20))
+
+        // Vérification
+        assertEquals(listOf(listOf(2)), batches)
+        assertEquals(listOf("sortie-2"), received)
+    }
+
+    @Test
+    @DisplayName("Test du délai complet d'un lot après l'annulation de toutes les entrées du précédent")
+    fun testCancellingLastInputResetsTimer() {
+        // Configuration
+        val dispatcher = dispatcher()
+        val received = CopyOnWriteArrayList<String>()
+
+        // Exécution: l'unique entrée est annulée, une autre arrive 10 ms plus tard
+        dispatcher.submit(1).subscribe { received.add(it) }.dispose()
+        scheduler.advanceTimeBy(Duration.ofMillis(10))
+        dispatcher.submit(2).subscribe { received.add(it) }
+
+        // Vérification: le départ prévu pour le lot annulé n'écourte pas l'attente
+        scheduler.advanceTimeBy(Duration.ofMillis(19))
+        assertTrue(batches.isEmpty(), "Le lot ne devrait pas partir avant d'avoir attendu 20 ms")
+        scheduler.advanceTimeBy(Duration.ofMillis(1))
+        assertEquals(listOf(listOf(2)), batches)
+        assertEquals(listOf("sortie-2"), received)
+        assertEquals(1.0, dispatches("time"))
+    }
+}
@@ -0,0 +1,103 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.model.AnalysisCategory
+import com.hygie.llmorchestrator.model.LlmModelType
+import com.hygie.llmorchestrator.model.LlmRequest
+import com.hygie.llmorchestrator.model.MedicationInfo
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.springframework.core.io.DefaultResourceLoader
+import reactor.test.StepVerifier
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Tests unitaires pour le service d'ingénierie de prompts.
+ *
+ * Ces tests vérifient la reconnaissance des médicaments à haut risque, sans
+ * casse ni accents et mot à mot, leur placement en tête du prompt, et
+ * l'entrée du budget en tokens dans la version des templates.
+ *
+ * @author Hygie-AI Team
+ */
+class PromptEngineeringServiceTest {
+
+    @TempDir
+    lateinit var directory: Path
+
+    @BeforeEach
+    fun setUp() {
+        for (modelType in LlmModelType.values()) {
+            Files.writeString(directory.resolve("${modelType.name.lowercase()}_general.txt"),
+                "ID: {REQUEST_ID}\n{PATIENT_CONTEXT}\n{MEDICATIONS}\n{ANALYSIS_INSTRUCTIONS}\n{ADDITIONAL_CONTEXT}\n")
+        }
+    }
+
+    private fun service(tokenBudget: Int): PromptEngineeringService {
+        val service = PromptEngineeringService(DefaultResourceLoader(), "${directory.toUri()}", 16384, "1", tokenBudget)
+        service.loadPromptTemplates()
+        return service
+    }
+
+    @Test
+    @DisplayName("Test de la reconnaissance des médicaments à haut risque sans accents ni casse")
+    fun testHighRiskMatchingFoldsAccents() {
+        val service = service(4096)
+
+        assertTrue(service.isHighRisk("Énoxaparine sodique"))
+        assertTrue(service.isHighRisk("ENOXAPARINE 4000 UI"))
+        assertTrue(service.isHighRisk("heparine"))
+        assertTrue(service.isHighRisk("Acide valproique"))
+        assertTrue(service.isHighRisk("Xarelto 20 mg"))
+        assertTrue(service.isHighRisk("ELIQUIS"))
+        assertTrue(service.isHighRisk("Lovenox"))
+        assertTrue(service.isHighRisk("Préviscan"))
+    }
+
+    @Test
+    @DisplayName("Test de la comparaison mot à mot des noms de médicaments")
+    fun testHighRiskMatchingUsesWholeWords() {
+        val service = service(4096)
+
+        assertFalse(service.isHighRisk("Lithiase"), "Un mot contenant une DCI ne devrait pas correspondre")
+        assertFalse(service.isHighRisk("Paracétamol"))
+        assertTrue(service.isHighRisk("Chlorure de potassium"))
+    }
+
+    @Test
+    @DisplayName("Test du placement des médicaments à haut risque en tête du prompt")
+    fun testHighRiskMedicationsComeFirst() {
+        // Configuration
+        val request = LlmRequest(
+            requestId = "r1",
+            patientContext = "Patient de 80 ans",
+            medications = listOf(
+                MedicationInfo(name = "Paracétamol", dosage = "1 g x3/j"),
+                MedicationInfo(name = "Lovenox", dosage = "4000 UI/j")
+            ),
+            analysisCategories = setOf(AnalysisCategory.DRUG_INTERACTION),
+            modelType = LlmModelType.BIOMISTRAL
+        )
+
+        // Exécution et vérification
+        StepVerifier.create(service(4096).generatePrompt(request))
+            .assertNext { prompt ->
+                assertTrue(prompt.indexOf("1. Lovenox") in 0 until prompt.indexOf("2. Paracétamol"))
+            }
+            .verifyComplete()
+    }
+
+    @Test
+    @DisplayName("Test de la version des templates dépendante du budget en tokens")
+    fun testTemplateVersionIncludesTokenBudget() {
+        assertEquals(service(4096).templateVersion, service(4096).templateVersion)
+        assertNotEquals(service(4096).templateVersion, service(2048).templateVersion,
+            "Un autre budget devrait invalider les réponses en cache")
+    }
+}
@@ -0,0 +1,76 @@
+package com.hygie.llmorchestrator.service
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+
+/**
+ * Tests unitaires pour le découpage incrémental des réponses en recommandations.
+ *
+ * Ces tests vérifient que le découpage d'un texte reçu par fragments est
+ * identique à celui du texte complet, quelles que soient les frontières des
+ * fragments, y compris au milieu d'un marqueur.
+ *
+ * @author Hygie-AI Team
+ */
+class RecommendationBlockSplitterTest {
+
+    private val text = "Synthèse: patient âgé polymédiqué.\n\n" +
+        "Recommandation 1: association de la warfarine et de l'aspirine, risque hémorragique majeur.\n" +
+        "Suggestion: remplacer l'aspirine par du paracétamol et surveiller l'INR.\n\n" +
+        "Problème identifié: posologie de la metformine inadaptée à la fonction rénale du patient.\n" +
+        "Contre-indication: metformine si DFG < 30 ml/min, réduire la dose.\n" +
+        "Analyse: court"
+
+    private data class Split(val blocks: List<String>, val summary: String, val fullText: String)
+
+    private fun split(chunks: List<String>): Split {
+        val splitter = RecommendationBlockSplitter()
+        val blocks = chunks.flatMap { splitter.append(it) } + splitter.finish()
+        return Split(blocks, splitter.summary, splitter.fullText)
+    }
+
+    @Test
+    @DisplayName("Test du découpage du texte complet")
+    fun testWholeText() {
+        val result = split(listOf(text))
+
+        assertEquals(4, result.blocks.size, "Le bloc final trop court devrait être ignoré")
+        assertTrue(result.blocks[0].startsWith("Recommandation 1"))
+        assertEquals("Synthèse: patient âgé polymédiqué.", result.summary)
+    }
+
+    @Test
+    @DisplayName("Test de l'équivalence du découpage pour toute frontière de fragments")
+    fun testChunkBoundaryEquivalence() {
+        val expected = split(listOf(text))
+
+        // Toutes les paires de frontières: trois fragments, vides compris
+        for (first in 0..text.length) {
+            for (second in first..text.length) {
+                val chunks = listOf(text.substring(0, first), text.substring(first, second), text.substring(second))
+                assertEquals(expected, split(chunks), "Découpage différent aux frontières $first et $second")
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test de l'équivalence du découpage caractère par caractère")
+    fun testSingleCharacterChunks() {
+        assertEquals(split(listOf(text)), split(text.map { it.toString() }))
+    }
+
+    @Test
+    @DisplayName("Test de l'émission d'un bloc dès l'arrivée du marqueur suivant")
+    fun testBlockEmittedOnNextMarker() {
+        val splitter = RecommendationBlockSplitter()
+        val markerStart = text.indexOf("Problème identifié")
+
+        val first = splitter.append(text.substring(0, markerStart + 4))
+        assertEquals(1, first.size, "Seul le bloc suivi d'un marqueur complet devrait être rendu")
+        val rest = splitter.append(text.substring(markerStart + 4))
+        assertTrue(rest[1].startsWith("Problème identifié"), "Le marqueur coupé devrait être reconnu au fragment suivant")
+        assertEquals(3, rest.size)
+    }
+}
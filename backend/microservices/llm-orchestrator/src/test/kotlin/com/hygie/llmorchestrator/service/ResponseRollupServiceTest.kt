@@ -0,0 +1,211 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.model.AnalysisCategory
+import com.hygie.llmorchestrator.model.ConfidenceLevel
+import com.hygie.llmorchestrator.model.LlmModelInfo
+import com.hygie.llmorchestrator.model.LlmModelType
+import com.hygie.llmorchestrator.model.LlmRecommendation
+import com.hygie.llmorchestrator.model.LlmResponse
+import com.hygie.llmorchestrator.model.LlmResponseRollup
+import com.hygie.llmorchestrator.model.RecommendationSource
+import com.hygie.llmorchestrator.model.RollupGranularity
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.bson.Document
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.springframework.data.mongodb.core.ReactiveBulkOperations
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate
+import org.springframework.data.mongodb.core.index.IndexDefinition
+import org.springframework.data.mongodb.core.index.IndexInfo
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations
+import org.springframework.data.mongodb.core.query.Query
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.time.Instant
+import java.util.Optional
+
+/**
+ * Tests unitaires pour les agrégats des réponses LLM.
+ *
+ * Ces tests vérifient, sur un Mongo simulé, qu'une réponse d'ensemble n'est
+ * comptée qu'une fois dans le total, et que l'index TTL des réponses suit la
+ * rétention configurée.
+ *
+ * @author Hygie-AI Team
+ */
+class ResponseRollupServiceTest {
+
+    private val mongoTemplate = mock<ReactiveMongoTemplate>()
+    private val bulk = mock<ReactiveBulkOperations>()
+    private val indexOps = mock<ReactiveIndexOperations>()
+    private lateinit var service: ResponseRollupService
+
+    private val bucketStart = Instant.parse("2026-10-18T10:00:00Z")
+
+    @BeforeEach
+    fun setUp() {
+        whenever(mongoTemplate.bulkOps(any(), any<Class<*>>())).thenReturn(bulk)
+        whenever(bulk.execute()).thenReturn(Mono.empty())
+        whenever(mongoTemplate.indexOps(LlmResponse::class.java)).thenReturn(indexOps)
+        whenever(mongoTemplate.getCollectionName(LlmResponse::class.java)).thenReturn("llm_responses")
+        whenever(mongoTemplate.executeCommand(any<Document>())).thenReturn(Mono.just(Document("ok", 1)))
+        whenever(indexOps.ensureIndex(any<IndexDefinition>())).thenReturn(Mono.just("llm_responses_retention"))
+
+        service = ResponseRollupService(mongoTemplate, SimpleMeterRegistry(),
+            Duration.ofDays(90), Duration.ofDays(14), Duration.ofDays(730))
+        service.initialize()
+    }
+
+    private fun rollup(modelType: LlmModelType?, responses: Long) = LlmResponseRollup(
+        id = "HOUR:${bucketStart.epochSecond}:${modelType?.name ?: "ALL"}:ALL",
+        granularity = RollupGranularity.HOUR,
+        bucketStart = bucketStart,
+        modelType = modelType,
+        responseCount = responses,
+        expiresAt = bucketStart.plus(Duration.ofDays(15))
+    )
+
+    private fun retentionIndex(expireAfter: Duration): IndexInfo {
+        val index = mock<IndexInfo>()
+        whenever(index.name).thenReturn("llm_responses_retention")
+        whenever(index.expireAfter).thenReturn(Optional.of(expireAfter))
+        return index
+    }
+
+    @Test
+    @DisplayName("Test du comptage unique d'une réponse d'ensemble dans l'agrégat tous modèles")
+    fun testEnsembleResponseCountedOnceForAllModels() {
+        // Configuration
+        val response = LlmResponse(
+            requestId = "r1",
+            recommendations = listOf(LlmRecommendation(
+                category = AnalysisCategory.DRUG_INTERACTION,
+                description = "Association de la warfarine et de l'aspirine",
+                suggestion = "Remplacer l'aspirine par du paracétamol",
+                medications = listOf("Warfarine", "Aspirine"),
+                confidenceLevel = ConfidenceLevel(0.9, "Interaction documentée"),
+                sources = listOf(RecommendationSource("Thésaurus", "ANSM 2023"))
+            )),
+            summary = "Analyse d'ensemble",
+            timestamp = bucketStart.plusSeconds(600),
+            modelInfo = LlmModelInfo(setOf(LlmModelType.BIOMISTRAL, LlmModelType.HIPPOMISTRAL), "ensemble", 800),
+            processingTimeMs = 1200
+        )
+
+        // Exécution
+        StepVerifier.create(service.record(response)).verifyComplete()
+
+        // Vérification: par granularité, un agrégat tous modèles et deux (réponse, catégorie) par modèle
+        val queries = argumentCaptor<Query>()
+        verify(bulk, times(10)).upsert(queries.capture(), any())
+        val ids = queries.allValues.map { it.queryObject.getString("_id") }
+        assertEquals(
+            listOf("HOUR:${bucketStart.epochSecond}:ALL:ALL", "DAY:${Instant.parse("2026-10-18T00:00:00Z").epochSecond}:ALL:ALL"),
+            ids.filter { it.endsWith(":ALL:ALL") }
+        )
+    }
+
+    @Test
+    @DisplayName("Test du total des réponses lu dans l'agrégat tous modèles")
+    fun testTotalResponsesFromAllModelsRollup() {
+        // Configuration: deux réponses d'ensemble et une réponse BioMistral seule
+        whenever(mongoTemplate.find(any<Query>(), eq(LlmResponseRollup::class.java))).thenReturn(Flux.just(
+            rollup(null, 3),
+            rollup(LlmModelType.BIOMISTRAL, 3),
+            rollup(LlmModelType.HIPPOMISTRAL, 2)
+        ))
+
+        // Exécution et vérification
+        StepVerifier.create(service.usageStats(null, bucketStart, bucketStart.plusSeconds(7200)))
+            .assertNext { stats ->
+                assertEquals(3L, stats["totalResponses"], "Une réponse d'ensemble ne devrait compter qu'une fois")
+                assertEquals(setOf("BIOMISTRAL", "HIPPOMISTRAL"), (stats["models"] as Map<*, *>).keys)
+            }
+            .verifyComplete()
+    }
+
+    @Test
+    @DisplayName("Test du total des réponses d'un modèle filtré")
+    fun testTotalResponsesForSingleModel() {
+        // Configuration
+        whenever(mongoTemplate.find(any<Query>(), eq(LlmResponseRollup::class.java)))
+            .thenReturn(Flux.just(rollup(LlmModelType.HIPPOMISTRAL, 2)))
+
+        // Exécution et vérification
+        StepVerifier.create(service.usageStats(LlmModelType.HIPPOMISTRAL, bucketStart, bucketStart.plusSeconds(7200)))
+            .assertNext { stats -> assertEquals(2L, stats["totalResponses"]) }
+            .verifyComplete()
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour en place de l'index TTL lorsque la rétention change")
+    fun testRetentionIndexModifiedOnMismatch() {
+        // Configuration
+        whenever(indexOps.indexInfo).thenReturn(Flux.just(retentionIndex(Duration.ofDays(30))))
+
+        // Exécution
+        StepVerifier.create(service.reconcileResponseRetention()).verifyComplete()
+
+        // Vérification
+        val commands = argumentCaptor<Document>()
+        verify(mongoTemplate).executeCommand(commands.capture())
+        assertEquals("llm_responses", commands.firstValue.getString("collMod"))
+        val index = commands.firstValue.get("index", Document::class.java)
+        assertEquals("llm_responses_retention", index.getString("name"))
+        assertEquals(Duration.ofDays(90).seconds, index.getLong("expireAfterSeconds"))
+        verify(indexOps, never()).ensureIndex(any())
+    }
+
+    @Test
+    @DisplayName("Test de l'index TTL laissé intact lorsque la rétention est inchangée")
+    fun testRetentionIndexKeptWhenUnchanged() {
+        // Configuration
+        whenever(indexOps.indexInfo).thenReturn(Flux.just(retentionIndex(Duration.ofDays(90))))
+
+        // Exécution
+        StepVerifier.create(service.reconcileResponseRetention()).verifyComplete()
+
+        // Vérification
+        verify(mongoTemplate, never()).executeCommand(any<Document>())
+        verify(indexOps, never()).ensureIndex(any())
+    }
+
+    @Test
+    @DisplayName("Test de la création de l'index TTL absent")
+    fun testRetentionIndexCreatedWhenMissing() {
+        // Configuration
+        whenever(indexOps.indexInfo).thenReturn(Flux.empty())
+
+        // Exécution
+        StepVerifier.create(service.reconcileResponseRetention()).verifyComplete()
+
+        // Vérification
+        verify(indexOps).ensureIndex(any())
+        verify(mongoTemplate, never()).executeCommand(any<Document>())
+    }
+
+    @Test
+    @DisplayName("Test de la reconstitution des agrégats tous modèles exécutée une seule fois")
+    fun testBackfillSkippedOnceCompleted() {
+        // Configuration
+        whenever(mongoTemplate.exists(any<Query>(), eq("llm_rollup_migrations"))).thenReturn(Mono.just(true))
+
+        // Exécution
+        StepVerifier.create(service.backfillAllModels()).verifyComplete()
+
+        // Vérification
+        verify(mongoTemplate, never()).getCollection(any())
+    }
+}
@@ -0,0 +1,178 @@
+package com.hygie.llmorchestrator.service
+
+import com.hygie.llmorchestrator.exception.LlmServiceException
+import com.hygie.llmorchestrator.model.AnalysisCategory
+import com.hygie.llmorchestrator.model.LlmModelType
+import com.hygie.llmorchestrator.model.LlmRequest
+import com.hygie.llmorchestrator.model.LlmResponse
+import com.hygie.llmorchestrator.model.MedicationInfo
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import reactor.test.StepVerifier
+import java.time.Duration
+
+/**
+ * Tests unitaires pour l'exécution en dispersion-regroupement de l'ensemble.
+ *
+ * Ces tests vérifient, en temps virtuel, que la combinaison part dès le
+ * quorum atteint, qu'un modèle plus lent que son délai de doublement ou en
+ * échec est relayé par un modèle de réserve et que les appels restants sont
+ * annulés.
+ *
+ * @author Hygie-AI Team
+ */
+class ScatterGatherExecutorTest {
+
+    private val meterRegistry = SimpleMeterRegistry()
+    private val router = AdaptiveModelRouter(meterRegistry, Duration.ofSeconds(8), 0.2, 0.2, Duration.ofSeconds(30))
+    private val request = LlmRequest(
+        requestId = "r1",
+        patientContext = "Patient de 75 ans",
+        medications = listOf(MedicationInfo(name = "Warfarine", dosage = "5 mg/j")),
+        analysisCategories = setOf(AnalysisCategory.DRUG_INTERACTION)
+    )
+
+    private fun executor(fanOut: Int, quorum: Int): ScatterGatherExecutor {
+        val executor = ScatterGatherExecutor(meterRegistry, router, fanOut, quorum,
+            Duration.ofSeconds(20), Duration.ofSeconds(5), 20)
+        executor.initialize()
+        return executor
+    }
+
+    private fun provider(type: LlmModelType, latency: Duration) = FakeLlmProvider(type, latency)
+
+    // Combinaison observable: les modèles retenus, dans l'ordre d'arrivée
+    private fun combine(responses: List<LlmResponse>): LlmResponse =
+        responses.first().copy(summary = responses.joinToString(",") { it.summary })
+
+    @Test
+    @DisplayName("Test de la combinaison dès le quorum, sans attendre la réserve")
+    fun testQuorumCombinesPrimaries() {
+        // Configuration
+        val bio = provider(LlmModelType.BIOMISTRAL, Duration.ofSeconds(1))
+        val hippo = provider(LlmModelType.HIPPOMISTRAL, Duration.ofSeconds(2))
+        val medfound = provider(LlmModelType.MEDFOUND, Duration.ofSeconds(1))
+
+        // Exécution et vérification
+        StepVerifier.withVirtualTime {
+            executor(fanOut = 2, quorum = 2).execute("prompt", request, listOf(bio, hippo, medfound), ::combine)
+        }
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(1999))
+            .thenAwait(Duration.ofMillis(1))
+            .assertNext { assertEquals("BIOMISTRAL,HIPPOMISTRAL", it.summary) }
+            .verifyComplete()
+
+        assertEquals(0, medfound.calls.get(), "La réserve ne devrait pas être sollicitée")
+        assertEquals(0.0, meterRegistry.counter("llm.ensemble.hedges").count())
+    }
+
+    @Test
+    @DisplayName("Test du doublement d'un modèle lent vers la réserve")
+    fun testSlowPrimaryIsHedged() {
+        // Configuration
+        val bio = provider(LlmModelType.BIOMISTRAL, Duration.ofSeconds(15))
+        val hippo = provider(LlmModelType.HIPPOMISTRAL, Duration.ofSeconds(1))
+        val medfound = provider(LlmModelType.MEDFOUND, Duration.ofSeconds(1))
+
+        // Exécution et vérification: doublement à 5 s, réponse de la réserve à 6 s
+        StepVerifier.withVirtualTime {
+            executor(fanOut = 2, quorum = 2).execute("prompt", request, listOf(bio, hippo, medfound), ::combine)
+        }
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(5999))
+            .thenAwait(Duration.ofMillis(1))
+            .assertNext { assertEquals("HIPPOMISTRAL,MEDFOUND", it.summary) }
+            .verifyComplete()
+
+        assertEquals(1, medfound.calls.get())
+        assertEquals(1, bio.cancellations.get(), "L'appel lent devrait être annulé")
+        assertEquals(0.0, router.statisticsFor(bio).errorRate, "Un appel annulé n'est pas une erreur")
+        assertEquals(1.0, meterRegistry.counter("llm.ensemble.hedges").count())
+        assertEquals(1.0, meterRegistry.counter("llm.ensemble.provider.wins",
+            "provider", "MEDFOUND", "role", "hedge").count())
+    }
+
+    @Test
+    @DisplayName("Test du relais immédiat par la réserve d'un modèle en échec")
+    fun testFailedPrimaryIsReplacedByReserve() {
+        // Configuration
+        val bio = FakeLlmProvider(LlmModelType.BIOMISTRAL, Duration.ofMillis(100),
+            IllegalStateException("Modèle indisponible"))
+        val hippo = provider(LlmModelType.HIPPOMISTRAL, Duration.ofSeconds(1))
+        val medfound = provider(LlmModelType.MEDFOUND, Duration.ofSeconds(1))
+
+        // Exécution et vérification: doublement à l'échec (100 ms), sans attendre les 5 s du p95
+        StepVerifier.withVirtualTime {
+            executor(fanOut = 2, quorum = 2).execute("prompt", request, listOf(bio, hippo, medfound), ::combine)
+        }
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(1099))
+            .thenAwait(Duration.ofMillis(1))
+            .assertNext { assertEquals("HIPPOMISTRAL,MEDFOUND", it.summary) }
+            .verifyComplete()
+
+        assertEquals(1.0, meterRegistry.counter("llm.ensemble.hedges").count())
+    }
+
+    @Test
+    @DisplayName("Test du quorum de un: la première réponse l'emporte")
+    fun testQuorumOfOneCancelsOthers() {
+        // Configuration
+        val bio = provider(LlmModelType.BIOMISTRAL, Duration.ofSeconds(3))
+        val hippo = provider(LlmModelType.HIPPOMISTRAL, Duration.ofSeconds(1))
+
+        // Exécution et vérification
+        StepVerifier.withVirtualTime {
+            executor(fanOut = 2, quorum = 1).execute("prompt", request, listOf(bio, hippo), ::combine)
+        }
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(999))
+            .thenAwait(Duration.ofMillis(1))
+            .assertNext { assertEquals("HIPPOMISTRAL", it.summary) }
+            .verifyComplete()
+
+        assertEquals(1, bio.cancellations.get())
+    }
+
+    @Test
+    @DisplayName("Test de la combinaison partielle lorsque le quorum n'est pas atteint")
+    fun testPartialQuorumAfterTimeout() {
+        // Configuration: sans réserve, le modèle lent dépasse son délai de 20 s
+        val bio = provider(LlmModelType.BIOMISTRAL, Duration.ofSeconds(60))
+        val hippo = provider(LlmModelType.HIPPOMISTRAL, Duration.ofSeconds(1))
+
+        // Exécution et vérification
+        StepVerifier.withVirtualTime {
+            executor(fanOut = 2, quorum = 2).execute("prompt", request, listOf(bio, hippo), ::combine)
+        }
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(19999))
+            .thenAwait(Duration.ofMillis(1))
+            .assertNext { assertEquals("HIPPOMISTRAL", it.summary) }
+            .verifyComplete()
+
+        assertTrue(router.statisticsFor(bio).errorRate > 0.0, "Le délai dépassé devrait compter comme une erreur")
+    }
+
+    @Test
+    @DisplayName("Test de l'erreur lorsque tous les modèles échouent")
+    fun testAllProvidersFail() {
+        // Configuration
+        val failure = IllegalStateException("Modèle indisponible")
+        val bio = FakeLlmProvider(LlmModelType.BIOMISTRAL, failure = failure)
+        val hippo = FakeLlmProvider(LlmModelType.HIPPOMISTRAL, failure = failure)
+
+        // Exécution et vérification: sans réserve, l'erreur suit les échecs sans attendre le délai de doublement
+        StepVerifier.withVirtualTime {
+            executor(fanOut = 2, quorum = 2).execute("prompt", request, listOf(bio, hippo), ::combine)
+        }
+            .expectSubscription()
+            .thenAwait(Duration.ZERO)
+            .expectError(LlmServiceException::class.java)
+            .verify()
+    }
+}
@@ -0,0 +1,184 @@
+package com.hygie.llmorchestrator.service
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate
+import org.springframework.data.redis.core.ReactiveValueOperations
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Tests unitaires pour le cache des résultats de validation des sources.
+ *
+ * Ces tests vérifient, sur une horloge simulée et un Redis simulé, la durée
+ * de vie de chaque issue de validation, la lecture groupée des clés absentes
+ * du cache local et la tolérance aux pannes de Redis.
+ *
+ * @author Hygie-AI Team
+ */
+class SourceValidationCacheTest {
+
+    private val clock = AtomicLong(0)
+    private val redisTemplate = mock<ReactiveStringRedisTemplate>()
+    private val operations = mock<ReactiveValueOperations<String, String>>()
+    private val valid = SourceValidationResult(isValid = true, validatedReference = "doi:10.1000/182")
+    private val invalid = SourceValidationResult(isValid = false, reason = "Référence introuvable")
+
+    @BeforeEach
+    fun setUp() {
+        whenever(redisTemplate.opsForValue()).thenReturn(operations)
+        whenever(operations.set(any(), any(), any<Duration>())).thenReturn(Mono.just(true))
+    }
+
+    private fun cache(): SourceValidationCache {
+        val cache = SourceValidationCache(redisTemplate, SimpleMeterRegistry(), 100,
+            Duration.ofDays(7), Duration.ofDays(1), Duration.ofMinutes(1)) { clock.get() }
+        cache.initialize()
+        return cache
+    }
+
+    private fun advance(duration: Duration) {
+        clock.addAndGet(duration.toNanos())
+    }
+
+    @Test
+    @DisplayName("Test des durées de vie Redis selon l'issue de la validation")
+    fun testRedisTtlDependsOnOutcome() {
+        // Configuration
+        val cache = cache()
+
+        // Exécution
+        cache.put("valide", valid, SourceValidationCache.Outcome.VALID)
+        cache.put("invalide", invalid, SourceValidationCache.Outcome.INVALID)
+        cache.put("indisponible", invalid, SourceValidationCache.Outcome.UNAVAILABLE)
+
+        // Vérification: le résultat de repli n'est jamais écrit dans Redis
+        val ttls = argumentCaptor<Duration>()
+        verify(operations, times(2)).set(any(), any(), ttls.capture())
+        assertEquals(listOf(Duration.ofDays(7), Duration.ofDays(1)), ttls.allValues)
+    }
+
+    @Test
+    @DisplayName("Test de la lecture locale sans appel à Redis")
+    fun testLocalHitSkipsRedis() {
+        // Configuration
+        val cache = cache()
+        cache.put("valide", valid, SourceValidationCache.Outcome.VALID)
+
+        // Exécution et vérification
+        StepVerifier.create(cache.getAll(listOf("valide")))
+            .assertNext { assertEquals(mapOf("valide" to valid), it) }
+            .verifyComplete()
+        verify(operations, never()).multiGet(any())
+    }
+
+    @Test
+    @DisplayName("Test de l'expiration locale rapide d'un résultat de repli")
+    fun testUnavailableExpiresLocally() {
+        // Configuration
+        whenever(operations.multiGet(any())).thenReturn(Mono.just(listOf<String?>(null)))
+        val cache = cache()
+        cache.put("indisponible", invalid, SourceValidationCache.Outcome.UNAVAILABLE)
+
+        // Exécution et vérification: présent pendant sa durée de vie, absent ensuite
+        advance(Duration.ofSeconds(59))
+        StepVerifier.create(cache.getAll(listOf("indisponible")))
+            .assertNext { assertEquals(mapOf("indisponible" to invalid), it) }
+            .verifyComplete()
+
+        advance(Duration.ofSeconds(1))
+        StepVerifier.create(cache.getAll(listOf("indisponible")))
+            .assertNext { assertEquals(emptyMap<String, SourceValidationResult>(), it) }
+            .verifyComplete()
+        verify(operations, times(1)).multiGet(any())
+    }
+
+    @Test
+    @DisplayName("Test du partage des résultats entre instances par Redis")
+    fun testRedisSharesResultsBetweenInstances() {
+        // Configuration: une instance écrit, une autre lit
+        cache().put("valide", valid, SourceValidationCache.Outcome.VALID)
+        val keys = argumentCaptor<String>()
+        val values = argumentCaptor<String>()
+        verify(operations).set(keys.capture(), values.capture(), eq(Duration.ofDays(7)))
+        whenever(operations.multiGet(any())).thenReturn(Mono.just(listOf(values.firstValue)))
+        val other = cache()
+
+        // Exécution et vérification
+        StepVerifier.create(other.getAll(listOf("valide")))
+            .assertNext { assertEquals(mapOf("valide" to valid), it) }
+            .verifyComplete()
+        verify(operations).multiGet(listOf(keys.firstValue))
+
+        // Le résultat relu est ensuite servi localement
+        StepVerifier.create(other.getAll(listOf("valide")))
+            .expectNextCount(1)
+            .verifyComplete()
+        verify(operations, times(1)).multiGet(any())
+    }
+
+    @Test
+    @DisplayName("Test d'une seule lecture Redis pour les clés absentes du cache local")
+    fun testMultiGetReadsOnlyMissingKeys() {
+        // Configuration
+        val writer = cache()
+        writer.put("b", invalid, SourceValidationCache.Outcome.INVALID)
+        val encodedInvalid = argumentCaptor<String>().apply { verify(operations).set(any(), capture(), any<Duration>()) }
+        val cache = cache()
+        cache.put("a", valid, SourceValidationCache.Outcome.VALID)
+        whenever(operations.multiGet(any())).thenReturn(Mono.just(listOf(encodedInvalid.firstValue, null)))
+
+        // Exécution et vérification: les sorties de Redis sont rendues aux clés de même rang
+        StepVerifier.create(cache.getAll(listOf("a", "b", "c")))
+            .assertNext { assertEquals(mapOf("a" to valid, "b" to invalid), it) }
+            .verifyComplete()
+        val requested = argumentCaptor<Collection<String>>()
+        verify(operations).multiGet(requested.capture())
+        assertEquals(2, requested.firstValue.size, "Seules les clés absentes localement devraient être lues")
+    }
+
+    @Test
+    @DisplayName("Test de la lecture sans erreur lorsque Redis est indisponible")
+    fun testRedisFailureIsTreatedAsMiss() {
+        // Configuration
+        whenever(operations.multiGet(any())).thenReturn(Mono.error(IllegalStateException("Redis indisponible")))
+        val cache = cache()
+        cache.put("a", valid, SourceValidationCache.Outcome.VALID)
+
+        // Exécution et vérification
+        StepVerifier.create(cache.getAll(listOf("a", "b")))
+            .assertNext { assertEquals(mapOf("a" to valid), it) }
+            .verifyComplete()
+    }
+
+    @Test
+    @DisplayName("Test de la relecture Redis à l'expiration locale d'une source validée")
+    fun testLocalCopyOfValidResultIsBounded() {
+        // Configuration
+        whenever(operations.multiGet(any())).thenReturn(Mono.just(listOf<String?>(null)))
+        val cache = cache()
+        cache.put("valide", valid, SourceValidationCache.Outcome.VALID)
+
+        // Exécution: la copie locale vit au plus dix minutes, Redis garde la durée de vie complète
+        advance(Duration.ofMinutes(10))
+        StepVerifier.create(cache.getAll(listOf("valide")))
+            .expectNextCount(1)
+            .verifyComplete()
+
+        // Vérification
+        verify(operations, times(1)).multiGet(any())
+    }
+}
@@ -0,0 +1,35 @@
+package com.hygie.patientservice.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Point d'entrée du jar de benchmarks.
+ *
+ * Accepte les mêmes arguments que {@code org.openjdk.jmh.Main} et ajoute
+ * systématiquement le profileur GC, afin que le taux d'allocation
+ * ({@code gc.alloc.rate.norm}) figure dans chaque rapport.
+ *
+ * Exemple: {@code java -jar target/benchmarks.jar PrescriptionServiceBenchmark -rf json}
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        final Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,97 @@
+package com.hygie.patientservice.benchmark;
+
+import com.hygie.patientservice.correlation.CorrelationIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmarks du traitement de l'ID de corrélation de chaque requête.
+ *
+ * Compare l'ancien chemin de {@code RequestValidationInterceptor}
+ * ({@code UUID.fromString} avec exception sur en-tête invalide,
+ * {@code UUID.randomUUID()} sur {@code SecureRandom}) à {@link CorrelationIds}.
+ * Les variantes {@code Contended} génèrent depuis quatre threads pour faire
+ * apparaître la contention de {@code SecureRandom}; le profileur GC ajouté par
+ * {@link BenchmarkRunner} montre l'absence d'allocation de la validation.
+ *
+ * Exécution: {@code java -jar target/benchmarks.jar CorrelationIdBenchmark}
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class CorrelationIdBenchmark {
+
+    private String validHeader = "123e4567-e89b-12d3-a456-426614174000";
+    private String invalidHeader = "req-123e4567-e89b-12d3-a456";
+
+    @Benchmark
+    public boolean validateValidLegacy() {
+        return legacyIsValid(validHeader);
+    }
+
+    @Benchmark
+    public boolean validateValid() {
+        return CorrelationIds.isValid(validHeader);
+    }
+
+    @Benchmark
+    public boolean validateInvalidLegacy() {
+        return legacyIsValid(invalidHeader);
+    }
+
+    @Benchmark
+    public boolean validateInvalid() {
+        return CorrelationIds.isValid(invalidHeader);
+    }
+
+    @Benchmark
+    public String generateLegacy() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String generate() {
+        return CorrelationIds.newId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateLegacyContended() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateContended() {
+        return CorrelationIds.newId();
+    }
+
+    /**
+     * Validation telle qu'elle était faite avant {@link CorrelationIds}.
+     */
+    private static boolean legacyIsValid(String header) {
+        try {
+            UUID.fromString(header);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
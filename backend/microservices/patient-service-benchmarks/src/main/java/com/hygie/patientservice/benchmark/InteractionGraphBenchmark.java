@@ -0,0 +1,118 @@
+package com.hygie.patientservice.benchmark;
+
+import com.hygie.patientservice.datagen.MedicationCatalogueGenerator;
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.service.InteractionGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare la recherche des interactions d'un traitement entre le modèle objet
+ * ({@link Medication#interactsWith}, double boucle sur les paires) et le graphe
+ * compact ({@link InteractionGraph}, IDs internés et intersection de bitsets).
+ *
+ * Le débit est mesuré par JMH; l'empreinte mémoire des deux représentations du
+ * référentiel est mesurée avec JOL et affichée en fin d'itération.
+ *
+ * Exécution: {@code java -jar target/benchmarks.jar InteractionGraphBenchmark}
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class InteractionGraphBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"2000", "20000"})
+    private int catalogueSize;
+
+    @Param({"5", "10", "20"})
+    private int treatmentSize;
+
+    private List<Medication> catalogue;
+    private InteractionGraph graph;
+
+    private Medication[] treatment;
+    private int[] treatmentIndices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalogue = MedicationCatalogueGenerator.generate(catalogueSize, SEED);
+        graph = InteractionGraph.build(catalogue);
+
+        final SplittableRandom random = new SplittableRandom(SEED);
+        treatment = new Medication[treatmentSize];
+        treatmentIndices = new int[treatmentSize];
+        for (int i = 0; i < treatmentSize; i++) {
+            treatment[i] = catalogue.get(random.nextInt(catalogueSize));
+            treatmentIndices[i] = graph.indexOf(treatment[i].getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void reportFootprint() {
+        final long objectBytes = GraphLayout.parseInstance(catalogue).totalSize();
+        final long graphBytes = GraphLayout.parseInstance(graph).totalSize();
+        System.out.printf("%nEmpreinte du référentiel (%d médicaments, %d arêtes): objets=%d Ko, graphe=%d Ko%n",
+                catalogueSize, graph.edgeCount(), objectBytes / 1024, graphBytes / 1024);
+    }
+
+    /**
+     * Référence: double boucle sur les paires avec {@link Medication#interactsWith} dans les deux sens.
+     */
+    @Benchmark
+    public void objectPairwise(Blackhole blackhole) {
+        for (int i = 0; i < treatment.length; i++) {
+            for (int j = i + 1; j < treatment.length; j++) {
+                if (treatment[i].interactsWith(treatment[j]) || treatment[j].interactsWith(treatment[i])) {
+                    blackhole.consume(j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Double boucle sur les paires avec recherche dichotomique dans les lignes CSR.
+     */
+    @Benchmark
+    public void graphPairwise(Blackhole blackhole) {
+        for (int i = 0; i < treatmentIndices.length; i++) {
+            for (int j = i + 1; j < treatmentIndices.length; j++) {
+                if (graph.interacts(treatmentIndices[i], treatmentIndices[j])) {
+                    blackhole.consume(j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Intersection de chaque ligne d'adjacence avec le bitset du traitement.
+     */
+    @Benchmark
+    public long[] graphBitsetIntersection() {
+        return graph.interactingPairs(treatmentIndices);
+    }
+}
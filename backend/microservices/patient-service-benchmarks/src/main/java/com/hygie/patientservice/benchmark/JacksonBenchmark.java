@@ -0,0 +1,88 @@
+package com.hygie.patientservice.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hygie.patientservice.datagen.ClinicalDataGenerator;
+import com.hygie.patientservice.datagen.ClinicalDataGenerator.PatientRecord;
+import com.hygie.patientservice.datagen.DatasetSpec;
+import com.hygie.patientservice.datagen.MedicationCatalogueGenerator;
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.Patient;
+import com.hygie.patientservice.model.Prescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmarks de la (dé)sérialisation JSON des réponses REST.
+ *
+ * L'{@link ObjectMapper} est construit comme celui de Spring Boot, avec les
+ * options {@code spring.jackson.*} de application.yml.
+ *
+ * Exécution: {@code java -jar target/benchmarks.jar JacksonBenchmark}
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+    private static final long SEED = 42L;
+
+    private ObjectMapper objectMapper;
+    private Patient patient;
+    private Prescription prescription;
+    private String patientJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.FAIL_ON_EMPTY_BEANS,
+                        DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+
+        final List<Medication> catalogue = MedicationCatalogueGenerator.generate(2000, SEED);
+        final PatientRecord record = new ClinicalDataGenerator(
+            new DatasetSpec.Builder().setSeed(SEED).setMedications(catalogue.size()).build(), catalogue).generate(0);
+        patient = record.getPatient();
+        prescription = record.getPrescriptions().get(record.getPrescriptions().size() - 1);
+        patientJson = objectMapper.writeValueAsString(patient);
+    }
+
+    @Benchmark
+    public String serializePatient() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(patient);
+    }
+
+    @Benchmark
+    public Patient deserializePatient() throws JsonProcessingException {
+        return objectMapper.readValue(patientJson, Patient.class);
+    }
+
+    @Benchmark
+    public byte[] serializePrescription() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(prescription);
+    }
+}
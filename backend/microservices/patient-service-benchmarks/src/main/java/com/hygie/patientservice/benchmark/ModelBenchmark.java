@@ -0,0 +1,92 @@
+package com.hygie.patientservice.benchmark;
+
+import com.hygie.patientservice.datagen.ClinicalDataGenerator;
+import com.hygie.patientservice.datagen.ClinicalDataGenerator.PatientRecord;
+import com.hygie.patientservice.datagen.DatasetSpec;
+import com.hygie.patientservice.datagen.MedicationCatalogueGenerator;
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.Patient;
+import com.hygie.patientservice.model.PrescriptionItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmarks des calculs portés par le modèle et appelés à chaque requête:
+ * dose journalière d'un item, interaction entre deux médicaments et résumé
+ * clinique d'un patient.
+ *
+ * Exécution: {@code java -jar target/benchmarks.jar ModelBenchmark}
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ModelBenchmark {
+
+    private static final long SEED = 42L;
+    private static final int SAMPLE_SIZE = 256;
+    private static final int MASK = SAMPLE_SIZE - 1;
+
+    private PrescriptionItem[] items;
+    private Medication[] medications;
+    private Patient[] patients;
+
+    /**
+     * Curseur par thread pour parcourir les échantillons sans toujours toucher le même objet.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final List<Medication> catalogue = MedicationCatalogueGenerator.generate(2000, SEED);
+        final ClinicalDataGenerator generator = new ClinicalDataGenerator(
+            new DatasetSpec.Builder().setSeed(SEED).setMedications(catalogue.size()).build(), catalogue);
+
+        items = new PrescriptionItem[SAMPLE_SIZE];
+        medications = new Medication[SAMPLE_SIZE];
+        patients = new Patient[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            final PatientRecord record = generator.generate(i);
+            medications[i] = catalogue.get((i * 7919) % catalogue.size());
+            items[i] = record.getPrescriptions().get(0).getPrescriptionItems().get(0);
+            patients[i] = record.getPatient();
+        }
+    }
+
+    @Benchmark
+    public double calculateDailyDose(Cursor cursor) {
+        return items[cursor.next++ & MASK].calculateDailyDose();
+    }
+
+    @Benchmark
+    public void medicationInteractsWith(Cursor cursor, Blackhole blackhole) {
+        final int i = cursor.next++;
+        blackhole.consume(medications[i & MASK].interactsWith(medications[(i + 1) & MASK]));
+    }
+
+    @Benchmark
+    public String generateClinicalSummary(Cursor cursor) {
+        return patients[cursor.next++ & MASK].generateClinicalSummary();
+    }
+}
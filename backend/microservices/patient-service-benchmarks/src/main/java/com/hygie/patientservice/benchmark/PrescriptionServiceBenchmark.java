@@ -0,0 +1,214 @@
+package com.hygie.patientservice.benchmark;
+
+import com.hygie.patientservice.datagen.ClinicalDataGenerator;
+import com.hygie.patientservice.datagen.ClinicalDataGenerator.PatientRecord;
+import com.hygie.patientservice.datagen.DatasetSpec;
+import com.hygie.patientservice.datagen.MedicationCatalogueGenerator;
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.Prescription;
+import com.hygie.patientservice.model.PrescriptionItem;
+import com.hygie.patientservice.repository.CatalogueVersionRepository;
+import com.hygie.patientservice.repository.MedicationRepository;
+import com.hygie.patientservice.repository.PrescriptionRepository;
+import com.hygie.patientservice.service.InteractionCacheService;
+import com.hygie.patientservice.service.InteractionIndexService;
+import com.hygie.patientservice.service.MedicationService;
+import com.hygie.patientservice.service.PrescriptionService;
+import com.hygie.patientservice.service.PrescriptionService.PrescriptionItemPair;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Micro-benchmarks des chemins critiques de {@link PrescriptionService}: liste des
+ * médicaments en cours et détection des interactions d'un patient polymédiqué.
+ *
+ * Le patient mesuré est le premier dossier synthétique dont le traitement en cours
+ * atteint le seuil de polymédication (5) ou d'hyperpolymédication (10). Les dépôts
+ * MongoDB sont remplacés par des proxys en mémoire afin de ne mesurer que le code
+ * du service; les services d'index et de cache sont les vrais.
+ * {@code legacyPairwise} reproduit l'ancienne double boucle sur
+ * {@link MedicationService#checkInteraction} pour comparaison.
+ *
+ * Exécution: {@code java -jar target/benchmarks.jar PrescriptionServiceBenchmark}
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PrescriptionServiceBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"2000", "20000"})
+    private int catalogueSize;
+
+    @Param({"5", "10"})
+    private int minCurrentMedications;
+
+    private String patientId;
+    private MedicationService medicationService;
+    private InteractionCacheService interactionCacheService;
+    private PrescriptionService prescriptionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final List<Medication> catalogue = MedicationCatalogueGenerator.generate(catalogueSize, SEED);
+        final List<Prescription> prescriptions = polymedicatedPatient(catalogue).getPrescriptions();
+        patientId = prescriptions.get(0).getPatientId();
+
+        medicationService = new MedicationService(medicationRepository(catalogue), catalogueVersionRepository());
+        final InteractionIndexService interactionIndexService = new InteractionIndexService(medicationService);
+        interactionCacheService = new InteractionCacheService(interactionIndexService, new SimpleMeterRegistry(), 1024);
+        prescriptionService = new PrescriptionService(prescriptionRepository(prescriptions),
+                medicationService, interactionCacheService);
+
+        // Construction de l'index hors mesure
+        interactionIndexService.getGraph();
+    }
+
+    @Benchmark
+    public List<PrescriptionItem> getCurrentMedications() {
+        return prescriptionService.getCurrentMedications(patientId);
+    }
+
+    /**
+     * Appels répétés pour un même traitement: chemin du cache par patient.
+     */
+    @Benchmark
+    public List<PrescriptionItemPair> checkMedicationInteractionsCached() {
+        return prescriptionService.checkMedicationInteractions(patientId);
+    }
+
+    /**
+     * Premier appel pour le patient: calcul complet sur le graphe d'interactions.
+     */
+    @Benchmark
+    public List<PrescriptionItemPair> checkMedicationInteractionsCold() {
+        interactionCacheService.evict(patientId);
+        return prescriptionService.checkMedicationInteractions(patientId);
+    }
+
+    /**
+     * Référence: double boucle sur les paires avec une lecture du dépôt par médicament.
+     */
+    @Benchmark
+    public void legacyPairwise(Blackhole blackhole) {
+        final List<PrescriptionItem> current = prescriptionService.getCurrentMedications(patientId);
+        for (int i = 0; i < current.size(); i++) {
+            for (int j = i + 1; j < current.size(); j++) {
+                if (medicationService.checkInteraction(current.get(i).getMedicationId(),
+                        current.get(j).getMedicationId())) {
+                    blackhole.consume(j);
+                }
+            }
+        }
+    }
+
+    private PatientRecord polymedicatedPatient(List<Medication> catalogue) {
+        final ClinicalDataGenerator generator = new ClinicalDataGenerator(
+                new DatasetSpec.Builder().setSeed(SEED).setMedications(catalogue.size()).build(), catalogue);
+        for (long index = 0; ; index++) {
+            final PatientRecord record = generator.generate(index);
+            final long current = record.getPrescriptions().stream()
+                    .filter(p -> !p.isExpired() && (p.getStatus() == Prescription.PrescriptionStatus.ACTIVE
+                            || p.getStatus() == Prescription.PrescriptionStatus.PARTIALLY_DISPENSED))
+                    .flatMap(p -> p.getPrescriptionItems().stream())
+                    .map(PrescriptionItem::getMedicationId)
+                    .distinct()
+                    .count();
+            if (current >= minCurrentMedications) {
+                return record;
+            }
+        }
+    }
+
+    private static MedicationRepository medicationRepository(List<Medication> catalogue) {
+        final Map<String, Medication> byId = new HashMap<>(catalogue.size() * 2);
+        for (Medication medication : catalogue) {
+            byId.put(medication.getId(), medication);
+        }
+        return stub(MedicationRepository.class, (method, args) -> {
+            switch (method) {
+                case "findAll":
+                    return catalogue;
+                case "findById":
+                    return Optional.ofNullable(byId.get((String) args[0]));
+                default:
+                    throw new UnsupportedOperationException(method);
+            }
+        });
+    }
+
+    private static CatalogueVersionRepository catalogueVersionRepository() {
+        // Référentiel figé: jamais modifié, donc en version 0
+        return stub(CatalogueVersionRepository.class, (method, args) -> {
+            if ("findById".equals(method)) {
+                return Optional.empty();
+            }
+            throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private static PrescriptionRepository prescriptionRepository(List<Prescription> prescriptions) {
+        return stub(PrescriptionRepository.class, (method, args) -> {
+            if ("findByPatientIdAndExpirationDateGreaterThanEqual".equals(method)) {
+                final LocalDate currentDate = (LocalDate) args[1];
+                return prescriptions.stream()
+                        .filter(p -> !p.getExpirationDate().isBefore(currentDate))
+                        .collect(Collectors.toList());
+            }
+            throw new UnsupportedOperationException(method);
+        });
+    }
+
+    /**
+     * Réponse d'un dépôt factice à partir du nom de la méthode appelée.
+     */
+    private interface StubAnswer {
+        Object answer(String method, Object[] args);
+    }
+
+    private static <T> T stub(Class<T> repositoryType, StubAnswer answer) {
+        final Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(),
+                new Class<?>[] {repositoryType}, (instance, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return instance == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(instance);
+                        case "toString":
+                            return repositoryType.getSimpleName() + "Stub";
+                        default:
+                            break;
+                    }
+                    return answer.answer(method.getName(), args);
+                });
+        return repositoryType.cast(proxy);
+    }
+}
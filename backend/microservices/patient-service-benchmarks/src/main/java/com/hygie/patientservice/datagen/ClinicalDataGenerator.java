@@ -0,0 +1,369 @@
+package com.hygie.patientservice.datagen;
+
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.Patient;
+import com.hygie.patientservice.model.PatientBuilder;
+import com.hygie.patientservice.model.Prescription;
+import com.hygie.patientservice.model.Prescription.PrescriptionStatus;
+import com.hygie.patientservice.model.PrescriptionBuilder;
+import com.hygie.patientservice.model.PrescriptionItem;
+import com.hygie.patientservice.model.PrescriptionItemBuilder;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Générateur déterministe de dossiers patients synthétiques: patient âgé,
+ * traitement chronique renouvelé par ordonnances trimestrielles, épisodes aigus
+ * ponctuels.
+ *
+ * Chaque dossier ne dépend que de la graine et de son rang: les producteurs
+ * parallèles génèrent des plages de rangs disjointes et le résultat est le même
+ * quel que soit leur nombre. Les identifiants (UUID) sont eux aussi tirés de la
+ * graine.
+ *
+ * Contraintes respectées: INS à 15 chiffres (NIR et clé), statuts d'ordonnance
+ * obtenus par des transitions valides de {@link Prescription#updateStatus},
+ * polymédication croissante avec l'âge (5, 7 puis 9 médicaments en moyenne pour
+ * les 65-74, 75-84 et 85 ans et plus).
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class ClinicalDataGenerator {
+
+    /** Le rang du patient est encodé sur 8 chiffres dans l'INS. */
+    public static final long MAX_PATIENTS = 100_000_000L;
+
+    static final String[] CONDITIONS = {
+        "Hypertension artérielle", "Diabète de type 2", "Insuffisance cardiaque", "Fibrillation auriculaire",
+        "Insuffisance rénale chronique", "BPCO", "Arthrose", "Dépression", "Hypothyroïdie", "Ostéoporose",
+        "Maladie de Parkinson", "Troubles cognitifs"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand", "Leroy", "Moreau",
+        "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "David", "Bertrand", "Roux", "Vincent", "Fournier"
+    };
+
+    private static final String[] MALE_FIRST_NAMES = {
+        "Jean", "Pierre", "Michel", "André", "Jacques", "René", "Bernard", "Claude", "Marcel", "Roger"
+    };
+
+    private static final String[] FEMALE_FIRST_NAMES = {
+        "Marie", "Jeanne", "Monique", "Françoise", "Nicole", "Simone", "Denise", "Suzanne", "Yvette", "Paulette"
+    };
+
+    private static final String[] ALLERGIES = {"Pénicilline", "Sulfamides", "Aspirine", "Iode", "Codéine"};
+
+    private static final String[] CHRONIC_DOSAGES = {"5 mg", "10 mg", "20 mg", "40 mg", "75 mg", "100 mg"};
+
+    private static final String[] CHRONIC_FREQUENCIES = {
+        "1 fois par jour", "1 fois par jour", "2 fois par jour", "matin et soir", "1 comprimé le matin"
+    };
+
+    private static final String[] ACUTE_DOSAGES = {"500 mg", "1 g", "200 mg"};
+
+    private static final String[] ACUTE_FREQUENCIES = {"3 fois par jour", "toutes les 8 heures", "2 fois par jour"};
+
+    private static final String[] SPECIALTIES = {"Cardiologie", "Néphrologie", "Gériatrie", "Endocrinologie"};
+
+    private final DatasetSpec spec;
+    private final List<Medication> catalogue;
+
+    /**
+     * Crée un générateur pour un référentiel donné.
+     *
+     * @param spec Les paramètres du jeu de données
+     * @param catalogue Le référentiel dans lequel piocher les médicaments
+     */
+    public ClinicalDataGenerator(DatasetSpec spec, List<Medication> catalogue) {
+        // Assertion #1: Vérification des paramètres
+        assert spec != null : "Les paramètres ne peuvent pas être null";
+        assert catalogue != null && !catalogue.isEmpty() : "Le référentiel ne peut pas être vide";
+
+        this.spec = spec;
+        this.catalogue = catalogue;
+    }
+
+    /**
+     * Génère le dossier du patient de rang donné.
+     *
+     * @param index Le rang du patient, entre 0 et le nombre de patients
+     * @return Le patient et ses ordonnances, de la plus ancienne à la plus récente
+     */
+    public PatientRecord generate(long index) {
+        // Assertion #1: Vérification du rang
+        assert index >= 0 && index < MAX_PATIENTS : "Rang de patient hors limites: " + index;
+
+        final SplittableRandom random = new SplittableRandom(spec.getSeed() ^ (index * 0x9E3779B97F4A7C15L));
+        final Patient patient = patient(index, random);
+        final List<Prescription> prescriptions = prescriptions(patient, random);
+
+        // Assertion #2: Vérification du dossier
+        assert !prescriptions.isEmpty() : "Chaque patient a au moins une ordonnance de traitement chronique";
+
+        return new PatientRecord(patient, prescriptions);
+    }
+
+    private Patient patient(long index, SplittableRandom random) {
+        final boolean male = random.nextInt(100) < 45;
+        final int ageBand = random.nextInt(100);
+        final int age = ageBand < 45 ? 65 + random.nextInt(10)
+            : ageBand < 80 ? 75 + random.nextInt(10)
+            : 85 + random.nextInt(15);
+        final LocalDate birthDate = spec.getReferenceDate().minusYears(age).minusDays(1 + random.nextInt(364));
+
+        final PatientBuilder builder = new PatientBuilder()
+            .setId(uuid(random))
+            .setNationalId(nationalId(index, male, birthDate))
+            .setLastName(pick(LAST_NAMES, random))
+            .setFirstName(pick(male ? MALE_FIRST_NAMES : FEMALE_FIRST_NAMES, random))
+            .setBirthDate(birthDate)
+            .setGender(male ? "M" : "F")
+            .setPostalCode(String.format("%05d", 1000 + random.nextInt(94000)))
+            .setHeight((double) (male ? 160 + random.nextInt(25) : 148 + random.nextInt(25)))
+            .setWeight((double) (male ? 60 + random.nextInt(40) : 45 + random.nextInt(40)))
+            // La clairance diminue avec l'âge (environ 1 mL/min par an après 40 ans)
+            .setCreatinineClearance((double) Math.max(10, 110 - (age - 40) - random.nextInt(25)))
+            .setLastUpdateDate(spec.getReferenceDate());
+
+        final int conditions = Math.min(CONDITIONS.length, poisson(1.5 + (age - 65) / 10.0, random) + 1);
+        for (String condition : distinct(CONDITIONS, conditions, random)) {
+            builder.addActiveCondition(condition);
+        }
+        if (random.nextInt(5) == 0) {
+            builder.addAllergy(pick(ALLERGIES, random));
+        }
+        return builder.build();
+    }
+
+    private List<Prescription> prescriptions(Patient patient, SplittableRandom random) {
+        final int age = Period.between(patient.getBirthDate(), spec.getReferenceDate()).getYears();
+        final double meanTreatment = age < 75 ? 5 : age < 85 ? 7 : 9;
+        final int treatmentSize = Math.max(1, Math.min(20, poisson(meanTreatment, random)));
+
+        // Traitement chronique en cours; en remontant le temps, un médicament est
+        // parfois remplacé d'une ordonnance à l'autre
+        final int[] treatment = distinctIndices(catalogue.size(), treatmentSize, random);
+        final int renewals = spec.getHistoryMonths() / DatasetSpec.CHRONIC_VALIDITY_MONTHS;
+        final LocalDate latest = spec.getReferenceDate().minusDays(random.nextInt(85));
+        final String prescriberId = "prescriber-" + random.nextInt(20_000);
+
+        final List<Prescription> prescriptions = new ArrayList<>(renewals + 4);
+        for (int k = 0; k < renewals; k++) {
+            final LocalDate date = latest.minusMonths((long) k * DatasetSpec.CHRONIC_VALIDITY_MONTHS);
+            final List<PrescriptionItem> items = new ArrayList<>(treatment.length);
+            for (int medication : treatment) {
+                items.add(item(catalogue.get(medication), CHRONIC_DOSAGES, CHRONIC_FREQUENCIES,
+                    DatasetSpec.CHRONIC_VALIDITY_MONTHS * 30, random));
+            }
+            prescriptions.add(prescription(patient.getId(), prescriberId, "Médecine générale", date,
+                DatasetSpec.CHRONIC_VALIDITY_MONTHS, k < renewals - 1, renewals - 1 - k, items, random));
+            if (random.nextInt(10) == 0) {
+                replaceOne(treatment, catalogue.size(), random);
+            }
+        }
+
+        final int historyDays = spec.getHistoryMonths() * 30;
+        final int acuteEpisodes = poisson(spec.getAcuteEpisodesPerYear() * spec.getHistoryMonths() / 12.0, random);
+        for (int e = 0; e < acuteEpisodes; e++) {
+            final LocalDate date = spec.getReferenceDate().minusDays(random.nextInt(historyDays));
+            final int itemCount = 1 + random.nextInt(2);
+            final List<PrescriptionItem> items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                items.add(item(catalogue.get(random.nextInt(catalogue.size())), ACUTE_DOSAGES, ACUTE_FREQUENCIES,
+                    5 + random.nextInt(6), random));
+            }
+            prescriptions.add(prescription(patient.getId(), "prescriber-" + random.nextInt(20_000),
+                pick(SPECIALTIES, random), date, 1, false, 0, items, random));
+        }
+
+        prescriptions.sort((p1, p2) -> p1.getPrescriptionDate().compareTo(p2.getPrescriptionDate()));
+        return prescriptions;
+    }
+
+    private Prescription prescription(String patientId, String prescriberId, String specialty, LocalDate date,
+                                      int validityMonths, boolean renewal, int renewalNumber,
+                                      List<PrescriptionItem> items, SplittableRandom random) {
+        final LocalDate expirationDate = date.plusMonths(validityMonths);
+        final boolean current = !spec.getReferenceDate().isAfter(expirationDate);
+
+        // Parcours de statut tiré avant la construction, pour renseigner la délivrance
+        final List<PrescriptionStatus> path = statusPath(current, validityMonths > 1, random);
+        final boolean dispensed = path.contains(PrescriptionStatus.PARTIALLY_DISPENSED)
+            || path.contains(PrescriptionStatus.COMPLETED);
+
+        final PrescriptionBuilder builder = new PrescriptionBuilder()
+            .setId(uuid(random))
+            .setPatientId(patientId)
+            .setPrescriberId(prescriberId)
+            .setPrescriberSpecialty(specialty)
+            .setPrescriptionDate(date)
+            .setValidityPeriodMonths(validityMonths)
+            .setExpirationDate(expirationDate)
+            .setRenewal(renewal)
+            .setRenewalNumber(renewalNumber)
+            .setItems(items);
+        if (dispensed) {
+            final LocalDate dispensingDate = date.plusDays(random.nextInt(4));
+            builder.setPharmacyId("pharmacy-" + random.nextInt(22_000))
+                .setDispensingDate(dispensingDate.isAfter(spec.getReferenceDate()) ? date : dispensingDate);
+        }
+
+        final Prescription prescription = builder.build();
+        for (PrescriptionStatus status : path) {
+            prescription.updateStatus(status);
+        }
+        return prescription;
+    }
+
+    /**
+     * Tire une suite de transitions valides depuis ACTIVE.
+     *
+     * Une ordonnance en cours reste ACTIVE ou est partiellement délivrée; une
+     * ordonnance échue est terminée, expirée ou (rarement) annulée. Les
+     * traitements chroniques, délivrés mois par mois, passent par
+     * PARTIALLY_DISPENSED.
+     */
+    private static List<PrescriptionStatus> statusPath(boolean current, boolean chronic, SplittableRandom random) {
+        final int draw = random.nextInt(100);
+        if (current) {
+            return draw < 25 ? List.of() : List.of(PrescriptionStatus.PARTIALLY_DISPENSED);
+        }
+        if (draw < 80) {
+            return chronic
+                ? List.of(PrescriptionStatus.PARTIALLY_DISPENSED, PrescriptionStatus.COMPLETED)
+                : List.of(PrescriptionStatus.COMPLETED);
+        }
+        if (draw < 92) {
+            return chronic
+                ? List.of(PrescriptionStatus.PARTIALLY_DISPENSED, PrescriptionStatus.EXPIRED)
+                : List.of(PrescriptionStatus.EXPIRED);
+        }
+        return List.of(PrescriptionStatus.CANCELLED);
+    }
+
+    private static PrescriptionItem item(Medication medication, String[] dosages, String[] frequencies,
+                                         int durationDays, SplittableRandom random) {
+        final String frequency = pick(frequencies, random);
+        final int dosesPerDay = frequency.startsWith("3") || frequency.startsWith("toutes") ? 3
+            : frequency.startsWith("2") || frequency.startsWith("matin et") ? 2 : 1;
+        return new PrescriptionItemBuilder()
+            .setId(uuid(random))
+            .setMedicationId(medication.getId())
+            .setMedicationName(medication.getName())
+            .setDosage(pick(dosages, random))
+            .setRoute("orale")
+            .setFrequency(frequency)
+            .setDuration(durationDays)
+            .setQuantityPrescribed(durationDays * dosesPerDay)
+            .setUnit("comprimés")
+            .setSubstitutionAllowed(random.nextInt(10) < 8)
+            .build();
+    }
+
+    /**
+     * INS à 15 chiffres au format NIR: sexe, année et mois de naissance, rang
+     * du patient sur 8 chiffres (unicité), puis clé de contrôle (97 - n mod 97).
+     */
+    static String nationalId(long index, boolean male, LocalDate birthDate) {
+        final String nir = String.format("%d%02d%02d%08d", male ? 1 : 2,
+            birthDate.getYear() % 100, birthDate.getMonthValue(), index);
+        final long key = 97 - Long.parseLong(nir) % 97;
+        final String nationalId = nir + String.format("%02d", key);
+
+        // Assertion #1: Vérification du format attendu par le modèle
+        assert nationalId.matches("^[0-9]{13,15}$") : "Format d'INS invalide: " + nationalId;
+
+        return nationalId;
+    }
+
+    /**
+     * UUID version 4 tiré du générateur, pour des identifiants reproductibles.
+     */
+    static String uuid(SplittableRandom random) {
+        final long most = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        final long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least).toString();
+    }
+
+    private static void replaceOne(int[] treatment, int bound, SplittableRandom random) {
+        if (treatment.length >= bound) {
+            return;
+        }
+        int replacement;
+        do {
+            replacement = random.nextInt(bound);
+        } while (contains(treatment, replacement));
+        treatment[random.nextInt(treatment.length)] = replacement;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int candidate : values) {
+            if (candidate == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int poisson(double mean, SplittableRandom random) {
+        final double limit = Math.exp(-mean);
+        int count = 0;
+        double product = random.nextDouble();
+        while (product > limit) {
+            count++;
+            product *= random.nextDouble();
+        }
+        return count;
+    }
+
+    private static int[] distinctIndices(int bound, int count, SplittableRandom random) {
+        final Set<Integer> indices = new LinkedHashSet<>();
+        while (indices.size() < Math.min(count, bound)) {
+            indices.add(random.nextInt(bound));
+        }
+        return indices.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static List<String> distinct(String[] values, int count, SplittableRandom random) {
+        final List<String> result = new ArrayList<>(count);
+        for (int index : distinctIndices(values.length, count, random)) {
+            result.add(values[index]);
+        }
+        return result;
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Dossier généré: un patient et ses ordonnances.
+     */
+    public static class PatientRecord {
+        private final Patient patient;
+        private final List<Prescription> prescriptions;
+
+        public PatientRecord(Patient patient, List<Prescription> prescriptions) {
+            this.patient = patient;
+            this.prescriptions = Collections.unmodifiableList(prescriptions);
+        }
+
+        public Patient getPatient() {
+            return patient;
+        }
+
+        public List<Prescription> getPrescriptions() {
+            return prescriptions;
+        }
+    }
+}
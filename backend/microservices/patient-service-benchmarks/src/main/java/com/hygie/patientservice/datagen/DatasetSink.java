@@ -0,0 +1,41 @@
+package com.hygie.patientservice.datagen;
+
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.Patient;
+import com.hygie.patientservice.model.Prescription;
+
+import java.util.List;
+
+/**
+ * Destination des documents générés.
+ *
+ * {@link #writeChunk} est appelée en parallèle par les producteurs, chaque appel
+ * portant sur une plage de patients distincte: les implémentations doivent être
+ * sûres vis-à-vis des threads.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public interface DatasetSink extends AutoCloseable {
+
+    /**
+     * Écrit le référentiel de médicaments, avant tout patient.
+     *
+     * @param medications Les médicaments
+     */
+    void writeMedications(List<Medication> medications);
+
+    /**
+     * Écrit une plage de patients et leurs ordonnances.
+     *
+     * @param chunkIndex Le rang de la plage, qui détermine l'ordre global des documents
+     * @param patients Les patients de la plage
+     * @param prescriptions Leurs ordonnances
+     */
+    void writeChunk(long chunkIndex, List<Patient> patients, List<Prescription> prescriptions);
+
+    @Override
+    default void close() {
+        // Rien à libérer par défaut
+    }
+}
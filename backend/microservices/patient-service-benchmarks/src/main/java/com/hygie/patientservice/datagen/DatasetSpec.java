@@ -0,0 +1,156 @@
+package com.hygie.patientservice.datagen;
+
+import java.time.LocalDate;
+
+/**
+ * Paramètres d'un jeu de données clinique synthétique.
+ *
+ * Pour une même graine et une même date de référence, le jeu de données généré
+ * est identique, quel que soit le nombre de producteurs parallèles.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public final class DatasetSpec {
+
+    /** Durée de validité d'une ordonnance de traitement chronique, renouvelée à chaque échéance. */
+    static final int CHRONIC_VALIDITY_MONTHS = 3;
+
+    private final long seed;
+    private final LocalDate referenceDate;
+    private final int medications;
+    private final long patients;
+    private final int historyMonths;
+    private final double acuteEpisodesPerYear;
+
+    private DatasetSpec(Builder builder) {
+        this.seed = builder.seed;
+        this.referenceDate = builder.referenceDate;
+        this.medications = builder.medications;
+        this.patients = builder.patients;
+        this.historyMonths = builder.historyMonths;
+        this.acuteEpisodesPerYear = builder.acuteEpisodesPerYear;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Date « du jour » du jeu de données: les ordonnances sont datées avant elle
+     * et leur statut est cohérent avec elle.
+     */
+    public LocalDate getReferenceDate() {
+        return referenceDate;
+    }
+
+    public int getMedications() {
+        return medications;
+    }
+
+    public long getPatients() {
+        return patients;
+    }
+
+    public int getHistoryMonths() {
+        return historyMonths;
+    }
+
+    public double getAcuteEpisodesPerYear() {
+        return acuteEpisodesPerYear;
+    }
+
+    /**
+     * Nombre moyen d'ordonnances par patient: un renouvellement du traitement
+     * chronique par période de validité, plus les épisodes aigus.
+     *
+     * @return Le nombre moyen d'ordonnances par patient
+     */
+    public double getMeanPrescriptionsPerPatient() {
+        return (double) historyMonths / CHRONIC_VALIDITY_MONTHS + acuteEpisodesPerYear * historyMonths / 12.0;
+    }
+
+    /**
+     * Builder des paramètres; les valeurs par défaut correspondent au volume de
+     * production cible (20 000 médicaments, 500 000 patients, 24 mois d'historique).
+     */
+    public static final class Builder {
+        private long seed = 42L;
+        private LocalDate referenceDate = LocalDate.now();
+        private int medications = 20_000;
+        private long patients = 500_000;
+        private int historyMonths = 24;
+        private double acuteEpisodesPerYear = 1.0;
+
+        public Builder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder setReferenceDate(LocalDate referenceDate) {
+            // Assertion #1: Vérification que la date n'est pas dans le futur (contrainte du modèle)
+            assert referenceDate != null && !referenceDate.isAfter(LocalDate.now()) :
+                "La date de référence ne peut pas être dans le futur";
+
+            this.referenceDate = referenceDate;
+            return this;
+        }
+
+        public Builder setMedications(int medications) {
+            // Assertion #1: Vérification que les codes CIS tiennent sur 8 chiffres
+            assert medications > 0 && medications <= MedicationCatalogueGenerator.MAX_MEDICATIONS :
+                "Le nombre de médicaments doit être compris entre 1 et " + MedicationCatalogueGenerator.MAX_MEDICATIONS;
+
+            this.medications = medications;
+            return this;
+        }
+
+        public Builder setPatients(long patients) {
+            // Assertion #1: Vérification que les INS tiennent sur 15 chiffres
+            assert patients > 0 && patients <= ClinicalDataGenerator.MAX_PATIENTS :
+                "Le nombre de patients doit être compris entre 1 et " + ClinicalDataGenerator.MAX_PATIENTS;
+
+            this.patients = patients;
+            return this;
+        }
+
+        public Builder setHistoryMonths(int historyMonths) {
+            // Assertion #1: Vérification de la profondeur d'historique
+            assert historyMonths >= CHRONIC_VALIDITY_MONTHS && historyMonths <= 120 :
+                "L'historique doit couvrir entre 3 et 120 mois";
+
+            this.historyMonths = historyMonths;
+            return this;
+        }
+
+        public Builder setAcuteEpisodesPerYear(double acuteEpisodesPerYear) {
+            // Assertion #1: Vérification du taux
+            assert acuteEpisodesPerYear >= 0 && acuteEpisodesPerYear <= 12 :
+                "Le nombre d'épisodes aigus par an doit être compris entre 0 et 12";
+
+            this.acuteEpisodesPerYear = acuteEpisodesPerYear;
+            return this;
+        }
+
+        /**
+         * Ajuste la profondeur d'historique pour approcher un nombre moyen
+         * d'ordonnances par patient.
+         *
+         * @param meanPrescriptionsPerPatient Le nombre moyen visé
+         * @return Une référence à ce builder
+         */
+        public Builder setMeanPrescriptionsPerPatient(double meanPrescriptionsPerPatient) {
+            // Assertion #1: Vérification de la cible
+            assert meanPrescriptionsPerPatient > 0 : "Le nombre moyen d'ordonnances doit être positif";
+
+            final double perMonth = 1.0 / CHRONIC_VALIDITY_MONTHS + acuteEpisodesPerYear / 12.0;
+            this.historyMonths = (int) Math.max(CHRONIC_VALIDITY_MONTHS,
+                Math.min(120, Math.round(meanPrescriptionsPerPatient / perMonth)));
+            return this;
+        }
+
+        public DatasetSpec build() {
+            return new DatasetSpec(this);
+        }
+    }
+}
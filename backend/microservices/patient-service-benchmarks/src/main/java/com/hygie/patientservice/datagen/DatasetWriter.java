@@ -0,0 +1,181 @@
+package com.hygie.patientservice.datagen;
+
+import com.hygie.patientservice.datagen.ClinicalDataGenerator.PatientRecord;
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.Patient;
+import com.hygie.patientservice.model.Prescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Génère un jeu de données complet et le transmet à une destination, avec
+ * plusieurs producteurs en parallèle.
+ *
+ * Les patients sont découpés en plages de taille fixe; chaque producteur génère
+ * une plage entière puis l'écrit, ce qui borne la mémoire à une plage par
+ * producteur. Le contenu ne dépend pas du nombre de producteurs.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class DatasetWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetWriter.class);
+
+    private final DatasetSpec spec;
+    private final int producers;
+    private final int chunkSize;
+
+    /**
+     * Crée le générateur parallèle.
+     *
+     * @param spec Les paramètres du jeu de données
+     * @param producers Le nombre de producteurs parallèles
+     * @param chunkSize Le nombre de patients par plage
+     */
+    public DatasetWriter(DatasetSpec spec, int producers, int chunkSize) {
+        // Assertion #1: Vérification des paramètres
+        assert spec != null : "Les paramètres ne peuvent pas être null";
+        assert producers > 0 && chunkSize > 0 : "Le nombre de producteurs et la taille de plage doivent être positifs";
+
+        this.spec = spec;
+        this.producers = producers;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Génère et écrit le jeu de données.
+     *
+     * @param sink La destination des documents
+     * @return Le bilan de la génération
+     * @throws InterruptedException Si la génération est interrompue
+     */
+    public Summary write(DatasetSink sink) throws InterruptedException {
+        // Assertion #1: Vérification de la destination
+        assert sink != null : "La destination ne peut pas être null";
+
+        final long start = System.nanoTime();
+        final List<Medication> catalogue = MedicationCatalogueGenerator.generate(spec.getMedications(), spec.getSeed());
+        sink.writeMedications(catalogue);
+
+        final ClinicalDataGenerator generator = new ClinicalDataGenerator(spec, catalogue);
+        final long chunks = (spec.getPatients() + chunkSize - 1) / chunkSize;
+        final ExecutorService executor = Executors.newFixedThreadPool(producers, producerThreads());
+        final CompletionService<long[]> completion = new ExecutorCompletionService<>(executor);
+
+        long patients = 0;
+        long prescriptions = 0;
+        long items = 0;
+        try {
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                final long chunkIndex = chunk;
+                completion.submit(() -> writeChunk(generator, sink, chunkIndex));
+            }
+            final long progressStep = Math.max(1, chunks / 10);
+            for (long done = 1; done <= chunks; done++) {
+                final long[] counts = completion.take().get();
+                patients += counts[0];
+                prescriptions += counts[1];
+                items += counts[2];
+                if (done % progressStep == 0) {
+                    logger.info("Génération: {} / {} patients, {} ordonnances", patients, spec.getPatients(),
+                        prescriptions);
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec d'un producteur de données", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final Summary summary = new Summary(catalogue.size(), patients, prescriptions, items,
+            (System.nanoTime() - start) / 1_000_000L);
+
+        // Assertion #2: Vérification du bilan
+        assert summary.getPatients() == spec.getPatients() : "Tous les patients n'ont pas été générés";
+
+        return summary;
+    }
+
+    private long[] writeChunk(ClinicalDataGenerator generator, DatasetSink sink, long chunkIndex) {
+        final long from = chunkIndex * chunkSize;
+        final long to = Math.min(spec.getPatients(), from + chunkSize);
+        final List<Patient> patients = new ArrayList<>((int) (to - from));
+        final List<Prescription> prescriptions = new ArrayList<>((int) ((to - from) * 11));
+        long items = 0;
+        for (long index = from; index < to; index++) {
+            final PatientRecord record = generator.generate(index);
+            patients.add(record.getPatient());
+            prescriptions.addAll(record.getPrescriptions());
+            for (Prescription prescription : record.getPrescriptions()) {
+                items += prescription.getPrescriptionItems().size();
+            }
+        }
+        sink.writeChunk(chunkIndex, patients, prescriptions);
+        return new long[] {patients.size(), prescriptions.size(), items};
+    }
+
+    private static ThreadFactory producerThreads() {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "dataset-producer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Bilan d'une génération.
+     */
+    public static class Summary {
+        private final int medications;
+        private final long patients;
+        private final long prescriptions;
+        private final long prescriptionItems;
+        private final long durationMs;
+
+        public Summary(int medications, long patients, long prescriptions, long prescriptionItems, long durationMs) {
+            this.medications = medications;
+            this.patients = patients;
+            this.prescriptions = prescriptions;
+            this.prescriptionItems = prescriptionItems;
+            this.durationMs = durationMs;
+        }
+
+        public int getMedications() {
+            return medications;
+        }
+
+        public long getPatients() {
+            return patients;
+        }
+
+        public long getPrescriptions() {
+            return prescriptions;
+        }
+
+        public long getPrescriptionItems() {
+            return prescriptionItems;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d médicaments, %d patients, %d ordonnances (%d lignes) en %d s",
+                medications, patients, prescriptions, prescriptionItems, durationMs / 1000);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hygie.patientservice.datagen;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Génère un jeu de données synthétique en ligne de commande, vers des fichiers
+ * NDJSON ({@code --out}) ou directement dans MongoDB ({@code --mongo-uri}).
+ *
+ * Exemple:
+ * {@code java -cp target/benchmarks.jar com.hygie.patientservice.datagen.GenerateDataset
+ * --out=/data/hygie --patients=500000 --producers=8}
+ *
+ * Options: patients, medications, seed, reference-date (AAAA-MM-JJ), history-months,
+ * acute-per-year, producers, chunk-size, batch-size. Les index déclarés sur le modèle
+ * sont créés par le service à son démarrage.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public final class GenerateDataset {
+
+    private GenerateDataset() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        final Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Argument attendu sous la forme --nom=valeur: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        final DatasetSpec.Builder spec = new DatasetSpec.Builder()
+            .setSeed(Long.parseLong(options.getOrDefault("seed", "42")))
+            .setMedications(Integer.parseInt(options.getOrDefault("medications", "20000")))
+            .setPatients(Long.parseLong(options.getOrDefault("patients", "500000")))
+            .setHistoryMonths(Integer.parseInt(options.getOrDefault("history-months", "24")))
+            .setAcuteEpisodesPerYear(Double.parseDouble(options.getOrDefault("acute-per-year", "1.0")));
+        if (options.containsKey("reference-date")) {
+            spec.setReferenceDate(LocalDate.parse(options.get("reference-date")));
+        }
+
+        final DatasetWriter writer = new DatasetWriter(spec.build(),
+            Integer.parseInt(options.getOrDefault("producers", String.valueOf(Runtime.getRuntime().availableProcessors()))),
+            Integer.parseInt(options.getOrDefault("chunk-size", "5000")));
+
+        final DatasetWriter.Summary summary;
+        if (options.containsKey("out")) {
+            try (DatasetSink sink = new NdjsonSink(Path.of(options.get("out")))) {
+                summary = writer.write(sink);
+            }
+        } else if (options.containsKey("mongo-uri")) {
+            final ConnectionString connectionString = new ConnectionString(options.get("mongo-uri"));
+            try (MongoClient client = MongoClients.create(connectionString);
+                 DatasetSink sink = new MongoBulkSink(new MongoTemplate(client,
+                     connectionString.getDatabase() != null ? connectionString.getDatabase() : "hygie"),
+                     Integer.parseInt(options.getOrDefault("batch-size", "1000")))) {
+                summary = writer.write(sink);
+            }
+        } else {
+            throw new IllegalArgumentException("Destination manquante: --out=<répertoire> ou --mongo-uri=<uri>");
+        }
+
+        System.out.println("Jeu de données généré: " + summary);
+    }
+}
@@ -0,0 +1,123 @@
+package com.hygie.patientservice.datagen;
+
+import com.hygie.patientservice.model.Medication;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Générateur déterministe d'un référentiel de médicaments synthétique.
+ *
+ * Codes CIS à 8 chiffres (plage 6xxxxxxx, comme la base publique), environ quatre
+ * spécialités par substance active, de 0 à 15 libellés d'interaction par
+ * médicament (médiane proche de 6) rédigés comme dans le Thésaurus des
+ * interactions, et des contre-indications pour environ un médicament sur cinq.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public final class MedicationCatalogueGenerator {
+
+    /** Taille maximale: les codes CIS générés restent dans la plage 60000000-69999999. */
+    public static final int MAX_MEDICATIONS = 10_000_000;
+
+    private static final int CIS_BASE = 60_000_000;
+
+    private static final String[] LEVELS = {
+        "Contre-indication avec ", "Association déconseillée avec ",
+        "Précaution d'emploi avec ", "A prendre en compte avec "
+    };
+
+    private static final String[] ATC_GROUPS = {
+        "A02BC", "A10BA", "B01AC", "B01AF", "C03CA", "C07AB", "C08CA", "C09AA", "C10AA",
+        "H03AA", "M01AE", "N02BE", "N05BA", "N05CF", "N06AB", "R03AC"
+    };
+
+    private static final String[] FORMS = {"comprimé", "comprimé pelliculé", "gélule", "solution buvable"};
+
+    private static final String[] STRENGTHS = {"5 mg", "10 mg", "20 mg", "40 mg", "75 mg", "100 mg", "500 mg", "1 g"};
+
+    private static final Field ID_FIELD = accessibleField("id");
+    private static final Field INTERACTIONS_FIELD = accessibleField("interactions");
+    private static final Field CONTRAINDICATIONS_FIELD = accessibleField("contraindications");
+
+    private MedicationCatalogueGenerator() {
+    }
+
+    /**
+     * Génère un référentiel de la taille demandée.
+     *
+     * @param size Le nombre de médicaments
+     * @param seed La graine du générateur pseudo-aléatoire
+     * @return Les médicaments générés, dans l'ordre des codes CIS
+     */
+    public static List<Medication> generate(int size, long seed) {
+        // Assertion #1: Vérification des paramètres
+        assert size > 0 && size <= MAX_MEDICATIONS : "La taille du référentiel doit tenir sur 8 chiffres CIS";
+
+        final SplittableRandom random = new SplittableRandom(seed);
+        final int substances = Math.max(1, size / 4);
+        final List<Medication> catalogue = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            final String cisCode = String.valueOf(CIS_BASE + i);
+            final Medication medication = new Medication(cisCode, "Spécialité " + i, substanceName(i % substances),
+                ATC_GROUPS[(i % substances) % ATC_GROUPS.length] + String.format("%02d", (i % substances) % 100),
+                FORMS[random.nextInt(FORMS.length)], STRENGTHS[random.nextInt(STRENGTHS.length)], "orale",
+                true, random.nextInt(10) < 8, random.nextInt(10) < 8 ? 0.65f : 0.30f);
+
+            final int interactionCount = Math.min(15, (int) Math.round(Math.abs(random.nextGaussian() * 4 + 6)));
+            final List<String> interactions = new ArrayList<>(interactionCount);
+            for (int k = 0; k < interactionCount; k++) {
+                interactions.add(LEVELS[random.nextInt(LEVELS.length)] + substanceName(random.nextInt(substances)));
+            }
+
+            final List<String> contraindications = new ArrayList<>(2);
+            if (random.nextInt(5) == 0) {
+                final int count = 1 + random.nextInt(2);
+                for (int k = 0; k < count; k++) {
+                    contraindications.add(ClinicalDataGenerator.CONDITIONS[
+                        random.nextInt(ClinicalDataGenerator.CONDITIONS.length)]);
+                }
+            }
+
+            set(ID_FIELD, medication, ClinicalDataGenerator.uuid(random));
+            set(INTERACTIONS_FIELD, medication, interactions);
+            set(CONTRAINDICATIONS_FIELD, medication, contraindications);
+            catalogue.add(medication);
+        }
+
+        // Assertion #2: Vérification de la taille et du format CIS
+        assert catalogue.size() == size : "Le référentiel généré n'a pas la taille attendue";
+        assert catalogue.get(size - 1).getCisCode().matches("^\\d{8}$") : "Code CIS invalide";
+
+        return catalogue;
+    }
+
+    /**
+     * Nom de substance à largeur fixe, pour qu'aucun nom ne soit contenu dans un autre.
+     */
+    static String substanceName(int index) {
+        return String.format("substance-%05d", index);
+    }
+
+    private static void set(Field field, Medication medication, Object value) {
+        try {
+            field.set(medication, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Impossible d'initialiser le champ " + field.getName() + " du médicament", e);
+        }
+    }
+
+    private static Field accessibleField(String name) {
+        try {
+            final Field field = Medication.class.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Champ introuvable sur Medication: " + name, e);
+        }
+    }
+}
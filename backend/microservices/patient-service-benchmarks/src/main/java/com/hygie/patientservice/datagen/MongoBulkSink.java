@@ -0,0 +1,56 @@
+package com.hygie.patientservice.datagen;
+
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.Patient;
+import com.hygie.patientservice.model.Prescription;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+/**
+ * Écrit les documents dans MongoDB par insertions groupées non ordonnées, avec
+ * le mapping du service ({@link MongoTemplate} est sûr vis-à-vis des threads).
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class MongoBulkSink implements DatasetSink {
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    /**
+     * Crée la destination MongoDB.
+     *
+     * @param mongoTemplate Le template MongoDB
+     * @param batchSize Le nombre de documents par insertion groupée
+     */
+    public MongoBulkSink(MongoTemplate mongoTemplate, int batchSize) {
+        // Assertion #1: Vérification des paramètres
+        assert mongoTemplate != null : "Le template MongoDB ne peut pas être null";
+        assert batchSize > 0 : "La taille de lot doit être positive";
+
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void writeMedications(List<Medication> medications) {
+        insert(medications, Medication.class);
+    }
+
+    @Override
+    public void writeChunk(long chunkIndex, List<Patient> patients, List<Prescription> prescriptions) {
+        insert(patients, Patient.class);
+        insert(prescriptions, Prescription.class);
+    }
+
+    private void insert(List<?> documents, Class<?> type) {
+        for (int from = 0; from < documents.size(); from += batchSize) {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, type)
+                .insert(documents.subList(from, Math.min(documents.size(), from + batchSize)))
+                .execute();
+        }
+    }
+}
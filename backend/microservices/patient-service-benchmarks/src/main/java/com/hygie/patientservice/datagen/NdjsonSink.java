@@ -0,0 +1,99 @@
+package com.hygie.patientservice.datagen;
+
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.Patient;
+import com.hygie.patientservice.model.Prescription;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Écrit les documents en NDJSON (un document JSON étendu MongoDB par ligne),
+ * importables tels quels avec {@code mongoimport --type json}.
+ *
+ * Les documents passent par le même mapping que le service ({@code _id},
+ * {@code _class}, dates); chaque plage de patients produit ses propres fichiers
+ * ({@code patients-000042.ndjson}), dont la concaténation dans l'ordre des noms
+ * est identique d'une exécution à l'autre.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class NdjsonSink implements DatasetSink {
+
+    private static final JsonWriterSettings JSON_SETTINGS =
+        JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+
+    private final Path directory;
+    private final MongoConverter converter;
+
+    /**
+     * Crée la destination NDJSON.
+     *
+     * @param directory Le répertoire de sortie, créé si besoin
+     */
+    public NdjsonSink(Path directory) {
+        // Assertion #1: Vérification du répertoire
+        assert directory != null : "Le répertoire de sortie ne peut pas être null";
+
+        try {
+            this.directory = Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de créer le répertoire " + directory, e);
+        }
+        this.converter = standaloneConverter();
+    }
+
+    @Override
+    public void writeMedications(List<Medication> medications) {
+        write(directory.resolve("medications.ndjson"), medications);
+    }
+
+    @Override
+    public void writeChunk(long chunkIndex, List<Patient> patients, List<Prescription> prescriptions) {
+        write(directory.resolve(String.format("patients-%06d.ndjson", chunkIndex)), patients);
+        write(directory.resolve(String.format("prescriptions-%06d.ndjson", chunkIndex)), prescriptions);
+    }
+
+    private void write(Path file, List<?> documents) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Object entity : documents) {
+                final Document document = new Document();
+                converter.write(entity, document);
+                writer.write(document.toJson(JSON_SETTINGS));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture impossible dans " + file, e);
+        }
+    }
+
+    /**
+     * Convertisseur équivalent à celui du service, sans connexion à MongoDB.
+     */
+    private static MongoConverter standaloneConverter() {
+        final MongoCustomConversions conversions = new MongoCustomConversions(Collections.emptyList());
+        final MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        final MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
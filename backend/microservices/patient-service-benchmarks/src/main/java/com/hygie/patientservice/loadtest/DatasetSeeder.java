@@ -0,0 +1,156 @@
+package com.hygie.patientservice.loadtest;
+
+import com.hygie.patientservice.datagen.DatasetSpec;
+import com.hygie.patientservice.datagen.DatasetWriter;
+import com.hygie.patientservice.datagen.MongoBulkSink;
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.Patient;
+import com.hygie.patientservice.model.Prescription;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Alimente la base du test de charge avec le jeu de données synthétique:
+ * référentiel de médicaments, patients âgés et leurs prescriptions.
+ *
+ * Les données viennent de {@link DatasetWriter} et sont insérées par lots via
+ * {@link MongoTemplate}, donc avec le même mapping que le service. Les paramètres
+ * de génération sont enregistrés dans {@value #DATASET_COLLECTION} pour permettre
+ * la réutilisation d'une base mongod conservée.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class DatasetSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetSeeder.class);
+
+    /** Nombre d'IDs de prescriptions conservés pour cibler GET /api/prescriptions/{id}. */
+    static final int PRESCRIPTION_SAMPLE_SIZE = 100_000;
+
+    static final String DATASET_COLLECTION = "loadtest_dataset";
+    private static final String DATASET_ID = "dataset";
+    private static final int CHUNK_SIZE = 5_000;
+
+    private final LoadTestOptions options;
+
+    /**
+     * Crée un alimenteur pour les volumes demandés.
+     *
+     * @param options Les options du test de charge
+     */
+    public DatasetSeeder(LoadTestOptions options) {
+        // Assertion #1: Vérification des options
+        assert options != null : "Les options ne peuvent pas être null";
+
+        this.options = options;
+    }
+
+    /**
+     * Alimente la base, ou réutilise les données existantes si demandé et si elles
+     * ont été générées avec les mêmes paramètres.
+     *
+     * @param mongoTemplate Le template MongoDB du service
+     * @param persistent true si la base survit au harnais
+     * @return Les identifiants utilisés pour construire les requêtes
+     * @throws InterruptedException Si la génération est interrompue
+     */
+    public SeededDataset seed(MongoTemplate mongoTemplate, boolean persistent) throws InterruptedException {
+        // Assertion #1: Vérification du template
+        assert mongoTemplate != null : "Le template MongoDB ne peut pas être null";
+
+        final Document description = describe();
+        if (persistent && options.reuseData() && description.equals(
+                mongoTemplate.findById(DATASET_ID, Document.class, DATASET_COLLECTION))) {
+            logger.info("Réutilisation des données existantes");
+            return load(mongoTemplate);
+        }
+
+        // Recréation des collections avec les index déclarés sur le modèle, comme au démarrage du service
+        mongoTemplate.dropCollection(DATASET_COLLECTION);
+        final IndexResolver indexResolver = new MongoPersistentEntityIndexResolver(
+            (MongoMappingContext) mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> type : List.of(Medication.class, Patient.class, Prescription.class)) {
+            mongoTemplate.dropCollection(type);
+            indexResolver.resolveIndexFor(type).forEach(mongoTemplate.indexOps(type)::ensureIndex);
+        }
+
+        final DatasetSpec spec = new DatasetSpec.Builder()
+            .setSeed(options.seed())
+            .setMedications(options.medications())
+            .setPatients(options.patients())
+            .setMeanPrescriptionsPerPatient(Math.max(1.0, (double) options.prescriptions() / options.patients()))
+            .build();
+        final DatasetWriter.Summary summary = new DatasetWriter(spec, options.producers(), CHUNK_SIZE)
+            .write(new MongoBulkSink(mongoTemplate, options.batchSize()));
+        logger.info("Jeu de données inséré: {}", summary);
+
+        // Les paramètres ne sont enregistrés qu'une fois l'alimentation terminée
+        mongoTemplate.save(description, DATASET_COLLECTION);
+
+        final SeededDataset dataset = load(mongoTemplate);
+
+        // Assertion #2: Vérification du résultat
+        assert dataset.getPatientIds().length == options.patients() : "Tous les patients n'ont pas été insérés";
+
+        return dataset;
+    }
+
+    private Document describe() {
+        return new Document("_id", DATASET_ID)
+            .append("seed", options.seed())
+            .append("medications", options.medications())
+            .append("patients", options.patients())
+            .append("prescriptions", options.prescriptions());
+    }
+
+    private SeededDataset load(MongoTemplate mongoTemplate) {
+        final List<String> patientIds = new ArrayList<>(options.patients());
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Patient.class))
+            .find().projection(new Document("_id", 1))
+            .forEach(document -> patientIds.add(String.valueOf(document.get("_id"))));
+
+        final List<String> prescriptionIds = new ArrayList<>(PRESCRIPTION_SAMPLE_SIZE);
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Prescription.class))
+            .find().projection(new Document("_id", 1)).limit(PRESCRIPTION_SAMPLE_SIZE)
+            .forEach(document -> prescriptionIds.add(String.valueOf(document.get("_id"))));
+
+        return new SeededDataset(patientIds.toArray(new String[0]), prescriptionIds.toArray(new String[0]),
+            mongoTemplate.findAll(Medication.class));
+    }
+
+    /**
+     * Identifiants du jeu de données utilisés pour construire les requêtes.
+     */
+    public static class SeededDataset {
+        private final String[] patientIds;
+        private final String[] prescriptionIds;
+        private final List<Medication> catalogue;
+
+        public SeededDataset(String[] patientIds, String[] prescriptionIds, List<Medication> catalogue) {
+            this.patientIds = patientIds;
+            this.prescriptionIds = prescriptionIds;
+            this.catalogue = catalogue;
+        }
+
+        public String[] getPatientIds() {
+            return patientIds;
+        }
+
+        public String[] getPrescriptionIds() {
+            return prescriptionIds;
+        }
+
+        public List<Medication> getCatalogue() {
+            return catalogue;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.hygie.patientservice.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latences et erreurs par endpoint, enregistrées dans des histogrammes HDR
+ * (résolution de la microseconde, trois chiffres significatifs).
+ *
+ * Le rapport s'exporte au format properties ({@code <endpoint>.p99=12.345}, en
+ * millisecondes): le rapport d'une exécution sert de référence à la suivante.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String[] GATED_PERCENTILES = {"p50", "p95", "p99"};
+
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private Duration elapsed = Duration.ZERO;
+
+    /**
+     * Crée un rapport vide pour les endpoints du scénario.
+     *
+     * @param endpointNames Les noms des endpoints
+     */
+    public LatencyReport(Collection<String> endpointNames) {
+        // Assertion #1: Vérification des endpoints
+        assert endpointNames != null && !endpointNames.isEmpty() : "Au moins un endpoint est requis";
+
+        for (String name : endpointNames) {
+            stats.put(name, new EndpointStats());
+        }
+    }
+
+    /**
+     * Enregistre une réponse réussie (2xx).
+     *
+     * @param endpoint Le nom de l'endpoint
+     * @param latencyNanos La latence en nanosecondes
+     */
+    public void record(String endpoint, long latencyNanos) {
+        final long micros = Math.max(1, Math.min(HIGHEST_TRACKABLE_MICROS, latencyNanos / 1_000));
+        stats.get(endpoint).histogram.recordValue(micros);
+    }
+
+    /**
+     * Enregistre un échec (statut hors 2xx, délai dépassé ou erreur d'E/S).
+     *
+     * @param endpoint Le nom de l'endpoint
+     */
+    public void recordError(String endpoint) {
+        stats.get(endpoint).errors.increment();
+    }
+
+    void setElapsed(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Taux d'erreur sur l'ensemble des requêtes.
+     *
+     * @return Le taux d'erreur entre 0 et 1
+     */
+    public double errorRate() {
+        long errors = 0;
+        long total = 0;
+        for (EndpointStats endpoint : stats.values()) {
+            errors += endpoint.errors.sum();
+            total += endpoint.errors.sum() + endpoint.histogram.getTotalCount();
+        }
+        return total == 0 ? 0.0 : (double) errors / total;
+    }
+
+    /**
+     * Affiche le tableau des latences.
+     *
+     * @param out Le flux de sortie
+     */
+    public void print(PrintStream out) {
+        final double seconds = Math.max(1e-3, elapsed.toMillis() / 1000.0);
+        out.printf(Locale.ROOT, "%n%-36s %9s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requêtes", "erreurs", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            final Histogram histogram = entry.getValue().histogram;
+            final long errors = entry.getValue().errors.sum();
+            total += histogram.getTotalCount() + errors;
+            out.printf(Locale.ROOT, "%-36s %9d %7d %9.1f %9.3f %9.3f %9.3f %9.3f%n",
+                entry.getKey(), histogram.getTotalCount(), errors,
+                (histogram.getTotalCount() + errors) / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()));
+        }
+        out.printf(Locale.ROOT, "%-36s %9d %7s %9.1f%n%n", "total", total,
+            String.format(Locale.ROOT, "%.2f%%", errorRate() * 100), total / seconds);
+    }
+
+    /**
+     * Exporte le rapport au format properties.
+     *
+     * @return Les mesures par endpoint, latences en millisecondes
+     */
+    public Properties toProperties() {
+        final Properties properties = new Properties();
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            final Histogram histogram = entry.getValue().histogram;
+            final String prefix = entry.getKey() + ".";
+            properties.setProperty(prefix + "count", String.valueOf(histogram.getTotalCount()));
+            properties.setProperty(prefix + "errors", String.valueOf(entry.getValue().errors.sum()));
+            properties.setProperty(prefix + "p50", format(histogram.getValueAtPercentile(50)));
+            properties.setProperty(prefix + "p95", format(histogram.getValueAtPercentile(95)));
+            properties.setProperty(prefix + "p99", format(histogram.getValueAtPercentile(99)));
+            properties.setProperty(prefix + "max", format(histogram.getMaxValue()));
+        }
+        return properties;
+    }
+
+    /**
+     * Compare les percentiles à une référence.
+     *
+     * @param baseline Le rapport de référence
+     * @param tolerance La dégradation tolérée (0.10 = +10 %)
+     * @return La description des régressions, vide si aucune
+     */
+    public List<String> regressionsAgainst(Properties baseline, double tolerance) {
+        // Assertion #1: Vérification des paramètres
+        assert baseline != null && tolerance >= 0 : "Référence ou tolérance invalide";
+
+        final List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            if (entry.getValue().histogram.getTotalCount() == 0) {
+                continue;
+            }
+            for (String percentile : GATED_PERCENTILES) {
+                final String key = entry.getKey() + "." + percentile;
+                final String reference = baseline.getProperty(key);
+                if (reference == null) {
+                    continue;
+                }
+                final double expected = Double.parseDouble(reference);
+                final double actual = millis(entry.getValue().histogram.getValueAtPercentile(
+                    Double.parseDouble(percentile.substring(1))));
+                if (actual > expected * (1 + tolerance)) {
+                    regressions.add(String.format(Locale.ROOT, "%s: %.3f ms (référence %.3f ms, +%.0f %%)",
+                        key, actual, expected, (actual / expected - 1) * 100));
+                }
+            }
+        }
+
+        // Assertion #2: Vérification du résultat
+        assert regressions.size() <= stats.size() * GATED_PERCENTILES.length : "Trop de régressions détectées";
+
+        return regressions;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String format(long micros) {
+        return String.format(Locale.ROOT, "%.3f", millis(micros));
+    }
+
+    private static final class EndpointStats {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,154 @@
+package com.hygie.patientservice.loadtest;
+
+import com.hygie.patientservice.loadtest.LoadScenario.Endpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Clients HTTP concurrents qui exécutent le scénario pendant la chauffe puis
+ * pendant la période de mesure.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class LoadDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+    private final LoadTestOptions options;
+    private final HttpClient httpClient;
+
+    /**
+     * Crée le pilote de charge.
+     *
+     * @param options Les options du test de charge
+     */
+    public LoadDriver(LoadTestOptions options) {
+        // Assertion #1: Vérification des options
+        assert options != null : "Les options ne peuvent pas être null";
+
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    /**
+     * Exécute la chauffe (résultats ignorés) puis la mesure.
+     *
+     * @param scenario Le scénario à exécuter
+     * @param baseUri L'URI de base du service, terminée par "/"
+     * @return Le rapport de la période de mesure
+     * @throws InterruptedException Si le harnais est interrompu
+     */
+    public LatencyReport run(LoadScenario scenario, URI baseUri) throws InterruptedException {
+        // Assertion #1: Vérification des paramètres
+        assert scenario != null && baseUri != null : "Le scénario et l'URI sont obligatoires";
+
+        final List<String> names = scenario.getEndpoints().stream()
+            .map(Endpoint::getName)
+            .collect(Collectors.toList());
+        final SplittableRandom root = new SplittableRandom(options.seed());
+
+        if (!options.warmup().isZero()) {
+            logger.info("Chauffe pendant {} s avec {} clients", options.warmup().toSeconds(), options.concurrency());
+            runPhase(scenario, baseUri, options.warmup(), new LatencyReport(names), root);
+        }
+
+        logger.info("Mesure pendant {} s avec {} clients", options.duration().toSeconds(), options.concurrency());
+        final LatencyReport report = new LatencyReport(names);
+        runPhase(scenario, baseUri, options.duration(), report, root);
+
+        // Assertion #2: Vérification du rapport
+        assert report.errorRate() >= 0 : "Le taux d'erreur ne peut pas être négatif";
+
+        return report;
+    }
+
+    private void runPhase(LoadScenario scenario, URI baseUri, Duration duration,
+                          LatencyReport report, SplittableRandom root) throws InterruptedException {
+        final int clients = options.concurrency();
+        final long intervalNanos = options.targetRps() > 0
+            ? (long) (clients * 1_000_000_000L / options.targetRps())
+            : 0L;
+        final ExecutorService executor = Executors.newFixedThreadPool(clients, runnable -> {
+            final Thread thread = new Thread(runnable, "load-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final long phaseStart = System.nanoTime();
+        final long deadline = phaseStart + duration.toNanos();
+        final List<Future<?>> futures = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            final SplittableRandom random = root.split();
+            // Décalage initial pour répartir les clients sur l'intervalle en boucle ouverte
+            final long firstStart = phaseStart + (intervalNanos * c) / clients;
+            futures.add(executor.submit(() -> runClient(scenario, baseUri, report, random,
+                firstStart, intervalNanos, deadline)));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Un client de charge a échoué", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        report.setElapsed(Duration.ofNanos(System.nanoTime() - phaseStart));
+    }
+
+    private void runClient(LoadScenario scenario, URI baseUri, LatencyReport report, SplittableRandom random,
+                           long firstStart, long intervalNanos, long deadline) {
+        long intendedStart = firstStart;
+        while (!Thread.currentThread().isInterrupted()) {
+            long start = System.nanoTime();
+            if (intervalNanos > 0) {
+                // Boucle ouverte: latence mesurée depuis l'instant prévu, attente incluse
+                while (start < intendedStart) {
+                    LockSupport.parkNanos(intendedStart - start);
+                    start = System.nanoTime();
+                }
+                start = intendedStart;
+                intendedStart += intervalNanos;
+            }
+            if (start >= deadline) {
+                return;
+            }
+
+            final Endpoint endpoint = scenario.next(random);
+            try {
+                final HttpResponse<Void> response = httpClient.send(endpoint.newRequest(baseUri, random),
+                    HttpResponse.BodyHandlers.discarding());
+                final long latency = System.nanoTime() - start;
+                if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                    report.record(endpoint.getName(), latency);
+                } else {
+                    report.recordError(endpoint.getName());
+                }
+            } catch (IOException e) {
+                report.recordError(endpoint.getName());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
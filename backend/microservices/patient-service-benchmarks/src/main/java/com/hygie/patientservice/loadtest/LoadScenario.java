@@ -0,0 +1,210 @@
+package com.hygie.patientservice.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hygie.patientservice.loadtest.DatasetSeeder.SeededDataset;
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.PrescriptionItem;
+import com.hygie.patientservice.model.PrescriptionItemBuilder;
+import com.hygie.patientservice.model.PrescriptionBuilder;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Mélange pondéré des requêtes envoyées au service, proche de l'usage d'un
+ * Bilan Partagé de Médication: consultation du dossier et du traitement en
+ * cours, détection des interactions, recherche dans le référentiel et, plus
+ * rarement, saisie d'une ordonnance.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public final class LoadScenario {
+
+    /** Prescripteur des ordonnances créées pendant le test, supprimées à la fin. */
+    public static final String LOAD_TEST_PRESCRIBER_ID = "loadtest-prescriber";
+
+    private final List<Endpoint> endpoints;
+    private final int[] cumulativeWeights;
+
+    private LoadScenario(List<Endpoint> endpoints) {
+        this.endpoints = Collections.unmodifiableList(endpoints);
+        this.cumulativeWeights = new int[endpoints.size()];
+        int total = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            total += endpoints.get(i).getWeight();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Construit le scénario standard.
+     *
+     * @param dataset Le jeu de données inséré
+     * @param objectMapper Le mapper JSON du service, pour les corps de requête
+     * @param selected Les endpoints retenus (tous si vide)
+     * @param timeout Le délai maximal d'une requête
+     * @return Le scénario
+     */
+    public static LoadScenario standard(SeededDataset dataset, ObjectMapper objectMapper,
+                                        Set<String> selected, Duration timeout) {
+        // Assertion #1: Vérification des paramètres
+        assert dataset != null && objectMapper != null : "Le jeu de données et le mapper sont obligatoires";
+
+        final String[] patients = dataset.getPatientIds();
+        final String[] prescriptions = dataset.getPrescriptionIds();
+        final List<Medication> catalogue = dataset.getCatalogue();
+
+        final List<Endpoint> all = List.of(
+            get("patient.get", 20, timeout, r -> "api/patients/" + pick(patients, r)),
+            get("patient.contraindications", 10, timeout, r -> "api/patients/" + pick(patients, r) + "/contraindications"),
+            get("prescription.get", 10, timeout, r -> "api/prescriptions/" + pick(prescriptions, r)),
+            get("prescriptions.active", 15, timeout,
+                r -> "api/prescriptions/patient/" + pick(patients, r) + "/active"),
+            get("prescriptions.current-medications", 15, timeout,
+                r -> "api/prescriptions/patient/" + pick(patients, r) + "/current-medications"),
+            get("prescriptions.interactions", 15, timeout,
+                r -> "api/prescriptions/patient/" + pick(patients, r) + "/interactions"),
+            get("medication.get", 10, timeout,
+                r -> "api/medications/" + catalogue.get(r.nextInt(catalogue.size())).getId()),
+            get("medication.search", 3, timeout,
+                r -> "api/medications/search?query="
+                    + URLEncoder.encode("Spécialité " + r.nextInt(catalogue.size()), StandardCharsets.UTF_8)),
+            new Endpoint("prescription.create", 2, (base, r) -> HttpRequest.newBuilder(base.resolve("api/prescriptions"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                    newPrescription(objectMapper, pick(patients, r), catalogue, r)))
+                .build())
+        );
+
+        final List<Endpoint> endpoints = selected.isEmpty()
+            ? new ArrayList<>(all)
+            : all.stream().filter(endpoint -> selected.contains(endpoint.getName())).collect(Collectors.toList());
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("Aucun endpoint connu parmi: " + selected);
+        }
+
+        final LoadScenario scenario = new LoadScenario(endpoints);
+
+        // Assertion #2: Vérification du scénario
+        assert scenario.cumulativeWeights[endpoints.size() - 1] > 0 : "Le poids total doit être positif";
+
+        return scenario;
+    }
+
+    /**
+     * Tire un endpoint selon les poids.
+     *
+     * @param random Le générateur du client
+     * @return L'endpoint tiré
+     */
+    public Endpoint next(SplittableRandom random) {
+        final int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return endpoints.get(i);
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    private static Endpoint get(String name, int weight, Duration timeout, PathFactory path) {
+        return new Endpoint(name, weight, (base, random) -> HttpRequest.newBuilder(base.resolve(path.create(random)))
+            .timeout(timeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build());
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static byte[] newPrescription(ObjectMapper objectMapper, String patientId,
+                                          List<Medication> catalogue, SplittableRandom random) {
+        final PrescriptionBuilder builder = new PrescriptionBuilder()
+            .setPatientId(patientId)
+            .setPrescriberId(LOAD_TEST_PRESCRIBER_ID)
+            .setPrescriberSpecialty("Médecine générale")
+            .setPrescriptionDate(LocalDate.now())
+            .setValidityPeriodMonths(3)
+            .setExpirationDate(LocalDate.now().plusMonths(3));
+        final int items = 1 + random.nextInt(4);
+        for (int i = 0; i < items; i++) {
+            final Medication medication = catalogue.get(random.nextInt(catalogue.size()));
+            final PrescriptionItem item = new PrescriptionItemBuilder()
+                .setMedicationId(medication.getId())
+                .setMedicationName(medication.getName())
+                .setDosage("10 mg")
+                .setRoute("orale")
+                .setFrequency("1 fois par jour")
+                .setDuration(30)
+                .setQuantityPrescribed(30)
+                .setUnit("comprimés")
+                .build();
+            builder.addItem(item);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(builder.build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Impossible de sérialiser la prescription", e);
+        }
+    }
+
+    /**
+     * Construit le chemin d'une requête (relatif au contexte du service).
+     */
+    private interface PathFactory {
+        String create(SplittableRandom random);
+    }
+
+    /**
+     * Construit une requête HTTP complète.
+     */
+    interface RequestFactory {
+        HttpRequest create(URI baseUri, SplittableRandom random);
+    }
+
+    /**
+     * Endpoint sollicité, avec son poids dans le mélange.
+     */
+    public static final class Endpoint {
+        private final String name;
+        private final int weight;
+        private final RequestFactory requestFactory;
+
+        Endpoint(String name, int weight, RequestFactory requestFactory) {
+            this.name = name;
+            this.weight = weight;
+            this.requestFactory = requestFactory;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public HttpRequest newRequest(URI baseUri, SplittableRandom random) {
+            return requestFactory.create(baseUri, random);
+        }
+    }
+}
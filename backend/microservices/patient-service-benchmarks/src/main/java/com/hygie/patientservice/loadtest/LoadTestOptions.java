@@ -0,0 +1,225 @@
+package com.hygie.patientservice.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options du test de charge.
+ *
+ * Les arguments {@code --loadtest.<nom>=<valeur>} configurent le harnais; tous
+ * les autres arguments (ex. {@code --app.screening.pool-size=8}) sont transmis
+ * tels quels à l'application Spring Boot.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public final class LoadTestOptions {
+
+    static final String PREFIX = "--loadtest.";
+
+    private static final Set<String> KNOWN_OPTIONS = Set.of(
+        "patients", "prescriptions", "medications", "seed", "batch-size", "producers",
+        "concurrency", "warmup", "duration", "target-rps", "request-timeout", "endpoints",
+        "mongo", "mongod", "dbpath", "reuse-data",
+        "report", "baseline", "tolerance", "max-error-rate"
+    );
+
+    private final Map<String, String> values;
+    private final List<String> applicationArgs;
+
+    private LoadTestOptions(Map<String, String> values, List<String> applicationArgs) {
+        this.values = values;
+        this.applicationArgs = applicationArgs;
+    }
+
+    /**
+     * Analyse la ligne de commande.
+     *
+     * @param args Les arguments de la ligne de commande
+     * @return Les options analysées
+     * @throws IllegalArgumentException Si une option du harnais est inconnue ou mal formée
+     */
+    public static LoadTestOptions parse(String[] args) {
+        // Assertion #1: Vérification des arguments
+        assert args != null : "Les arguments ne peuvent pas être null";
+
+        final Map<String, String> values = new HashMap<>();
+        final List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith(PREFIX)) {
+                applicationArgs.add(arg);
+                continue;
+            }
+            final int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Option sans valeur: " + arg);
+            }
+            final String name = arg.substring(PREFIX.length(), separator);
+            if (!KNOWN_OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Option de test de charge inconnue: " + name);
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+
+        final LoadTestOptions options = new LoadTestOptions(values, Collections.unmodifiableList(applicationArgs));
+        options.validate();
+
+        // Assertion #2: Vérification du résultat
+        assert options.concurrency() > 0 : "La concurrence doit être positive";
+
+        return options;
+    }
+
+    private void validate() {
+        if (patients() <= 0 || medications() <= 0 || prescriptions() < 0) {
+            throw new IllegalArgumentException("Les volumes du jeu de données doivent être positifs");
+        }
+        if (concurrency() <= 0 || batchSize() <= 0 || producers() <= 0) {
+            throw new IllegalArgumentException("La concurrence, la taille de lot et les producteurs doivent être positifs");
+        }
+        if (duration().isZero() || duration().isNegative() || warmup().isNegative()) {
+            throw new IllegalArgumentException("Durées de chauffe ou de mesure invalides");
+        }
+        if (targetRps() < 0 || tolerance() < 0 || maxErrorRate() < 0 || maxErrorRate() > 1) {
+            throw new IllegalArgumentException("Débit cible, tolérance ou taux d'erreur maximal invalide");
+        }
+        if (!Set.of("auto", "mongod", "memory").contains(mongo())) {
+            throw new IllegalArgumentException("Mode MongoDB inconnu: " + mongo());
+        }
+    }
+
+    /** Nombre de patients générés (500 000 par défaut). */
+    public int patients() {
+        return Integer.parseInt(values.getOrDefault("patients", "500000"));
+    }
+
+    /**
+     * Nombre visé de prescriptions (5 000 000 par défaut). Il fixe la profondeur
+     * d'historique des patients; le volume obtenu en est une approximation.
+     */
+    public long prescriptions() {
+        return Long.parseLong(values.getOrDefault("prescriptions", "5000000"));
+    }
+
+    /** Taille du référentiel de médicaments (20 000 par défaut). */
+    public int medications() {
+        return Integer.parseInt(values.getOrDefault("medications", "20000"));
+    }
+
+    /** Graine du jeu de données et du tirage des requêtes. */
+    public long seed() {
+        return Long.parseLong(values.getOrDefault("seed", "42"));
+    }
+
+    /** Nombre de documents par insertion groupée. */
+    public int batchSize() {
+        return Integer.parseInt(values.getOrDefault("batch-size", "1000"));
+    }
+
+    /** Nombre de producteurs parallèles du jeu de données (un par cœur par défaut). */
+    public int producers() {
+        return Integer.parseInt(values.getOrDefault("producers",
+            String.valueOf(Runtime.getRuntime().availableProcessors())));
+    }
+
+    /** Nombre de clients simultanés. */
+    public int concurrency() {
+        return Integer.parseInt(values.getOrDefault("concurrency", "32"));
+    }
+
+    /** Durée de chauffe, non comptabilisée (ISO-8601 ou secondes). */
+    public Duration warmup() {
+        return duration("warmup", "30");
+    }
+
+    /** Durée de mesure (ISO-8601 ou secondes). */
+    public Duration duration() {
+        return duration("duration", "120");
+    }
+
+    /**
+     * Débit cible global en requêtes par seconde. À 0 (défaut), chaque client
+     * enchaîne ses requêtes (boucle fermée); sinon les requêtes sont planifiées à
+     * intervalles fixes et la latence est mesurée depuis l'instant prévu, ce qui
+     * évite de masquer les files d'attente (omission coordonnée).
+     */
+    public double targetRps() {
+        return Double.parseDouble(values.getOrDefault("target-rps", "0"));
+    }
+
+    /** Délai maximal d'une requête HTTP. */
+    public Duration requestTimeout() {
+        return duration("request-timeout", "10");
+    }
+
+    /** Sous-ensemble des endpoints à solliciter (tous si vide). */
+    public Set<String> endpoints() {
+        final String endpoints = values.getOrDefault("endpoints", "");
+        return endpoints.isBlank()
+            ? Set.of()
+            : new LinkedHashSet<>(Arrays.asList(endpoints.split(",")));
+    }
+
+    /** Substitut MongoDB: auto (mongod local si disponible), mongod ou memory. */
+    public String mongo() {
+        return values.getOrDefault("mongo", "auto");
+    }
+
+    /** Exécutable mongod (chemin ou nom recherché dans le PATH). */
+    public String mongod() {
+        return values.getOrDefault("mongod", "mongod");
+    }
+
+    /** Répertoire de données mongod conservé entre deux exécutions (temporaire si absent). */
+    public Path dbPath() {
+        return path("dbpath");
+    }
+
+    /** Réutilise les données déjà présentes si elles ont été générées avec les mêmes paramètres. */
+    public boolean reuseData() {
+        return Boolean.parseBoolean(values.getOrDefault("reuse-data", "false"));
+    }
+
+    /** Fichier de rapport (format properties, réutilisable comme référence). */
+    public Path report() {
+        return path("report");
+    }
+
+    /** Rapport de référence pour la détection des régressions. */
+    public Path baseline() {
+        return path("baseline");
+    }
+
+    /** Dégradation tolérée par rapport à la référence (0.10 = +10 %). */
+    public double tolerance() {
+        return Double.parseDouble(values.getOrDefault("tolerance", "0.10"));
+    }
+
+    /** Taux d'erreur maximal accepté sur l'ensemble des requêtes. */
+    public double maxErrorRate() {
+        return Double.parseDouble(values.getOrDefault("max-error-rate", "0.01"));
+    }
+
+    /** Arguments transmis à l'application Spring Boot. */
+    public String[] applicationArgs() {
+        return applicationArgs.toArray(new String[0]);
+    }
+
+    private Duration duration(String name, String defaultValue) {
+        final String value = values.getOrDefault(name, defaultValue);
+        return value.startsWith("P") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private Path path(String name) {
+        final String value = values.get(name);
+        return value == null || value.isBlank() ? null : Path.of(value);
+    }
+}
@@ -0,0 +1,142 @@
+package com.hygie.patientservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hygie.patientservice.PatientServiceApplication;
+import com.hygie.patientservice.loadtest.DatasetSeeder.SeededDataset;
+import com.hygie.patientservice.model.Prescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Test de charge de bout en bout du Patient Service, exécutable hors réseau sur
+ * une seule machine.
+ *
+ * Démarre un substitut MongoDB local, lance le service, l'alimente avec le jeu
+ * de données synthétique puis sollicite les contrôleurs et affiche les
+ * percentiles de latence par endpoint. Codes de sortie: 0 si conforme, 1 si le
+ * taux d'erreur dépasse le seuil, 2 en cas de régression par rapport à la
+ * référence.
+ *
+ * Exemple:
+ * {@code mvn -Ploadtest exec:exec -Dloadtest.args="--loadtest.patients=50000 --loadtest.prescriptions=500000"}
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public final class LoadTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    static final int EXIT_OK = 0;
+    static final int EXIT_ERROR_RATE = 1;
+    static final int EXIT_REGRESSION = 2;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        final LoadTestOptions options = LoadTestOptions.parse(args);
+        final int exitCode;
+
+        try (MongoStandIn mongo = MongoStandIn.select(options)) {
+            applicationDefaults(mongo.start()).forEach((key, value) -> {
+                if (System.getProperty(key) == null) {
+                    System.setProperty(key, value);
+                }
+            });
+            final ConfigurableApplicationContext context =
+                new SpringApplicationBuilder(PatientServiceApplication.class, LoadTestSecurityConfig.class)
+                    .run(options.applicationArgs());
+            try {
+                final MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+                final SeededDataset dataset = new DatasetSeeder(options).seed(mongoTemplate, mongo.isPersistent());
+
+                final LoadScenario scenario = LoadScenario.standard(dataset, context.getBean(ObjectMapper.class),
+                    options.endpoints(), options.requestTimeout());
+                final LatencyReport report = new LoadDriver(options).run(scenario, baseUri(context));
+                report.print(System.out);
+
+                mongoTemplate.remove(Query.query(Criteria.where("prescriberId").is(LoadScenario.LOAD_TEST_PRESCRIBER_ID)),
+                    Prescription.class);
+                exitCode = evaluate(report, options);
+            } finally {
+                context.close();
+            }
+        }
+
+        System.exit(exitCode);
+    }
+
+    /**
+     * Propriétés du service pendant le test, posées en propriétés système pour
+     * primer sur application.yml; les arguments de la ligne de commande et les
+     * -D explicites restent prioritaires.
+     */
+    private static Map<String, String> applicationDefaults(String mongoUri) {
+        final Map<String, String> defaults = new HashMap<>();
+        defaults.put("spring.data.mongodb.uri", mongoUri);
+        defaults.put("server.port", "0");
+        // Pas de Redis sur la machine de test
+        defaults.put("spring.cache.type", "none");
+        defaults.put("spring.data.redis.repositories.enabled", "false");
+        defaults.put("management.health.redis.enabled", "false");
+        // Journalisation réduite pour ne pas mesurer l'écriture des logs DEBUG
+        defaults.put("logging.level.root", "WARN");
+        defaults.put("logging.level.com.hygie", "WARN");
+        defaults.put("logging.level.com.hygie.patientservice.loadtest", "INFO");
+        defaults.put("logging.level.com.hygie.patientservice.datagen", "INFO");
+        // Rafraîchissement des co-occurrences hors de la fenêtre de mesure
+        defaults.put("app.analytics.co-occurrence.initial-delay-ms", "86400000");
+        return defaults;
+    }
+
+    private static URI baseUri(ConfigurableApplicationContext context) {
+        final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        final String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        return URI.create("http://127.0.0.1:" + port + contextPath + "/");
+    }
+
+    private static int evaluate(LatencyReport report, LoadTestOptions options) throws IOException {
+        if (options.report() != null) {
+            try (OutputStream out = Files.newOutputStream(options.report())) {
+                report.toProperties().store(out, "Rapport de test de charge du Patient Service (latences en ms)");
+            }
+            logger.info("Rapport écrit dans {}", options.report());
+        }
+
+        if (report.errorRate() > options.maxErrorRate()) {
+            logger.error("Taux d'erreur {} supérieur au seuil {}", report.errorRate(), options.maxErrorRate());
+            return EXIT_ERROR_RATE;
+        }
+
+        if (options.baseline() != null) {
+            final Properties baseline = new Properties();
+            try (InputStream in = Files.newInputStream(options.baseline())) {
+                baseline.load(in);
+            }
+            final List<String> regressions = report.regressionsAgainst(baseline, options.tolerance());
+            if (!regressions.isEmpty()) {
+                regressions.forEach(regression -> logger.error("Régression de latence: {}", regression));
+                return EXIT_REGRESSION;
+            }
+            logger.info("Aucune régression par rapport à {}", options.baseline());
+        }
+        return EXIT_OK;
+    }
+}
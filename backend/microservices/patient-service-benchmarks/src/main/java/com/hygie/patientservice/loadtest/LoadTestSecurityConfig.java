@@ -0,0 +1,43 @@
+package com.hygie.patientservice.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Ouvre les API REST au client de charge.
+ *
+ * Cette configuration n'existe que dans le harnais de test de charge: elle est
+ * prioritaire sur celle du service pour {@code /api/**}, afin de mesurer les
+ * contrôleurs sans dépendre du fournisseur d'identité.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Configuration
+public class LoadTestSecurityConfig {
+
+    /**
+     * Chaîne de filtres autorisant les requêtes anonymes sur les API.
+     *
+     * @param http L'objet de configuration de sécurité HTTP
+     * @return La chaîne de filtres du test de charge
+     * @throws Exception Si la configuration échoue
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain loadTestFilterChain(HttpSecurity http) throws Exception {
+        // Assertion #1: Vérification de la configuration HTTP
+        assert http != null : "La configuration de sécurité HTTP ne peut pas être nulle";
+
+        http.antMatcher("/api/**")
+            .csrf(AbstractHttpConfigurer::disable)
+            .authorizeRequests(requests -> requests.anyRequest().permitAll());
+
+        return http.build();
+    }
+}
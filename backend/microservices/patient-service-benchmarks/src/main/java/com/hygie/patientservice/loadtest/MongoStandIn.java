@@ -0,0 +1,224 @@
+package com.hygie.patientservice.loadtest;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Substitut local de MongoDB pour le test de charge, sans accès réseau.
+ *
+ * Deux implémentations: un processus {@code mongod} lancé par le harnais sur un
+ * port local (index et plans d'exécution réels, à privilégier pour comparer des
+ * mesures), et le serveur en mémoire mongo-java-server (aucune installation,
+ * mais requêtes sans index secondaires: réservé aux petits volumes).
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public interface MongoStandIn extends AutoCloseable {
+
+    /**
+     * Démarre le serveur.
+     *
+     * @return L'URI de connexion à transmettre à {@code spring.data.mongodb.uri}
+     */
+    String start();
+
+    /**
+     * Indique si les données survivent à l'arrêt du serveur.
+     *
+     * @return true si les données peuvent être réutilisées
+     */
+    boolean isPersistent();
+
+    @Override
+    void close();
+
+    /**
+     * Choisit le substitut selon les options.
+     *
+     * @param options Les options du test de charge
+     * @return Le substitut à démarrer
+     */
+    static MongoStandIn select(LoadTestOptions options) {
+        // Assertion #1: Vérification des options
+        assert options != null : "Les options ne peuvent pas être null";
+
+        final Path mongod = LocalMongod.resolveExecutable(options.mongod());
+        switch (options.mongo()) {
+            case "mongod":
+                if (mongod == null) {
+                    throw new IllegalStateException("Exécutable mongod introuvable: " + options.mongod());
+                }
+                return new LocalMongod(mongod, options.dbPath());
+            case "memory":
+                return new InMemoryMongo();
+            default:
+                if (mongod != null) {
+                    return new LocalMongod(mongod, options.dbPath());
+                }
+                LoggerFactory.getLogger(MongoStandIn.class).warn(
+                    "mongod introuvable, utilisation du serveur en mémoire: les requêtes sans index unique parcourent "
+                        + "toute la collection, les latences ne sont pas représentatives à grand volume");
+                return new InMemoryMongo();
+        }
+    }
+
+    /**
+     * Processus mongod local, arrêté et nettoyé à la fermeture.
+     */
+    final class LocalMongod implements MongoStandIn {
+
+        private static final Logger logger = LoggerFactory.getLogger(LocalMongod.class);
+        private static final long STARTUP_TIMEOUT_MS = 30_000;
+
+        private final Path executable;
+        private final Path configuredDbPath;
+        private Path dbPath;
+        private Process process;
+
+        LocalMongod(Path executable, Path configuredDbPath) {
+            this.executable = executable;
+            this.configuredDbPath = configuredDbPath;
+        }
+
+        static Path resolveExecutable(String name) {
+            final Path direct = Path.of(name);
+            if (direct.isAbsolute() || name.contains(File.separator)) {
+                return Files.isExecutable(direct) ? direct : null;
+            }
+            final String pathVariable = System.getenv("PATH");
+            if (pathVariable == null) {
+                return null;
+            }
+            for (String directory : pathVariable.split(File.pathSeparator)) {
+                final Path candidate = Path.of(directory, name);
+                if (Files.isExecutable(candidate)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String start() {
+            try {
+                dbPath = configuredDbPath != null
+                    ? Files.createDirectories(configuredDbPath)
+                    : Files.createTempDirectory("hygie-loadtest-mongod");
+                final int port = freePort();
+                process = new ProcessBuilder(executable.toString(),
+                        "--dbpath", dbPath.toString(),
+                        "--port", String.valueOf(port),
+                        "--bind_ip", "127.0.0.1",
+                        "--quiet")
+                    .redirectErrorStream(true)
+                    .redirectOutput(dbPath.resolve("mongod.log").toFile())
+                    .start();
+                awaitPort(port);
+                logger.info("mongod démarré sur le port {} (données: {})", port, dbPath);
+                return "mongodb://127.0.0.1:" + port + "/hygie";
+            } catch (IOException e) {
+                throw new UncheckedIOException("Impossible de démarrer mongod", e);
+            }
+        }
+
+        @Override
+        public boolean isPersistent() {
+            return configuredDbPath != null;
+        }
+
+        @Override
+        public void close() {
+            if (process != null) {
+                process.destroy();
+                try {
+                    if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                        process.destroyForcibly();
+                    }
+                } catch (InterruptedException e) {
+                    process.destroyForcibly();
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (dbPath != null && configuredDbPath == null) {
+                deleteRecursively(dbPath);
+            }
+        }
+
+        private void awaitPort(int port) throws IOException {
+            final long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MS;
+            while (System.currentTimeMillis() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IOException("mongod s'est arrêté au démarrage, voir " + dbPath.resolve("mongod.log"));
+                }
+                try (Socket socket = new Socket()) {
+                    socket.connect(new InetSocketAddress("127.0.0.1", port), 200);
+                    return;
+                } catch (IOException notReady) {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Attente de mongod interrompue", e);
+                    }
+                }
+            }
+            throw new IOException("mongod n'a pas ouvert le port " + port + " à temps");
+        }
+
+        private static int freePort() throws IOException {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                return socket.getLocalPort();
+            }
+        }
+
+        private static void deleteRecursively(Path root) {
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            } catch (IOException e) {
+                logger.warn("Impossible de supprimer le répertoire temporaire {}", root, e);
+            }
+        }
+    }
+
+    /**
+     * Serveur MongoDB en mémoire dans le processus du harnais.
+     */
+    final class InMemoryMongo implements MongoStandIn {
+
+        private MongoServer server;
+
+        @Override
+        public String start() {
+            server = new MongoServer(new MemoryBackend());
+            final InetSocketAddress address = server.bind();
+            return "mongodb://127.0.0.1:" + address.getPort() + "/hygie";
+        }
+
+        @Override
+        public boolean isPersistent() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            if (server != null) {
+                server.shutdownNow();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.hygie.patientservice;
 
+import com.hygie.patientservice.correlation.CorrelationIdPropagationInterceptor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
@@ -57,12 +58,15 @@ public class PatientServiceApplication {
     /**
      * Configuration d'un RestTemplate pour les appels HTTP externes.
      *
+     * Les appels transmettent l'ID de corrélation de la requête en cours.
+     *
      * @return Un RestTemplate configuré
      */
     @Bean
     public RestTemplate restTemplate() {
         // Assertion #1: Création d'un nouveau RestTemplate
         final RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new CorrelationIdPropagationInterceptor());
 
         // Assertion #2: Vérification que le RestTemplate est correctement instancié
         assert restTemplate != null : "Le RestTemplate ne peut pas être null";
@@ -73,6 +77,10 @@ public class PatientServiceApplication {
     /**
      * Configuration de l'aspect TimedAspect pour la mesure des performances.
      *
+     * L'aspect chronomètre les services annotés {@code @Timed}; les requêtes des
+     * dépôts sont mesurées par l'instrumentation Spring Data de l'actuator, qui
+     * tient compte de la même annotation sur les interfaces de dépôt.
+     *
      * @param registry Le registre de métriques
      * @return Un aspect TimedAspect configuré
      */
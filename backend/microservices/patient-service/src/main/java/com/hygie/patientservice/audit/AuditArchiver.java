@@ -0,0 +1,70 @@
+package com.hygie.patientservice.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Archivage périodique des segments du journal d'audit plus anciens que la
+ * durée de rétention ({@code app.audit.retention-days}, 0 pour le désactiver).
+ *
+ * Les segments archivés restent sur disque dans {@code archive/}, d'où
+ * l'exploitation les transfère vers un stockage froid; ils sortent des
+ * recherches de {@code /api/audit}.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.sink", havingValue = "store")
+public class AuditArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditArchiver.class);
+
+    private final AuditLogStore auditLogStore;
+    private final Duration retention;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param auditLogStore Le journal d'audit
+     * @param retentionDays La durée de rétention en ligne, en jours
+     */
+    @Autowired
+    public AuditArchiver(AuditLogStore auditLogStore,
+                         @Value("${app.audit.retention-days:365}") int retentionDays) {
+        // Assertion #1: Vérification des paramètres
+        assert auditLogStore != null : "Le journal d'audit ne peut pas être null";
+        assert retentionDays >= 0 : "La durée de rétention ne peut pas être négative";
+
+        this.auditLogStore = auditLogStore;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * Archive les segments sortis de la durée de rétention.
+     */
+    @Scheduled(cron = "${app.audit.archive-cron:0 30 3 * * *}")
+    public void archive() {
+        if (retention.isZero()) {
+            return;
+        }
+        try {
+            final Instant cutoff = Instant.now().minus(retention);
+            final int archived = auditLogStore.archiveBefore(cutoff);
+
+            // Assertion #1: Vérification du résultat
+            assert archived >= 0 : "Le nombre de segments archivés ne peut pas être négatif";
+        } catch (RuntimeException e) {
+            // Le journal reste complet: l'archivage sera retenté au prochain passage
+            logger.warn("Échec de l'archivage du journal d'audit: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.hygie.patientservice.audit;
+
+import java.time.Instant;
+
+/**
+ * Événement d'audit d'un accès à l'API, sous forme d'enregistrement compact.
+ *
+ * L'événement ne contient que des valeurs déjà disponibles sur le thread de la
+ * requête; sa mise en forme (JSON, document MongoDB) est faite par l'écrivain
+ * en arrière-plan.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class AuditEvent {
+
+    /**
+     * Nature de l'événement.
+     */
+    public enum Type {
+        ACCESS_ATTEMPT,
+        ACCESS_SUCCESS,
+        ACCESS_FAILURE
+    }
+
+    private final Type type;
+    private final Instant timestamp;
+    private final String username;
+    private final String method;
+    private final String uri;
+    private final String route;
+    private final String patientId;
+    private final String remoteAddr;
+    private final String correlationId;
+    private final Integer status;
+    private final Long durationMs;
+    private final String error;
+
+    public AuditEvent(Type type, Instant timestamp, String username, String method, String uri, String route,
+                      String patientId, String remoteAddr, String correlationId, Integer status, Long durationMs,
+                      String error) {
+        // Assertion #1: Vérification des champs obligatoires
+        assert type != null && timestamp != null : "Le type et l'horodatage sont obligatoires";
+        assert method != null && uri != null : "La méthode et l'URI sont obligatoires";
+
+        this.type = type;
+        this.timestamp = timestamp;
+        this.username = username;
+        this.method = method;
+        this.uri = uri;
+        this.route = route != null ? route : uri;
+        this.patientId = patientId;
+        this.remoteAddr = remoteAddr;
+        this.correlationId = correlationId;
+        this.status = status;
+        this.durationMs = durationMs;
+        this.error = error;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * @return Le modèle de chemin de la route ({@code /api/patients/{id}}), ou l'URI à défaut
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * @return L'identifiant du patient concerné, s'il figure dans le chemin de la requête
+     */
+    public String getPatientId() {
+        return patientId;
+    }
+
+    public String getRemoteAddr() {
+        return remoteAddr;
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "AUDIT_" + type + ": Utilisateur [" + username + "] " + method + " [" + uri + "]"
+            + (patientId != null ? " patient [" + patientId + "]" : "") + " depuis ["
+            + remoteAddr + "], statut [" + status + "], durée [" + durationMs + "ms], CorrelationID ["
+            + correlationId + "]" + (error != null ? ", erreur: [" + error + "]" : "");
+    }
+}
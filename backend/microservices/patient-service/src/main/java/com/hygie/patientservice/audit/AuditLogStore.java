@@ -0,0 +1,807 @@
+package com.hygie.patientservice.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Journal d'audit en ajout seul, infalsifiable et indexé.
+ *
+ * Les événements sont écrits à la suite dans des segments de taille fixe
+ * ({@code audit-<séquence>.seg}). Seul le segment courant est projeté en
+ * mémoire; un segment plein est scellé, démappé et son canal fermé, puis relu
+ * à la demande par fenêtres lors des recherches et des vérifications. Chaque
+ * enregistrement porte l'empreinte SHA-256 de (empreinte précédente, séquence,
+ * contenu): modifier, insérer ou retirer un enregistrement rompt la chaîne, ce
+ * que {@link #verify()} détecte. L'en-tête de chaque segment reprend
+ * l'empreinte du dernier enregistrement du segment précédent, de sorte que la
+ * chaîne se vérifie encore après l'archivage des segments les plus anciens par
+ * {@link #archiveBefore(Instant)}, qui les déplace dans {@code archive/}.
+ *
+ * Les bornes de temps de chaque segment sont tenues en mémoire. Les index
+ * (utilisateur, patient, modèle de route) ne le sont que pour les
+ * {@code indexedSegments} segments les plus récents, ce qui borne leur
+ * empreinte; les segments plus anciens sont parcourus séquentiellement,
+ * après élimination de ceux hors de la période recherchée. Tout est
+ * reconstruit à l'ouverture en relisant les segments, qui sont vérifiés au
+ * passage. La longueur d'un enregistrement est écrite en dernier: un
+ * enregistrement interrompu par un arrêt brutal reste invisible et est ignoré
+ * s'il termine le journal.
+ *
+ * Un seul écrivain (le pipeline d'audit) et des lecteurs concurrents.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class AuditLogStore implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogStore.class);
+
+    static final int MIN_SEGMENT_SIZE = 64 * 1024;
+    static final String ARCHIVE_DIRECTORY = "archive";
+
+    private static final int SEGMENT_MAGIC = 0x48594155;
+    private static final int SEGMENT_VERSION = 1;
+    private static final int HASH_SIZE = 32;
+    // Magie, version, séquence de base, empreinte précédente
+    private static final int SEGMENT_HEADER_SIZE = 4 + 4 + 8 + HASH_SIZE;
+    // Longueur, séquence, empreinte
+    private static final int RECORD_OVERHEAD = 4 + 8 + HASH_SIZE;
+    // Fenêtre de lecture d'un segment scellé
+    private static final int READ_WINDOW_SIZE = 256 * 1024;
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final int indexedSegments;
+    private final MessageDigest digest;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private byte[] headHash = new byte[HASH_SIZE];
+    private long nextSequence = 1;
+    private long firstInvalidSequence = -1;
+    private boolean closed;
+
+    /**
+     * Ouvre le journal, en relisant et vérifiant les segments existants.
+     *
+     * @param directory Le répertoire des segments
+     * @param segmentSize La taille d'un segment en octets
+     * @param fsync true pour forcer chaque lot sur disque avant de l'acquitter
+     * @param indexedSegments Le nombre de segments récents dont les index sont tenus en mémoire
+     */
+    public AuditLogStore(Path directory, int segmentSize, boolean fsync, int indexedSegments) {
+        // Assertion #1: Vérification des paramètres
+        assert directory != null : "Le répertoire du journal ne peut pas être null";
+        assert segmentSize >= MIN_SEGMENT_SIZE : "Un segment doit faire au moins " + MIN_SEGMENT_SIZE + " octets";
+        assert indexedSegments > 0 : "Au moins le segment courant doit être indexé";
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        this.indexedSegments = indexedSegments;
+        this.digest = newDigest();
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de l'ouverture du journal d'audit", e);
+        }
+
+        // Assertion #2: Vérification de l'état
+        assert nextSequence > 0 : "La prochaine séquence doit être positive";
+    }
+
+    /**
+     * Ajoute un lot d'événements à la fin du journal.
+     *
+     * @param batch Les événements, dans l'ordre de publication
+     */
+    public void append(List<AuditEvent> batch) {
+        // Assertion #1: Vérification du lot
+        assert batch != null : "Le lot ne peut pas être null";
+
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            int flushFrom = segment != null ? segment.limit : 0;
+            for (AuditEvent event : batch) {
+                final byte[] body = AuditRecordCodec.encode(event);
+                if (segment == null || segment.limit + RECORD_OVERHEAD + body.length > segment.capacity) {
+                    if (segment != null) {
+                        force(segment, flushFrom);
+                    }
+                    segment = roll();
+                    flushFrom = segment.limit;
+                }
+                write(segment, body, event);
+            }
+            if (segment != null) {
+                force(segment, flushFrom);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de l'écriture du journal d'audit", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche les enregistrements satisfaisant les critères, par séquence croissante.
+     *
+     * @param query Les critères
+     * @return Au plus {@code query.getLimit()} enregistrements
+     */
+    public List<AuditRecord> query(AuditQuery query) {
+        // Assertion #1: Vérification des critères
+        assert query != null : "Les critères ne peuvent pas être null";
+
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            final long from = query.getFrom() != null ? query.getFrom().toEpochMilli() : Long.MIN_VALUE;
+            final long to = query.getTo() != null ? query.getTo().toEpochMilli() : Long.MAX_VALUE;
+            final List<AuditRecord> results = new ArrayList<>();
+
+            for (int s = 0; s < segments.size() && results.size() < query.getLimit(); s++) {
+                final Segment segment = segments.get(s);
+                if (!segment.overlaps(from, to)) {
+                    continue;
+                }
+                if (query.hasIndexedCriteria() && segment.index != null) {
+                    // Parcours de la plus courte liste d'index, les autres critères sont filtrés
+                    final PostingList candidates = segment.index.candidates(query);
+                    if (candidates.size() == 0) {
+                        continue;
+                    }
+                    try (SegmentReader reader = new SegmentReader(segment)) {
+                        for (int i = 0; i < candidates.size() && results.size() < query.getLimit(); i++) {
+                            final AuditRecord record = reader.record(candidates.get(i));
+                            if (query.matches(record.getEvent())) {
+                                results.add(record);
+                            }
+                        }
+                    }
+                } else {
+                    // Segment non indexé ou intervalle de temps seul: lecture séquentielle
+                    try (SegmentReader reader = new SegmentReader(segment)) {
+                        int position = SEGMENT_HEADER_SIZE;
+                        while (position < segment.limit && results.size() < query.getLimit()) {
+                            final AuditRecord record = reader.record(position);
+                            if (query.matches(record.getEvent())) {
+                                results.add(record);
+                            }
+                            position += RECORD_OVERHEAD + reader.getInt(position);
+                        }
+                    }
+                }
+            }
+
+            // Assertion #2: Vérification de la limite
+            assert results.size() <= query.getLimit() : "Le nombre de résultats dépasse la limite";
+
+            return results;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la lecture du journal d'audit", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recalcule la chaîne d'empreintes des segments conservés.
+     *
+     * @return Le bilan de la vérification
+     */
+    public VerificationReport verify() {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            final MessageDigest verifier = newDigest();
+            byte[] previous = segments.isEmpty() ? new byte[HASH_SIZE] : segments.get(0).previousHash;
+            long expected = segments.isEmpty() ? 1 : segments.get(0).baseSequence;
+            long checked = 0;
+            long firstInvalid = -1;
+
+            for (Segment segment : segments) {
+                if (segment.baseSequence != expected || !Arrays.equals(segment.previousHash, previous)) {
+                    // Segment manquant ou en-tête altéré
+                    firstInvalid = firstInvalid < 0 ? expected : firstInvalid;
+                    previous = segment.previousHash;
+                    expected = segment.baseSequence;
+                }
+                try (SegmentReader reader = new SegmentReader(segment)) {
+                    int position = SEGMENT_HEADER_SIZE;
+                    while (position < segment.limit) {
+                        final int length = reader.getInt(position);
+                        reader.require(position, RECORD_OVERHEAD + length);
+                        final long sequence = reader.getLong(position + 4);
+                        final byte[] stored = reader.bytes(position + 12 + length, HASH_SIZE);
+                        final byte[] computed =
+                            chainHash(verifier, previous, sequence, reader.bytes(position + 12, length));
+                        if (firstInvalid < 0 && (sequence != expected || !Arrays.equals(computed, stored))) {
+                            firstInvalid = expected;
+                        }
+                        previous = stored;
+                        expected++;
+                        checked++;
+                        position += RECORD_OVERHEAD + length;
+                    }
+                }
+            }
+
+            return new VerificationReport(firstInvalid < 0, checked, firstInvalid > 0 ? firstInvalid : null,
+                HEX.formatHex(previous));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la lecture du journal d'audit", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Archive les segments scellés dont tous les enregistrements précèdent une date.
+     *
+     * Les segments sont déplacés, du plus ancien au plus récent, dans le
+     * sous-répertoire {@code archive/}, d'où l'exploitation les transfère vers
+     * un stockage froid. Ils ne sont plus consultables par {@link #query(AuditQuery)};
+     * la chaîne des segments conservés reste vérifiable, ancrée sur l'en-tête
+     * du plus ancien d'entre eux.
+     *
+     * @param before La date avant laquelle un segment est archivé
+     * @return Le nombre de segments archivés
+     */
+    public int archiveBefore(Instant before) {
+        // Assertion #1: Vérification de la date
+        assert before != null : "La date d'archivage ne peut pas être null";
+
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            final Path archive = directory.resolve(ARCHIVE_DIRECTORY);
+            int archived = 0;
+            // Le segment courant n'est jamais archivé: la chaîne continue dans ce répertoire
+            while (segments.size() > 1 && segments.get(0).maxEpochMilli < before.toEpochMilli()) {
+                final Segment segment = segments.get(0);
+                Files.createDirectories(archive);
+                Files.move(segment.path, archive.resolve(segment.path.getFileName()));
+                segments.remove(0);
+                archived++;
+            }
+
+            // Assertion #2: Vérification du segment courant
+            assert segments.isEmpty() || segments.get(segments.size() - 1).buffer != null :
+                "Le segment courant doit rester projeté en mémoire";
+
+            if (archived > 0) {
+                logger.info("{} segments du journal d'audit archivés (antérieurs au {})", archived, before);
+            }
+            return archived;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de l'archivage du journal d'audit", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Le nombre d'enregistrements des segments conservés
+     */
+    public long getRecordCount() {
+        lock.readLock().lock();
+        try {
+            return segments.isEmpty() ? 0 : nextSequence - segments.get(0).baseSequence;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Le nombre de segments conservés
+     */
+    public int getSegmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Le nombre de segments dont les index sont tenus en mémoire
+     */
+    public int getIndexedSegmentCount() {
+        lock.readLock().lock();
+        try {
+            return (int) segments.stream().filter(segment -> segment.index != null).count();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (!segments.isEmpty()) {
+                segments.get(segments.size() - 1).seal();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la fermeture du journal d'audit", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        final List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                    && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+
+        for (int i = 0; i < files.size(); i++) {
+            final boolean last = i == files.size() - 1;
+            final Segment segment = open(files.get(i), last);
+            segments.add(segment);
+            if (i == 0) {
+                // Premier segment conservé: son en-tête sert d'ancre à la chaîne
+                headHash = segment.previousHash;
+                nextSequence = segment.baseSequence;
+            }
+            // Seuls les segments les plus récents sont indexés
+            if (i >= files.size() - indexedSegments) {
+                segment.index = new SegmentIndex();
+            }
+            recoverSegment(segment, last);
+        }
+
+        if (!segments.isEmpty()) {
+            logger.info("Journal d'audit ouvert: {} enregistrements dans {} segments",
+                nextSequence - segments.get(0).baseSequence, segments.size());
+        }
+        if (firstInvalidSequence > 0) {
+            logger.error("Chaîne d'empreintes du journal d'audit rompue à la séquence {}", firstInvalidSequence);
+        }
+    }
+
+    private void recoverSegment(Segment segment, boolean lastSegment) throws IOException {
+        if (segment.baseSequence != nextSequence || !Arrays.equals(segment.previousHash, headHash)) {
+            markInvalid(nextSequence);
+            headHash = segment.previousHash;
+            nextSequence = segment.baseSequence;
+        }
+
+        final int capacity = segment.capacity;
+        int position = SEGMENT_HEADER_SIZE;
+        try (SegmentReader reader = new SegmentReader(segment)) {
+            while (position + 4 <= capacity) {
+                final int length = reader.getInt(position);
+                if (length == 0) {
+                    break;
+                }
+                final boolean complete = length > 0 && (long) position + RECORD_OVERHEAD + length <= capacity;
+                final int next = complete ? position + RECORD_OVERHEAD + length : capacity;
+                final byte[] body = complete ? reader.bytes(position + 12, length) : null;
+                final byte[] stored = complete ? reader.bytes(position + 12 + length, HASH_SIZE) : null;
+                final boolean intact = complete && reader.getLong(position + 4) == nextSequence
+                    && Arrays.equals(chainHash(digest, headHash, nextSequence, body), stored);
+                final boolean tail = next + 4 > capacity || reader.getInt(next) == 0;
+
+                if (!intact && lastSegment && tail) {
+                    // Dernier enregistrement interrompu par un arrêt brutal: il n'a jamais été acquitté
+                    logger.warn("Enregistrement d'audit incomplet en fin de journal ignoré (séquence {})",
+                        nextSequence);
+                    segment.buffer.putInt(position, 0);
+                    segment.buffer.force(position, 4);
+                    break;
+                }
+                if (!complete) {
+                    // Longueur illisible: le reste du segment ne peut pas être relu
+                    markInvalid(nextSequence);
+                    break;
+                }
+                if (!intact) {
+                    markInvalid(nextSequence);
+                }
+                try {
+                    index(segment, position, AuditRecordCodec.decode(ByteBuffer.wrap(body)));
+                } catch (RuntimeException e) {
+                    markInvalid(nextSequence);
+                }
+                headHash = stored;
+                nextSequence++;
+                position = next;
+            }
+        }
+        segment.limit = position;
+    }
+
+    private void markInvalid(long sequence) {
+        if (firstInvalidSequence < 0) {
+            firstInvalidSequence = sequence;
+        }
+    }
+
+    private Segment open(Path path, boolean current) throws IOException {
+        final Segment segment;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // Lecture complète de l'en-tête
+            }
+            if (header.hasRemaining() || header.getInt(0) != SEGMENT_MAGIC || header.getInt(4) != SEGMENT_VERSION) {
+                throw new IOException("Segment d'audit invalide: " + path);
+            }
+            segment = new Segment(path, (int) channel.size(), header.getLong(8), bytes(header, 16, HASH_SIZE));
+        }
+        if (current) {
+            segment.map();
+        }
+        return segment;
+    }
+
+    private Segment roll() throws IOException {
+        final Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+        if (!segments.isEmpty()) {
+            // Le segment plein est scellé: il n'est plus relu qu'à la demande
+            segments.get(segments.size() - 1).seal();
+        }
+        Files.createFile(path);
+
+        // La projection étend le fichier à la taille du segment, les octets à zéro marquent la fin
+        final Segment segment = new Segment(path, segmentSize, nextSequence, headHash.clone());
+        segment.map();
+        segment.buffer.putInt(0, SEGMENT_MAGIC).putInt(4, SEGMENT_VERSION).putLong(8, nextSequence).put(16, headHash);
+        segment.index = new SegmentIndex();
+        segments.add(segment);
+        force(segment, 0);
+
+        // Les index des segments sortis de la fenêtre sont libérés
+        for (int i = 0; i < segments.size() - indexedSegments; i++) {
+            segments.get(i).index = null;
+        }
+        logger.info("Nouveau segment du journal d'audit: {}", path.getFileName());
+        return segment;
+    }
+
+    private void write(Segment segment, byte[] body, AuditEvent event) {
+        final int position = segment.limit;
+        final MappedByteBuffer buffer = segment.buffer;
+        final byte[] hash = chainHash(digest, headHash, nextSequence, body);
+
+        buffer.putLong(position + 4, nextSequence);
+        buffer.put(position + 12, body);
+        buffer.put(position + 12 + body.length, hash);
+        // La longueur en dernier: l'enregistrement n'est visible qu'une fois complet
+        buffer.putInt(position, body.length);
+
+        segment.limit = position + RECORD_OVERHEAD + body.length;
+        headHash = hash;
+        nextSequence++;
+        index(segment, position, event);
+    }
+
+    private void force(Segment segment, int from) {
+        if (fsync && segment.limit > from) {
+            segment.buffer.force(from, segment.limit - from);
+        }
+    }
+
+    private static void index(Segment segment, int position, AuditEvent event) {
+        if (segment.index != null) {
+            segment.index.add(position, event);
+        }
+        final long epochMilli = event.getTimestamp().toEpochMilli();
+        segment.minEpochMilli = Math.min(segment.minEpochMilli, epochMilli);
+        segment.maxEpochMilli = Math.max(segment.maxEpochMilli, epochMilli);
+    }
+
+    private static byte[] chainHash(MessageDigest digest, byte[] previous, long sequence, byte[] body) {
+        digest.update(previous);
+        digest.update(ByteBuffer.allocate(8).putLong(0, sequence).array());
+        digest.update(body);
+        return digest.digest();
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, int index, int length) {
+        final byte[] bytes = new byte[length];
+        buffer.get(index, bytes);
+        return bytes;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Le journal d'audit est fermé");
+        }
+    }
+
+    /**
+     * Segment du journal; {@code limit} marque la fin des enregistrements.
+     *
+     * Seul le segment courant est projeté en mémoire ({@code buffer} et
+     * {@code channel} non null). Ses index sont null une fois sortis de la
+     * fenêtre des segments indexés.
+     */
+    private static final class Segment {
+        private final Path path;
+        private final int capacity;
+        private final long baseSequence;
+        private final byte[] previousHash;
+        private FileChannel channel;
+        private MappedByteBuffer buffer;
+        private SegmentIndex index;
+        private int limit = SEGMENT_HEADER_SIZE;
+        private long minEpochMilli = Long.MAX_VALUE;
+        private long maxEpochMilli = Long.MIN_VALUE;
+
+        Segment(Path path, int capacity, long baseSequence, byte[] previousHash) {
+            this.path = path;
+            this.capacity = capacity;
+            this.baseSequence = baseSequence;
+            this.previousHash = previousHash;
+        }
+
+        void map() throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+
+        /**
+         * Ferme le canal; la projection est libérée avec la dernière référence au tampon.
+         */
+        void seal() throws IOException {
+            if (channel != null) {
+                buffer = null;
+                channel.close();
+                channel = null;
+            }
+        }
+
+        boolean overlaps(long from, long to) {
+            return limit > SEGMENT_HEADER_SIZE && minEpochMilli <= to && maxEpochMilli >= from;
+        }
+    }
+
+    /**
+     * Lecture d'un segment: directement dans la projection du segment courant,
+     * par fenêtres successives lues dans le fichier pour un segment scellé.
+     * Les enregistrements d'une liste d'index étant croissants, une même
+     * fenêtre sert à plusieurs lectures.
+     */
+    private static final class SegmentReader implements AutoCloseable {
+        private final FileChannel channel;
+        private ByteBuffer window;
+        private long windowStart;
+        private int windowLength;
+
+        SegmentReader(Segment segment) throws IOException {
+            if (segment.buffer != null) {
+                this.channel = null;
+                this.window = segment.buffer;
+                this.windowLength = segment.capacity;
+            } else {
+                this.channel = FileChannel.open(segment.path, StandardOpenOption.READ);
+                this.window = ByteBuffer.allocate(READ_WINDOW_SIZE);
+            }
+        }
+
+        /**
+         * Garantit que [position, position + length[ est dans la fenêtre.
+         *
+         * @return L'indice de la position dans la fenêtre
+         */
+        int require(int position, int length) throws IOException {
+            if (position >= windowStart && position + (long) length <= windowStart + windowLength) {
+                return (int) (position - windowStart);
+            }
+            if (channel == null) {
+                throw new EOFException("Lecture hors du segment courant à la position " + position);
+            }
+            if (window.capacity() < length) {
+                window = ByteBuffer.allocate(length);
+            }
+            window.clear();
+            while (window.hasRemaining() && channel.read(window, position + (long) window.position()) > 0) {
+                // Remplissage de la fenêtre
+            }
+            windowStart = position;
+            windowLength = window.position();
+            if (windowLength < length) {
+                throw new EOFException("Lecture hors du segment à la position " + position);
+            }
+            return 0;
+        }
+
+        int getInt(int position) throws IOException {
+            return window.getInt(require(position, 4));
+        }
+
+        long getLong(int position) throws IOException {
+            return window.getLong(require(position, 8));
+        }
+
+        byte[] bytes(int position, int length) throws IOException {
+            return AuditLogStore.bytes(window, require(position, length), length);
+        }
+
+        AuditRecord record(int position) throws IOException {
+            final int length = getInt(position);
+            final int index = require(position, RECORD_OVERHEAD + length);
+            final long sequence = window.getLong(index + 4);
+            final AuditEvent event = AuditRecordCodec.decode(window.slice(index + 12, length));
+            final byte[] hash = AuditLogStore.bytes(window, index + 12 + length, HASH_SIZE);
+            return new AuditRecord(sequence, HEX.formatHex(hash), event);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Index d'un segment: positions des enregistrements par utilisateur, patient et modèle de route.
+     */
+    private static final class SegmentIndex {
+        private final Map<String, PostingList> byUsername = new HashMap<>();
+        private final Map<String, PostingList> byPatient = new HashMap<>();
+        private final TreeMap<String, PostingList> byRoute = new TreeMap<>();
+
+        void add(int position, AuditEvent event) {
+            if (event.getUsername() != null) {
+                byUsername.computeIfAbsent(event.getUsername(), key -> new PostingList()).add(position);
+            }
+            if (event.getPatientId() != null) {
+                byPatient.computeIfAbsent(event.getPatientId(), key -> new PostingList()).add(position);
+            }
+            byRoute.computeIfAbsent(event.getRoute(), key -> new PostingList()).add(position);
+        }
+
+        PostingList candidates(AuditQuery query) {
+            PostingList best = null;
+            if (query.getUsername() != null) {
+                best = shorter(best, byUsername.getOrDefault(query.getUsername(), PostingList.EMPTY));
+            }
+            if (query.getPatientId() != null) {
+                best = shorter(best, byPatient.getOrDefault(query.getPatientId(), PostingList.EMPTY));
+            }
+            if (query.getPathPrefix() != null) {
+                final Collection<PostingList> routes = byRoute.subMap(
+                    query.getPathPrefix(), true, query.getPathPrefix() + Character.MAX_VALUE, false).values();
+                best = shorter(best, PostingList.union(routes));
+            }
+            return best;
+        }
+
+        private static PostingList shorter(PostingList current, PostingList candidate) {
+            return current == null || candidate.size() < current.size() ? candidate : current;
+        }
+    }
+
+    /**
+     * Liste croissante de positions d'enregistrements dans un segment.
+     */
+    private static final class PostingList {
+        static final PostingList EMPTY = new PostingList();
+
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int get(int index) {
+            return positions[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        static PostingList union(Collection<PostingList> lists) {
+            if (lists.isEmpty()) {
+                return EMPTY;
+            }
+            if (lists.size() == 1) {
+                return lists.iterator().next();
+            }
+            final PostingList union = new PostingList();
+            for (PostingList list : lists) {
+                for (int i = 0; i < list.size; i++) {
+                    union.add(list.positions[i]);
+                }
+            }
+            Arrays.sort(union.positions, 0, union.size);
+            return union;
+        }
+    }
+
+    /**
+     * Bilan de la vérification de la chaîne d'empreintes.
+     */
+    public static class VerificationReport {
+        private final boolean valid;
+        private final long recordsChecked;
+        private final Long firstInvalidSequence;
+        private final String headHash;
+
+        public VerificationReport(boolean valid, long recordsChecked, Long firstInvalidSequence, String headHash) {
+            this.valid = valid;
+            this.recordsChecked = recordsChecked;
+            this.firstInvalidSequence = firstInvalidSequence;
+            this.headHash = headHash;
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        public long getRecordsChecked() {
+            return recordsChecked;
+        }
+
+        /**
+         * @return La première séquence dont l'empreinte ne correspond pas, ou null
+         */
+        public Long getFirstInvalidSequence() {
+            return firstInvalidSequence;
+        }
+
+        /**
+         * @return L'empreinte du dernier enregistrement, à conserver hors du serveur comme ancre
+         */
+        public String getHeadHash() {
+            return headHash;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.hygie.patientservice.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pipeline asynchrone des événements d'audit.
+ *
+ * Les threads des requêtes déposent les événements dans une file circulaire
+ * sans verrou; un écrivain unique en arrière-plan les retire par lots et les
+ * écrit dans la destination configurée, en réessayant un lot tant qu'il n'a
+ * pas été acquitté.
+ *
+ * Aucun événement n'est abandonné: lorsque la file est pleine, le thread de la
+ * requête attend que l'écrivain libère de la place (contre-pression), puis,
+ * passé le délai maximal, écrit l'événement lui-même. Ce n'est que si la
+ * destination refuse aussi cette écriture que l'événement est journalisé en
+ * erreur, en dernier recours.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Component
+public class AuditPipeline implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPipeline.class);
+    private static final Logger auditLogger = LoggerFactory.getLogger("audit");
+
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_RETRY_BACKOFF_MS = 5_000;
+    private static final int SHUTDOWN_RETRIES = 3;
+
+    private final AuditSink sink;
+    private final AuditRingBuffer buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long maxBlockNanos;
+    private final Counter eventsWritten;
+    private final Counter backpressureWaits;
+    private final Counter writeFailures;
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    /**
+     * Crée le pipeline d'audit.
+     *
+     * @param sink La destination des événements
+     * @param meterRegistry Le registre des métriques
+     * @param capacity La capacité de la file (arrondie à la puissance de deux supérieure)
+     * @param batchSize Le nombre maximal d'événements par écriture
+     * @param flushIntervalMs Le délai maximal avant l'écriture d'un lot incomplet
+     * @param maxBlockMs L'attente maximale d'un producteur lorsque la file est pleine
+     */
+    @Autowired
+    public AuditPipeline(AuditSink sink,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.audit.buffer-capacity:8192}") int capacity,
+                         @Value("${app.audit.batch-size:256}") int batchSize,
+                         @Value("${app.audit.flush-interval-ms:200}") long flushIntervalMs,
+                         @Value("${app.audit.max-block-ms:1000}") long maxBlockMs) {
+        // Assertion #1: Vérification des paramètres
+        assert sink != null : "La destination d'audit ne peut pas être null";
+        assert meterRegistry != null : "Le registre des métriques ne peut pas être null";
+        assert capacity > 0 && batchSize > 0 && flushIntervalMs > 0 && maxBlockMs >= 0 :
+            "Paramètres du pipeline d'audit invalides";
+
+        this.sink = sink;
+        this.buffer = new AuditRingBuffer(powerOfTwoAtLeast(capacity));
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.maxBlockNanos = TimeUnit.MILLISECONDS.toNanos(maxBlockMs);
+        this.eventsWritten = Counter.builder("hygie.audit.events.written")
+            .description("Événements d'audit écrits dans la destination")
+            .register(meterRegistry);
+        this.backpressureWaits = Counter.builder("hygie.audit.backpressure")
+            .description("Publications ayant trouvé la file d'audit pleine")
+            .register(meterRegistry);
+        this.writeFailures = Counter.builder("hygie.audit.write.failures")
+            .description("Échecs d'écriture d'un lot d'audit")
+            .register(meterRegistry);
+        Gauge.builder("hygie.audit.queue.depth", buffer, AuditRingBuffer::size)
+            .description("Événements d'audit en attente d'écriture")
+            .register(meterRegistry);
+
+        // Assertion #2: Vérification de la file
+        assert buffer.capacity() >= capacity : "La file doit contenir au moins la capacité demandée";
+    }
+
+    /**
+     * Publie un événement d'audit sans attendre son écriture.
+     *
+     * @param event L'événement
+     */
+    public void publish(AuditEvent event) {
+        // Assertion #1: Vérification de l'événement
+        assert event != null : "L'événement ne peut pas être null";
+
+        if (!running) {
+            writeDirectly(event);
+            return;
+        }
+        if (buffer.offer(event)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+
+        // File pleine: on réveille l'écrivain et on attend une place
+        backpressureWaits.increment();
+        final long deadline = System.nanoTime() + maxBlockNanos;
+        do {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+            if (buffer.offer(event)) {
+                return;
+            }
+        } while (running && System.nanoTime() < deadline);
+
+        writeDirectly(event);
+    }
+
+    /**
+     * @return Le nombre d'événements en attente d'écriture
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    private void writeDirectly(AuditEvent event) {
+        try {
+            sink.write(List.of(event));
+            eventsWritten.increment();
+        } catch (RuntimeException e) {
+            writeFailures.increment();
+            auditLogger.error("AUDIT_NON_PERSISTE: {}", event, e);
+        }
+    }
+
+    private void drainLoop() {
+        final List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            writeWithRetry(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeWithRetry(List<AuditEvent> batch) {
+        int attempt = 0;
+        while (true) {
+            try {
+                sink.write(batch);
+                eventsWritten.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                writeFailures.increment();
+                attempt++;
+                if (!running && attempt >= SHUTDOWN_RETRIES) {
+                    // Arrêt en cours et destination indisponible: dernier recours
+                    for (AuditEvent event : batch) {
+                        auditLogger.error("AUDIT_NON_PERSISTE: {}", event);
+                    }
+                    logger.error("Lot d'audit de {} événements non persisté à l'arrêt", batch.size(), e);
+                    return;
+                }
+                logger.warn("Échec de l'écriture d'un lot d'audit (tentative {}): {}", attempt, e.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(
+                    Math.min(MAX_RETRY_BACKOFF_MS, 50L << Math.min(attempt, 10))));
+            }
+        }
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        final Thread thread = new Thread(this::drainLoop, "audit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        running = true;
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        // L'écrivain vide la file avant de se terminer
+        running = false;
+        final Thread thread = writer;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            logger.error("L'écrivain d'audit ne s'est pas terminé; {} événements en attente", buffer.size());
+        } else {
+            // Événements publiés pendant l'arrêt de l'écrivain
+            final List<AuditEvent> rest = new ArrayList<>(batchSize);
+            while (buffer.drainTo(rest, batchSize) > 0) {
+                writeWithRetry(rest);
+                rest.clear();
+            }
+        }
+        sink.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Arrêté après le serveur web, pour écrire les événements des dernières requêtes.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
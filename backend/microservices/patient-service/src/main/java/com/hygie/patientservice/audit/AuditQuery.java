@@ -0,0 +1,81 @@
+package com.hygie.patientservice.audit;
+
+import java.time.Instant;
+
+/**
+ * Critères de recherche dans le journal d'audit.
+ *
+ * Tous les critères sont facultatifs et se combinent par « et ». L'utilisateur,
+ * le patient et le préfixe de chemin sont servis par les index du journal. Le
+ * chemin est comparé au modèle de la route ({@code /api/patients/{id}}), et
+ * non à l'URI reçue: la recherche par patient passe par {@code patientId}.
+ * L'intervalle de temps [from, to[ élimine les segments hors période.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class AuditQuery {
+
+    private final String username;
+    private final String patientId;
+    private final String pathPrefix;
+    private final Instant from;
+    private final Instant to;
+    private final int limit;
+
+    public AuditQuery(String username, String patientId, String pathPrefix, Instant from, Instant to, int limit) {
+        // Assertion #1: Vérification des bornes
+        assert limit > 0 : "La limite doit être positive";
+        assert from == null || to == null || !to.isBefore(from) : "L'intervalle de temps est inversé";
+
+        this.username = username;
+        this.patientId = patientId;
+        this.pathPrefix = pathPrefix;
+        this.from = from;
+        this.to = to;
+        this.limit = limit;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPatientId() {
+        return patientId;
+    }
+
+    public String getPathPrefix() {
+        return pathPrefix;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return true si au moins un critère indexé est renseigné
+     */
+    boolean hasIndexedCriteria() {
+        return username != null || patientId != null || pathPrefix != null;
+    }
+
+    /**
+     * @param event Un événement du journal
+     * @return true si l'événement satisfait tous les critères
+     */
+    boolean matches(AuditEvent event) {
+        return (username == null || username.equals(event.getUsername()))
+            && (patientId == null || patientId.equals(event.getPatientId()))
+            && (pathPrefix == null || event.getRoute().startsWith(pathPrefix))
+            && (from == null || !event.getTimestamp().isBefore(from))
+            && (to == null || event.getTimestamp().isBefore(to));
+    }
+}
@@ -0,0 +1,40 @@
+package com.hygie.patientservice.audit;
+
+/**
+ * Enregistrement du journal d'audit: l'événement, son numéro de séquence et
+ * son empreinte dans la chaîne.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class AuditRecord {
+
+    private final long sequence;
+    private final String hash;
+    private final AuditEvent event;
+
+    public AuditRecord(long sequence, String hash, AuditEvent event) {
+        // Assertion #1: Vérification des champs
+        assert sequence > 0 : "Le numéro de séquence doit être positif";
+        assert hash != null && event != null : "L'empreinte et l'événement sont obligatoires";
+
+        this.sequence = sequence;
+        this.hash = hash;
+        this.event = event;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return L'empreinte SHA-256 (hexadécimale) de l'enregistrement, chaînée à la précédente
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    public AuditEvent getEvent() {
+        return event;
+    }
+}
@@ -0,0 +1,122 @@
+package com.hygie.patientservice.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Encodage binaire compact d'un événement d'audit pour le journal segmenté.
+ *
+ * Disposition: type (1 octet), horodatage (secondes sur 8 octets, nanosecondes
+ * sur 4), puis les chaînes utilisateur, méthode, URI, patient, adresse,
+ * CorrelationID et erreur (longueur sur 4 octets, -1 pour null, puis UTF-8),
+ * enfin le statut (4 octets) et la durée (8 octets), {@code MIN_VALUE} pour
+ * null, suivis de la route. Placée en dernier, la route est absente des
+ * enregistrements écrits avant son introduction; elle vaut alors l'URI. Les chaînes sont tronquées à {@value #MAX_FIELD_CHARS} caractères pour
+ * qu'un enregistrement tienne toujours dans un segment.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+final class AuditRecordCodec {
+
+    static final int MAX_FIELD_CHARS = 1024;
+
+    private static final int NULL_LENGTH = -1;
+    private static final int FIXED_SIZE = 1 + 8 + 4 + 4 + 8;
+    private static final AuditEvent.Type[] TYPES = AuditEvent.Type.values();
+
+    private AuditRecordCodec() {
+    }
+
+    /**
+     * @param event L'événement
+     * @return La représentation binaire de l'événement
+     */
+    static byte[] encode(AuditEvent event) {
+        // Assertion #1: Vérification de l'événement
+        assert event != null : "L'événement ne peut pas être null";
+
+        final byte[][] fields = {
+            utf8(event.getUsername()),
+            utf8(event.getMethod()),
+            utf8(event.getUri()),
+            utf8(event.getPatientId()),
+            utf8(event.getRemoteAddr()),
+            utf8(event.getCorrelationId()),
+            utf8(event.getError()),
+            utf8(event.getRoute())
+        };
+        int size = FIXED_SIZE;
+        for (byte[] field : fields) {
+            size += 4 + (field != null ? field.length : 0);
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put((byte) event.getType().ordinal());
+        buffer.putLong(event.getTimestamp().getEpochSecond());
+        buffer.putInt(event.getTimestamp().getNano());
+        for (int i = 0; i < fields.length - 1; i++) {
+            putString(buffer, fields[i]);
+        }
+        buffer.putInt(event.getStatus() != null ? event.getStatus() : Integer.MIN_VALUE);
+        buffer.putLong(event.getDurationMs() != null ? event.getDurationMs() : Long.MIN_VALUE);
+        putString(buffer, fields[fields.length - 1]);
+
+        // Assertion #2: Vérification de la taille
+        assert !buffer.hasRemaining() : "La taille calculée doit correspondre à l'encodage";
+
+        return buffer.array();
+    }
+
+    /**
+     * @param body Le corps de l'enregistrement, positionné à son début
+     * @return L'événement décodé
+     */
+    static AuditEvent decode(ByteBuffer body) {
+        // Assertion #1: Vérification du corps
+        assert body != null && body.remaining() >= FIXED_SIZE : "Corps d'enregistrement invalide";
+
+        final AuditEvent.Type type = TYPES[body.get()];
+        final Instant timestamp = Instant.ofEpochSecond(body.getLong(), body.getInt());
+        final String username = string(body);
+        final String method = string(body);
+        final String uri = string(body);
+        final String patientId = string(body);
+        final String remoteAddr = string(body);
+        final String correlationId = string(body);
+        final String error = string(body);
+        final int status = body.getInt();
+        final long durationMs = body.getLong();
+        final String route = body.hasRemaining() ? string(body) : null;
+
+        return new AuditEvent(type, timestamp, username, method, uri, route, patientId, remoteAddr, correlationId,
+            status != Integer.MIN_VALUE ? status : null, durationMs != Long.MIN_VALUE ? durationMs : null, error);
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        final String bounded = value.length() > MAX_FIELD_CHARS ? value.substring(0, MAX_FIELD_CHARS) : value;
+        return bounded.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] field) {
+        if (field == null) {
+            buffer.putInt(NULL_LENGTH);
+        } else {
+            buffer.putInt(field.length).put(field);
+        }
+    }
+
+    private static String string(ByteBuffer body) {
+        final int length = body.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
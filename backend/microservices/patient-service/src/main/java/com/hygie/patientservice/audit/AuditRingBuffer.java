@@ -0,0 +1,108 @@
+package com.hygie.patientservice.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * File circulaire bornée sans verrou, à producteurs multiples et consommateur
+ * unique, pour les événements d'audit.
+ *
+ * Chaque case porte un numéro de séquence: un producteur réserve une position
+ * par CAS puis publie l'événement en avançant la séquence de la case; le
+ * consommateur ne lit une case que lorsque sa séquence indique qu'elle est
+ * publiée, puis la libère pour le tour suivant. Une file pleine est signalée
+ * à l'appelant au lieu d'écraser un événement.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+final class AuditRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<AuditEvent> events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    /**
+     * @param capacity La capacité, puissance de deux
+     */
+    AuditRingBuffer(int capacity) {
+        // Assertion #1: Vérification de la capacité
+        assert capacity > 0 && Integer.bitCount(capacity) == 1 : "La capacité doit être une puissance de deux";
+
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.events = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Ajoute un événement; sûr pour plusieurs producteurs.
+     *
+     * @param event L'événement
+     * @return false si la file est pleine
+     */
+    boolean offer(AuditEvent event) {
+        long index = producerIndex.get();
+        while (true) {
+            final int slot = (int) index & mask;
+            final long lag = sequences.get(slot) - index;
+            if (lag == 0) {
+                if (producerIndex.compareAndSet(index, index + 1)) {
+                    events.set(slot, event);
+                    sequences.set(slot, index + 1);
+                    return true;
+                }
+                index = producerIndex.get();
+            } else if (lag < 0) {
+                // Case encore occupée par le tour précédent: la file est pleine
+                return false;
+            } else {
+                index = producerIndex.get();
+            }
+        }
+    }
+
+    /**
+     * Retire jusqu'à {@code max} événements publiés, dans l'ordre; réservé au consommateur.
+     *
+     * @param batch La liste qui reçoit les événements
+     * @param max Le nombre maximal d'événements retirés
+     * @return Le nombre d'événements retirés
+     */
+    int drainTo(List<AuditEvent> batch, int max) {
+        long index = consumerIndex.get();
+        int drained = 0;
+        while (drained < max) {
+            final int slot = (int) index & mask;
+            if (sequences.get(slot) != index + 1) {
+                break;
+            }
+            batch.add(events.get(slot));
+            events.set(slot, null);
+            sequences.set(slot, index + capacity);
+            index++;
+            drained++;
+        }
+        consumerIndex.set(index);
+        return drained;
+    }
+
+    /**
+     * @return Le nombre approximatif d'événements en attente
+     */
+    int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex.get());
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,27 @@
+package com.hygie.patientservice.audit;
+
+import java.util.List;
+
+/**
+ * Destination durable des événements d'audit.
+ *
+ * Un lot n'est considéré comme écrit qu'au retour de {@link #write}; en cas
+ * d'exception, le lot entier est présenté à nouveau, les destinations doivent
+ * donc tolérer un doublon partiel (livraison au moins une fois).
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public interface AuditSink extends AutoCloseable {
+
+    /**
+     * Écrit un lot d'événements de manière durable.
+     *
+     * @param batch Les événements, dans l'ordre de publication
+     */
+    void write(List<AuditEvent> batch);
+
+    @Override
+    default void close() {
+    }
+}
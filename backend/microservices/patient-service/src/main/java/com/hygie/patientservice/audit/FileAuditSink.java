@@ -0,0 +1,101 @@
+package com.hygie.patientservice.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Écrit les événements d'audit en JSON, une ligne par événement, dans un
+ * fichier par jour (UTC): {@code audit-events-AAAA-MM-JJ.jsonl}.
+ *
+ * Chaque lot est écrit en une fois puis, si demandé, forcé sur disque avant
+ * d'être acquitté.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class FileAuditSink implements AuditSink {
+
+    private final Path directory;
+    private final ObjectWriter writer;
+    private final boolean fsync;
+    private FileChannel channel;
+    private LocalDate channelDate;
+
+    /**
+     * Crée la destination fichier.
+     *
+     * @param directory Le répertoire des fichiers d'audit
+     * @param objectMapper L'ObjectMapper de l'application
+     * @param fsync true pour forcer chaque lot sur disque
+     */
+    public FileAuditSink(Path directory, ObjectMapper objectMapper, boolean fsync) {
+        // Assertion #1: Vérification des paramètres
+        assert directory != null : "Le répertoire d'audit ne peut pas être null";
+        assert objectMapper != null : "L'ObjectMapper ne peut pas être null";
+
+        this.directory = directory;
+        this.writer = objectMapper.writerFor(AuditEvent.class);
+        this.fsync = fsync;
+    }
+
+    @Override
+    public synchronized void write(List<AuditEvent> batch) {
+        // Assertion #1: Vérification du lot
+        assert batch != null : "Le lot ne peut pas être null";
+
+        try {
+            final ByteArrayOutputStream lines = new ByteArrayOutputStream(batch.size() * 256);
+            for (AuditEvent event : batch) {
+                lines.write(writer.writeValueAsBytes(event));
+                lines.write('\n');
+            }
+
+            final FileChannel target = channelFor(LocalDate.now(ZoneOffset.UTC));
+            final ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            if (fsync) {
+                target.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de l'écriture du journal d'audit", e);
+        }
+    }
+
+    private FileChannel channelFor(LocalDate date) throws IOException {
+        if (channel == null || !date.equals(channelDate)) {
+            close();
+            Files.createDirectories(directory);
+            channel = FileChannel.open(directory.resolve("audit-events-" + date + ".jsonl"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channelDate = date;
+        }
+        return channel;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Échec de la fermeture du journal d'audit", e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.hygie.patientservice.audit;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+/**
+ * Écrit les événements d'audit dans la collection {@value #COLLECTION}, un
+ * lot par insertion.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class MongoAuditSink implements AuditSink {
+
+    static final String COLLECTION = "audit_events";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Crée la destination MongoDB.
+     *
+     * @param mongoTemplate Le template MongoDB
+     */
+    public MongoAuditSink(MongoTemplate mongoTemplate) {
+        // Assertion #1: Vérification du template
+        assert mongoTemplate != null : "Le template MongoDB ne peut pas être null";
+
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        // Assertion #1: Vérification du lot
+        assert batch != null : "Le lot ne peut pas être null";
+
+        mongoTemplate.insert(batch, COLLECTION);
+    }
+}
@@ -0,0 +1,85 @@
+package com.hygie.patientservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration des exécuteurs asynchrones et des tâches planifiées du Patient Service.
+ *
+ * Les traitements hors chemin critique (dépistage des interactions à la
+ * prescription) disposent d'un pool borné dédié afin de ne pas concurrencer
+ * les threads de traitement des requêtes HTTP. Les rafraîchissements périodiques
+ * (index du catalogue, analyses de co-prescription, archivage de l'audit)
+ * s'exécutent via le planificateur Spring, dont le pool
+ * ({@code spring.task.scheduling.pool.size}) compte un thread par tâche: le
+ * long parcours des co-prescriptions n'en retarde aucune autre.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    @Value("${app.screening.pool-size:4}")
+    private int screeningPoolSize;
+
+    @Value("${app.screening.queue-capacity:1000}")
+    private int screeningQueueCapacity;
+
+    /**
+     * Crée l'exécuteur dédié au dépistage des interactions médicamenteuses.
+     *
+     * @return Un pool de threads borné, arrêté à la fermeture du contexte
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService screeningExecutor() {
+        // Assertion #1: Vérification de la configuration du pool
+        assert screeningPoolSize > 0 : "La taille du pool de dépistage doit être positive";
+        assert screeningQueueCapacity > 0 : "La capacité de la file de dépistage doit être positive";
+
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                screeningPoolSize, screeningPoolSize,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(screeningQueueCapacity),
+                namedDaemonThreads("interaction-screening-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // Assertion #2: Vérification de l'exécuteur
+        assert !executor.isShutdown() : "L'exécuteur de dépistage doit être actif";
+
+        return executor;
+    }
+
+    /**
+     * Fabrique de threads démons nommés, pour des traces lisibles.
+     *
+     * @param prefix Le préfixe du nom des threads
+     * @return La fabrique de threads
+     */
+    static ThreadFactory namedDaemonThreads(String prefix) {
+        // Assertion #1: Vérification du préfixe
+        assert prefix != null && !prefix.isBlank() : "Le préfixe des threads ne peut pas être vide";
+
+        final AtomicInteger counter = new AtomicInteger();
+        final ThreadFactory factory = runnable -> {
+            final Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        // Assertion #2: Vérification de la fabrique
+        assert factory != null : "La fabrique de threads ne peut pas être null";
+
+        return factory;
+    }
+}
@@ -0,0 +1,97 @@
+package com.hygie.patientservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hygie.patientservice.audit.AuditLogStore;
+import com.hygie.patientservice.audit.AuditSink;
+import com.hygie.patientservice.audit.FileAuditSink;
+import com.hygie.patientservice.audit.MongoAuditSink;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration de la destination des événements d'audit.
+ *
+ * {@code app.audit.sink} choisit entre des fichiers JSON journaliers
+ * ({@code file}, par défaut), la collection MongoDB {@code audit_events}
+ * ({@code mongo}) et le journal segmenté, chaîné et indexé ({@code store}),
+ * seul à permettre les recherches de {@code /api/audit}.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Configuration
+public class AuditConfig {
+
+    @Value("${app.audit.sink:file}")
+    private String sinkType;
+
+    @Value("${app.audit.directory:logs/audit}")
+    private String directory;
+
+    @Value("${app.audit.fsync:true}")
+    private boolean fsync;
+
+    @Value("${app.audit.segment-size-mb:64}")
+    private int segmentSizeMb;
+
+    @Value("${app.audit.indexed-segments:16}")
+    private int indexedSegments;
+
+    /**
+     * Ouvre le journal d'audit segmenté, refermé après l'arrêt du pipeline.
+     *
+     * @return Le journal d'audit
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.audit.sink", havingValue = "store")
+    public AuditLogStore auditLogStore() {
+        // Assertion #1: Vérification de la taille des segments
+        assert segmentSizeMb > 0 && segmentSizeMb <= 1024 :
+            "La taille des segments doit être comprise entre 1 et 1024 Mo";
+        assert indexedSegments > 0 : "Au moins un segment doit être indexé";
+
+        return new AuditLogStore(Path.of(directory), segmentSizeMb * 1024 * 1024, fsync, indexedSegments);
+    }
+
+    /**
+     * Crée la destination des événements d'audit.
+     *
+     * @param objectMapper L'ObjectMapper de l'application
+     * @param mongoTemplate Le template MongoDB, utilisé pour la destination mongo
+     * @param auditLogStore Le journal segmenté, utilisé pour la destination store
+     * @return La destination configurée
+     */
+    @Bean
+    public AuditSink auditSink(ObjectMapper objectMapper, ObjectProvider<MongoTemplate> mongoTemplate,
+                               ObjectProvider<AuditLogStore> auditLogStore) {
+        // Assertion #1: Vérification de la configuration
+        assert sinkType != null && !sinkType.isBlank() : "La destination d'audit doit être définie";
+
+        final AuditSink sink;
+        switch (sinkType) {
+            case "file":
+                sink = new FileAuditSink(Path.of(directory), objectMapper, fsync);
+                break;
+            case "mongo":
+                sink = new MongoAuditSink(mongoTemplate.getObject());
+                break;
+            case "store":
+                // Le journal est fermé par le conteneur, après la vidange du pipeline
+                sink = auditLogStore.getObject()::append;
+                break;
+            default:
+                throw new IllegalArgumentException("Destination d'audit inconnue: " + sinkType);
+        }
+
+        // Assertion #2: Vérification de la destination
+        assert sink != null : "La destination d'audit ne peut pas être null";
+
+        return sink;
+    }
+}
@@ -0,0 +1,38 @@
+package com.hygie.patientservice.config;
+
+import com.hygie.patientservice.loadshedding.LoadShedder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration de la limitation de concurrence et du délestage des requêtes API.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(LoadSheddingProperties.class)
+public class LoadSheddingConfig {
+
+    /**
+     * Crée les limites par point d'entrée.
+     *
+     * @param properties Les paramètres {@code app.load-shedding}
+     * @param meterRegistry Le registre des métriques
+     * @return Le délesteur
+     */
+    @Bean
+    public LoadShedder loadShedder(LoadSheddingProperties properties, MeterRegistry meterRegistry) {
+        // Assertion #1: Vérification des paramètres
+        assert properties != null : "Les paramètres du délestage ne peuvent pas être null";
+
+        final LoadShedder loadShedder = new LoadShedder(properties, meterRegistry);
+
+        // Assertion #2: Vérification du délesteur
+        assert loadShedder.isEnabled() == properties.isEnabled() : "Le délesteur doit refléter la configuration";
+
+        return loadShedder;
+    }
+}
@@ -0,0 +1,111 @@
+package com.hygie.patientservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Paramètres de la limitation de concurrence et du délestage ({@code app.load-shedding}).
+ *
+ * Les points d'entrée sont désignés par leur méthode et leur motif de
+ * chemin, par exemple {@code "GET /api/patients/eligible-for-bpm"}; les autres
+ * partagent les limites {@code defaults}.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@ConfigurationProperties(prefix = "app.load-shedding")
+public class LoadSheddingProperties {
+
+    private boolean enabled = true;
+    private int retryAfterSeconds = 1;
+    private Limits defaults = new Limits(200, 50, 1000, 0);
+    private Map<String, Limits> endpoints = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Limits getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Limits defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Limits> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Limits> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * Limites d'un point d'entrée.
+     */
+    public static class Limits {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        // Requêtes simultanées par client; 0 pour ne pas limiter
+        private int perClientLimit;
+
+        public Limits() {
+            this(20, 1, 200, 0);
+        }
+
+        public Limits(int initialLimit, int minLimit, int maxLimit, int perClientLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.perClientLimit = perClientLimit;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public int getPerClientLimit() {
+            return perClientLimit;
+        }
+
+        public void setPerClientLimit(int perClientLimit) {
+            this.perClientLimit = perClientLimit;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.hygie.patientservice.config;
 
+import com.hygie.patientservice.tracing.MongoCommandSpanListener;
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
@@ -8,6 +9,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.mapping.event.ValidatingMongoEventListener;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
@@ -22,12 +24,14 @@ import org.springframework.lang.NonNull;
  * Configuration MongoDB pour le Patient Service.
  *
  * Cette classe configure la connexion à MongoDB et les validateurs
- * pour garantir l'intégrité des données persistées.
+ * pour garantir l'intégrité des données persistées. L'audit renseigne la date
+ * de dernière modification des documents qui la déclarent.
  *
  * @author Hygie-AI Team
  * @version 1.0.0
  */
 @Configuration
+@EnableMongoAuditing
 public class MongoConfig extends AbstractMongoClientConfiguration {
 
     @Value("${spring.data.mongodb.uri}")
@@ -36,6 +40,17 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     @Value("${spring.data.mongodb.database}")
     private String databaseName;
 
+    // Délais bornant l'attente d'une requête lorsque la base est indisponible
+    // (élection d'un primaire): les disjoncteurs des dépôts comptent ces échecs
+    @Value("${app.resilience.mongo.server-selection-timeout-ms:2000}")
+    private long serverSelectionTimeoutMs;
+
+    @Value("${app.resilience.mongo.max-wait-time-ms:1000}")
+    private long maxWaitTimeMs;
+
+    @Value("${app.resilience.mongo.read-timeout-ms:10000}")
+    private int readTimeoutMs;
+
     /**
      * Fournit le nom de la base de données.
      *
@@ -67,10 +82,16 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
 
         final MongoClientSettings mongoClientSettings = MongoClientSettings.builder()
             .applyConnectionString(connectionString)
-            .applyToConnectionPoolSettings(builder ->
-                builder.maxConnectionIdleTime(30000, TimeUnit.MILLISECONDS))
-            .applyToSocketSettings(builder ->
-                builder.connectTimeout(2000, TimeUnit.MILLISECONDS))
+            .applyToClusterSettings(builder ->
+                builder.serverSelectionTimeout(serverSelectionTimeoutMs, TimeUnit.MILLISECONDS))
+            .applyToConnectionPoolSettings(builder -> builder
+                .maxConnectionIdleTime(30000, TimeUnit.MILLISECONDS)
+                .maxWaitTime(maxWaitTimeMs, TimeUnit.MILLISECONDS))
+            .applyToSocketSettings(builder -> builder
+                .connectTimeout(2000, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS))
+            // Étapes MongoDB des requêtes tracées (/actuator/slowrequests)
+            .addCommandListener(new MongoCommandSpanListener())
             .build();
 
         // Assertion #2: Vérification des paramètres de connexion
@@ -0,0 +1,60 @@
+package com.hygie.patientservice.config;
+
+import com.hygie.patientservice.resilience.RepositoryResilienceBeanPostProcessor;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Configuration de la résilience des accès à MongoDB.
+ *
+ * Les seuils des disjoncteurs et cloisonnements sont définis dans la section
+ * {@code resilience4j} de la configuration; les délais du pilote MongoDB dans
+ * {@link MongoConfig}.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Configuration
+public class ResilienceConfig {
+
+    /**
+     * Ajoute un disjoncteur et un cloisonnement aux dépôts Spring Data.
+     *
+     * @param circuitBreakerRegistry Le registre des disjoncteurs
+     * @param bulkheadRegistry Le registre des cloisonnements
+     * @param meterRegistry Le registre des métriques
+     * @param mongoConverter Le convertisseur MongoDB
+     * @param staleReadRepositories Les dépôts dont les lectures passent en mode dégradé
+     * @param staleReadMaxEntries Le nombre de résultats conservés par dépôt en mode dégradé
+     * @return Le post-processeur des dépôts
+     */
+    @Bean
+    public static RepositoryResilienceBeanPostProcessor repositoryResilienceBeanPostProcessor(
+            ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry,
+            ObjectProvider<BulkheadRegistry> bulkheadRegistry,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<MongoConverter> mongoConverter,
+            @Value("${app.resilience.stale-reads.repositories:medicationRepository}") String[] staleReadRepositories,
+            @Value("${app.resilience.stale-reads.max-entries:10000}") int staleReadMaxEntries) {
+        // Assertion #1: Vérification de la capacité
+        assert staleReadMaxEntries > 0 : "La capacité du mode dégradé doit être positive";
+
+        final RepositoryResilienceBeanPostProcessor postProcessor = new RepositoryResilienceBeanPostProcessor(
+            circuitBreakerRegistry, bulkheadRegistry, meterRegistry, mongoConverter,
+            Set.copyOf(Arrays.asList(staleReadRepositories)), staleReadMaxEntries);
+
+        // Assertion #2: Vérification du post-processeur
+        assert postProcessor != null : "Le post-processeur ne peut pas être null";
+
+        return postProcessor;
+    }
+}
@@ -1,13 +1,20 @@
 package com.hygie.patientservice.config;
 
 import com.hygie.patientservice.interceptor.AuditInterceptor;
+import com.hygie.patientservice.interceptor.LoadSheddingInterceptor;
+import com.hygie.patientservice.interceptor.RequestTracingInterceptor;
 import com.hygie.patientservice.interceptor.RequestValidationInterceptor;
+import com.hygie.patientservice.tracing.TracingJackson2HttpMessageConverter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Configuration MVC Web pour le Patient Service.
  *
@@ -21,24 +28,36 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final RequestValidationInterceptor requestValidationInterceptor;
+    private final LoadSheddingInterceptor loadSheddingInterceptor;
+    private final RequestTracingInterceptor requestTracingInterceptor;
     private final AuditInterceptor auditInterceptor;
 
     /**
      * Constructeur avec injection des dépendances.
      *
      * @param requestValidationInterceptor L'intercepteur de validation des requêtes
+     * @param loadSheddingInterceptor L'intercepteur de délestage
+     * @param requestTracingInterceptor L'intercepteur de traçage des requêtes
      * @param auditInterceptor L'intercepteur d'audit
      */
     @Autowired
     public WebMvcConfig(RequestValidationInterceptor requestValidationInterceptor,
+                       LoadSheddingInterceptor loadSheddingInterceptor,
+                       RequestTracingInterceptor requestTracingInterceptor,
                        AuditInterceptor auditInterceptor) {
         // Assertion #1: Vérification que les intercepteurs ne sont pas null
         assert requestValidationInterceptor != null :
             "L'intercepteur de validation ne peut pas être null";
+        assert loadSheddingInterceptor != null :
+            "L'intercepteur de délestage ne peut pas être null";
+        assert requestTracingInterceptor != null :
+            "L'intercepteur de traçage ne peut pas être null";
         assert auditInterceptor != null :
             "L'intercepteur d'audit ne peut pas être null";
 
         this.requestValidationInterceptor = requestValidationInterceptor;
+        this.loadSheddingInterceptor = loadSheddingInterceptor;
+        this.requestTracingInterceptor = requestTracingInterceptor;
         this.auditInterceptor = auditInterceptor;
     }
 
@@ -57,11 +76,44 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .addPathPatterns("/api/**")
                 .excludePathPatterns("/api/health");
 
+        // L'audit précède le délestage: une modification refusée (429/503) reste journalisée,
+        // sa tentative par preHandle et son refus par afterCompletion
         registry.addInterceptor(auditInterceptor)
                 .addPathPatterns("/api/**")
                 .excludePathPatterns("/api/health");
 
+        // Le délestage intervient ensuite au plus tôt, pour qu'une requête refusée coûte le moins possible
+        registry.addInterceptor(loadSheddingInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/health");
+
+        // Le traçage suit la validation, qui pose l'ID de corrélation
+        registry.addInterceptor(requestTracingInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/health");
+
         // Assertion #2: Vérification post-ajout
         assert registry != null : "Le registre d'intercepteurs a été modifié sans erreur";
     }
+
+    /**
+     * Remplace le convertisseur JSON par sa variante qui mesure la sérialisation,
+     * avec le même ObjectMapper.
+     *
+     * @param converters Les convertisseurs configurés par Spring Boot
+     */
+    @Override
+    public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
+        // Assertion #1: Vérification de la liste
+        assert converters != null : "La liste des convertisseurs ne peut pas être null";
+
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter
+                    && !(converters.get(i) instanceof TracingJackson2HttpMessageConverter)) {
+                final MappingJackson2HttpMessageConverter jsonConverter =
+                    (MappingJackson2HttpMessageConverter) converters.get(i);
+                converters.set(i, new TracingJackson2HttpMessageConverter(jsonConverter.getObjectMapper()));
+            }
+        }
+    }
 }
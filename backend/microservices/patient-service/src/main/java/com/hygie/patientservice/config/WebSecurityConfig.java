@@ -19,7 +19,13 @@ import java.util.List;
  * Configuration de sécurité Web pour le Patient Service.
  *
  * Cette classe configure la sécurité HTTP, CORS et la gestion des sessions
- * pour les API REST du service patient.
+ * pour les API REST du service patient. Seuls les endpoints actuator de santé,
+ * d'information et d'export Prometheus sont publics: ce dernier est collecté
+ * sans identifiants par Prometheus et ne porte que des agrégats étiquetés par
+ * route. Les autres (métriques détaillées, requêtes lentes) exposent le
+ * fonctionnement interne et sont réservés au rôle administrateur.
+ * La consultation du journal d'audit est réservée aux auditeurs et aux
+ * administrateurs.
  *
  * @author Hygie-AI Team
  * @version 1.0.0
@@ -28,6 +34,12 @@ import java.util.List;
 @EnableWebSecurity
 public class WebSecurityConfig {
 
+    /** Rôle d'exploitation: endpoints actuator autres que santé et information. */
+    public static final String ADMIN_ROLE = "ADMIN";
+
+    /** Rôle de contrôle de conformité: consultation du journal d'audit. */
+    public static final String AUDITOR_ROLE = "AUDITOR";
+
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
 
@@ -59,7 +71,13 @@ public class WebSecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeRequests()
                 // Endpoints publics
-                .antMatchers("/actuator/**", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                .antMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                .antMatchers("/actuator/prometheus").permitAll()
+                .antMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                // Endpoints d'exploitation
+                .antMatchers("/actuator/**").hasRole(ADMIN_ROLE)
+                // Journal d'audit
+                .antMatchers("/api/audit/**").hasAnyRole(AUDITOR_ROLE, ADMIN_ROLE)
                 // Endpoints sécurisés
                 .anyRequest().authenticated();
 
@@ -0,0 +1,103 @@
+package com.hygie.patientservice.controller;
+
+import com.hygie.patientservice.service.CoOccurrenceAnalyticsService;
+import com.hygie.patientservice.service.CoOccurrenceAnalyticsService.CoOccurrence;
+import com.hygie.patientservice.service.CoOccurrenceAnalyticsService.RefreshSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.List;
+
+/**
+ * Contrôleur REST pour les analyses de pharmacovigilance à l'échelle de la population.
+ *
+ * Expose les paires de médicaments les plus co-prescrites parmi les traitements
+ * en cours, éventuellement restreintes aux paires en interaction connue.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@Validated
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    private final CoOccurrenceAnalyticsService coOccurrenceAnalyticsService;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param coOccurrenceAnalyticsService Le service d'analyse des co-prescriptions
+     */
+    @Autowired
+    public AnalyticsController(CoOccurrenceAnalyticsService coOccurrenceAnalyticsService) {
+        // Assertion #1: Vérification que le service n'est pas null
+        assert coOccurrenceAnalyticsService != null : "Le service d'analyse ne peut pas être null";
+
+        this.coOccurrenceAnalyticsService = coOccurrenceAnalyticsService;
+
+        // Assertion #2: Vérification post-initialisation
+        assert this.coOccurrenceAnalyticsService != null : "Échec d'initialisation du service d'analyse";
+    }
+
+    /**
+     * Récupère les paires de médicaments les plus co-prescrites.
+     *
+     * @param limit Le nombre maximal de paires (K)
+     * @param interactingOnly Si true, seules les paires en interaction connue sont retenues
+     * @return Les paires triées par nombre de patients décroissant
+     */
+    @GetMapping("/co-occurrences")
+    public ResponseEntity<List<CoOccurrence>> getTopCoOccurrences(
+            @RequestParam(defaultValue = "20") @Min(1) @Max(1000) int limit,
+            @RequestParam(defaultValue = "true") boolean interactingOnly) {
+        // Assertion #1: Vérification de la limite
+        assert limit > 0 : "La limite doit être positive";
+
+        try {
+            final List<CoOccurrence> coOccurrences =
+                coOccurrenceAnalyticsService.getTopCoOccurrences(limit, interactingOnly);
+
+            // Assertion #2: Vérification du résultat
+            assert coOccurrences.size() <= limit : "Le nombre de paires retournées dépasse la limite";
+
+            logger.info("Récupération des {} paires les plus co-prescrites", coOccurrences.size());
+            return ResponseEntity.ok(coOccurrences);
+        } catch (Exception e) {
+            logger.error("Erreur lors de l'analyse des co-prescriptions", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Déclenche un rafraîchissement incrémental des compteurs de co-prescription.
+     *
+     * @return Le bilan du rafraîchissement
+     */
+    @PostMapping("/co-occurrences/refresh")
+    public ResponseEntity<RefreshSummary> refreshCoOccurrences() {
+        // Assertion #1: Vérification de l'état du service
+        assert coOccurrenceAnalyticsService != null : "Le service d'analyse n'est pas initialisé";
+
+        try {
+            final RefreshSummary summary = coOccurrenceAnalyticsService.refresh();
+
+            // Assertion #2: Vérification du bilan
+            assert summary != null : "Le bilan du rafraîchissement ne peut pas être null";
+
+            return ResponseEntity.ok(summary);
+        } catch (Exception e) {
+            logger.error("Erreur lors du rafraîchissement des co-prescriptions", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
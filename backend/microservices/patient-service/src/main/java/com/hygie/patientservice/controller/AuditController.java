@@ -0,0 +1,128 @@
+package com.hygie.patientservice.controller;
+
+import com.hygie.patientservice.audit.AuditLogStore;
+import com.hygie.patientservice.audit.AuditLogStore.VerificationReport;
+import com.hygie.patientservice.audit.AuditQuery;
+import com.hygie.patientservice.audit.AuditRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Contrôleur REST de consultation du journal d'audit.
+ *
+ * Répond aux questions de conformité (HDS, RGPD) du type « qui a accédé au
+ * patient X entre deux dates » et permet de vérifier l'intégrité de la chaîne
+ * d'empreintes. Disponible lorsque {@code app.audit.sink} vaut {@code store}.
+ *
+ * Réservé aux rôles auditeur et administrateur ({@link com.hygie.patientservice.config.WebSecurityConfig});
+ * chaque recherche est elle-même journalisée par
+ * {@link com.hygie.patientservice.interceptor.AuditInterceptor}.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/audit")
+@Validated
+public class AuditController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditController.class);
+
+    private final AuditLogStore auditLogStore;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param auditLogStore Le journal d'audit, s'il est configuré
+     */
+    @Autowired
+    public AuditController(ObjectProvider<AuditLogStore> auditLogStore) {
+        // Assertion #1: Vérification du fournisseur
+        assert auditLogStore != null : "Le fournisseur du journal d'audit ne peut pas être null";
+
+        this.auditLogStore = auditLogStore.getIfAvailable();
+    }
+
+    /**
+     * Recherche des événements d'audit.
+     *
+     * @param username L'utilisateur (facultatif)
+     * @param patientId Le patient concerné (facultatif)
+     * @param path Le préfixe du modèle de chemin de la route, {@code /api/patients/{id}} par exemple (facultatif)
+     * @param from Le début de la période, inclus, au format ISO-8601 (facultatif)
+     * @param to La fin de la période, exclue, au format ISO-8601 (facultatif)
+     * @param limit Le nombre maximal d'événements
+     * @return Les événements par ordre chronologique d'écriture
+     */
+    @GetMapping("/events")
+    public ResponseEntity<List<AuditRecord>> searchEvents(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String patientId,
+            @RequestParam(required = false) String path,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(10000) int limit) {
+        // Assertion #1: Vérification de la limite
+        assert limit > 0 : "La limite doit être positive";
+
+        if (auditLogStore == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            final List<AuditRecord> records =
+                auditLogStore.query(new AuditQuery(username, patientId, path, from, to, limit));
+
+            // Assertion #2: Vérification du résultat
+            assert records.size() <= limit : "Le nombre d'événements retournés dépasse la limite";
+
+            logger.info("Recherche d'audit: {} événements (utilisateur [{}], patient [{}], chemin [{}])",
+                records.size(), username, patientId, path);
+            return ResponseEntity.ok(records);
+        } catch (Exception e) {
+            logger.error("Erreur lors de la recherche dans le journal d'audit", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Vérifie la chaîne d'empreintes du journal d'audit.
+     *
+     * @return Le bilan de la vérification
+     */
+    @GetMapping("/verify")
+    public ResponseEntity<VerificationReport> verify() {
+        if (auditLogStore == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        try {
+            final VerificationReport report = auditLogStore.verify();
+
+            // Assertion #1: Vérification du bilan
+            assert report != null : "Le bilan de vérification ne peut pas être null";
+
+            if (!report.isValid()) {
+                logger.error("Journal d'audit altéré à partir de la séquence {}", report.getFirstInvalidSequence());
+            }
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            logger.error("Erreur lors de la vérification du journal d'audit", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
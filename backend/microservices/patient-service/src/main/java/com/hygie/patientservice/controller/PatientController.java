@@ -2,6 +2,8 @@ package com.hygie.patientservice.controller;
 
 import com.hygie.patientservice.model.Patient;
 import com.hygie.patientservice.model.MedicalHistory;
+import com.hygie.patientservice.service.ContraindicationService;
+import com.hygie.patientservice.service.ContraindicationService.ContraindicationAlert;
 import com.hygie.patientservice.service.PatientService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,18 +36,23 @@ public class PatientController {
     private static final Logger logger = LoggerFactory.getLogger(PatientController.class);
 
     private final PatientService patientService;
+    private final ContraindicationService contraindicationService;
 
     /**
      * Constructeur avec injection des dépendances.
      *
      * @param patientService Le service de gestion des patients
+     * @param contraindicationService Le service de détection des contre-indications
      */
     @Autowired
-    public PatientController(PatientService patientService) {
-        // Assertion #1: Vérification que le service n'est pas null
+    public PatientController(PatientService patientService,
+                             ContraindicationService contraindicationService) {
+        // Assertion #1: Vérification que les services ne sont pas null
         assert patientService != null : "Le service de patients ne peut pas être null";
+        assert contraindicationService != null : "Le service de contre-indications ne peut pas être null";
 
         this.patientService = patientService;
+        this.contraindicationService = contraindicationService;
 
         // Assertion #2: Vérification post-initialisation
         assert this.patientService != null : "Échec d'initialisation du service de patients";
@@ -307,6 +314,39 @@ public class PatientController {
         }
     }
 
+    /**
+     * Vérifie les contre-indications des médicaments actuels d'un patient
+     * au regard de ses conditions actives et de ses allergies.
+     *
+     * @param id L'ID du patient
+     * @return La liste des contre-indications détectées, ou 404 si le patient n'existe pas
+     */
+    @GetMapping("/{id}/contraindications")
+    public ResponseEntity<List<ContraindicationAlert>> getPatientContraindications(
+            @PathVariable @NotBlank(message = "L'ID ne peut pas être vide") String id) {
+        // Assertion #1: Vérification que l'ID n'est pas null ou vide
+        assert id != null && !id.isBlank() : "L'ID du patient ne peut pas être null ou vide";
+
+        try {
+            final Optional<List<ContraindicationAlert>> alerts =
+                    contraindicationService.checkPatientContraindications(id);
+
+            if (alerts.isEmpty()) {
+                logger.warn("Patient non trouvé pour vérification des contre-indications, ID: {}", id);
+                return ResponseEntity.notFound().build();
+            }
+
+            // Assertion #2: Vérification du résultat
+            assert alerts.get() != null : "La liste des contre-indications ne peut pas être null";
+
+            logger.info("Détection de {} contre-indications pour le patient ID: {}", alerts.get().size(), id);
+            return ResponseEntity.ok(alerts.get());
+        } catch (Exception e) {
+            logger.error("Erreur lors de la vérification des contre-indications du patient avec ID: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Récupère les patients ayant des conditions médicales spécifiques.
      *
@@ -3,6 +3,9 @@ package com.hygie.patientservice.controller;
 import com.hygie.patientservice.model.Prescription;
 import com.hygie.patientservice.model.Prescription.PrescriptionStatus;
 import com.hygie.patientservice.model.PrescriptionItem;
+import com.hygie.patientservice.service.InteractionScreeningService;
+import com.hygie.patientservice.service.InteractionScreeningService.InteractionScreening;
+import com.hygie.patientservice.service.InteractionScreeningService.ScreenedPrescription;
 import com.hygie.patientservice.service.PrescriptionService;
 import com.hygie.patientservice.service.PrescriptionService.PrescriptionItemPair;
 import org.slf4j.Logger;
@@ -39,18 +42,23 @@ public class PrescriptionController {
     private static final Logger logger = LoggerFactory.getLogger(PrescriptionController.class);
 
     private final PrescriptionService prescriptionService;
+    private final InteractionScreeningService interactionScreeningService;
 
     /**
      * Constructeur avec injection des dépendances.
      *
      * @param prescriptionService Le service de gestion des prescriptions
+     * @param interactionScreeningService Le service de dépistage des interactions à la prescription
      */
     @Autowired
-    public PrescriptionController(PrescriptionService prescriptionService) {
-        // Assertion #1: Vérification que le service n'est pas null
+    public PrescriptionController(PrescriptionService prescriptionService,
+                                  InteractionScreeningService interactionScreeningService) {
+        // Assertion #1: Vérification que les services ne sont pas null
         assert prescriptionService != null : "Le service de prescriptions ne peut pas être null";
+        assert interactionScreeningService != null : "Le service de dépistage ne peut pas être null";
 
         this.prescriptionService = prescriptionService;
+        this.interactionScreeningService = interactionScreeningService;
 
         // Assertion #2: Vérification post-initialisation
         assert this.prescriptionService != null : "Échec d'initialisation du service de prescriptions";
@@ -168,6 +176,66 @@ public class PrescriptionController {
         }
     }
 
+    /**
+     * Crée une prescription et dépiste ses interactions avec le traitement en cours
+     * dans le budget de latence configuré. Au-delà du budget, le dépistage est marqué
+     * PENDING et son résultat est consultable via GET /{id}/screening. Un dépistage
+     * en échec est rendu avec le statut FAILED: la prescription est enregistrée
+     * mais ses interactions n'ont pas été vérifiées.
+     *
+     * @param prescription La prescription à créer
+     * @return La prescription créée accompagnée du résultat du dépistage
+     */
+    @PostMapping(params = "screening=inline")
+    public ResponseEntity<ScreenedPrescription> createPrescriptionWithScreening(
+            @Valid @RequestBody Prescription prescription) {
+        // Assertion #1: Vérification que la prescription n'est pas null
+        assert prescription != null : "La prescription à créer ne peut pas être null";
+
+        try {
+            final Prescription savedPrescription = prescriptionService.savePrescription(prescription);
+            final String patientId = savedPrescription.getPatientId();
+            final InteractionScreening screening = interactionScreeningService.screen(savedPrescription,
+                    () -> prescriptionService.getCurrentMedications(patientId));
+
+            // Assertion #2: Vérification du résultat du dépistage
+            assert screening != null : "Le résultat du dépistage ne peut pas être null";
+
+            logger.info("Prescription créée avec l'ID: {} (dépistage {}, {} interaction(s))",
+                       savedPrescription.getId(), screening.getStatus(), screening.getInteractions().size());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ScreenedPrescription(savedPrescription, screening));
+        } catch (Exception e) {
+            logger.error("Erreur lors de la création de la prescription avec dépistage", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Récupère le résultat du dépistage des interactions d'une prescription.
+     *
+     * @param id L'ID de la prescription
+     * @return Le résultat du dépistage, ou 404 si aucun dépistage n'est connu
+     */
+    @GetMapping("/{id}/screening")
+    public ResponseEntity<InteractionScreening> getPrescriptionScreening(
+            @PathVariable @NotBlank(message = "L'ID ne peut pas être vide") String id) {
+        // Assertion #1: Vérification que l'ID n'est pas null ou vide
+        assert id != null && !id.isBlank() : "L'ID de la prescription ne peut pas être null ou vide";
+
+        final Optional<InteractionScreening> screening = interactionScreeningService.getScreening(id);
+
+        // Assertion #2: Vérification de la cohérence du résultat
+        assert screening != null : "Le résultat de la recherche ne peut pas être null";
+
+        if (screening.isPresent()) {
+            return ResponseEntity.ok(screening.get());
+        } else {
+            logger.warn("Aucun dépistage connu pour la prescription ID: {}", id);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Met à jour le statut d'une prescription.
      *
@@ -0,0 +1,38 @@
+package com.hygie.patientservice.correlation;
+
+import org.slf4j.MDC;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+
+/**
+ * Transmet l'identifiant de corrélation de la requête courante aux services
+ * appelés via le {@code RestTemplate}.
+ *
+ * L'identifiant est lu dans le MDC; un en-tête déjà positionné par l'appelant
+ * est conservé.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class CorrelationIdPropagationInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    @NonNull
+    public ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body,
+                                        @NonNull ClientHttpRequestExecution execution) throws IOException {
+        // Assertion #1: Vérification des paramètres
+        assert request != null && execution != null : "La requête et l'exécution ne peuvent pas être null";
+
+        final String correlationId = MDC.get(CorrelationIds.MDC_KEY);
+        if (correlationId != null && !request.getHeaders().containsKey(CorrelationIds.HEADER)) {
+            request.getHeaders().set(CorrelationIds.HEADER, correlationId);
+        }
+
+        return execution.execute(request, body);
+    }
+}
@@ -1,7 +1,10 @@
 package com.hygie.patientservice.exception;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -29,6 +32,9 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    // Délai suggéré avant une nouvelle tentative lorsqu'un disjoncteur est ouvert
+    private static final int RETRY_AFTER_SECONDS = 5;
+
     /**
      * Gère les exceptions liées aux patients non trouvés.
      *
@@ -196,6 +202,38 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(validationErrorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Gère les appels refusés par un disjoncteur ouvert ou un cloisonnement
+     * saturé, lorsque aucun résultat de repli n'est disponible.
+     *
+     * @param ex L'exception levée
+     * @param request La requête web
+     * @return Une réponse d'erreur 503 invitant le client à réessayer
+     */
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<ErrorResponse> handleResilienceRejection(
+            RuntimeException ex, WebRequest request) {
+        // Assertion #1: Vérification que l'exception n'est pas null
+        assert ex != null : "L'exception ne peut pas être null";
+
+        // Log de l'erreur
+        logger.warn("Appel refusé par la résilience: {}", ex.getMessage());
+
+        final ErrorResponse errorResponse = createErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Le service est temporairement indisponible. Veuillez réessayer.",
+                request.getDescription(false));
+
+        // Assertion #2: Vérification de la réponse
+        assert errorResponse != null : "La réponse d'erreur ne peut pas être null";
+        assert errorResponse.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value() :
+            "Le statut HTTP de la réponse d'erreur est incorrect";
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+                .body(errorResponse);
+    }
+
     /**
      * Gère les exceptions liées aux services Hygie.
      *
@@ -1,21 +1,29 @@
 package com.hygie.patientservice.interceptor;
 
+import com.hygie.patientservice.audit.AuditEvent;
+import com.hygie.patientservice.audit.AuditPipeline;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.ModelAndView;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -23,6 +31,13 @@ import java.util.Set;
  *
  * Cet intercepteur journalise les accès aux données sensibles pour assurer
  * la traçabilité et la conformité avec les réglementations comme le RGPD.
+ * Les lectures sont journalisées comme les modifications: « qui a consulté le
+ * dossier du patient X » doit trouver réponse dans le journal. Les recherches
+ * dans le journal d'audit sont elles-mêmes auditées.
+ *
+ * Les événements sont confiés à {@link AuditPipeline}, qui les écrit par lots
+ * hors du thread de la requête. Sans pipeline dans le contexte (tests de
+ * tranche web), ils sont journalisés de manière synchrone.
  *
  * @author Hygie-AI Team
  * @version 1.0.0
@@ -30,22 +45,43 @@ import java.util.Set;
 @Component
 public class AuditInterceptor implements HandlerInterceptor {
 
-    private static final Logger logger = LoggerFactory.getLogger(AuditInterceptor.class);
     private static final Logger auditLogger = LoggerFactory.getLogger("audit");
 
     // Chemins sensibles nécessitant un audit détaillé
     private static final Set<String> SENSITIVE_PATHS = new HashSet<>(Arrays.asList(
         "/api/patients",
         "/api/prescriptions",
-        "/api/medications"
+        "/api/medications",
+        "/api/audit"
     ));
 
     // Méthodes HTTP nécessitant un audit détaillé
     private static final Set<String> AUDITED_METHODS = new HashSet<>(Arrays.asList(
+        "GET", "POST", "PUT", "DELETE", "PATCH"
+    ));
+
+    // Méthodes dont la tentative est journalisée avant le traitement
+    private static final Set<String> MUTATING_METHODS = new HashSet<>(Arrays.asList(
         "POST", "PUT", "DELETE", "PATCH"
     ));
 
+    private static final String USERNAME_ATTRIBUTE = AuditInterceptor.class.getName() + ".username";
+
     private final ThreadLocal<LocalDateTime> requestStartTime = new ThreadLocal<>();
+    private final AuditPipeline auditPipeline;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param auditPipeline Le pipeline d'audit, s'il est disponible
+     */
+    @Autowired
+    public AuditInterceptor(ObjectProvider<AuditPipeline> auditPipeline) {
+        // Assertion #1: Vérification du fournisseur
+        assert auditPipeline != null : "Le fournisseur du pipeline d'audit ne peut pas être null";
+
+        this.auditPipeline = auditPipeline.getIfAvailable();
+    }
 
     /**
      * Méthode exécutée avant le traitement de la requête par le contrôleur.
@@ -68,17 +104,9 @@ public class AuditInterceptor implements HandlerInterceptor {
         // Enregistrer le temps de début
         requestStartTime.set(LocalDateTime.now());
 
-        // Journaliser l'accès si c'est une ressource sensible
-        if (isSensitivePath(request.getRequestURI()) && isAuditedMethod(request.getMethod())) {
-            final String username = getCurrentUsername();
-
-            auditLogger.info(
-                "AUDIT_ACCESS_ATTEMPT: Utilisateur [{}] tente d'accéder à [{}] via [{}] depuis [{}]",
-                username,
-                request.getRequestURI(),
-                request.getMethod(),
-                request.getRemoteAddr()
-            );
+        // Journaliser la tentative de modification d'une ressource sensible
+        if (isSensitivePath(request.getRequestURI()) && MUTATING_METHODS.contains(request.getMethod().toUpperCase())) {
+            publish(event(AuditEvent.Type.ACCESS_ATTEMPT, request, null, null, null));
         }
 
         // Assertion #2: Vérification post-traitement
@@ -109,17 +137,10 @@ public class AuditInterceptor implements HandlerInterceptor {
 
         // Journaliser l'accès réussi si c'est une ressource sensible
         if (isSensitivePath(request.getRequestURI()) && isAuditedMethod(request.getMethod())) {
-            final String username = getCurrentUsername();
             final int status = response.getStatus();
 
             if (status >= 200 && status < 300) {
-                auditLogger.info(
-                    "AUDIT_ACCESS_SUCCESS: Utilisateur [{}] a accédé à [{}] via [{}], statut [{}]",
-                    username,
-                    request.getRequestURI(),
-                    request.getMethod(),
-                    status
-                );
+                publish(event(AuditEvent.Type.ACCESS_SUCCESS, request, status, null, null));
             }
         }
 
@@ -155,23 +176,8 @@ public class AuditInterceptor implements HandlerInterceptor {
 
                 // Journaliser l'erreur éventuelle
                 if (ex != null || response.getStatus() >= 400) {
-                    final String username = getCurrentUsername();
-
-                    auditLogger.warn(
-                        "AUDIT_ACCESS_FAILURE: Utilisateur [{}] a eu une erreur en accédant à [{}] via [{}], statut [{}], durée [{}ms], erreur: [{}]",
-                        username,
-                        request.getRequestURI(),
-                        request.getMethod(),
-                        response.getStatus(),
-                        durationMs,
-                        ex != null ? ex.getMessage() : "Aucune exception"
-                    );
-                }
-
-                // Journaliser les détails de performance si nécessaire
-                if (durationMs > 1000) { // Plus d'une seconde
-                    logger.warn("Requête lente: {} {} a pris {}ms",
-                            request.getMethod(), request.getRequestURI(), durationMs);
+                    publish(event(AuditEvent.Type.ACCESS_FAILURE, request, response.getStatus(), durationMs,
+                        ex != null ? ex.getMessage() : null));
                 }
             }
         } finally {
@@ -226,6 +232,67 @@ public class AuditInterceptor implements HandlerInterceptor {
         return result;
     }
 
+    /**
+     * Construit un événement d'audit à partir de la requête.
+     *
+     * @param type Le type d'événement
+     * @param request La requête HTTP
+     * @param status Le statut de la réponse, s'il est connu
+     * @param durationMs La durée de la requête, si elle est connue
+     * @param error Le message d'erreur éventuel
+     * @return L'événement d'audit
+     */
+    private AuditEvent event(AuditEvent.Type type, HttpServletRequest request,
+                             Integer status, Long durationMs, String error) {
+        // Le nom d'utilisateur n'est lu qu'une fois par requête
+        Object username = request.getAttribute(USERNAME_ATTRIBUTE);
+        if (username == null) {
+            username = getCurrentUsername();
+            request.setAttribute(USERNAME_ATTRIBUTE, username);
+        }
+        final Object correlationId = request.getAttribute(RequestValidationInterceptor.REQUEST_ID_ATTRIBUTE);
+
+        final Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        return new AuditEvent(type, Instant.now(), username.toString(), request.getMethod(),
+            request.getRequestURI(), route != null ? route.toString() : null, getPatientId(request),
+            request.getRemoteAddr(),
+            correlationId != null ? correlationId.toString() : null, status, durationMs, error);
+    }
+
+    /**
+     * Extrait l'identifiant du patient des variables du chemin de la requête,
+     * ou à défaut du paramètre {@code patientId} (recherches, journal d'audit).
+     *
+     * @param request La requête HTTP
+     * @return L'identifiant du patient, ou null s'il n'apparaît pas dans la requête
+     */
+    private String getPatientId(HttpServletRequest request) {
+        final Object attribute = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (!(attribute instanceof Map)) {
+            return request.getParameter("patientId");
+        }
+        final Map<?, ?> variables = (Map<?, ?>) attribute;
+
+        final Object patientId = variables.get("patientId");
+        if (patientId != null) {
+            return patientId.toString();
+        }
+        // Sous /api/patients, la variable {id} désigne le patient
+        if (request.getRequestURI().contains("/api/patients/")) {
+            return Objects.toString(variables.get("id"), null);
+        }
+        return request.getParameter("patientId");
+    }
+
+    private void publish(AuditEvent event) {
+        if (auditPipeline != null) {
+            auditPipeline.publish(event);
+        } else {
+            auditLogger.info("{}", event);
+        }
+    }
+
     /**
      * Récupère le nom d'utilisateur courant depuis le contexte de sécurité.
      *
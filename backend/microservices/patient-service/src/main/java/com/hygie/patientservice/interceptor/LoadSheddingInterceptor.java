@@ -0,0 +1,126 @@
+package com.hygie.patientservice.interceptor;
+
+import com.hygie.patientservice.loadshedding.LoadShedder;
+import com.hygie.patientservice.loadshedding.LoadShedder.Permit;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Intercepteur de délestage des requêtes API.
+ *
+ * Chaque requête demande une place à {@link LoadShedder} pour son point
+ * d'entrée (méthode et motif du chemin) et son client (utilisateur authentifié,
+ * à défaut adresse distante). Une requête refusée reçoit 503 si le point
+ * d'entrée est saturé, 429 si le client a atteint sa limite, avec un en-tête
+ * {@code Retry-After}.
+ *
+ * Sans délesteur dans le contexte (tests de tranche web), toutes les requêtes
+ * sont admises.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Component
+public class LoadSheddingInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadSheddingInterceptor.class);
+
+    private static final String PERMIT_ATTRIBUTE = LoadSheddingInterceptor.class.getName() + ".permit";
+
+    private final LoadShedder loadShedder;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param loadShedder Le délesteur, s'il est disponible
+     */
+    @Autowired
+    public LoadSheddingInterceptor(ObjectProvider<LoadShedder> loadShedder) {
+        // Assertion #1: Vérification du fournisseur
+        assert loadShedder != null : "Le fournisseur du délesteur ne peut pas être null";
+
+        this.loadShedder = loadShedder.getIfAvailable();
+    }
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        // Assertion #1: Vérification des paramètres
+        assert request != null : "La requête ne peut pas être null";
+        assert response != null : "La réponse ne peut pas être null";
+
+        if (loadShedder == null || !loadShedder.isEnabled()) {
+            return true;
+        }
+
+        final Permit permit = loadShedder.tryAcquire(endpoint(request), client(request));
+        if (!permit.isGranted()) {
+            final HttpStatus status = permit.getRejection() == LoadShedder.Rejection.CLIENT_LIMIT
+                ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+            logger.warn("Requête délestée ({}): {} {}", status.value(), request.getMethod(), request.getRequestURI());
+            response.setStatus(status.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(loadShedder.getRetryAfterSeconds()));
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+
+        // Assertion #2: Vérification de la place
+        assert request.getAttribute(PERMIT_ATTRIBUTE) != null : "La place accordée doit être attachée à la requête";
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler,
+            @Nullable Exception ex) {
+        // Assertion #1: Vérification des paramètres
+        assert response != null : "La réponse ne peut pas être null";
+
+        final Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            ((Permit) permit).release(ex == null && response.getStatus() < 500);
+        }
+    }
+
+    /**
+     * @param request La requête HTTP
+     * @return Le point d'entrée, sous la forme {@code "MÉTHODE /motif"}
+     */
+    private static String endpoint(HttpServletRequest request) {
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    /**
+     * @param request La requête HTTP
+     * @return L'utilisateur authentifié, ou à défaut l'adresse distante
+     */
+    private static String client(HttpServletRequest request) {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return request.getRemoteAddr();
+    }
+}
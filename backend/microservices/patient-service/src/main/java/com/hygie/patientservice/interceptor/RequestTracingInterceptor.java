@@ -0,0 +1,98 @@
+package com.hygie.patientservice.interceptor;
+
+import com.hygie.patientservice.tracing.RequestTrace;
+import com.hygie.patientservice.tracing.RequestTracer;
+import com.hygie.patientservice.tracing.SlowRequestRecorder;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Intercepteur qui trace chaque requête API, corrélée par l'ID posé par
+ * {@link RequestValidationInterceptor}, et transmet les requêtes lentes à
+ * {@link SlowRequestRecorder}.
+ *
+ * La trace retient le modèle de chemin de la route ({@code /api/patients/{id}})
+ * et non l'URI reçue, pour ne pas exposer d'identifiants de patient dans
+ * {@code /actuator/slowrequests} ni dans les journaux.
+ *
+ * Sans enregistreur dans le contexte (tests de tranche web), aucune trace n'est
+ * démarrée.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Component
+public class RequestTracingInterceptor implements HandlerInterceptor {
+
+    static final String UNMATCHED_ROUTE = "<unmatched>";
+
+    private final SlowRequestRecorder slowRequestRecorder;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param slowRequestRecorder L'enregistreur des requêtes lentes, s'il est disponible
+     */
+    @Autowired
+    public RequestTracingInterceptor(ObjectProvider<SlowRequestRecorder> slowRequestRecorder) {
+        // Assertion #1: Vérification du fournisseur
+        assert slowRequestRecorder != null : "Le fournisseur de l'enregistreur ne peut pas être null";
+
+        this.slowRequestRecorder = slowRequestRecorder.getIfAvailable();
+    }
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        // Assertion #1: Vérification des paramètres
+        assert request != null : "La requête ne peut pas être null";
+
+        if (slowRequestRecorder != null && slowRequestRecorder.isEnabled()) {
+            // Une trace orpheline (requête précédente interrompue) est abandonnée
+            RequestTracer.end();
+            final Object correlationId = request.getAttribute(RequestValidationInterceptor.REQUEST_ID_ATTRIBUTE);
+            RequestTracer.begin(correlationId != null ? correlationId.toString() : null,
+                request.getMethod(), route(request), slowRequestRecorder.getMaxSpans());
+        }
+
+        return true;
+    }
+
+    /**
+     * Modèle de chemin de la route traitant la requête.
+     *
+     * @param request La requête
+     * @return Le modèle de chemin, ou un libellé fixe si aucun contrôleur ne correspond
+     */
+    static String route(HttpServletRequest request) {
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNMATCHED_ROUTE;
+    }
+
+    @Override
+    public void afterCompletion(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler,
+            @Nullable Exception ex) {
+        // Assertion #1: Vérification des paramètres
+        assert response != null : "La réponse ne peut pas être null";
+
+        final RequestTrace trace = RequestTracer.end();
+        if (trace != null && slowRequestRecorder != null) {
+            slowRequestRecorder.offer(trace, response.getStatus());
+        }
+
+        // Assertion #2: Vérification du nettoyage
+        assert !RequestTracer.isActive() : "La trace doit être détachée du thread après la requête";
+    }
+}
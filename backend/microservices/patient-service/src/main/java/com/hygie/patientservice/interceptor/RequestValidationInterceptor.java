@@ -1,16 +1,17 @@
 package com.hygie.patientservice.interceptor;
 
+import com.hygie.patientservice.correlation.CorrelationIds;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import java.util.UUID;
-
 /**
  * Intercepteur pour la validation des requêtes entrantes.
  *
@@ -18,6 +19,10 @@ import java.util.UUID;
  * applique des limites de taille pour les requêtes et génère un ID de corrélation
  * unique pour le suivi des requêtes à travers le système.
  *
+ * L'ID de corrélation est placé dans le MDC pendant le traitement de la
+ * requête, pour figurer dans les journaux et être transmis aux services
+ * appelés (voir {@link CorrelationIds}).
+ *
  * @author Hygie-AI Team
  * @version 1.0.0
  */
@@ -26,8 +31,7 @@ public class RequestValidationInterceptor implements HandlerInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(RequestValidationInterceptor.class);
 
-    private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
-    private static final String REQUEST_ID_ATTRIBUTE = "requestId";
+    static final String REQUEST_ID_ATTRIBUTE = "requestId";
     private static final long MAX_CONTENT_LENGTH = 10 * 1024 * 1024; // 10 MB
 
     /**
@@ -51,7 +55,8 @@ public class RequestValidationInterceptor implements HandlerInterceptor {
         // Générer ou récupérer l'ID de corrélation
         final String correlationId = extractOrGenerateCorrelationId(request);
         request.setAttribute(REQUEST_ID_ATTRIBUTE, correlationId);
-        response.setHeader(CORRELATION_ID_HEADER, correlationId);
+        response.setHeader(CorrelationIds.HEADER, correlationId);
+        MDC.put(CorrelationIds.MDC_KEY, correlationId);
 
         logger.debug("Requête reçue: {} {} (CorrelationID: {})",
                 request.getMethod(), request.getRequestURI(), correlationId);
@@ -65,11 +70,13 @@ public class RequestValidationInterceptor implements HandlerInterceptor {
                     logger.warn("Contenu trop volumineux: {} octets (max: {} octets)",
                             contentLength, MAX_CONTENT_LENGTH);
                     response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                    MDC.remove(CorrelationIds.MDC_KEY);
                     return false;
                 }
             } catch (NumberFormatException e) {
                 logger.warn("En-tête Content-Length invalide: {}", contentLengthHeader);
                 response.setStatus(HttpStatus.BAD_REQUEST.value());
+                MDC.remove(CorrelationIds.MDC_KEY);
                 return false;
             }
         }
@@ -81,6 +88,27 @@ public class RequestValidationInterceptor implements HandlerInterceptor {
         return true;
     }
 
+    /**
+     * Méthode exécutée après la complétion de la requête.
+     * Retire l'ID de corrélation du MDC du thread.
+     *
+     * @param request La requête HTTP
+     * @param response La réponse HTTP
+     * @param handler Le handler qui a traité la requête
+     * @param ex Exception éventuelle levée durant le traitement
+     */
+    @Override
+    public void afterCompletion(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler,
+            @Nullable Exception ex) {
+        MDC.remove(CorrelationIds.MDC_KEY);
+
+        // Assertion #1: Vérification post-nettoyage
+        assert MDC.get(CorrelationIds.MDC_KEY) == null : "L'ID de corrélation doit être retiré du MDC";
+    }
+
     /**
      * Extrait l'ID de corrélation de la requête ou en génère un nouveau si absent.
      *
@@ -91,20 +119,18 @@ public class RequestValidationInterceptor implements HandlerInterceptor {
         // Assertion #1: Vérification du paramètre
         assert request != null : "La requête ne peut pas être null";
 
-        final String correlationId = request.getHeader(CORRELATION_ID_HEADER);
+        final String correlationId = request.getHeader(CorrelationIds.HEADER);
 
-        if (correlationId != null && !correlationId.trim().isEmpty()) {
-            // Vérifier la validité du format UUID
-            try {
-                UUID.fromString(correlationId);
+        if (correlationId != null && !correlationId.isEmpty()) {
+            // Vérifier la validité du format UUID, sans allocation ni exception
+            if (CorrelationIds.isValid(correlationId)) {
                 return correlationId;
-            } catch (IllegalArgumentException e) {
-                logger.warn("Format d'ID de corrélation invalide: {}", correlationId);
             }
+            logger.warn("Format d'ID de corrélation invalide: {}", correlationId);
         }
 
-        // Générer un nouvel ID de corrélation
-        final String newCorrelationId = UUID.randomUUID().toString();
+        // Générer un nouvel ID de corrélation, ordonné dans le temps
+        final String newCorrelationId = CorrelationIds.newId();
 
         // Assertion #2: Vérification du résultat
         assert newCorrelationId != null && !newCorrelationId.isEmpty() :
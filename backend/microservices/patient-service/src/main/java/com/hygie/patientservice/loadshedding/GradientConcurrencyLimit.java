@@ -0,0 +1,108 @@
+package com.hygie.patientservice.loadshedding;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite adaptative du nombre de requêtes simultanées, par gradient de latence.
+ *
+ * La latence de référence est une moyenne mobile longue des temps de réponse;
+ * chaque requête terminée compare son temps à cette référence. Tant que la
+ * latence reste dans la tolérance, la limite croît d'environ sa racine carrée
+ * (marge de file d'attente); lorsqu'elle s'en écarte, la limite est réduite
+ * dans le rapport des deux latences (au plus de moitié). Les variations sont
+ * lissées et bornées par [min, max]; la référence, moyennée sur quelque 600
+ * requêtes, finit par adopter une latence durablement plus élevée. La limite
+ * ne croît pas lorsque le point d'entrée est loin d'être saturé: rien
+ * n'indique alors qu'il supporterait davantage.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+final class GradientConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double LONG_WINDOW_ALPHA = 2.0 / (600 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile int limit;
+
+    // Protégés par le moniteur de l'instance
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        // Assertion #1: Vérification des bornes
+        assert minLimit > 0 && minLimit <= initialLimit && initialLimit <= maxLimit :
+            "Les limites doivent vérifier 0 < min <= initiale <= max";
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Réserve une place si la limite n'est pas atteinte.
+     *
+     * @return true si la requête peut être traitée
+     */
+    boolean tryAcquire() {
+        while (true) {
+            final int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libère une place et, si la requête a abouti, ajuste la limite.
+     *
+     * @param rttNanos Le temps de traitement de la requête
+     * @param sample false si le temps ne doit pas être pris en compte (erreur serveur)
+     */
+    void release(long rttNanos, boolean sample) {
+        final int inflightAtCompletion = inflight.getAndDecrement();
+
+        // Assertion #1: Vérification de l'équilibre des réservations
+        assert inflightAtCompletion > 0 : "Libération sans réservation";
+
+        if (sample && rttNanos > 0) {
+            onSample(rttNanos, inflightAtCompletion);
+        }
+    }
+
+    private synchronized void onSample(long rttNanos, int inflightAtCompletion) {
+        longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) * LONG_WINDOW_ALPHA;
+        if (longRttNanos / rttNanos > 2) {
+            // La charge est retombée: la référence rattrape les temps actuels
+            longRttNanos *= 0.95;
+        }
+        if (inflightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+
+        final double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+        final double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+            estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+        limit = (int) estimatedLimit;
+
+        // Assertion #2: Vérification des bornes
+        assert limit >= minLimit && limit <= maxLimit : "La limite doit rester dans ses bornes";
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,199 @@
+package com.hygie.patientservice.loadshedding;
+
+import com.hygie.patientservice.config.LoadSheddingProperties;
+import com.hygie.patientservice.config.LoadSheddingProperties.Limits;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limitation de concurrence et délestage par point d'entrée et par client.
+ *
+ * Chaque point d'entrée configuré dispose de sa propre limite adaptative
+ * ({@link GradientConcurrencyLimit}); les autres partagent une limite commune.
+ * Les requêtes coûteuses ne peuvent donc pas occuper les places des
+ * consultations simples. Une limite fixe par client, facultative, empêche un
+ * client d'occuper à lui seul toutes les places d'un point d'entrée.
+ *
+ * Métriques, étiquetées par point d'entrée: {@code hygie.loadshedding.limit},
+ * {@code hygie.loadshedding.inflight} et {@code hygie.loadshedding.rejected}
+ * (raison {@code saturated} ou {@code client}).
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class LoadShedder {
+
+    static final String DEFAULT_ENDPOINT = "default";
+
+    /**
+     * Motif du refus d'une requête.
+     */
+    public enum Rejection {
+        // Point d'entrée saturé: 503
+        SATURATED,
+        // Client au-delà de sa limite: 429
+        CLIENT_LIMIT
+    }
+
+    private final boolean enabled;
+    private final int retryAfterSeconds;
+    private final Map<String, EndpointLimiter> endpoints = new HashMap<>();
+    private final EndpointLimiter defaultLimiter;
+
+    /**
+     * Crée les limites à partir de la configuration.
+     *
+     * @param properties Les paramètres du délestage
+     * @param meterRegistry Le registre des métriques
+     */
+    public LoadShedder(LoadSheddingProperties properties, MeterRegistry meterRegistry) {
+        // Assertion #1: Vérification des paramètres
+        assert properties != null : "Les paramètres du délestage ne peuvent pas être null";
+        assert meterRegistry != null : "Le registre des métriques ne peut pas être null";
+
+        this.enabled = properties.isEnabled();
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+        this.defaultLimiter = new EndpointLimiter(DEFAULT_ENDPOINT, properties.getDefaults(), meterRegistry);
+        properties.getEndpoints().forEach((endpoint, limits) ->
+            endpoints.put(endpoint, new EndpointLimiter(endpoint, limits, meterRegistry)));
+
+        // Assertion #2: Vérification des limites
+        assert retryAfterSeconds >= 0 : "Le délai Retry-After ne peut pas être négatif";
+    }
+
+    /**
+     * Tente d'admettre une requête.
+     *
+     * @param endpoint Le point d'entrée ({@code "MÉTHODE /motif"})
+     * @param client L'identité du client
+     * @return Le jeton, à libérer en fin de requête s'il est accordé
+     */
+    public Permit tryAcquire(String endpoint, String client) {
+        // Assertion #1: Vérification des paramètres
+        assert client != null : "Le client ne peut pas être null";
+
+        final EndpointLimiter limiter = endpoints.getOrDefault(endpoint, defaultLimiter);
+        if (!limiter.tryAcquireClient(client)) {
+            limiter.rejectedClient.increment();
+            return new Permit(limiter, client, Rejection.CLIENT_LIMIT);
+        }
+        if (!limiter.limit.tryAcquire()) {
+            limiter.releaseClient(client);
+            limiter.rejectedSaturated.increment();
+            return new Permit(limiter, client, Rejection.SATURATED);
+        }
+        return new Permit(limiter, client, null);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Place accordée (ou refusée) à une requête.
+     */
+    public static final class Permit {
+        private final EndpointLimiter limiter;
+        private final String client;
+        private final Rejection rejection;
+        private final long startNanos = System.nanoTime();
+        private boolean released;
+
+        private Permit(EndpointLimiter limiter, String client, Rejection rejection) {
+            this.limiter = limiter;
+            this.client = client;
+            this.rejection = rejection;
+        }
+
+        public boolean isGranted() {
+            return rejection == null;
+        }
+
+        /**
+         * @return Le motif du refus, ou null si la place est accordée
+         */
+        public Rejection getRejection() {
+            return rejection;
+        }
+
+        public String getEndpoint() {
+            return limiter.name;
+        }
+
+        /**
+         * Libère la place accordée.
+         *
+         * @param success false si la requête a échoué côté serveur: son temps n'ajuste pas la limite
+         */
+        public void release(boolean success) {
+            if (!isGranted() || released) {
+                return;
+            }
+            released = true;
+            limiter.limit.release(System.nanoTime() - startNanos, success);
+            limiter.releaseClient(client);
+        }
+    }
+
+    /**
+     * Limites et métriques d'un point d'entrée.
+     */
+    private static final class EndpointLimiter {
+        private final String name;
+        private final GradientConcurrencyLimit limit;
+        private final int perClientLimit;
+        private final Map<String, Integer> clients = new ConcurrentHashMap<>();
+        private final Counter rejectedSaturated;
+        private final Counter rejectedClient;
+
+        EndpointLimiter(String name, Limits limits, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.limit = new GradientConcurrencyLimit(limits.getInitialLimit(), limits.getMinLimit(),
+                limits.getMaxLimit());
+            this.perClientLimit = limits.getPerClientLimit();
+            Gauge.builder("hygie.loadshedding.limit", limit, GradientConcurrencyLimit::getLimit)
+                .description("Limite courante de requêtes simultanées")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+            Gauge.builder("hygie.loadshedding.inflight", limit, GradientConcurrencyLimit::getInflight)
+                .description("Requêtes en cours de traitement")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+            this.rejectedSaturated = Counter.builder("hygie.loadshedding.rejected")
+                .description("Requêtes refusées par le délestage")
+                .tags("endpoint", name, "reason", "saturated")
+                .register(meterRegistry);
+            this.rejectedClient = Counter.builder("hygie.loadshedding.rejected")
+                .description("Requêtes refusées par le délestage")
+                .tags("endpoint", name, "reason", "client")
+                .register(meterRegistry);
+        }
+
+        boolean tryAcquireClient(String client) {
+            if (perClientLimit <= 0) {
+                return true;
+            }
+            final int count = clients.merge(client, 1, Integer::sum);
+            if (count > perClientLimit) {
+                releaseClient(client);
+                return false;
+            }
+            return true;
+        }
+
+        void releaseClient(String client) {
+            if (perClientLimit > 0) {
+                clients.computeIfPresent(client, (key, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.hygie.patientservice.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Version d'un référentiel, incrémentée en base à chaque modification.
+ *
+ * Partagée par toutes les instances du service: chacune compare la version
+ * lue à celle de ses index dérivés pour savoir s'ils doivent être reconstruits.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Document(collection = "catalogue_versions")
+public class CatalogueVersion {
+
+    @Id
+    private final String id;
+
+    private final long version;
+
+    /**
+     * Constructeur pour une version de référentiel.
+     *
+     * @param id Le nom du référentiel
+     * @param version Le numéro de version
+     */
+    public CatalogueVersion(String id, long version) {
+        // Assertion #1: Vérification du nom du référentiel
+        assert id != null && !id.isBlank() : "Le nom du référentiel ne peut pas être null ou vide";
+
+        // Assertion #2: Vérification du numéro de version
+        assert version >= 0 : "La version du référentiel ne peut pas être négative";
+
+        this.id = id;
+        this.version = version;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -2,12 +2,15 @@ package com.hygie.patientservice.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.PastOrPresent;
 import javax.validation.constraints.Size;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.ArrayList;
@@ -66,6 +69,11 @@ public class Prescription {
 
     private final List<String> notes;
 
+    // Renseignée à chaque enregistrement (audit MongoDB), pour les traitements incrémentaux
+    @Indexed
+    @LastModifiedDate
+    private Instant lastModifiedDate;
+
     /**
      * Énumération des statuts possibles d'une prescription.
      */
@@ -371,6 +379,10 @@ public class Prescription {
         return Collections.unmodifiableList(notes);
     }
 
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,27 @@
+package com.hygie.patientservice.repository;
+
+import com.hygie.patientservice.model.CatalogueVersion;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository pour l'accès aux versions des référentiels dans MongoDB.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Repository
+@Timed(description = "Durée des requêtes MongoDB du dépôt")
+public interface CatalogueVersionRepository extends MongoRepository<CatalogueVersion, String> {
+
+    /**
+     * Incrémente atomiquement la version d'un référentiel.
+     *
+     * @param id Le nom du référentiel
+     * @return Le nombre de documents modifiés, 0 si la version n'existe pas encore
+     */
+    @Update("{ '$inc': { 'version': 1 } }")
+    long findAndIncrementVersionById(String id);
+}
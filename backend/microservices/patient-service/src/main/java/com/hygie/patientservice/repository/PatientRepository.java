@@ -1,6 +1,7 @@
 package com.hygie.patientservice.repository;
 
 import com.hygie.patientservice.model.Patient;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -19,6 +20,7 @@ import java.util.Optional;
  * @version 1.0.0
  */
 @Repository
+@Timed(description = "Durée des requêtes MongoDB du dépôt")
 public interface PatientRepository extends MongoRepository<Patient, String> {
 
     /**
@@ -2,12 +2,16 @@ package com.hygie.patientservice.repository;
 
 import com.hygie.patientservice.model.Prescription;
 import com.hygie.patientservice.model.Prescription.PrescriptionStatus;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository pour l'accès aux données des prescriptions dans MongoDB.
@@ -19,6 +23,7 @@ import java.util.List;
  * @version 1.0.0
  */
 @Repository
+@Timed(description = "Durée des requêtes MongoDB du dépôt")
 public interface PrescriptionRepository extends MongoRepository<Prescription, String> {
 
     /**
@@ -142,4 +147,36 @@ public interface PrescriptionRepository extends MongoRepository<Prescription, St
      * @return Le nombre de prescriptions supprimées
      */
     long deleteByExpirationDateBeforeAndStatus(LocalDate date, PrescriptionStatus status);
+
+    /**
+     * Parcourt en flux les prescriptions non expirées ayant l'un des statuts donnés,
+     * tous patients confondus. Le flux doit être fermé après usage.
+     *
+     * @param date La date de référence
+     * @param statuses Les statuts recherchés
+     * @return Un flux des prescriptions correspondantes
+     */
+    Stream<Prescription> streamByExpirationDateGreaterThanEqualAndStatusIn(
+            LocalDate date, Collection<PrescriptionStatus> statuses);
+
+    /**
+     * Parcourt en flux les prescriptions non expirées ayant l'un des statuts donnés
+     * pour un ensemble de patients. Le flux doit être fermé après usage.
+     *
+     * @param patientIds Les IDs des patients
+     * @param date La date de référence
+     * @param statuses Les statuts recherchés
+     * @return Un flux des prescriptions correspondantes
+     */
+    Stream<Prescription> streamByPatientIdInAndExpirationDateGreaterThanEqualAndStatusIn(
+            Collection<String> patientIds, LocalDate date, Collection<PrescriptionStatus> statuses);
+
+    /**
+     * Parcourt en flux les prescriptions enregistrées après un instant.
+     * Le flux doit être fermé après usage.
+     *
+     * @param since L'instant de référence
+     * @return Un flux des prescriptions modifiées depuis cet instant
+     */
+    Stream<Prescription> streamByLastModifiedDateGreaterThan(Instant since);
 }
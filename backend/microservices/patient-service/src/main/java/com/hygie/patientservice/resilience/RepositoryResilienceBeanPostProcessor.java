@@ -0,0 +1,110 @@
+package com.hygie.patientservice.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+
+import java.util.Set;
+
+/**
+ * Ajoute à chaque dépôt Spring Data un disjoncteur et un cloisonnement
+ * ({@link RepositoryResilienceInterceptor}).
+ *
+ * Le disjoncteur et le cloisonnement portent le nom du bean du dépôt (par
+ * exemple {@code medicationRepository}) et sont configurés par les instances
+ * {@code resilience4j.circuitbreaker} et {@code resilience4j.bulkhead} de même
+ * nom. Ils sont donc exposés, comme ceux déclarés par annotation, dans la santé
+ * et les métriques de l'actuator. Sans registre Resilience4j dans le contexte,
+ * les dépôts ne sont pas modifiés.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class RepositoryResilienceBeanPostProcessor implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryResilienceBeanPostProcessor.class);
+
+    private final ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry;
+    private final ObjectProvider<BulkheadRegistry> bulkheadRegistry;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<MongoConverter> mongoConverter;
+    private final Set<String> staleReadRepositories;
+    private final int staleReadMaxEntries;
+
+    /**
+     * Les registres sont résolus à la création de chaque dépôt, et non à celle
+     * de ce post-processeur, instancié avant les beans ordinaires.
+     *
+     * @param circuitBreakerRegistry Le registre des disjoncteurs
+     * @param bulkheadRegistry Le registre des cloisonnements
+     * @param meterRegistry Le registre des métriques
+     * @param mongoConverter Le convertisseur MongoDB, qui fige les résultats du mode dégradé
+     * @param staleReadRepositories Les dépôts dont les lectures passent en mode dégradé
+     * @param staleReadMaxEntries Le nombre de résultats conservés par dépôt en mode dégradé
+     */
+    public RepositoryResilienceBeanPostProcessor(
+            ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry,
+            ObjectProvider<BulkheadRegistry> bulkheadRegistry,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<MongoConverter> mongoConverter,
+            Set<String> staleReadRepositories,
+            int staleReadMaxEntries) {
+        // Assertion #1: Vérification des paramètres
+        assert staleReadRepositories != null : "Les dépôts en mode dégradé ne peuvent pas être null";
+        assert staleReadMaxEntries > 0 : "La capacité du mode dégradé doit être positive";
+
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.meterRegistry = meterRegistry;
+        this.mongoConverter = mongoConverter;
+        this.staleReadRepositories = Set.copyOf(staleReadRepositories);
+        this.staleReadMaxEntries = staleReadMaxEntries;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                factory.addRepositoryProxyPostProcessor((proxyFactory, information) -> {
+                    final RepositoryResilienceInterceptor interceptor = createInterceptor(information);
+                    if (interceptor != null) {
+                        proxyFactory.addAdvice(interceptor);
+                    }
+                }));
+        }
+        return bean;
+    }
+
+    private RepositoryResilienceInterceptor createInterceptor(RepositoryInformation information) {
+        final CircuitBreakerRegistry circuitBreakers = circuitBreakerRegistry.getIfAvailable();
+        final BulkheadRegistry bulkheads = bulkheadRegistry.getIfAvailable();
+        if (circuitBreakers == null || bulkheads == null) {
+            return null;
+        }
+
+        final String name = StringUtils.uncapitalize(information.getRepositoryInterface().getSimpleName());
+        final MongoConverter converter = mongoConverter.getIfAvailable();
+        final boolean staleReads = staleReadRepositories.contains(name) && converter != null;
+        final RepositoryResilienceInterceptor interceptor = new RepositoryResilienceInterceptor(name,
+            circuitBreakers.circuitBreaker(name), bulkheads.bulkhead(name),
+            staleReads ? new StaleReadCache(staleReadMaxEntries, converter) : null,
+            meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+
+        logger.info("Disjoncteur et cloisonnement du dépôt {}{}", name, staleReads ? " (mode dégradé)" : "");
+
+        // Assertion #2: Vérification de l'intercepteur
+        assert interceptor != null : "L'intercepteur ne peut pas être null";
+
+        return interceptor;
+    }
+}
@@ -0,0 +1,126 @@
+package com.hygie.patientservice.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * Protège les appels d'un dépôt par un cloisonnement et un disjoncteur.
+ *
+ * Le cloisonnement borne le nombre d'appels simultanés au dépôt: une base
+ * qui ne répond plus n'immobilise qu'une partie des threads de requête. Le
+ * disjoncteur, placé à l'intérieur, s'ouvre lorsque les échecs ou les appels
+ * lents dépassent leur seuil; les appels sont alors refusés immédiatement
+ * ({@link CallNotPermittedException}) au lieu d'attendre l'expiration de leur
+ * délai.
+ *
+ * Pour les dépôts en mode dégradé, le dernier résultat de chaque lecture est
+ * conservé et servi lorsque l'appel est refusé; une écriture réussie oublie
+ * ces résultats. Métrique: {@code hygie.resilience.stale.reads}, étiquetée par
+ * dépôt et issue ({@code hit} ou {@code miss}).
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+final class RepositoryResilienceInterceptor implements MethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryResilienceInterceptor.class);
+
+    private static final String[] READ_PREFIXES = {
+        "find", "read", "get", "query", "search", "stream", "count", "exists"
+    };
+
+    private final String repository;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final StaleReadCache staleReads;
+    private final Counter staleHits;
+    private final Counter staleMisses;
+
+    /**
+     * @param repository Le nom du dépôt, qui est aussi celui du disjoncteur et du cloisonnement
+     * @param circuitBreaker Le disjoncteur du dépôt
+     * @param bulkhead Le cloisonnement du dépôt
+     * @param staleReads Les derniers résultats des lectures, ou null sans mode dégradé
+     * @param meterRegistry Le registre des métriques
+     */
+    RepositoryResilienceInterceptor(String repository, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+            StaleReadCache staleReads, MeterRegistry meterRegistry) {
+        // Assertion #1: Vérification des paramètres
+        assert circuitBreaker != null && bulkhead != null : "Le disjoncteur et le cloisonnement sont requis";
+        assert meterRegistry != null : "Le registre des métriques ne peut pas être null";
+
+        this.repository = repository;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.staleReads = staleReads;
+        this.staleHits = Counter.builder("hygie.resilience.stale.reads")
+            .description("Lectures servies (hit) ou non (miss) depuis les derniers résultats connus")
+            .tags("repository", repository, "outcome", "hit")
+            .register(meterRegistry);
+        this.staleMisses = Counter.builder("hygie.resilience.stale.reads")
+            .description("Lectures servies (hit) ou non (miss) depuis les derniers résultats connus")
+            .tags("repository", repository, "outcome", "miss")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        final Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        final boolean read = isRead(method);
+        final Object result;
+        try {
+            result = Bulkhead.decorateCheckedSupplier(bulkhead,
+                CircuitBreaker.decorateCheckedSupplier(circuitBreaker, invocation::proceed)).get();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            if (read && staleReads != null) {
+                final Optional<Object> stale = staleReads.get(method, invocation.getArguments());
+                if (stale.isPresent()) {
+                    staleHits.increment();
+                    logger.warn("Dépôt {} indisponible ({}): dernier résultat connu servi pour {}",
+                        repository, e.getClass().getSimpleName(), method.getName());
+                    return stale.get();
+                }
+                staleMisses.increment();
+            }
+            throw e;
+        }
+
+        if (staleReads != null) {
+            if (read) {
+                staleReads.put(method, invocation.getArguments(), result);
+            } else {
+                staleReads.clear();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param method La méthode du dépôt
+     * @return true si la méthode est une lecture, selon les préfixes de Spring Data
+     */
+    static boolean isRead(Method method) {
+        final String name = method.getName();
+        for (final String prefix : READ_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
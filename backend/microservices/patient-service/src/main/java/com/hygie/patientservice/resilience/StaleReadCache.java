@@ -0,0 +1,239 @@
+package com.hygie.patientservice.resilience;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.lang.reflect.Method;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Derniers résultats connus des lectures d'un dépôt, servis tant que la base
+ * est inaccessible.
+ *
+ * Les entrées sont indexées par méthode et arguments et évincées dans l'ordre
+ * du dernier accès au-delà de la capacité. Les entités ne sont jamais
+ * partagées avec l'appelant: elles sont conservées sous forme de document
+ * BSON, écrit par le convertisseur MongoDB au moment de la lecture réussie, et
+ * chaque réponse en mode dégradé en relit des instances neuves. Une entité
+ * modifiée par un appelant n'altère donc ni le cache ni les autres requêtes.
+ * Seuls les entités, les valeurs immuables (chaînes, nombres, dates), et les
+ * listes et {@link Optional} qui les contiennent sont conservés; les flux,
+ * itérateurs, pages ou projections ne le sont pas.
+ *
+ * La copie est écrite sur le thread de la requête, à chaque lecture réussie:
+ * les lectures non bornées ({@code findAll}) et les listes de plus de
+ * {@value #MAX_LIST_SIZE} éléments ne sont pas conservées, pour ne pas payer
+ * une sérialisation complète du catalogue à chaque appel.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+final class StaleReadCache {
+
+    /** Nombre maximal d'éléments d'une liste conservée. */
+    static final int MAX_LIST_SIZE = 100;
+
+    // Lectures de tout le dépôt, dont le résultat croît avec lui
+    private static final Set<String> UNBOUNDED_READS = Set.of("findAll");
+
+    // Résultat sans copie figée possible
+    private static final Object NOT_REUSABLE = new Object();
+
+    private final int maxEntries;
+    private final MongoConverter converter;
+    private final Map<Key, Object> entries;
+
+    StaleReadCache(int maxEntries, MongoConverter converter) {
+        // Assertion #1: Vérification des paramètres
+        assert maxEntries > 0 : "La capacité du cache doit être positive";
+        assert converter != null : "Le convertisseur MongoDB ne peut pas être null";
+
+        this.maxEntries = maxEntries;
+        this.converter = converter;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > StaleReadCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Mémorise le résultat d'une lecture réussie.
+     *
+     * @param method La méthode du dépôt
+     * @param arguments Les arguments de l'appel
+     * @param result Le résultat obtenu
+     */
+    void put(Method method, Object[] arguments, Object result) {
+        final Object stored = result != null && !UNBOUNDED_READS.contains(method.getName())
+            ? freeze(result) : NOT_REUSABLE;
+        if (stored == NOT_REUSABLE) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(new Key(method, arguments), stored);
+        }
+    }
+
+    /**
+     * Recherche le dernier résultat connu d'une lecture.
+     *
+     * @param method La méthode du dépôt
+     * @param arguments Les arguments de l'appel
+     * @return Une copie neuve du résultat, ou vide s'il est inconnu
+     */
+    Optional<Object> get(Method method, Object[] arguments) {
+        final Object stored;
+        synchronized (entries) {
+            stored = entries.get(new Key(method, arguments));
+        }
+        return stored != null ? Optional.of(thaw(stored)) : Optional.empty();
+    }
+
+    /**
+     * Oublie tous les résultats, après une écriture dans le dépôt.
+     */
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Fige un résultat: document BSON pour une entité {@code @Document}, valeur
+     * telle quelle si elle est immuable.
+     *
+     * @return La forme figée, ou {@code NOT_REUSABLE}
+     */
+    private Object freeze(Object value) {
+        if (isImmutable(value)) {
+            return value;
+        }
+        if (value instanceof Optional) {
+            final Optional<?> optional = (Optional<?>) value;
+            final Object content = optional.isPresent() ? freeze(optional.get()) : null;
+            return content == NOT_REUSABLE ? NOT_REUSABLE : new FrozenOptional(content);
+        }
+        if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            if (list.size() > MAX_LIST_SIZE) {
+                return NOT_REUSABLE;
+            }
+            final Object[] elements = new Object[list.size()];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = list.get(i) != null ? freeze(list.get(i)) : null;
+                if (elements[i] == NOT_REUSABLE) {
+                    return NOT_REUSABLE;
+                }
+            }
+            return new FrozenList(elements);
+        }
+        if (value.getClass().isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+            final Document document = new Document();
+            converter.write(value, document);
+            return new FrozenEntity(value.getClass(), document);
+        }
+        return NOT_REUSABLE;
+    }
+
+    private Object thaw(Object frozen) {
+        if (frozen instanceof FrozenEntity) {
+            final FrozenEntity entity = (FrozenEntity) frozen;
+            return converter.read(entity.type, entity.document);
+        }
+        if (frozen instanceof FrozenOptional) {
+            final Object content = ((FrozenOptional) frozen).content;
+            return content != null ? Optional.of(thaw(content)) : Optional.empty();
+        }
+        if (frozen instanceof FrozenList) {
+            final Object[] elements = ((FrozenList) frozen).elements;
+            final List<Object> list = new ArrayList<>(elements.length);
+            for (Object element : elements) {
+                list.add(element != null ? thaw(element) : null);
+            }
+            return list;
+        }
+        return frozen;
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean
+            || value instanceof Enum || value instanceof TemporalAccessor;
+    }
+
+    /**
+     * Entité figée sous la forme écrite par le convertisseur, jamais exposée.
+     */
+    private static final class FrozenEntity {
+        private final Class<?> type;
+        private final Document document;
+
+        FrozenEntity(Class<?> type, Document document) {
+            this.type = type;
+            this.document = document;
+        }
+    }
+
+    private static final class FrozenOptional {
+        private final Object content;
+
+        FrozenOptional(Object content) {
+            this.content = content;
+        }
+    }
+
+    private static final class FrozenList {
+        private final Object[] elements;
+
+        FrozenList(Object[] elements) {
+            this.elements = elements;
+        }
+    }
+
+    /**
+     * Méthode et arguments d'une lecture.
+     */
+    private static final class Key {
+        private final Method method;
+        private final List<Object> arguments;
+
+        Key(Method method, Object[] arguments) {
+            this.method = method;
+            this.arguments = Collections.unmodifiableList(Arrays.asList(arguments.clone()));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) other;
+            return method.equals(key.method) && arguments.equals(key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * method.hashCode() + arguments.hashCode();
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.hygie.patientservice.service;
+
+import com.hygie.patientservice.model.Prescription;
+import com.hygie.patientservice.model.Prescription.PrescriptionStatus;
+import com.hygie.patientservice.model.PrescriptionItem;
+import com.hygie.patientservice.repository.PrescriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Service d'analyse des co-prescriptions à l'échelle de la population.
+ *
+ * Compte, pour chaque paire de médicaments, le nombre de patients dont le
+ * traitement en cours (prescriptions actives) contient les deux médicaments.
+ * Les IDs de médicaments sont internés en indices entiers et les compteurs sont
+ * stockés dans une matrice creuse indexée par paire d'indices.
+ *
+ * Le rafraîchissement est incrémental: seuls les patients ayant une prescription
+ * enregistrée depuis le précédent passage (date de dernière modification) sont
+ * relus et réappliqués. Un parcours complet a lieu au premier passage puis au
+ * changement de jour, pour les prescriptions arrivées à expiration et celles
+ * supprimées. Chaque passage publie un classement immuable des paires: les
+ * requêtes le lisent sans verrou et n'attendent jamais un rafraîchissement.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Service
+public class CoOccurrenceAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoOccurrenceAnalyticsService.class);
+
+    private static final int[] EMPTY_SET = new int[0];
+
+    private static final Set<PrescriptionStatus> CURRENT_STATUSES =
+        EnumSet.of(PrescriptionStatus.ACTIVE, PrescriptionStatus.PARTIALLY_DISPENSED);
+
+    // Recouvrement des fenêtres de modification: horloges des instances et écritures en cours
+    private static final Duration CHANGE_OVERLAP = Duration.ofMinutes(1);
+
+    private final PrescriptionRepository prescriptionRepository;
+    private final InteractionIndexService interactionIndexService;
+
+    // État du comptage, modifié uniquement sous le verrou de refresh()
+
+    // Internement des IDs de médicaments en indices denses
+    private final Map<String, Integer> medicationIndices = new HashMap<>();
+    private final List<String> medicationIds = new ArrayList<>();
+
+    // Traitement en cours de chaque patient (indices triés), tel que compté
+    private final Map<String, int[]> patientSets = new HashMap<>();
+
+    // Matrice creuse: paire d'indices (a < b) encodée sur 64 bits -> nombre de patients
+    private final Map<Long, int[]> pairCounts = new HashMap<>();
+
+    // Date du dernier parcours complet et début du dernier passage
+    private LocalDate fullScanDate;
+    private Instant lastScanStart;
+
+    // Classement publié, lu sans verrou par les requêtes
+    private volatile Ranking ranking;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param prescriptionRepository Le repository pour accéder aux données des prescriptions
+     * @param interactionIndexService L'index en mémoire des interactions
+     */
+    @Autowired
+    public CoOccurrenceAnalyticsService(PrescriptionRepository prescriptionRepository,
+                                        InteractionIndexService interactionIndexService) {
+        // Assertion #1: Vérification que le repository n'est pas null
+        assert prescriptionRepository != null : "Le repository de prescriptions ne peut pas être null";
+
+        // Assertion #2: Vérification que l'index des interactions n'est pas null
+        assert interactionIndexService != null : "L'index des interactions ne peut pas être null";
+
+        this.prescriptionRepository = prescriptionRepository;
+        this.interactionIndexService = interactionIndexService;
+    }
+
+    /**
+     * Rafraîchit les compteurs de co-prescription et publie un nouveau classement.
+     * Seuls les patients dont une prescription a été enregistrée depuis le passage
+     * précédent sont relus, sauf au premier passage et au changement de jour.
+     *
+     * @return Le bilan du rafraîchissement
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.co-occurrence.refresh-interval-ms:300000}",
+               initialDelayString = "${app.analytics.co-occurrence.initial-delay-ms:60000}")
+    public synchronized RefreshSummary refresh() {
+        final long start = System.nanoTime();
+        final Instant scanStart = Instant.now();
+        final LocalDate today = LocalDate.now();
+        final boolean fullScan = lastScanStart == null || !today.equals(fullScanDate);
+
+        final Set<String> scope;
+        final Map<String, int[]> latestSets;
+        if (fullScan) {
+            latestSets = loadCurrentSets(null, today);
+            scope = new HashSet<>(patientSets.keySet());
+            scope.addAll(latestSets.keySet());
+        } else {
+            scope = loadModifiedPatients(lastScanStart.minus(CHANGE_OVERLAP));
+            latestSets = scope.isEmpty() ? Map.of() : loadCurrentSets(scope, today);
+        }
+
+        int changedPatients = 0;
+        for (String patientId : scope) {
+            final int[] previous = patientSets.getOrDefault(patientId, EMPTY_SET);
+            final int[] latest = latestSets.getOrDefault(patientId, EMPTY_SET);
+            if (!Arrays.equals(previous, latest)) {
+                applyDelta(previous, -1);
+                applyDelta(latest, 1);
+                if (latest.length == 0) {
+                    patientSets.remove(patientId);
+                } else {
+                    patientSets.put(patientId, latest);
+                }
+                changedPatients++;
+            }
+        }
+
+        if (fullScan) {
+            fullScanDate = today;
+        }
+        lastScanStart = scanStart;
+        ranking = Ranking.of(pairCounts, medicationIds);
+
+        final RefreshSummary summary = new RefreshSummary(latestSets.size(), changedPatients,
+                pairCounts.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        // Assertion #1: Vérification de la cohérence des ensembles comptés
+        assert !fullScan || patientSets.size() == latestSets.size() :
+            "Les ensembles comptés doivent correspondre aux patients ayant un traitement actif";
+
+        // Assertion #2: Vérification du bilan
+        assert summary.getChangedPatients() >= 0 : "Le nombre de patients modifiés ne peut pas être négatif";
+
+        logger.info("Co-prescriptions rafraîchies ({}): {} patients relus, {} modifiés, {} paires en {}ms",
+                fullScan ? "parcours complet" : "incrémental", summary.getScannedPatients(), changedPatients,
+                summary.getDistinctPairs(), summary.getDurationMs());
+        return summary;
+    }
+
+    /**
+     * Récupère les K paires de médicaments les plus co-prescrites, d'après le dernier
+     * classement publié. Vide tant que le premier rafraîchissement n'est pas terminé.
+     *
+     * @param limit Le nombre maximal de paires à retourner
+     * @param interactingOnly Si true, seules les paires en interaction connue sont retenues
+     * @return Les paires triées par nombre de patients décroissant
+     */
+    public List<CoOccurrence> getTopCoOccurrences(int limit, boolean interactingOnly) {
+        // Assertion #1: Vérification de la limite
+        assert limit > 0 : "La limite doit être positive";
+
+        final Ranking current = ranking;
+        if (current == null) {
+            logger.debug("Co-prescriptions pas encore calculées");
+            return List.of();
+        }
+
+        // Paires déjà triées par nombre de patients décroissant
+        final List<CoOccurrence> top = new ArrayList<>(Math.min(limit, current.pairKeys.length));
+        for (int i = 0; i < current.pairKeys.length && top.size() < limit; i++) {
+            final String medicationId1 = current.medicationIds[first(current.pairKeys[i])];
+            final String medicationId2 = current.medicationIds[second(current.pairKeys[i])];
+            final boolean interacting = interactionIndexService.interacts(medicationId1, medicationId2);
+            if (interacting || !interactingOnly) {
+                top.add(new CoOccurrence(medicationId1, medicationId2, current.counts[i], interacting));
+            }
+        }
+
+        // Assertion #2: Vérification du résultat
+        assert top.size() <= limit : "Le nombre de paires retournées dépasse la limite";
+
+        return top;
+    }
+
+    /**
+     * Recherche les patients dont une prescription a été enregistrée depuis un instant.
+     *
+     * @param since L'instant de référence
+     * @return Les IDs des patients concernés
+     */
+    private Set<String> loadModifiedPatients(Instant since) {
+        final Set<String> patientIds = new HashSet<>();
+        try (Stream<Prescription> prescriptions = prescriptionRepository.streamByLastModifiedDateGreaterThan(since)) {
+            prescriptions.forEach(prescription -> patientIds.add(prescription.getPatientId()));
+        }
+        return patientIds;
+    }
+
+    /**
+     * Charge le traitement en cours de patients à partir de leurs prescriptions actives.
+     *
+     * @param patientIds Les patients à charger, ou null pour tous les patients
+     * @param today La date de référence
+     * @return Les ensembles triés d'indices de médicaments par patient
+     */
+    private Map<String, int[]> loadCurrentSets(Set<String> patientIds, LocalDate today) {
+        final Map<String, Set<Integer>> sets = new HashMap<>();
+
+        try (Stream<Prescription> prescriptions = patientIds == null
+                ? prescriptionRepository.streamByExpirationDateGreaterThanEqualAndStatusIn(today, CURRENT_STATUSES)
+                : prescriptionRepository.streamByPatientIdInAndExpirationDateGreaterThanEqualAndStatusIn(
+                        patientIds, today, CURRENT_STATUSES)) {
+            prescriptions.forEach(prescription -> {
+                final Set<Integer> set = sets.computeIfAbsent(prescription.getPatientId(), k -> new HashSet<>());
+                for (PrescriptionItem item : prescription.getPrescriptionItems()) {
+                    set.add(intern(item.getMedicationId()));
+                }
+            });
+        }
+
+        final Map<String, int[]> sortedSets = new HashMap<>(sets.size() * 2);
+        for (Map.Entry<String, Set<Integer>> entry : sets.entrySet()) {
+            final int[] indices = entry.getValue().stream().mapToInt(Integer::intValue).sorted().toArray();
+            sortedSets.put(entry.getKey(), indices);
+        }
+        return sortedSets;
+    }
+
+    private int intern(String medicationId) {
+        final Integer existing = medicationIndices.get(medicationId);
+        if (existing != null) {
+            return existing;
+        }
+        final int index = medicationIds.size();
+        medicationIds.add(medicationId);
+        medicationIndices.put(medicationId, index);
+        return index;
+    }
+
+    /**
+     * Ajoute (ou retire) la contribution d'un patient à toutes les paires de son traitement.
+     */
+    private void applyDelta(int[] sortedIndices, int delta) {
+        for (int i = 0; i < sortedIndices.length; i++) {
+            for (int j = i + 1; j < sortedIndices.length; j++) {
+                final long key = pairKey(sortedIndices[i], sortedIndices[j]);
+                final int[] count = pairCounts.computeIfAbsent(key, k -> new int[1]);
+                count[0] += delta;
+                if (count[0] == 0) {
+                    pairCounts.remove(key);
+                }
+            }
+        }
+    }
+
+    static long pairKey(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | (Math.max(a, b) & 0xffffffffL);
+    }
+
+    static int first(long key) {
+        return (int) (key >>> 32);
+    }
+
+    static int second(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Classement immuable des paires, par nombre de patients décroissant puis par clé.
+     */
+    private static final class Ranking {
+        private final String[] medicationIds;
+        private final long[] pairKeys;
+        private final int[] counts;
+
+        private Ranking(String[] medicationIds, long[] pairKeys, int[] counts) {
+            this.medicationIds = medicationIds;
+            this.pairKeys = pairKeys;
+            this.counts = counts;
+        }
+
+        static Ranking of(Map<Long, int[]> pairCounts, List<String> medicationIds) {
+            final long[][] entries = new long[pairCounts.size()][];
+            int i = 0;
+            for (Map.Entry<Long, int[]> entry : pairCounts.entrySet()) {
+                entries[i++] = new long[] {entry.getKey(), entry.getValue()[0]};
+            }
+            Arrays.sort(entries, Comparator.<long[]>comparingLong(e -> -e[1]).thenComparingLong(e -> e[0]));
+
+            final long[] pairKeys = new long[entries.length];
+            final int[] counts = new int[entries.length];
+            for (i = 0; i < entries.length; i++) {
+                pairKeys[i] = entries[i][0];
+                counts[i] = (int) entries[i][1];
+            }
+            return new Ranking(medicationIds.toArray(new String[0]), pairKeys, counts);
+        }
+    }
+
+    /**
+     * Classe interne pour représenter une paire de médicaments co-prescrits.
+     */
+    public static class CoOccurrence {
+        private final String medicationId1;
+        private final String medicationId2;
+        private final int patientCount;
+        private final boolean interacting;
+
+        public CoOccurrence(String medicationId1, String medicationId2, int patientCount, boolean interacting) {
+            this.medicationId1 = medicationId1;
+            this.medicationId2 = medicationId2;
+            this.patientCount = patientCount;
+            this.interacting = interacting;
+        }
+
+        public String getMedicationId1() {
+            return medicationId1;
+        }
+
+        public String getMedicationId2() {
+            return medicationId2;
+        }
+
+        public int getPatientCount() {
+            return patientCount;
+        }
+
+        public boolean isInteracting() {
+            return interacting;
+        }
+    }
+
+    /**
+     * Classe interne pour représenter le bilan d'un rafraîchissement.
+     */
+    public static class RefreshSummary {
+        private final int scannedPatients;
+        private final int changedPatients;
+        private final int distinctPairs;
+        private final long durationMs;
+
+        public RefreshSummary(int scannedPatients, int changedPatients, int distinctPairs, long durationMs) {
+            this.scannedPatients = scannedPatients;
+            this.changedPatients = changedPatients;
+            this.distinctPairs = distinctPairs;
+            this.durationMs = durationMs;
+        }
+
+        public int getScannedPatients() {
+            return scannedPatients;
+        }
+
+        public int getChangedPatients() {
+            return changedPatients;
+        }
+
+        public int getDistinctPairs() {
+            return distinctPairs;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+    }
+}
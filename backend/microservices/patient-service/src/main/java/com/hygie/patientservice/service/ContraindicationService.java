@@ -0,0 +1,482 @@
+package com.hygie.patientservice.service;
+
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.Patient;
+import com.hygie.patientservice.model.PrescriptionItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Service de détection des contre-indications et allergies dans le système Hygie-AI.
+ *
+ * Ce service croise en une seule passe les médicaments actuels d'un patient avec
+ * l'ensemble de ses conditions actives et de ses allergies, à l'aide d'un index
+ * inversé (jeton normalisé → identifiants de médicaments) précalculé sur le référentiel.
+ * L'index est construit à la première utilisation puis reconstruit en arrière-plan
+ * lorsque la version du référentiel en base change; les requêtes lisent toujours
+ * l'index publié, sans attendre une reconstruction.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Service
+public class ContraindicationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContraindicationService.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^a-z0-9]+");
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    // Mots vides ignorés lors de l'indexation des libellés cliniques
+    private static final Set<String> STOP_WORDS = Set.of(
+        "les", "des", "une", "aux", "avec", "chez", "dans", "pour", "par", "sur", "sans",
+        "est", "son", "ses", "the", "and", "cas", "antecedent", "antecedents"
+    );
+
+    private final PatientService patientService;
+    private final PrescriptionService prescriptionService;
+    private final MedicationService medicationService;
+
+    private volatile ContraindicationIndex index;
+
+    /**
+     * Type de déclencheur d'une alerte de contre-indication.
+     */
+    public enum AlertType {
+        CONDITION,
+        ALLERGY
+    }
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param patientService Le service pour accéder aux données des patients
+     * @param prescriptionService Le service pour accéder aux traitements en cours
+     * @param medicationService Le service pour accéder au référentiel des médicaments
+     */
+    @Autowired
+    public ContraindicationService(PatientService patientService,
+                                   PrescriptionService prescriptionService,
+                                   MedicationService medicationService) {
+        // Assertion #1: Vérification que les services patients et prescriptions ne sont pas null
+        assert patientService != null : "Le service de patients ne peut pas être null";
+        assert prescriptionService != null : "Le service de prescriptions ne peut pas être null";
+
+        // Assertion #2: Vérification que le service de médicaments n'est pas null
+        assert medicationService != null : "Le service de médicaments ne peut pas être null";
+
+        this.patientService = patientService;
+        this.prescriptionService = prescriptionService;
+        this.medicationService = medicationService;
+    }
+
+    /**
+     * Vérifie les contre-indications des médicaments actuels d'un patient.
+     *
+     * @param patientId L'ID du patient
+     * @return Un Optional contenant les alertes détectées, ou vide si le patient n'existe pas
+     */
+    public Optional<List<ContraindicationAlert>> checkPatientContraindications(String patientId) {
+        // Assertion #1: Vérification que l'ID du patient n'est pas null ou vide
+        assert patientId != null && !patientId.isBlank() :
+            "L'ID du patient ne peut pas être null ou vide";
+
+        final Optional<Patient> patient = patientService.getPatientById(patientId);
+
+        if (patient.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final List<PrescriptionItem> currentMedications = prescriptionService.getCurrentMedications(patientId);
+        final List<ContraindicationAlert> alerts = checkContraindications(patient.get(), currentMedications);
+
+        // Assertion #2: Vérification du résultat
+        assert alerts != null : "La liste des alertes ne peut pas être null";
+
+        return Optional.of(alerts);
+    }
+
+    /**
+     * Croise en une passe des médicaments avec les conditions et allergies d'un patient.
+     *
+     * @param patient Le patient
+     * @param medications Les items de prescription à vérifier
+     * @return La liste des alertes de contre-indication détectées
+     */
+    public List<ContraindicationAlert> checkContraindications(Patient patient, List<PrescriptionItem> medications) {
+        // Assertion #1: Vérification des paramètres
+        assert patient != null : "Le patient ne peut pas être null";
+        assert medications != null : "La liste des médicaments ne peut pas être null";
+
+        final Map<String, PrescriptionItem> itemsByMedicationId = new LinkedHashMap<>();
+        for (PrescriptionItem item : medications) {
+            itemsByMedicationId.putIfAbsent(item.getMedicationId(), item);
+        }
+
+        final List<ContraindicationAlert> alerts = new ArrayList<>();
+        if (itemsByMedicationId.isEmpty()) {
+            return alerts;
+        }
+
+        final ContraindicationIndex currentIndex = getIndex();
+        for (String condition : patient.getActiveConditions()) {
+            collectAlerts(currentIndex, condition, AlertType.CONDITION, itemsByMedicationId, alerts);
+        }
+        for (String allergy : patient.getAllergies()) {
+            collectAlerts(currentIndex, allergy, AlertType.ALLERGY, itemsByMedicationId, alerts);
+        }
+
+        // Assertion #2: Vérification que chaque alerte concerne un médicament du patient
+        assert alerts.stream().allMatch(a -> itemsByMedicationId.containsKey(a.getMedicationId())) :
+            "Une alerte concerne un médicament absent du traitement du patient";
+
+        return alerts;
+    }
+
+    /**
+     * Recherche les médicaments du patient concernés par un déclencheur (condition ou allergie).
+     *
+     * @param currentIndex L'index inversé courant
+     * @param trigger Le libellé de la condition ou de l'allergie
+     * @param type Le type de déclencheur
+     * @param itemsByMedicationId Les items du patient indexés par ID de médicament
+     * @param alerts La liste des alertes à compléter
+     */
+    private void collectAlerts(ContraindicationIndex currentIndex, String trigger, AlertType type,
+                               Map<String, PrescriptionItem> itemsByMedicationId,
+                               List<ContraindicationAlert> alerts) {
+        // Assertion #1: Vérification des paramètres
+        assert currentIndex != null && type != null : "L'index et le type de déclencheur sont requis";
+        assert itemsByMedicationId != null && alerts != null : "Les collections de travail sont requises";
+
+        if (trigger == null || trigger.isBlank()) {
+            return;
+        }
+
+        final Set<String> tokens = tokenize(trigger);
+        final String normalizedTrigger = normalize(trigger);
+
+        for (String medicationId : currentIndex.candidates(tokens, type, itemsByMedicationId.keySet())) {
+            final IndexedMedication medication = currentIndex.medications.get(medicationId);
+            final String matchedEntry = medication.findMatchingEntry(tokens, normalizedTrigger, type);
+
+            if (matchedEntry != null) {
+                final PrescriptionItem item = itemsByMedicationId.get(medicationId);
+                alerts.add(new ContraindicationAlert(medicationId, item.getMedicationName(),
+                        trigger, type, matchedEntry));
+            }
+        }
+    }
+
+    /**
+     * Retourne l'index inversé publié, construit à la première utilisation.
+     *
+     * @return L'index inversé courant
+     */
+    private ContraindicationIndex getIndex() {
+        ContraindicationIndex current = index;
+
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = buildIndex(medicationService.getCatalogueVersion());
+                }
+            }
+        }
+
+        // Assertion #1: Vérification que l'index est disponible
+        assert current != null : "L'index des contre-indications doit être construit";
+
+        // Assertion #2: Vérification de la version de l'index
+        assert current.version >= 0 : "La version de l'index ne peut pas être négative";
+
+        return current;
+    }
+
+    /**
+     * Reconstruit l'index en arrière-plan si la version du référentiel en base a changé,
+     * y compris du fait d'une autre instance. Le nouvel index remplace l'ancien d'un bloc.
+     */
+    @Scheduled(fixedDelayString = "${app.catalogue.refresh-interval-ms:5000}",
+               initialDelayString = "${app.catalogue.initial-delay-ms:0}")
+    public void refreshIndex() {
+        try {
+            final long version = medicationService.getCatalogueVersion();
+            final ContraindicationIndex current = index;
+            if (current != null && current.version == version) {
+                return;
+            }
+            synchronized (this) {
+                if (index == null || index.version != version) {
+                    buildIndex(version);
+                    logger.info("Index des contre-indications reconstruit (version du référentiel: {})", version);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Échec de la reconstruction de l'index des contre-indications: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Construit et publie l'index d'une version du référentiel. Appelé sous le verrou.
+     * La version est lue avant les médicaments: une modification concurrente
+     * déclenchera une nouvelle reconstruction.
+     *
+     * @param version La version du référentiel
+     * @return L'index publié
+     */
+    private ContraindicationIndex buildIndex(long version) {
+        final ContraindicationIndex built = ContraindicationIndex.build(medicationService.getAllMedications(), version);
+        index = built;
+        return built;
+    }
+
+    /**
+     * Normalise un libellé clinique: minuscules, sans accents.
+     *
+     * @param text Le libellé à normaliser
+     * @return Le libellé normalisé
+     */
+    static String normalize(String text) {
+        // Assertion #1: Vérification du paramètre
+        assert text != null : "Le texte à normaliser ne peut pas être null";
+
+        final String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        final String normalized = DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+
+        // Assertion #2: Vérification du résultat
+        assert normalized.length() <= decomposed.length() : "La normalisation ne peut pas allonger le texte";
+
+        return normalized;
+    }
+
+    /**
+     * Découpe un libellé clinique en jetons normalisés significatifs.
+     *
+     * @param text Le libellé à découper
+     * @return L'ensemble des jetons du libellé
+     */
+    static Set<String> tokenize(String text) {
+        // Assertion #1: Vérification du paramètre
+        assert text != null : "Le texte à découper ne peut pas être null";
+
+        final Set<String> tokens = new HashSet<>();
+        for (String token : TOKEN_SEPARATOR.split(normalize(text))) {
+            if (token.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(token)) {
+                tokens.add(stripPlural(token));
+            }
+        }
+
+        // Assertion #2: Vérification des jetons produits
+        assert tokens.stream().noneMatch(String::isEmpty) : "Un jeton ne peut pas être vide";
+
+        return tokens;
+    }
+
+    /**
+     * Ramène un jeton à sa forme singulière approximative ("pénicillines" → "penicilline").
+     *
+     * @param token Le jeton normalisé
+     * @return Le jeton sans marque de pluriel
+     */
+    private static String stripPlural(String token) {
+        final char last = token.charAt(token.length() - 1);
+        return token.length() > MIN_TOKEN_LENGTH && (last == 's' || last == 'x')
+            ? token.substring(0, token.length() - 1)
+            : token;
+    }
+
+    /**
+     * Index inversé immuable construit à partir d'une version du référentiel.
+     */
+    private static final class ContraindicationIndex {
+        private final long version;
+        private final Map<String, IndexedMedication> medications;
+        private final Map<String, Set<String>> contraindicationPostings;
+        private final Map<String, Set<String>> substancePostings;
+
+        private ContraindicationIndex(long version, Map<String, IndexedMedication> medications,
+                                      Map<String, Set<String>> contraindicationPostings,
+                                      Map<String, Set<String>> substancePostings) {
+            this.version = version;
+            this.medications = medications;
+            this.contraindicationPostings = contraindicationPostings;
+            this.substancePostings = substancePostings;
+        }
+
+        static ContraindicationIndex build(List<Medication> catalogue, long version) {
+            // Assertion #1: Vérification du référentiel
+            assert catalogue != null : "Le référentiel de médicaments ne peut pas être null";
+
+            final Map<String, IndexedMedication> medications = new HashMap<>(catalogue.size() * 2);
+            final Map<String, Set<String>> contraindicationPostings = new HashMap<>();
+            final Map<String, Set<String>> substancePostings = new HashMap<>();
+
+            for (Medication medication : catalogue) {
+                final IndexedMedication indexed = IndexedMedication.of(medication);
+                medications.put(medication.getId(), indexed);
+                for (Set<String> entryTokens : indexed.contraindicationTokens) {
+                    addPostings(contraindicationPostings, entryTokens, medication.getId());
+                }
+                addPostings(substancePostings, indexed.substanceTokens, medication.getId());
+            }
+
+            // Assertion #2: Vérification de la complétude de l'index
+            assert medications.size() <= catalogue.size() : "L'index ne peut pas contenir plus de médicaments que le référentiel";
+
+            return new ContraindicationIndex(version, medications, contraindicationPostings, substancePostings);
+        }
+
+        private static void addPostings(Map<String, Set<String>> postings, Set<String> tokens, String medicationId) {
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, t -> new HashSet<>()).add(medicationId);
+            }
+        }
+
+        /**
+         * Intersecte les listes de postings des jetons, restreintes aux médicaments du patient.
+         */
+        Set<String> candidates(Set<String> tokens, AlertType type, Set<String> patientMedicationIds) {
+            if (tokens.isEmpty()) {
+                // Libellé sans jeton significatif: vérification directe des médicaments du patient
+                final Set<String> known = new HashSet<>(patientMedicationIds);
+                known.retainAll(medications.keySet());
+                return known;
+            }
+
+            final Set<String> result = new HashSet<>(
+                    intersect(contraindicationPostings, tokens, patientMedicationIds));
+            if (type == AlertType.ALLERGY) {
+                result.addAll(intersect(substancePostings, tokens, patientMedicationIds));
+            }
+            return result;
+        }
+
+        private static Set<String> intersect(Map<String, Set<String>> postings, Set<String> tokens,
+                                             Set<String> patientMedicationIds) {
+            Set<String> result = null;
+            for (String token : tokens) {
+                final Set<String> posting = postings.getOrDefault(token, Collections.emptySet());
+                if (result == null) {
+                    result = new HashSet<>(patientMedicationIds);
+                }
+                result.retainAll(posting);
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result != null ? result : Collections.emptySet();
+        }
+    }
+
+    /**
+     * Projection compacte d'un médicament du référentiel pour l'index.
+     */
+    private static final class IndexedMedication {
+        private final List<String> contraindications;
+        private final List<Set<String>> contraindicationTokens;
+        private final String substance;
+        private final Set<String> substanceTokens;
+
+        private IndexedMedication(List<String> contraindications, List<Set<String>> contraindicationTokens,
+                                  String substance, Set<String> substanceTokens) {
+            this.contraindications = contraindications;
+            this.contraindicationTokens = contraindicationTokens;
+            this.substance = substance;
+            this.substanceTokens = substanceTokens;
+        }
+
+        static IndexedMedication of(Medication medication) {
+            final List<String> contraindications = medication.getContraindications();
+            final List<Set<String>> tokens = new ArrayList<>(contraindications.size());
+            for (String contraindication : contraindications) {
+                tokens.add(tokenize(contraindication));
+            }
+
+            final String substance = medication.getActiveSubstance() + " " + medication.getName();
+            return new IndexedMedication(contraindications, tokens, substance, tokenize(substance));
+        }
+
+        /**
+         * Retourne le libellé qui justifie l'alerte, ou null si aucun ne correspond.
+         * Tous les jetons du déclencheur doivent figurer dans une même entrée.
+         */
+        String findMatchingEntry(Set<String> tokens, String normalizedTrigger, AlertType type) {
+            for (int i = 0; i < contraindications.size(); i++) {
+                if (matches(contraindicationTokens.get(i), contraindications.get(i), tokens, normalizedTrigger)) {
+                    return contraindications.get(i);
+                }
+            }
+            if (type == AlertType.ALLERGY && matches(substanceTokens, substance, tokens, normalizedTrigger)) {
+                return substance;
+            }
+            return null;
+        }
+
+        private static boolean matches(Set<String> entryTokens, String entry, Set<String> tokens,
+                                       String normalizedTrigger) {
+            if (tokens.isEmpty()) {
+                return normalize(entry).contains(normalizedTrigger);
+            }
+            return entryTokens.containsAll(tokens);
+        }
+    }
+
+    /**
+     * Classe interne pour représenter une contre-indication détectée.
+     */
+    public static class ContraindicationAlert {
+        private final String medicationId;
+        private final String medicationName;
+        private final String trigger;
+        private final AlertType type;
+        private final String matchedEntry;
+
+        public ContraindicationAlert(String medicationId, String medicationName, String trigger,
+                                     AlertType type, String matchedEntry) {
+            this.medicationId = medicationId;
+            this.medicationName = medicationName;
+            this.trigger = trigger;
+            this.type = type;
+            this.matchedEntry = matchedEntry;
+        }
+
+        public String getMedicationId() {
+            return medicationId;
+        }
+
+        public String getMedicationName() {
+            return medicationName;
+        }
+
+        public String getTrigger() {
+            return trigger;
+        }
+
+        public AlertType getType() {
+            return type;
+        }
+
+        public String getMatchedEntry() {
+            return matchedEntry;
+        }
+    }
+}
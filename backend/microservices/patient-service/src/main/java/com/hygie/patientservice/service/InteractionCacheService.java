@@ -0,0 +1,306 @@
+package com.hygie.patientservice.service;
+
+import com.hygie.patientservice.model.PrescriptionItem;
+import com.hygie.patientservice.service.PrescriptionService.PrescriptionItemPair;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache incrémental des interactions médicamenteuses par patient.
+ *
+ * Le résultat est associé à une empreinte des IDs de médicaments triés et à la
+ * version du référentiel. Tant que ni l'un ni l'autre ne change, le résultat est
+ * servi sans calcul. Si seuls des médicaments sont ajoutés ou retirés, seules les
+ * paires impliquant les médicaments ajoutés sont calculées; un changement de
+ * version du référentiel impose un recalcul complet. Le cache raisonne sur les
+ * médicaments distincts, mais le résultat est rendu par item: un médicament
+ * prescrit dans plusieurs items produit une paire pour chacun de ses items,
+ * comme le parcours de toutes les paires d'items.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Service
+public class InteractionCacheService {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final InteractionIndexService interactionIndexService;
+    private final Map<String, CachedInteractions> entries;
+
+    private final Counter hitCounter;
+    private final Counter incrementalCounter;
+    private final Counter fullRecomputeCounter;
+    private final Counter computedPairsCounter;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param interactionIndexService L'index en mémoire des interactions
+     * @param meterRegistry Le registre des métriques
+     * @param maxPatients Le nombre maximal de patients conservés (éviction LRU)
+     */
+    @Autowired
+    public InteractionCacheService(InteractionIndexService interactionIndexService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.interaction-cache.max-patients:50000}") int maxPatients) {
+        // Assertion #1: Vérification des dépendances
+        assert interactionIndexService != null : "L'index des interactions ne peut pas être null";
+        assert meterRegistry != null : "Le registre des métriques ne peut pas être null";
+
+        // Assertion #2: Vérification de la capacité
+        assert maxPatients > 0 : "La capacité du cache doit être positive";
+
+        this.interactionIndexService = interactionIndexService;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<String, CachedInteractions>(1024, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedInteractions> eldest) {
+                return size() > maxPatients;
+            }
+        });
+
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.incrementalCounter = lookupCounter(meterRegistry, "incremental");
+        this.fullRecomputeCounter = lookupCounter(meterRegistry, "full");
+        this.computedPairsCounter = Counter.builder("hygie.interactions.cache.computed.pairs")
+                .description("Paires de médicaments évaluées lors des recalculs")
+                .register(meterRegistry);
+        Gauge.builder("hygie.interactions.cache.hit.ratio", this, InteractionCacheService::getHitRatio)
+                .description("Proportion des consultations servies sans calcul")
+                .register(meterRegistry);
+        Gauge.builder("hygie.interactions.cache.size", entries, Map::size)
+                .description("Nombre de patients présents dans le cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Récupère les interactions du traitement en cours d'un patient, en ne calculant
+     * que ce qui a changé depuis la dernière consultation.
+     *
+     * @param patientId L'ID du patient
+     * @param currentMedications Le traitement en cours du patient
+     * @return La liste des paires de médicaments qui interagissent
+     */
+    public List<PrescriptionItemPair> getInteractions(String patientId, List<PrescriptionItem> currentMedications) {
+        // Assertion #1: Vérification des paramètres
+        assert patientId != null && !patientId.isBlank() : "L'ID du patient ne peut pas être null ou vide";
+        assert currentMedications != null : "Le traitement en cours ne peut pas être null";
+
+        final long version = interactionIndexService.getIndexedVersion();
+        final String[] medicationIds = sortedDistinctIds(currentMedications);
+        final long setHash = hash(medicationIds);
+
+        final CachedInteractions previous = entries.get(patientId);
+        final CachedInteractions current;
+
+        if (previous != null && previous.matches(setHash, version, medicationIds)) {
+            hitCounter.increment();
+            current = previous;
+        } else if (previous != null && previous.version == version) {
+            incrementalCounter.increment();
+            current = recomputeIncrementally(previous, medicationIds, setHash);
+            entries.put(patientId, current);
+        } else {
+            fullRecomputeCounter.increment();
+            current = recomputeFully(medicationIds, setHash, version);
+            entries.put(patientId, current);
+        }
+
+        final List<PrescriptionItemPair> interactions = current.materialize(currentMedications);
+
+        // Assertion #2: Vérification du résultat
+        assert interactions.size() >= current.pairs.size() :
+            "Chaque interaction en cache doit correspondre à au moins une paire d'items du traitement en cours";
+
+        return interactions;
+    }
+
+    /**
+     * Retourne la proportion de consultations servies directement depuis le cache.
+     *
+     * @return Le ratio de succès, entre 0 et 1
+     */
+    public double getHitRatio() {
+        final double hits = hitCounter.count();
+        final double total = hits + incrementalCounter.count() + fullRecomputeCounter.count();
+        final double ratio = total == 0 ? 0.0 : hits / total;
+
+        // Assertion #1: Vérification des compteurs
+        assert total >= hits : "Le nombre total de consultations ne peut être inférieur aux succès";
+
+        // Assertion #2: Vérification de l'intervalle
+        assert ratio >= 0.0 && ratio <= 1.0 : "Le ratio de succès doit être compris entre 0 et 1";
+
+        return ratio;
+    }
+
+    /**
+     * Retire un patient du cache.
+     *
+     * @param patientId L'ID du patient
+     */
+    public void evict(String patientId) {
+        // Assertion #1: Vérification du paramètre
+        assert patientId != null && !patientId.isBlank() : "L'ID du patient ne peut pas être null ou vide";
+
+        entries.remove(patientId);
+
+        // Assertion #2: Vérification de l'éviction
+        assert !entries.containsKey(patientId) : "Le patient n'a pas été retiré du cache";
+    }
+
+    private CachedInteractions recomputeIncrementally(CachedInteractions previous, String[] medicationIds,
+                                                      long setHash) {
+        final List<String> added = new ArrayList<>();
+        for (String medicationId : medicationIds) {
+            if (Arrays.binarySearch(previous.medicationIds, medicationId) < 0) {
+                added.add(medicationId);
+            }
+        }
+
+        // Les paires dont les deux médicaments sont toujours présents restent valides
+        final List<String[]> pairs = new ArrayList<>();
+        for (String[] pair : previous.pairs) {
+            if (Arrays.binarySearch(medicationIds, pair[0]) >= 0 && Arrays.binarySearch(medicationIds, pair[1]) >= 0) {
+                pairs.add(pair);
+            }
+        }
+
+        // Seules les paires impliquant un médicament ajouté sont évaluées
+        long evaluated = 0;
+        for (int i = 0; i < added.size(); i++) {
+            final String addedId = added.get(i);
+            for (String otherId : medicationIds) {
+                final int addedIndex = added.indexOf(otherId);
+                // Paire entre deux ajouts déjà évaluée (ou médicament avec lui-même)
+                if (addedIndex < 0 || addedIndex > i) {
+                    evaluated++;
+                    addIfInteracting(addedId, otherId, pairs);
+                }
+            }
+        }
+        computedPairsCounter.increment(evaluated);
+
+        return new CachedInteractions(medicationIds, setHash, previous.version, pairs);
+    }
+
+    private CachedInteractions recomputeFully(String[] medicationIds, long setHash, long version) {
+        // Intersection des lignes d'adjacence du graphe avec l'ensemble du patient
+        final List<String[]> pairs = interactionIndexService.findInteractingPairs(Arrays.asList(medicationIds));
+        computedPairsCounter.increment((double) medicationIds.length * (medicationIds.length - 1) / 2);
+
+        return new CachedInteractions(medicationIds, setHash, version, pairs);
+    }
+
+    private void addIfInteracting(String medicationId1, String medicationId2, List<String[]> pairs) {
+        if (interactionIndexService.interacts(medicationId1, medicationId2)) {
+            pairs.add(new String[] {medicationId1, medicationId2});
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("hygie.interactions.cache.lookups")
+                .description("Consultations du cache des interactions par issue")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Extrait les IDs de médicaments distincts, triés.
+     *
+     * @param items Les items de prescription
+     * @return Les IDs triés sans doublon
+     */
+    static String[] sortedDistinctIds(List<PrescriptionItem> items) {
+        return items.stream()
+                .map(PrescriptionItem::getMedicationId)
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Calcule une empreinte FNV-1a 64 bits d'une liste d'IDs triés.
+     *
+     * @param sortedIds Les IDs triés
+     * @return L'empreinte de l'ensemble
+     */
+    static long hash(String[] sortedIds) {
+        long hash = FNV_OFFSET_BASIS;
+        for (String id : sortedIds) {
+            for (byte b : id.getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+            }
+            // Séparateur pour distinguer ["ab","c"] de ["a","bc"]
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Résultat en cache pour un patient: ensemble de médicaments et paires en interaction.
+     */
+    private static final class CachedInteractions {
+        private final String[] medicationIds;
+        private final long setHash;
+        private final long version;
+        private final List<String[]> pairs;
+
+        private CachedInteractions(String[] medicationIds, long setHash, long version, List<String[]> pairs) {
+            this.medicationIds = medicationIds;
+            this.setHash = setHash;
+            this.version = version;
+            this.pairs = List.copyOf(pairs);
+        }
+
+        boolean matches(long otherHash, long otherVersion, String[] otherIds) {
+            return setHash == otherHash && version == otherVersion && Arrays.equals(medicationIds, otherIds);
+        }
+
+        /**
+         * Reconstruit les paires d'items dans l'ordre du traitement en cours,
+         * comme le ferait le parcours par paires (i, j) avec i < j: chaque paire
+         * de médicaments donne une paire d'items par combinaison de leurs items.
+         */
+        List<PrescriptionItemPair> materialize(List<PrescriptionItem> currentMedications) {
+            final Map<String, List<Integer>> positions = new HashMap<>(currentMedications.size() * 2);
+            for (int i = 0; i < currentMedications.size(); i++) {
+                positions.computeIfAbsent(currentMedications.get(i).getMedicationId(), id -> new ArrayList<>(1)).add(i);
+            }
+
+            final List<int[]> ordered = new ArrayList<>(pairs.size());
+            for (String[] pair : pairs) {
+                for (int first : positions.get(pair[0])) {
+                    for (int second : positions.get(pair[1])) {
+                        ordered.add(new int[] {Math.min(first, second), Math.max(first, second)});
+                    }
+                }
+            }
+            ordered.sort(Comparator.<int[]>comparingInt(p -> p[0]).thenComparingInt(p -> p[1]));
+
+            final List<PrescriptionItemPair> interactions = new ArrayList<>(ordered.size());
+            for (int[] pair : ordered) {
+                interactions.add(new PrescriptionItemPair(currentMedications.get(pair[0]),
+                        currentMedications.get(pair[1])));
+            }
+            return interactions;
+        }
+    }
+}
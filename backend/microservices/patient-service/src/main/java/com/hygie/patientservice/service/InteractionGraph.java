@@ -0,0 +1,287 @@
+package com.hygie.patientservice.service;
+
+import com.hygie.patientservice.model.Medication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Graphe immuable des interactions du référentiel, en représentation compacte.
+ *
+ * Les IDs de médicaments sont internés en indices entiers denses et les arêtes
+ * sont stockées au format CSR (compressed sparse row): {@code offsets[i]..offsets[i+1]}
+ * délimite, dans {@code neighbors}, la liste triée des voisins du médicament i.
+ * Le graphe est symétrique et respecte la sémantique de {@link Medication#interactsWith}
+ * appliquée dans les deux sens.
+ *
+ * La recherche des interactions d'un traitement se fait par intersection de chaque
+ * ligne d'adjacence avec le bitset du traitement, sans allocation d'objets par paire.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public final class InteractionGraph {
+
+    private final Map<String, Integer> indices;
+    private final String[] medicationIds;
+    private final int[] offsets;
+    private final int[] neighbors;
+
+    private InteractionGraph(Map<String, Integer> indices, String[] medicationIds, int[] offsets, int[] neighbors) {
+        this.indices = indices;
+        this.medicationIds = medicationIds;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+    }
+
+    /**
+     * Construit le graphe à partir du référentiel.
+     *
+     * Les libellés d'interaction et les substances actives étant très redondants,
+     * chaque libellé distinct n'est comparé qu'une fois à chaque substance distincte.
+     *
+     * @param catalogue Les médicaments du référentiel
+     * @return Le graphe des interactions
+     */
+    public static InteractionGraph build(List<Medication> catalogue) {
+        // Assertion #1: Vérification du référentiel
+        assert catalogue != null : "Le référentiel de médicaments ne peut pas être null";
+
+        final Map<String, Integer> indices = new HashMap<>(catalogue.size() * 2);
+        final List<String> ids = new ArrayList<>(catalogue.size());
+        final Map<String, IntList> bySubstance = new LinkedHashMap<>();
+        final Map<String, IntList> byInteraction = new LinkedHashMap<>();
+
+        for (Medication medication : catalogue) {
+            if (indices.containsKey(medication.getId())) {
+                continue;
+            }
+            final int index = ids.size();
+            indices.put(medication.getId(), index);
+            ids.add(medication.getId());
+
+            bySubstance.computeIfAbsent(medication.getActiveSubstance().toLowerCase(Locale.ROOT),
+                    k -> new IntList()).add(index);
+            for (String interaction : medication.getInteractions()) {
+                byInteraction.computeIfAbsent(interaction.toLowerCase(Locale.ROOT), k -> new IntList()).add(index);
+            }
+        }
+
+        // Arêtes encodées (min << 32 | max), triées puis dédupliquées
+        final LongList edges = new LongList();
+        for (Map.Entry<String, IntList> interaction : byInteraction.entrySet()) {
+            for (Map.Entry<String, IntList> substance : bySubstance.entrySet()) {
+                if (interaction.getKey().contains(substance.getKey())) {
+                    addEdges(interaction.getValue(), substance.getValue(), edges);
+                }
+            }
+        }
+
+        final InteractionGraph graph = fromEdges(indices, ids.toArray(new String[0]), edges.sortedDistinct());
+
+        // Assertion #2: Vérification de la cohérence du graphe
+        assert graph.size() == indices.size() : "Chaque médicament doit avoir un sommet dans le graphe";
+
+        return graph;
+    }
+
+    private static void addEdges(IntList sources, IntList targets, LongList edges) {
+        for (int i = 0; i < sources.size; i++) {
+            for (int j = 0; j < targets.size; j++) {
+                final int a = sources.values[i];
+                final int b = targets.values[j];
+                if (a != b) {
+                    edges.add(((long) Math.min(a, b) << 32) | Math.max(a, b));
+                }
+            }
+        }
+    }
+
+    private static InteractionGraph fromEdges(Map<String, Integer> indices, String[] ids, long[] edges) {
+        final int[] degrees = new int[ids.length];
+        for (long edge : edges) {
+            degrees[(int) (edge >>> 32)]++;
+            degrees[(int) edge]++;
+        }
+
+        final int[] offsets = new int[ids.length + 1];
+        for (int i = 0; i < ids.length; i++) {
+            offsets[i + 1] = offsets[i] + degrees[i];
+        }
+
+        final int[] neighbors = new int[offsets[ids.length]];
+        final int[] cursor = Arrays.copyOf(offsets, ids.length);
+        for (long edge : edges) {
+            final int a = (int) (edge >>> 32);
+            final int b = (int) edge;
+            neighbors[cursor[a]++] = b;
+            neighbors[cursor[b]++] = a;
+        }
+        for (int i = 0; i < ids.length; i++) {
+            Arrays.sort(neighbors, offsets[i], offsets[i + 1]);
+        }
+
+        return new InteractionGraph(indices, ids, offsets, neighbors);
+    }
+
+    /**
+     * Retourne l'indice interné d'un médicament.
+     *
+     * @param medicationId L'ID du médicament
+     * @return L'indice, ou -1 si le médicament est inconnu du référentiel
+     */
+    public int indexOf(String medicationId) {
+        final Integer index = indices.get(medicationId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Retourne l'ID du médicament correspondant à un indice.
+     *
+     * @param index L'indice interné
+     * @return L'ID du médicament
+     */
+    public String medicationIdAt(int index) {
+        return medicationIds[index];
+    }
+
+    /**
+     * Retourne le nombre de médicaments (sommets) du graphe.
+     *
+     * @return Le nombre de médicaments
+     */
+    public int size() {
+        return medicationIds.length;
+    }
+
+    /**
+     * Retourne le nombre de paires en interaction (arêtes) du graphe.
+     *
+     * @return Le nombre d'arêtes
+     */
+    public int edgeCount() {
+        return neighbors.length / 2;
+    }
+
+    /**
+     * Vérifie si deux médicaments interagissent, par recherche dichotomique
+     * dans la ligne d'adjacence la plus courte.
+     *
+     * @param a L'indice du premier médicament
+     * @param b L'indice du second médicament
+     * @return true si une interaction est connue
+     */
+    public boolean interacts(int a, int b) {
+        // Assertion #1: Vérification des indices
+        assert a >= 0 && a < size() && b >= 0 && b < size() : "Indice de médicament hors du graphe";
+
+        final int row = degree(a) <= degree(b) ? a : b;
+        final int other = row == a ? b : a;
+        final boolean found = Arrays.binarySearch(neighbors, offsets[row], offsets[row + 1], other) >= 0;
+
+        // Assertion #2: Vérification de la symétrie
+        assert !found || Arrays.binarySearch(neighbors, offsets[other], offsets[other + 1], row) >= 0 :
+            "Le graphe des interactions doit être symétrique";
+
+        return found;
+    }
+
+    /**
+     * Recherche les paires en interaction au sein d'un traitement.
+     *
+     * Chaque ligne d'adjacence est intersectée avec le bitset du traitement; une paire
+     * (a, b) n'est émise qu'une fois, depuis son plus petit indice.
+     *
+     * @param medicationIndices Les indices des médicaments du traitement (les indices négatifs sont ignorés)
+     * @return Les paires en interaction, chacune encodée {@code (a << 32) | b} avec a < b
+     */
+    public long[] interactingPairs(int[] medicationIndices) {
+        // Assertion #1: Vérification du paramètre
+        assert medicationIndices != null : "Les indices du traitement ne peuvent pas être null";
+
+        final long[] treatment = new long[(size() + 63) >>> 6];
+        for (int index : medicationIndices) {
+            if (index >= 0) {
+                treatment[index >>> 6] |= 1L << index;
+            }
+        }
+
+        final LongList pairs = new LongList();
+        for (int word = 0; word < treatment.length; word++) {
+            long bits = treatment[word];
+            while (bits != 0) {
+                final int a = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                for (int k = offsets[a]; k < offsets[a + 1]; k++) {
+                    final int b = neighbors[k];
+                    if (b > a && (treatment[b >>> 6] & (1L << b)) != 0) {
+                        pairs.add(((long) a << 32) | b);
+                    }
+                }
+            }
+        }
+
+        final long[] result = pairs.toArray();
+
+        // Assertion #2: Vérification de l'ordre des paires
+        assert Arrays.stream(result).allMatch(p -> (int) (p >>> 32) < (int) p) :
+            "Chaque paire doit être émise depuis son plus petit indice";
+
+        return result;
+    }
+
+    private int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Liste croissante d'entiers primitifs.
+     */
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * Liste croissante d'entiers longs primitifs.
+     */
+    private static final class LongList {
+        private long[] values = new long[16];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        long[] sortedDistinct() {
+            final long[] sorted = toArray();
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, distinct);
+        }
+    }
+}
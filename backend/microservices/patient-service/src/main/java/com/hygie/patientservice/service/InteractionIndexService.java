@@ -0,0 +1,216 @@
+package com.hygie.patientservice.service;
+
+import com.hygie.patientservice.model.Medication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Index en mémoire des interactions médicamenteuses du référentiel.
+ *
+ * Évite les deux lectures MongoDB par paire de {@link MedicationService#checkInteraction}
+ * en conservant le {@link InteractionGraph} du référentiel (IDs internés en indices
+ * entiers, adjacence CSR). L'index est construit à la première utilisation puis
+ * reconstruit en arrière-plan lorsque la version du référentiel en base change; les
+ * requêtes lisent toujours l'index publié, sans attendre une reconstruction.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Service
+public class InteractionIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InteractionIndexService.class);
+
+    private final MedicationService medicationService;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param medicationService Le service pour accéder au référentiel des médicaments
+     */
+    @Autowired
+    public InteractionIndexService(MedicationService medicationService) {
+        // Assertion #1: Vérification que le service de médicaments n'est pas null
+        assert medicationService != null : "Le service de médicaments ne peut pas être null";
+
+        this.medicationService = medicationService;
+
+        // Assertion #2: Vérification post-initialisation
+        assert this.snapshot == null : "L'index doit être construit à la première utilisation";
+    }
+
+    /**
+     * Vérifie si deux médicaments du référentiel interagissent, dans un sens ou dans l'autre.
+     * Même sémantique que {@link Medication#interactsWith} appliquée symétriquement.
+     *
+     * @param medicationId1 L'ID du premier médicament
+     * @param medicationId2 L'ID du second médicament
+     * @return true si une interaction est connue, false sinon ou si un médicament est inconnu
+     */
+    public boolean interacts(String medicationId1, String medicationId2) {
+        // Assertion #1: Vérification des paramètres
+        assert medicationId1 != null && !medicationId1.isBlank() :
+            "L'ID du premier médicament ne peut pas être null ou vide";
+        assert medicationId2 != null && !medicationId2.isBlank() :
+            "L'ID du second médicament ne peut pas être null ou vide";
+
+        final InteractionGraph graph = getSnapshot().graph;
+        final int index1 = graph.indexOf(medicationId1);
+        final int index2 = graph.indexOf(medicationId2);
+
+        // Assertion #2: Vérification de l'internement
+        assert index1 < graph.size() && index2 < graph.size() : "Indice de médicament hors du graphe";
+
+        return index1 >= 0 && index2 >= 0 && index1 != index2 && graph.interacts(index1, index2);
+    }
+
+    /**
+     * Recherche toutes les paires en interaction au sein d'un ensemble de médicaments,
+     * par intersection des lignes d'adjacence avec le bitset de l'ensemble.
+     *
+     * @param medicationIds Les IDs des médicaments (les IDs inconnus du référentiel sont ignorés)
+     * @return Les paires en interaction, sous forme de couples d'IDs
+     */
+    public List<String[]> findInteractingPairs(Collection<String> medicationIds) {
+        // Assertion #1: Vérification du paramètre
+        assert medicationIds != null : "La liste des médicaments ne peut pas être null";
+
+        final InteractionGraph graph = getSnapshot().graph;
+        final int[] indices = new int[medicationIds.size()];
+        int i = 0;
+        for (String medicationId : medicationIds) {
+            indices[i++] = graph.indexOf(medicationId);
+        }
+
+        final long[] encodedPairs = graph.interactingPairs(indices);
+        final List<String[]> pairs = new ArrayList<>(encodedPairs.length);
+        for (long pair : encodedPairs) {
+            pairs.add(new String[] {graph.medicationIdAt((int) (pair >>> 32)), graph.medicationIdAt((int) pair)});
+        }
+
+        // Assertion #2: Vérification du résultat
+        assert pairs.size() == encodedPairs.length : "Chaque paire doit être décodée";
+
+        return pairs;
+    }
+
+    /**
+     * Récupère le graphe des interactions à jour.
+     *
+     * @return Le graphe construit sur la version courante du référentiel
+     */
+    public InteractionGraph getGraph() {
+        final InteractionGraph graph = getSnapshot().graph;
+
+        // Assertion #1: Vérification que le graphe est disponible
+        assert graph != null : "Le graphe des interactions doit être construit";
+
+        // Assertion #2: Vérification de la taille du graphe
+        assert graph.size() >= 0 : "La taille du graphe ne peut pas être négative";
+
+        return graph;
+    }
+
+    /**
+     * Récupère la version du référentiel sur laquelle l'index courant est construit.
+     *
+     * @return La version du référentiel indexée
+     */
+    public long getIndexedVersion() {
+        final Snapshot current = getSnapshot();
+
+        // Assertion #1: Vérification que l'index est disponible
+        assert current != null : "L'index des interactions doit être construit";
+
+        // Assertion #2: Vérification de la version
+        assert current.version >= 0 : "La version de l'index ne peut pas être négative";
+
+        return current.version;
+    }
+
+    /**
+     * Retourne l'index publié, construit à la première utilisation.
+     *
+     * @return L'index courant
+     */
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = buildSnapshot(medicationService.getCatalogueVersion());
+                }
+            }
+        }
+
+        // Assertion #1: Vérification que l'index est disponible
+        assert current != null : "L'index des interactions doit être construit";
+
+        // Assertion #2: Vérification de la version de l'index
+        assert current.version >= 0 : "La version de l'index ne peut pas être négative";
+
+        return current;
+    }
+
+    /**
+     * Reconstruit l'index en arrière-plan si la version du référentiel en base a changé,
+     * y compris du fait d'une autre instance. Le nouveau graphe remplace l'ancien d'un bloc.
+     */
+    @Scheduled(fixedDelayString = "${app.catalogue.refresh-interval-ms:5000}",
+               initialDelayString = "${app.catalogue.initial-delay-ms:0}")
+    public void refreshIndex() {
+        try {
+            final long version = medicationService.getCatalogueVersion();
+            final Snapshot current = snapshot;
+            if (current != null && current.version == version) {
+                return;
+            }
+            synchronized (this) {
+                if (snapshot == null || snapshot.version != version) {
+                    buildSnapshot(version);
+                    logger.info("Index des interactions reconstruit (version du référentiel: {})", version);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Échec de la reconstruction de l'index des interactions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Construit et publie le graphe d'une version du référentiel. Appelé sous le verrou.
+     * La version est lue avant les médicaments: une modification concurrente
+     * déclenchera une nouvelle reconstruction.
+     *
+     * @param version La version du référentiel
+     * @return L'index publié
+     */
+    private Snapshot buildSnapshot(long version) {
+        final Snapshot built = new Snapshot(version, InteractionGraph.build(medicationService.getAllMedications()));
+        snapshot = built;
+        return built;
+    }
+
+    /**
+     * Graphe immuable associé à la version du référentiel à partir de laquelle il a été construit.
+     */
+    private static final class Snapshot {
+        private final long version;
+        private final InteractionGraph graph;
+
+        private Snapshot(long version, InteractionGraph graph) {
+            this.version = version;
+            this.graph = graph;
+        }
+    }
+}
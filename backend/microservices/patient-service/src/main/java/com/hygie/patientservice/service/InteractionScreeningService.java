@@ -0,0 +1,311 @@
+package com.hygie.patientservice.service;
+
+import com.hygie.patientservice.model.Prescription;
+import com.hygie.patientservice.model.PrescriptionItem;
+import com.hygie.patientservice.service.PrescriptionService.PrescriptionItemPair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Service de dépistage des interactions médicamenteuses au moment de la prescription.
+ *
+ * Seules les paires nouvel item × traitement en cours (et nouvel item × nouvel item)
+ * sont vérifiées, à partir de l'index en mémoire des interactions. Le résultat est
+ * attendu dans un budget de latence strict; au-delà, le dépistage se poursuit en
+ * arrière-plan et son résultat reste consultable par ID de prescription. Un
+ * dépistage en échec est conservé avec le statut FAILED, afin que le prescripteur
+ * sache que la vérification n'a pas eu lieu.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Service
+public class InteractionScreeningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InteractionScreeningService.class);
+
+    private static final int MAX_STORED_RESULTS = 10_000;
+
+    private final InteractionIndexService interactionIndexService;
+    private final ExecutorService screeningExecutor;
+    private final long inlineBudgetMs;
+
+    // Résultats récents par ID de prescription, bornés (les plus anciens sont évincés)
+    private final Map<String, InteractionScreening> results = Collections.synchronizedMap(
+        new LinkedHashMap<String, InteractionScreening>(256, 0.75f, false) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, InteractionScreening> eldest) {
+                return size() > MAX_STORED_RESULTS;
+            }
+        });
+
+    /**
+     * Statut d'un dépistage d'interactions.
+     */
+    public enum ScreeningStatus {
+        COMPLETED,
+        PENDING,
+        SKIPPED,
+        FAILED
+    }
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param interactionIndexService L'index en mémoire des interactions
+     * @param screeningExecutor L'exécuteur dédié au dépistage
+     * @param inlineBudgetMs Le budget de latence du dépistage en ligne, en millisecondes
+     */
+    @Autowired
+    public InteractionScreeningService(InteractionIndexService interactionIndexService,
+                                       @Qualifier("screeningExecutor") ExecutorService screeningExecutor,
+                                       @Value("${app.screening.inline-budget-ms:150}") long inlineBudgetMs) {
+        // Assertion #1: Vérification des dépendances
+        assert interactionIndexService != null : "L'index des interactions ne peut pas être null";
+        assert screeningExecutor != null : "L'exécuteur de dépistage ne peut pas être null";
+
+        // Assertion #2: Vérification du budget
+        assert inlineBudgetMs > 0 : "Le budget de latence doit être positif";
+
+        this.interactionIndexService = interactionIndexService;
+        this.screeningExecutor = screeningExecutor;
+        this.inlineBudgetMs = inlineBudgetMs;
+    }
+
+    /**
+     * Dépiste les interactions d'une prescription enregistrée dans le budget de latence.
+     * Si le budget est dépassé, le résultat est PENDING et sera disponible via
+     * {@link #getScreening(String)} à la fin du traitement en arrière-plan.
+     *
+     * @param prescription La prescription enregistrée
+     * @param currentMedications Fournisseur du traitement en cours du patient
+     * @return Le résultat du dépistage (COMPLETED, PENDING, FAILED ou SKIPPED)
+     */
+    public InteractionScreening screen(Prescription prescription,
+                                       Supplier<List<PrescriptionItem>> currentMedications) {
+        // Assertion #1: Vérification des paramètres
+        assert prescription != null && prescription.getId() != null :
+            "La prescription doit être enregistrée avant le dépistage";
+        assert currentMedications != null : "Le fournisseur du traitement en cours ne peut pas être null";
+
+        final String prescriptionId = prescription.getId();
+        final long start = System.nanoTime();
+        final CompletableFuture<InteractionScreening> future;
+
+        try {
+            future = CompletableFuture.supplyAsync(() -> runScreening(prescription, currentMedications, start),
+                    screeningExecutor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("File de dépistage saturée, dépistage ignoré pour la prescription ID: {}", prescriptionId);
+            return InteractionScreening.withoutResult(prescriptionId, ScreeningStatus.SKIPPED, elapsedMs(start));
+        }
+
+        final InteractionScreening pending =
+            InteractionScreening.withoutResult(prescriptionId, ScreeningStatus.PENDING, inlineBudgetMs);
+        results.put(prescriptionId, pending);
+        future.whenComplete((screening, error) -> storeResult(prescriptionId, screening, error, start));
+
+        final InteractionScreening screening = awaitWithinBudget(future, pending, start);
+
+        // Assertion #2: Vérification du résultat
+        assert screening.getStatus() != ScreeningStatus.SKIPPED :
+            "Un dépistage soumis ne peut pas être ignoré";
+
+        return screening;
+    }
+
+    /**
+     * Récupère le dernier résultat de dépistage connu pour une prescription.
+     *
+     * @param prescriptionId L'ID de la prescription
+     * @return Un Optional contenant le résultat, vide si aucun dépistage n'est connu
+     */
+    public Optional<InteractionScreening> getScreening(String prescriptionId) {
+        // Assertion #1: Vérification du paramètre
+        assert prescriptionId != null && !prescriptionId.isBlank() :
+            "L'ID de la prescription ne peut pas être null ou vide";
+
+        final Optional<InteractionScreening> screening = Optional.ofNullable(results.get(prescriptionId));
+
+        // Assertion #2: Vérification de la cohérence du résultat
+        assert screening.isEmpty() || prescriptionId.equals(screening.get().getPrescriptionId()) :
+            "Le résultat ne correspond pas à la prescription demandée";
+
+        return screening;
+    }
+
+    /**
+     * Vérifie de manière incrémentale les paires nouvel item × traitement en cours,
+     * ainsi que les paires entre nouveaux items.
+     *
+     * @param newItems Les items de la nouvelle prescription
+     * @param currentItems Le traitement en cours du patient
+     * @return La liste des paires qui interagissent
+     */
+    public List<PrescriptionItemPair> screenNewItems(List<PrescriptionItem> newItems,
+                                                     List<PrescriptionItem> currentItems) {
+        // Assertion #1: Vérification des paramètres
+        assert newItems != null : "La liste des nouveaux items ne peut pas être null";
+        assert currentItems != null : "La liste du traitement en cours ne peut pas être null";
+
+        final Set<String> newMedicationIds = new HashSet<>();
+        for (PrescriptionItem item : newItems) {
+            newMedicationIds.add(item.getMedicationId());
+        }
+
+        final List<PrescriptionItemPair> interactions = new ArrayList<>();
+        for (int i = 0; i < newItems.size(); i++) {
+            final PrescriptionItem newItem = newItems.get(i);
+            for (PrescriptionItem currentItem : currentItems) {
+                if (!newMedicationIds.contains(currentItem.getMedicationId())) {
+                    addIfInteracting(newItem, currentItem, interactions);
+                }
+            }
+            for (int j = i + 1; j < newItems.size(); j++) {
+                addIfInteracting(newItem, newItems.get(j), interactions);
+            }
+        }
+
+        // Assertion #2: Vérification que chaque paire implique un nouvel item
+        assert interactions.stream().allMatch(p -> newItems.contains(p.getItem1())) :
+            "Chaque interaction dépistée doit impliquer un nouvel item";
+
+        return interactions;
+    }
+
+    private void addIfInteracting(PrescriptionItem item1, PrescriptionItem item2,
+                                  List<PrescriptionItemPair> interactions) {
+        if (!item1.getMedicationId().equals(item2.getMedicationId())
+                && interactionIndexService.interacts(item1.getMedicationId(), item2.getMedicationId())) {
+            interactions.add(new PrescriptionItemPair(item1, item2));
+        }
+    }
+
+    private InteractionScreening runScreening(Prescription prescription,
+                                              Supplier<List<PrescriptionItem>> currentMedications,
+                                              long start) {
+        final List<PrescriptionItemPair> interactions =
+            screenNewItems(prescription.getPrescriptionItems(), currentMedications.get());
+        return new InteractionScreening(prescription.getId(), ScreeningStatus.COMPLETED,
+                interactions, elapsedMs(start));
+    }
+
+    private InteractionScreening awaitWithinBudget(CompletableFuture<InteractionScreening> future,
+                                                   InteractionScreening pending, long start) {
+        try {
+            return future.get(inlineBudgetMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.info("Budget de dépistage de {}ms dépassé, poursuite asynchrone pour la prescription ID: {}",
+                    inlineBudgetMs, pending.getPrescriptionId());
+            return pending;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return pending;
+        } catch (ExecutionException e) {
+            // Le résultat FAILED est aussi enregistré par storeResult
+            return failed(pending.getPrescriptionId(), elapsedMs(start));
+        }
+    }
+
+    private void storeResult(String prescriptionId, InteractionScreening screening, Throwable error, long start) {
+        if (error != null) {
+            logger.error("Échec du dépistage des interactions pour la prescription ID: {}", prescriptionId, error);
+            results.put(prescriptionId, failed(prescriptionId, elapsedMs(start)));
+            return;
+        }
+        results.put(prescriptionId, screening);
+        if (!screening.getInteractions().isEmpty()) {
+            logger.warn("{} interaction(s) dépistée(s) pour la prescription ID: {}",
+                    screening.getInteractions().size(), prescriptionId);
+        }
+    }
+
+    private static InteractionScreening failed(String prescriptionId, long elapsedMs) {
+        return InteractionScreening.withoutResult(prescriptionId, ScreeningStatus.FAILED, elapsedMs);
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Classe interne associant une prescription enregistrée à son dépistage.
+     */
+    public static class ScreenedPrescription {
+        private final Prescription prescription;
+        private final InteractionScreening screening;
+
+        public ScreenedPrescription(Prescription prescription, InteractionScreening screening) {
+            this.prescription = prescription;
+            this.screening = screening;
+        }
+
+        public Prescription getPrescription() {
+            return prescription;
+        }
+
+        public InteractionScreening getScreening() {
+            return screening;
+        }
+    }
+
+    /**
+     * Classe interne pour représenter le résultat d'un dépistage d'interactions.
+     */
+    public static class InteractionScreening {
+        private final String prescriptionId;
+        private final ScreeningStatus status;
+        private final List<PrescriptionItemPair> interactions;
+        private final long elapsedMs;
+
+        public InteractionScreening(String prescriptionId, ScreeningStatus status,
+                                    List<PrescriptionItemPair> interactions, long elapsedMs) {
+            this.prescriptionId = prescriptionId;
+            this.status = status;
+            this.interactions = List.copyOf(interactions);
+            this.elapsedMs = elapsedMs;
+        }
+
+        static InteractionScreening withoutResult(String prescriptionId, ScreeningStatus status, long elapsedMs) {
+            return new InteractionScreening(prescriptionId, status, List.of(), elapsedMs);
+        }
+
+        public String getPrescriptionId() {
+            return prescriptionId;
+        }
+
+        public ScreeningStatus getStatus() {
+            return status;
+        }
+
+        public List<PrescriptionItemPair> getInteractions() {
+            return interactions;
+        }
+
+        public long getElapsedMs() {
+            return elapsedMs;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.hygie.patientservice.service;
 
+import com.hygie.patientservice.model.CatalogueVersion;
 import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.repository.CatalogueVersionRepository;
 import com.hygie.patientservice.repository.MedicationRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,21 +26,33 @@ import java.util.stream.Collectors;
  */
 @Service
 @Transactional
+@Timed(value = "hygie.service", description = "Durée des appels aux services métier")
 public class MedicationService {
 
+    // Version du référentiel en base, incrémentée à chaque modification pour invalider
+    // les index dérivés de toutes les instances du service
+    static final String CATALOGUE_ID = "medications";
+
     private final MedicationRepository medicationRepository;
+    private final CatalogueVersionRepository catalogueVersionRepository;
 
     /**
      * Constructeur avec injection des dépendances.
      *
      * @param medicationRepository Le repository pour accéder aux données des médicaments
+     * @param catalogueVersionRepository Le repository de la version du référentiel
      */
     @Autowired
-    public MedicationService(MedicationRepository medicationRepository) {
+    public MedicationService(MedicationRepository medicationRepository,
+                             CatalogueVersionRepository catalogueVersionRepository) {
         // Assertion #1: Vérification que le repository n'est pas null
         assert medicationRepository != null : "Le repository de médicaments ne peut pas être null";
 
+        // Assertion #2: Vérification que le repository des versions n'est pas null
+        assert catalogueVersionRepository != null : "Le repository des versions ne peut pas être null";
+
         this.medicationRepository = medicationRepository;
+        this.catalogueVersionRepository = catalogueVersionRepository;
     }
 
     /**
@@ -55,6 +71,7 @@ public class MedicationService {
             "Un médicament avec ce code CIS existe déjà";
 
         final Medication savedMedication = medicationRepository.save(medication);
+        incrementCatalogueVersion();
 
         // Postcondition: Vérification que l'enregistrement a fonctionné
         assert savedMedication != null && savedMedication.getId() != null :
@@ -152,6 +169,7 @@ public class MedicationService {
         }
 
         medicationRepository.deleteById(id);
+        incrementCatalogueVersion();
 
         // Assertion #2: Vérification que la suppression a fonctionné
         final boolean stillExists = medicationRepository.existsById(id);
@@ -222,6 +240,40 @@ public class MedicationService {
         return medications;
     }
 
+    /**
+     * Récupère la version courante du référentiel de médicaments, lue en base pour
+     * que les modifications faites par une autre instance soient vues.
+     * Les index dérivés (contre-indications, interactions) se reconstruisent
+     * en arrière-plan lorsque cette version change.
+     *
+     * @return La version du référentiel, 0 s'il n'a jamais été modifié
+     */
+    public long getCatalogueVersion() {
+        final long version = catalogueVersionRepository.findById(CATALOGUE_ID)
+                .map(CatalogueVersion::getVersion)
+                .orElse(0L);
+
+        // Assertion #1: Vérification que la version n'est jamais négative
+        assert version >= 0 : "La version du référentiel ne peut pas être négative";
+
+        return version;
+    }
+
+    /**
+     * Incrémente la version du référentiel en base, en la créant à la première modification.
+     */
+    private void incrementCatalogueVersion() {
+        if (catalogueVersionRepository.findAndIncrementVersionById(CATALOGUE_ID) > 0) {
+            return;
+        }
+        try {
+            catalogueVersionRepository.insert(new CatalogueVersion(CATALOGUE_ID, 1L));
+        } catch (DuplicateKeyException e) {
+            // Version créée entre-temps par une autre instance
+            catalogueVersionRepository.findAndIncrementVersionById(CATALOGUE_ID);
+        }
+    }
+
     /**
      * Recherche les médicaments à risque pour les personnes âgées.
      *
@@ -274,6 +326,7 @@ public class MedicationService {
         );
 
         final Medication savedMedication = medicationRepository.save(updatedMedication);
+        incrementCatalogueVersion();
 
         // Assertion #2: Vérification que la mise à jour a bien fonctionné
         assert savedMedication != null : "La mise à jour du médicament a échoué";
@@ -4,6 +4,7 @@ import com.hygie.patientservice.model.Patient;
 import com.hygie.patientservice.model.PatientBuilder;
 import com.hygie.patientservice.model.MedicalHistory;
 import com.hygie.patientservice.repository.PatientRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +27,7 @@ import java.util.stream.Collectors;
  */
 @Service
 @Transactional
+@Timed(value = "hygie.service", description = "Durée des appels aux services métier")
 public class PatientService {
 
     private final PatientRepository patientRepository;
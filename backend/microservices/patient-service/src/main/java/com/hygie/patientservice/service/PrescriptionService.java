@@ -4,6 +4,7 @@ import com.hygie.patientservice.model.Prescription;
 import com.hygie.patientservice.model.PrescriptionItem;
 import com.hygie.patientservice.model.Prescription.PrescriptionStatus;
 import com.hygie.patientservice.repository.PrescriptionRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,28 +26,34 @@ import java.util.stream.Collectors;
  */
 @Service
 @Transactional
+@Timed(value = "hygie.service", description = "Durée des appels aux services métier")
 public class PrescriptionService {
 
     private final PrescriptionRepository prescriptionRepository;
     private final MedicationService medicationService;
+    private final InteractionCacheService interactionCacheService;
 
     /**
      * Constructeur avec injection des dépendances.
      *
      * @param prescriptionRepository Le repository pour accéder aux données des prescriptions
      * @param medicationService Le service pour accéder aux données des médicaments
+     * @param interactionCacheService Le cache incrémental des interactions par patient
      */
     @Autowired
     public PrescriptionService(PrescriptionRepository prescriptionRepository,
-                              MedicationService medicationService) {
+                              MedicationService medicationService,
+                              InteractionCacheService interactionCacheService) {
         // Assertion #1: Vérification que le repository n'est pas null
         assert prescriptionRepository != null : "Le repository de prescriptions ne peut pas être null";
 
-        // Assertion #2: Vérification que le service de médicaments n'est pas null
+        // Assertion #2: Vérification que les services ne sont pas null
         assert medicationService != null : "Le service de médicaments ne peut pas être null";
+        assert interactionCacheService != null : "Le cache des interactions ne peut pas être null";
 
         this.prescriptionRepository = prescriptionRepository;
         this.medicationService = medicationService;
+        this.interactionCacheService = interactionCacheService;
     }
 
     /**
@@ -385,22 +392,11 @@ public class PrescriptionService {
             "L'ID du patient ne peut pas être null ou vide";
 
         final List<PrescriptionItem> currentMedications = getCurrentMedications(patientId);
-        final List<PrescriptionItemPair> interactions = new ArrayList<>();
 
-        // Vérification des interactions entre tous les médicaments actifs
-        for (int i = 0; i < currentMedications.size(); i++) {
-            for (int j = i + 1; j < currentMedications.size(); j++) {
-                final PrescriptionItem item1 = currentMedications.get(i);
-                final PrescriptionItem item2 = currentMedications.get(j);
-
-                final boolean hasInteraction = medicationService.checkInteraction(
-                        item1.getMedicationId(), item2.getMedicationId());
-
-                if (hasInteraction) {
-                    interactions.add(new PrescriptionItemPair(item1, item2));
-                }
-            }
-        }
+        // Vérification des interactions entre tous les médicaments actifs; seules les
+        // paires impliquant un médicament nouveau depuis le dernier appel sont recalculées
+        final List<PrescriptionItemPair> interactions =
+                interactionCacheService.getInteractions(patientId, currentMedications);
 
         // Assertion #2: Vérification du résultat
         assert interactions != null : "La liste des interactions ne peut pas être null";
@@ -0,0 +1,48 @@
+package com.hygie.patientservice.tracing;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonValue;
+
+/**
+ * Enregistre chaque commande MongoDB comme une étape de la requête en cours.
+ *
+ * Le pilote synchrone notifie le début et la fin d'une commande sur le thread
+ * appelant; l'étape est nommée d'après la commande et la collection visée
+ * (ex. {@code find prescriptions}).
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class MongoCommandSpanListener implements CommandListener {
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        final RequestTrace trace = RequestTracer.current();
+        if (trace == null) {
+            return;
+        }
+        final BsonValue target = event.getCommand().get(event.getCommandName());
+        trace.openCommand(event.getRequestId(), target != null && target.isString()
+            ? event.getCommandName() + " " + target.asString().getValue()
+            : event.getCommandName());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        final RequestTrace trace = RequestTracer.current();
+        if (trace != null) {
+            trace.closeCommand(event.getRequestId());
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        final RequestTrace trace = RequestTracer.current();
+        if (trace != null) {
+            trace.closeCommand(event.getRequestId());
+        }
+    }
+}
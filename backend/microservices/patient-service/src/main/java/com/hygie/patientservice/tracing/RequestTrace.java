@@ -0,0 +1,190 @@
+package com.hygie.patientservice.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trace d'une requête HTTP: étapes imbriquées (services, commandes MongoDB,
+ * sérialisation) mesurées sur le thread qui traite la requête.
+ *
+ * Une trace n'est manipulée que par son thread et n'est donc pas synchronisée.
+ * Pour chaque catégorie, elle cumule le temps propre des étapes (durée moins
+ * celle des étapes imbriquées), de sorte que la ventilation ne compte jamais
+ * deux fois la même nanoseconde. Au-delà du nombre maximal d'étapes, le détail
+ * n'est plus conservé mais la ventilation reste exacte.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public final class RequestTrace {
+
+    private final String correlationId;
+    private final String method;
+    private final String route;
+    private final Instant startedAt;
+    private final long startNanos;
+    private final int maxSpans;
+    private final List<Span> spans;
+    private final long[] selfNanos = new long[SpanCategory.values().length];
+    private final Map<Integer, Span> pendingCommands = new HashMap<>(4);
+    private Span current;
+    private int droppedSpans;
+
+    RequestTrace(String correlationId, String method, String route, int maxSpans) {
+        // Assertion #1: Vérification des paramètres
+        assert method != null && route != null : "La méthode et la route ne peuvent pas être null";
+        assert maxSpans >= 0 : "Le nombre maximal d'étapes ne peut pas être négatif";
+
+        this.correlationId = correlationId;
+        this.method = method;
+        this.route = route;
+        this.startedAt = Instant.now();
+        this.startNanos = System.nanoTime();
+        this.maxSpans = maxSpans;
+        this.spans = new ArrayList<>(Math.min(maxSpans, 32));
+    }
+
+    Span open(SpanCategory category, String name) {
+        final Span span = new Span(this, category, name, current, System.nanoTime());
+        current = span;
+        if (spans.size() < maxSpans) {
+            spans.add(span);
+        } else {
+            droppedSpans++;
+        }
+        return span;
+    }
+
+    void close(Span span) {
+        if (span.closed) {
+            return;
+        }
+        span.closed = true;
+        span.endNanos = System.nanoTime();
+        final long duration = span.endNanos - span.startNanos;
+        selfNanos[span.category.ordinal()] += duration - span.childNanos;
+        if (span.parent != null) {
+            span.parent.childNanos += duration;
+        }
+        current = span.parent;
+    }
+
+    /**
+     * Ouvre l'étape d'une commande MongoDB; le pilote signale la fin par l'ID de requête.
+     */
+    void openCommand(int requestId, String name) {
+        pendingCommands.put(requestId, open(SpanCategory.MONGO, name));
+    }
+
+    void closeCommand(int requestId) {
+        final Span span = pendingCommands.remove(requestId);
+        if (span != null) {
+            close(span);
+        }
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * @return Les étapes conservées, dans l'ordre de leur ouverture
+     */
+    public List<Span> getSpans() {
+        return Collections.unmodifiableList(spans);
+    }
+
+    public int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    /**
+     * @param category La catégorie
+     * @return Le temps propre cumulé des étapes fermées de la catégorie, en nanosecondes
+     */
+    public long getSelfNanos(SpanCategory category) {
+        return selfNanos[category.ordinal()];
+    }
+
+    /**
+     * Étape mesurée. Une étape ouverte hors de toute trace est inerte.
+     */
+    public static final class Span implements AutoCloseable {
+
+        static final Span NOOP = new Span(null, SpanCategory.SERVICE, "", null, 0L);
+
+        private final RequestTrace trace;
+        private final SpanCategory category;
+        private final String name;
+        private final Span parent;
+        private final int depth;
+        private final long startNanos;
+        private long endNanos;
+        private long childNanos;
+        private boolean closed;
+
+        private Span(RequestTrace trace, SpanCategory category, String name, Span parent, long startNanos) {
+            this.trace = trace;
+            this.category = category;
+            this.name = name;
+            this.parent = parent;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (trace != null) {
+                trace.close(this);
+            }
+        }
+
+        public SpanCategory getCategory() {
+            return category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        /**
+         * @param nowNanos L'instant de référence pour une étape encore ouverte
+         * @return La durée de l'étape en nanosecondes
+         */
+        public long getDurationNanos(long nowNanos) {
+            return (closed ? endNanos : nowNanos) - startNanos;
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.hygie.patientservice.tracing;
+
+/**
+ * Point d'accès à la trace de la requête en cours, portée par le thread comme
+ * le MDC de SLF4J.
+ *
+ * Hors d'une requête tracée (tâches planifiées, pool de dépistage), toutes les
+ * opérations sont sans effet et n'allouent rien.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public final class RequestTracer {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private RequestTracer() {
+    }
+
+    /**
+     * Démarre la trace de la requête traitée par le thread courant.
+     *
+     * @param correlationId L'ID de corrélation de la requête
+     * @param method La méthode HTTP
+     * @param route Le modèle de chemin de la route (sans identifiants de patient)
+     * @param maxSpans Le nombre maximal d'étapes détaillées conservées
+     * @return La trace démarrée
+     */
+    public static RequestTrace begin(String correlationId, String method, String route, int maxSpans) {
+        // Assertion #1: Vérification de l'absence de trace en cours
+        assert CURRENT.get() == null : "Une trace est déjà en cours sur ce thread";
+
+        final RequestTrace trace = new RequestTrace(correlationId, method, route, maxSpans);
+        CURRENT.set(trace);
+
+        // Assertion #2: Vérification de l'attachement au thread
+        assert CURRENT.get() == trace : "La trace doit être attachée au thread courant";
+
+        return trace;
+    }
+
+    /**
+     * Termine la trace du thread courant et la détache.
+     *
+     * @return La trace terminée, ou null si aucune n'était en cours
+     */
+    public static RequestTrace end() {
+        final RequestTrace trace = CURRENT.get();
+        CURRENT.remove();
+        return trace;
+    }
+
+    /**
+     * @return true si le thread courant traite une requête tracée
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Ouvre une étape dans la trace courante; à fermer dans un bloc finally.
+     *
+     * @param category La catégorie de l'étape
+     * @param name Le nom de l'étape
+     * @return L'étape ouverte, inerte hors d'une requête tracée
+     */
+    public static RequestTrace.Span startSpan(SpanCategory category, String name) {
+        final RequestTrace trace = CURRENT.get();
+        return trace == null ? RequestTrace.Span.NOOP : trace.open(category, name);
+    }
+
+    static RequestTrace current() {
+        return CURRENT.get();
+    }
+}
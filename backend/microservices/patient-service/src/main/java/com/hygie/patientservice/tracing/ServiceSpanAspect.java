@@ -0,0 +1,43 @@
+package com.hygie.patientservice.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Enregistre les appels aux méthodes publiques des services métier comme des
+ * étapes de la requête en cours.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Aspect
+@Component
+public class ServiceSpanAspect {
+
+    /**
+     * Mesure un appel de service lorsque la requête est tracée.
+     *
+     * @param joinPoint L'appel intercepté
+     * @return Le résultat de l'appel
+     * @throws Throwable L'exception levée par le service
+     */
+    @Around("execution(public * com.hygie.patientservice.service..*(..))"
+        + " && @within(org.springframework.stereotype.Service)")
+    public Object traceServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!RequestTracer.isActive()) {
+            return joinPoint.proceed();
+        }
+
+        final Signature signature = joinPoint.getSignature();
+        final RequestTrace.Span span = RequestTracer.startSpan(SpanCategory.SERVICE,
+            signature.getDeclaringType().getSimpleName() + "." + signature.getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            span.close();
+        }
+    }
+}
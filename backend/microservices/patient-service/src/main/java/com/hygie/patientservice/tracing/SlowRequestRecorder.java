@@ -0,0 +1,275 @@
+package com.hygie.patientservice.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Conserve la ventilation des requêtes lentes dans un tampon circulaire de
+ * taille fixe, consultable via {@code /actuator/slowrequests}.
+ *
+ * Seules les requêtes dépassant le seuil sont copiées dans le tampon; les plus
+ * anciennes sont écrasées. L'écriture est sans verrou: deux requêtes lentes
+ * simultanées obtiennent des emplacements distincts.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Component
+public class SlowRequestRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowRequestRecorder.class);
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final int maxSpans;
+    private final AtomicReferenceArray<SlowRequest> slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter slowRequests;
+
+    /**
+     * Crée l'enregistreur des requêtes lentes.
+     *
+     * @param meterRegistry Le registre des métriques
+     * @param enabled true pour tracer les requêtes
+     * @param thresholdMs La durée au-delà de laquelle une requête est lente
+     * @param capacity Le nombre de requêtes lentes conservées
+     * @param maxSpans Le nombre maximal d'étapes détaillées par requête
+     */
+    @Autowired
+    public SlowRequestRecorder(MeterRegistry meterRegistry,
+                               @Value("${app.tracing.enabled:true}") boolean enabled,
+                               @Value("${app.tracing.slow-request-threshold-ms:1000}") long thresholdMs,
+                               @Value("${app.tracing.buffer-size:200}") int capacity,
+                               @Value("${app.tracing.max-spans-per-request:256}") int maxSpans) {
+        // Assertion #1: Vérification des paramètres
+        assert meterRegistry != null : "Le registre des métriques ne peut pas être null";
+        assert thresholdMs >= 0 && capacity > 0 && maxSpans >= 0 : "Paramètres de traçage invalides";
+
+        this.enabled = enabled;
+        this.thresholdNanos = thresholdMs * 1_000_000L;
+        this.maxSpans = maxSpans;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.slowRequests = Counter.builder("hygie.requests.slow")
+            .description("Requêtes ayant dépassé le seuil de lenteur")
+            .register(meterRegistry);
+
+        // Assertion #2: Vérification du tampon
+        assert slots.length() == capacity : "Le tampon doit avoir la capacité demandée";
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxSpans() {
+        return maxSpans;
+    }
+
+    /**
+     * Termine l'examen d'une trace: si la requête est lente, sa ventilation est
+     * conservée et journalisée.
+     *
+     * @param trace La trace terminée
+     * @param status Le statut HTTP de la réponse
+     * @return La ventilation conservée, ou null si la requête n'est pas lente
+     */
+    public SlowRequest offer(RequestTrace trace, int status) {
+        // Assertion #1: Vérification de la trace
+        assert trace != null : "La trace ne peut pas être null";
+
+        final long endNanos = System.nanoTime();
+        if (endNanos - trace.getStartNanos() < thresholdNanos) {
+            return null;
+        }
+
+        final SlowRequest slowRequest = SlowRequest.from(trace, status, endNanos);
+        slots.set((int) (sequence.getAndIncrement() % slots.length()), slowRequest);
+        slowRequests.increment();
+
+        logger.warn("Requête lente: {} {} a pris {}ms (CorrelationID: {}), ventilation: {}",
+            slowRequest.getMethod(), slowRequest.getRoute(), Math.round(slowRequest.getDurationMs()),
+            slowRequest.getCorrelationId(), slowRequest.getBreakdownMs());
+
+        // Assertion #2: Vérification de l'enregistrement
+        assert sequence.get() > 0 : "La requête lente doit avoir été enregistrée";
+
+        return slowRequest;
+    }
+
+    /**
+     * @return Les requêtes lentes conservées, de la plus récente à la plus ancienne
+     */
+    public List<SlowRequest> getRecent() {
+        final long end = sequence.get();
+        final long start = Math.max(0, end - slots.length());
+        final List<SlowRequest> recent = new ArrayList<>((int) (end - start));
+        for (long i = end - 1; i >= start; i--) {
+            final SlowRequest slowRequest = slots.get((int) (i % slots.length()));
+            if (slowRequest != null) {
+                recent.add(slowRequest);
+            }
+        }
+        return recent;
+    }
+
+    /**
+     * @param correlationId L'ID de corrélation recherché
+     * @return La requête lente la plus récente portant cet ID, ou null
+     */
+    public SlowRequest find(String correlationId) {
+        // Assertion #1: Vérification du paramètre
+        assert correlationId != null : "L'ID de corrélation ne peut pas être null";
+
+        for (SlowRequest slowRequest : getRecent()) {
+            if (correlationId.equals(slowRequest.getCorrelationId())) {
+                return slowRequest;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ventilation figée d'une requête lente.
+     */
+    public static class SlowRequest {
+        private final String correlationId;
+        private final String method;
+        private final String route;
+        private final int status;
+        private final String startedAt;
+        private final double durationMs;
+        private final Map<String, Double> breakdownMs;
+        private final List<SpanRecord> spans;
+        private final int droppedSpans;
+
+        public SlowRequest(String correlationId, String method, String route, int status, String startedAt,
+                           double durationMs, Map<String, Double> breakdownMs, List<SpanRecord> spans,
+                           int droppedSpans) {
+            this.correlationId = correlationId;
+            this.method = method;
+            this.route = route;
+            this.status = status;
+            this.startedAt = startedAt;
+            this.durationMs = durationMs;
+            this.breakdownMs = breakdownMs;
+            this.spans = spans;
+            this.droppedSpans = droppedSpans;
+        }
+
+        static SlowRequest from(RequestTrace trace, int status, long endNanos) {
+            final long totalNanos = endNanos - trace.getStartNanos();
+
+            // Temps propre par catégorie; le reste revient au contrôleur et aux intercepteurs
+            final Map<String, Double> breakdown = new LinkedHashMap<>();
+            long accounted = 0;
+            for (SpanCategory category : SpanCategory.values()) {
+                final long self = trace.getSelfNanos(category);
+                accounted += self;
+                breakdown.put(category.getKey(), self / NANOS_PER_MS);
+            }
+            breakdown.put("other", Math.max(0, totalNanos - accounted) / NANOS_PER_MS);
+
+            final List<SpanRecord> spans = new ArrayList<>(trace.getSpans().size());
+            for (RequestTrace.Span span : trace.getSpans()) {
+                spans.add(new SpanRecord(span.getCategory().getKey(), span.getName(), span.getDepth(),
+                    (span.getStartNanos() - trace.getStartNanos()) / NANOS_PER_MS,
+                    span.getDurationNanos(endNanos) / NANOS_PER_MS));
+            }
+
+            return new SlowRequest(trace.getCorrelationId(), trace.getMethod(), trace.getRoute(), status,
+                trace.getStartedAt().toString(), totalNanos / NANOS_PER_MS,
+                Collections.unmodifiableMap(breakdown), Collections.unmodifiableList(spans),
+                trace.getDroppedSpans());
+        }
+
+        public String getCorrelationId() {
+            return correlationId;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getRoute() {
+            return route;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getStartedAt() {
+            return startedAt;
+        }
+
+        public double getDurationMs() {
+            return durationMs;
+        }
+
+        public Map<String, Double> getBreakdownMs() {
+            return breakdownMs;
+        }
+
+        public List<SpanRecord> getSpans() {
+            return spans;
+        }
+
+        public int getDroppedSpans() {
+            return droppedSpans;
+        }
+    }
+
+    /**
+     * Étape d'une requête lente, avec son décalage depuis le début de la requête.
+     */
+    public static class SpanRecord {
+        private final String category;
+        private final String name;
+        private final int depth;
+        private final double offsetMs;
+        private final double durationMs;
+
+        public SpanRecord(String category, String name, int depth, double offsetMs, double durationMs) {
+            this.category = category;
+            this.name = name;
+            this.depth = depth;
+            this.offsetMs = offsetMs;
+            this.durationMs = durationMs;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public double getOffsetMs() {
+            return offsetMs;
+        }
+
+        public double getDurationMs() {
+            return durationMs;
+        }
+    }
+}
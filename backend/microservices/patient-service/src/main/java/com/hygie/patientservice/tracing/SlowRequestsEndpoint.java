@@ -0,0 +1,55 @@
+package com.hygie.patientservice.tracing;
+
+import com.hygie.patientservice.tracing.SlowRequestRecorder.SlowRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Endpoint actuator exposant la ventilation des dernières requêtes lentes:
+ * {@code GET /actuator/slowrequests} et
+ * {@code GET /actuator/slowrequests/{correlationId}}.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    private final SlowRequestRecorder slowRequestRecorder;
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param slowRequestRecorder Le tampon des requêtes lentes
+     */
+    @Autowired
+    public SlowRequestsEndpoint(SlowRequestRecorder slowRequestRecorder) {
+        // Assertion #1: Vérification de la dépendance
+        assert slowRequestRecorder != null : "Le tampon des requêtes lentes ne peut pas être null";
+
+        this.slowRequestRecorder = slowRequestRecorder;
+    }
+
+    /**
+     * @return Les requêtes lentes conservées, de la plus récente à la plus ancienne
+     */
+    @ReadOperation
+    public List<SlowRequest> slowRequests() {
+        return slowRequestRecorder.getRecent();
+    }
+
+    /**
+     * @param correlationId L'ID de corrélation de la requête
+     * @return La ventilation de la requête, ou 404 si elle n'est pas (ou plus) conservée
+     */
+    @ReadOperation
+    public SlowRequest slowRequest(@Selector String correlationId) {
+        return slowRequestRecorder.find(correlationId);
+    }
+}
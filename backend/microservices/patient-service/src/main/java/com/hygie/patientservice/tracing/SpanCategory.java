@@ -0,0 +1,28 @@
+package com.hygie.patientservice.tracing;
+
+/**
+ * Catégories des étapes mesurées au sein d'une requête.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public enum SpanCategory {
+    SERVICE("service"),
+    MONGO("mongo"),
+    SERIALIZATION("serialization");
+
+    private final String key;
+
+    SpanCategory(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Clé utilisée dans la ventilation exposée par l'actuator.
+     *
+     * @return La clé de la catégorie
+     */
+    public String getKey() {
+        return key;
+    }
+}
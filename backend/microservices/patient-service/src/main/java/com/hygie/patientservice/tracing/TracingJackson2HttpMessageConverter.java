@@ -0,0 +1,66 @@
+package com.hygie.patientservice.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Convertisseur JSON qui enregistre la lecture des corps de requête et
+ * l'écriture des réponses comme des étapes de sérialisation.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class TracingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * Crée le convertisseur avec l'ObjectMapper de l'application.
+     *
+     * @param objectMapper L'ObjectMapper configuré par Spring Boot
+     */
+    public TracingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    @NonNull
+    public Object read(@NonNull Type type, @Nullable Class<?> contextClass, @NonNull HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        if (!RequestTracer.isActive()) {
+            return super.read(type, contextClass, inputMessage);
+        }
+
+        final RequestTrace.Span span = RequestTracer.startSpan(SpanCategory.SERIALIZATION,
+            "read " + type.getTypeName());
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            span.close();
+        }
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object object, @Nullable Type type, @NonNull HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!RequestTracer.isActive()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        final RequestTrace.Span span = RequestTracer.startSpan(SpanCategory.SERIALIZATION,
+            "write " + object.getClass().getSimpleName());
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            span.close();
+        }
+    }
+}
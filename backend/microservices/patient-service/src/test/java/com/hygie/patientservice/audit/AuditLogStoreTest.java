@@ -0,0 +1,246 @@
+package com.hygie.patientservice.audit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le journal d'audit segmenté et chaîné.
+ *
+ * Ces tests vérifient les recherches indexées, la reconstruction des index à
+ * la réouverture, la lecture des segments scellés hors de la fenêtre indexée,
+ * l'archivage, la détection d'une altération et l'abandon d'un dernier
+ * enregistrement incomplet.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class AuditLogStoreTest {
+
+    private static final Instant T0 = Instant.parse("2024-03-01T08:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private AuditLogStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private static AuditEvent event(int i) {
+        final String patientId = "patient-" + (i % 10);
+        return new AuditEvent(AuditEvent.Type.ACCESS_SUCCESS, T0.plusSeconds(i), "user-" + (i % 3), "PUT",
+            "/api/patients/" + patientId, "/api/patients/{id}", patientId, "10.0.0.1", "corr-" + i, 200, 12L, null);
+    }
+
+    private static List<AuditEvent> events(int from, int count) {
+        final List<AuditEvent> events = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            events.add(event(i));
+        }
+        return events;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Test des recherches par patient, utilisateur, chemin et période")
+    void testIndexedQueries() {
+        // Configuration
+        store = new AuditLogStore(directory, AuditLogStore.MIN_SEGMENT_SIZE, false, 16);
+        store.append(events(0, 100));
+
+        // Exécution
+        final List<AuditRecord> byPatient = store.query(new AuditQuery(null, "patient-3", null, null, null, 1000));
+        final List<AuditRecord> byUserAndPeriod = store.query(new AuditQuery("user-1", "patient-4", null,
+            T0.plusSeconds(30), T0.plusSeconds(60), 1000));
+        final List<AuditRecord> byPath = store.query(new AuditQuery(null, null, "/api/patients/{id}", null,
+            null, 3));
+        final List<AuditRecord> byPeriod = store.query(new AuditQuery(null, null, null,
+            T0.plusSeconds(95), null, 1000));
+
+        // Vérification
+        assertEquals(10, byPatient.size(), "Chaque patient a dix accès");
+        assertTrue(byPatient.stream().allMatch(r -> "patient-3".equals(r.getEvent().getPatientId())));
+        // i ≡ 4 (mod 10) et i ≡ 1 (mod 3) dans [30, 60[: 34
+        assertEquals(List.of(35L), byUserAndPeriod.stream().map(AuditRecord::getSequence).collect(Collectors.toList()));
+        assertEquals(3, byPath.size(), "La limite devrait être respectée");
+        assertEquals(1L, byPath.get(0).getSequence());
+        assertTrue(store.query(new AuditQuery(null, null, "/api/patients/patient-7", null, null, 10)).isEmpty(),
+            "Le chemin est indexé par modèle de route, sans identifiant de patient");
+        assertEquals(5, byPeriod.size());
+        assertEquals("corr-99", byPeriod.get(4).getEvent().getCorrelationId());
+        assertTrue(store.query(new AuditQuery("inconnu", null, null, null, null, 10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de la reconstruction des index et de la chaîne à la réouverture")
+    void testReopenRebuildsIndexesAcrossSegments() throws IOException {
+        // Configuration
+        store = new AuditLogStore(directory, AuditLogStore.MIN_SEGMENT_SIZE, true, 16);
+        for (int batch = 0; batch < 20; batch++) {
+            store.append(events(batch * 100, 100));
+        }
+        final String headHash = store.verify().getHeadHash();
+        store.close();
+
+        // Exécution
+        store = new AuditLogStore(directory, AuditLogStore.MIN_SEGMENT_SIZE, true, 16);
+        store.append(events(2000, 1));
+
+        // Vérification
+        assertTrue(segmentFiles().size() > 1, "Le journal devrait s'étendre sur plusieurs segments");
+        assertEquals(2001, store.getRecordCount());
+        assertEquals(201, store.query(new AuditQuery(null, "patient-0", null, null, null, 1000)).size());
+        final AuditLogStore.VerificationReport report = store.verify();
+        assertTrue(report.isValid(), "La chaîne devrait rester intacte après la réouverture");
+        assertEquals(2001, report.getRecordsChecked());
+        assertNotEquals(headHash, report.getHeadHash(), "L'ajout devrait prolonger la chaîne");
+    }
+
+    @Test
+    @DisplayName("Test des recherches dans les segments scellés hors de la fenêtre indexée")
+    void testSealedSegmentsOutsideIndexWindowAreScanned() throws IOException {
+        // Configuration: seul le segment courant est indexé
+        store = new AuditLogStore(directory, AuditLogStore.MIN_SEGMENT_SIZE, false, 1);
+        for (int batch = 0; batch < 20; batch++) {
+            store.append(events(batch * 100, 100));
+        }
+
+        // Exécution
+        final List<AuditRecord> byPatient = store.query(new AuditQuery(null, "patient-0", null, null, null, 1000));
+        final List<AuditRecord> byPeriod = store.query(new AuditQuery("user-2", null, null,
+            T0.plusSeconds(10), T0.plusSeconds(20), 1000));
+
+        // Vérification
+        assertTrue(store.getSegmentCount() > 2, "Le journal devrait s'étendre sur plusieurs segments");
+        assertEquals(1, store.getIndexedSegmentCount(), "Seul le segment courant devrait être indexé");
+        assertEquals(200, byPatient.size());
+        assertEquals(1L, byPatient.get(0).getSequence());
+        assertEquals(List.of(12L, 15L, 18L),
+            byPeriod.stream().map(AuditRecord::getSequence).collect(Collectors.toList()));
+        assertTrue(store.verify().isValid());
+
+        // Vérification: la fenêtre indexée est respectée à la réouverture
+        store.close();
+        store = new AuditLogStore(directory, AuditLogStore.MIN_SEGMENT_SIZE, false, 2);
+        assertEquals(2, store.getIndexedSegmentCount());
+        assertEquals(200, store.query(new AuditQuery(null, "patient-0", null, null, null, 1000)).size());
+    }
+
+    @Test
+    @DisplayName("Test de l'archivage des segments anciens")
+    void testArchiveKeepsRemainingChainVerifiable() throws IOException {
+        // Configuration
+        store = new AuditLogStore(directory, AuditLogStore.MIN_SEGMENT_SIZE, false, 16);
+        for (int batch = 0; batch < 20; batch++) {
+            store.append(events(batch * 100, 100));
+        }
+        final int segmentCount = store.getSegmentCount();
+
+        // Exécution
+        final int archived = store.archiveBefore(T0.plusSeconds(1000));
+
+        // Vérification
+        assertTrue(archived > 0, "Au moins un segment devrait être archivé");
+        assertEquals(segmentCount - archived, store.getSegmentCount());
+        try (Stream<Path> files = Files.list(directory.resolve(AuditLogStore.ARCHIVE_DIRECTORY))) {
+            assertEquals(archived, files.count());
+        }
+        final List<AuditRecord> remaining = store.query(new AuditQuery(null, null, null, null, null, 1));
+        assertTrue(remaining.get(0).getEvent().getTimestamp().isBefore(T0.plusSeconds(1000)),
+            "Le segment chevauchant la date devrait être conservé");
+        assertTrue(remaining.get(0).getSequence() > 1);
+        assertTrue(store.verify().isValid(), "La chaîne restante devrait rester vérifiable");
+
+        // Vérification: réouverture sans les segments archivés
+        store.close();
+        store = new AuditLogStore(directory, AuditLogStore.MIN_SEGMENT_SIZE, false, 16);
+        assertEquals(2000 - remaining.get(0).getSequence() + 1, store.getRecordCount());
+        assertTrue(store.verify().isValid());
+    }
+
+    @Test
+    @DisplayName("Test de la détection d'un enregistrement altéré")
+    void testTamperingIsDetected() throws IOException {
+        // Configuration
+        store = new AuditLogStore(directory, AuditLogStore.MIN_SEGMENT_SIZE, false, 16);
+        store.append(events(0, 10));
+        store.close();
+
+        // Exécution: modification d'un octet de l'horodatage du deuxième enregistrement
+        final Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer length = ByteBuffer.allocate(4);
+            channel.read(length, 48);
+            final long second = 48 + 4 + 8 + length.getInt(0) + 32;
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), second + 12 + 5);
+        }
+        store = new AuditLogStore(directory, AuditLogStore.MIN_SEGMENT_SIZE, false, 16);
+
+        // Vérification
+        final AuditLogStore.VerificationReport report = store.verify();
+        assertFalse(report.isValid(), "L'altération devrait être détectée");
+        assertEquals(2L, report.getFirstInvalidSequence());
+        assertEquals(10, report.getRecordsChecked());
+    }
+
+    @Test
+    @DisplayName("Test de l'abandon d'un dernier enregistrement incomplet")
+    void testTornTailIsDiscarded() throws IOException {
+        // Configuration
+        store = new AuditLogStore(directory, AuditLogStore.MIN_SEGMENT_SIZE, false, 16);
+        store.append(events(0, 5));
+        store.close();
+
+        // Exécution: empreinte du dernier enregistrement effacée, comme après un arrêt brutal
+        final Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer length = ByteBuffer.allocate(4);
+            long position = 48;
+            long last = position;
+            while (true) {
+                length.clear();
+                channel.read(length, position);
+                if (length.getInt(0) == 0) {
+                    break;
+                }
+                last = position;
+                position += 4 + 8 + length.getInt(0) + 32;
+            }
+            channel.write(ByteBuffer.allocate(32), position - 32);
+            assertTrue(last > 48);
+        }
+        store = new AuditLogStore(directory, AuditLogStore.MIN_SEGMENT_SIZE, false, 16);
+        store.append(events(5, 1));
+
+        // Vérification
+        assertEquals(5, store.getRecordCount(), "Le dernier enregistrement incomplet devrait être ignoré");
+        assertTrue(store.verify().isValid());
+        assertEquals("corr-5", store.query(new AuditQuery(null, null, null, null, null, 10)).get(4)
+            .getEvent().getCorrelationId());
+    }
+}
@@ -0,0 +1,156 @@
+package com.hygie.patientservice.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le pipeline asynchrone des événements d'audit.
+ *
+ * Ces tests vérifient l'écriture par lots en arrière-plan, la contre-pression
+ * sans perte, la reprise après un échec de la destination et la vidange à
+ * l'arrêt.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class AuditPipelineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    private static AuditEvent event(int i) {
+        return new AuditEvent(AuditEvent.Type.ACCESS_SUCCESS, Instant.now(), "user", "PUT",
+            "/api/patients/" + i, "/api/patients/{id}", String.valueOf(i), "127.0.0.1", "corr-" + i, 200, null, null);
+    }
+
+    /**
+     * Destination en mémoire, éventuellement lente ou en échec pour les premiers lots.
+     */
+    private static final class RecordingSink implements AuditSink {
+        private final List<List<AuditEvent>> batches = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger failuresLeft;
+        private final long delayMs;
+
+        RecordingSink(int failures, long delayMs) {
+            this.failuresLeft = new AtomicInteger(failures);
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public void write(List<AuditEvent> batch) {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("Destination indisponible");
+            }
+            if (delayMs > 0) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            batches.add(new ArrayList<>(batch));
+        }
+
+        List<String> uris() {
+            final List<String> uris = new ArrayList<>();
+            synchronized (batches) {
+                batches.forEach(batch -> batch.forEach(event -> uris.add(event.getUri())));
+            }
+            return uris;
+        }
+    }
+
+    @Test
+    @DisplayName("Test de l'écriture par lots en arrière-plan et de la vidange à l'arrêt")
+    void testEventsAreWrittenInBatches() {
+        // Configuration
+        final RecordingSink sink = new RecordingSink(0, 0);
+        pipeline = new AuditPipeline(sink, meterRegistry, 1024, 10, 50, 1000);
+        pipeline.start();
+
+        // Exécution
+        for (int i = 0; i < 95; i++) {
+            pipeline.publish(event(i));
+        }
+        pipeline.stop();
+
+        // Vérification
+        final List<String> uris = sink.uris();
+        assertEquals(95, uris.size(), "Tous les événements devraient être écrits");
+        assertEquals("/api/patients/0", uris.get(0), "L'ordre de publication devrait être conservé");
+        assertEquals("/api/patients/94", uris.get(94));
+        assertTrue(sink.batches.stream().allMatch(batch -> batch.size() <= 10), "Les lots devraient être bornés");
+        assertEquals(95.0, meterRegistry.get("hygie.audit.events.written").counter().count());
+    }
+
+    @Test
+    @DisplayName("Test de la contre-pression sans perte d'événement")
+    void testBackpressureLosesNothing() {
+        // Configuration
+        final RecordingSink sink = new RecordingSink(0, 2);
+        pipeline = new AuditPipeline(sink, meterRegistry, 8, 4, 10, 5000);
+        pipeline.start();
+
+        // Exécution
+        for (int i = 0; i < 200; i++) {
+            pipeline.publish(event(i));
+        }
+        pipeline.stop();
+
+        // Vérification
+        assertEquals(200, sink.uris().size(), "Aucun événement ne devrait être perdu");
+        assertTrue(meterRegistry.get("hygie.audit.backpressure").counter().count() > 0,
+            "La file pleine devrait avoir été signalée");
+    }
+
+    @Test
+    @DisplayName("Test de la reprise d'un lot après un échec de la destination")
+    void testFailedBatchIsRetried() {
+        // Configuration
+        final RecordingSink sink = new RecordingSink(2, 0);
+        pipeline = new AuditPipeline(sink, meterRegistry, 64, 16, 10, 1000);
+        pipeline.start();
+
+        // Exécution
+        for (int i = 0; i < 5; i++) {
+            pipeline.publish(event(i));
+        }
+        pipeline.stop();
+
+        // Vérification
+        assertEquals(5, sink.uris().size(), "Le lot devrait être écrit après les échecs");
+        assertEquals(2.0, meterRegistry.get("hygie.audit.write.failures").counter().count());
+    }
+
+    @Test
+    @DisplayName("Test de l'écriture directe lorsque le pipeline est arrêté")
+    void testPublishWhenStoppedWritesDirectly() {
+        // Configuration
+        final RecordingSink sink = new RecordingSink(0, 0);
+        pipeline = new AuditPipeline(sink, meterRegistry, 64, 16, 10, 1000);
+
+        // Exécution
+        pipeline.publish(event(1));
+
+        // Vérification
+        assertEquals(List.of("/api/patients/1"), sink.uris(), "L'événement devrait être écrit immédiatement");
+        assertEquals(0, pipeline.getPendingCount());
+    }
+}
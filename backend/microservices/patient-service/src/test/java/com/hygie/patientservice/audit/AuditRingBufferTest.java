@@ -0,0 +1,116 @@
+package com.hygie.patientservice.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la file circulaire sans verrou des événements d'audit.
+ *
+ * Ces tests vérifient l'ordre de retrait, la détection d'une file pleine, le
+ * réemploi des cases et l'absence de perte avec plusieurs producteurs.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class AuditRingBufferTest {
+
+    private static AuditEvent event(String uri) {
+        return new AuditEvent(AuditEvent.Type.ACCESS_ATTEMPT, Instant.now(), "user", "POST", uri, null, null,
+            "127.0.0.1", null, null, null, null);
+    }
+
+    @Test
+    @DisplayName("Test du retrait dans l'ordre de publication")
+    void testDrainPreservesOrder() {
+        // Configuration
+        final AuditRingBuffer buffer = new AuditRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(buffer.offer(event("/api/patients/" + i)));
+        }
+
+        // Exécution
+        final List<AuditEvent> batch = new ArrayList<>();
+        final int drained = buffer.drainTo(batch, 3);
+
+        // Vérification
+        assertEquals(3, drained, "Le retrait devrait être limité à trois événements");
+        assertEquals("/api/patients/0", batch.get(0).getUri());
+        assertEquals("/api/patients/2", batch.get(2).getUri());
+        assertEquals(2, buffer.size(), "Deux événements devraient rester en attente");
+    }
+
+    @Test
+    @DisplayName("Test de la détection d'une file pleine et du réemploi des cases")
+    void testFullBufferRejectsThenReusesSlots() {
+        // Configuration
+        final AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(event("/api/prescriptions/" + i)));
+        }
+
+        // Exécution et vérification
+        assertFalse(buffer.offer(event("/api/prescriptions/4")), "La file pleine devrait refuser l'événement");
+        final List<AuditEvent> batch = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(batch, 2));
+        assertTrue(buffer.offer(event("/api/prescriptions/4")), "Une case libérée devrait être réutilisée");
+        assertTrue(buffer.offer(event("/api/prescriptions/5")));
+        batch.clear();
+        assertEquals(4, buffer.drainTo(batch, 10));
+        assertEquals("/api/prescriptions/2", batch.get(0).getUri());
+        assertEquals("/api/prescriptions/5", batch.get(3).getUri());
+    }
+
+    @Test
+    @DisplayName("Test de l'absence de perte avec plusieurs producteurs")
+    void testConcurrentProducersLoseNothing() throws InterruptedException {
+        // Configuration
+        final AuditRingBuffer buffer = new AuditRingBuffer(64);
+        final int producers = 4;
+        final int perProducer = 5_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        final CountDownLatch done = new CountDownLatch(producers);
+
+        // Exécution
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    final AuditEvent event = event("/api/medications/" + producer + "-" + i);
+                    while (!buffer.offer(event)) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        final Set<String> received = new HashSet<>();
+        final List<AuditEvent> batch = new ArrayList<>();
+        while (received.size() < producers * perProducer) {
+            batch.clear();
+            if (buffer.drainTo(batch, 32) == 0) {
+                Thread.yield();
+            }
+            for (AuditEvent event : batch) {
+                assertTrue(received.add(event.getUri()), "Un événement ne devrait être retiré qu'une fois");
+            }
+        }
+        executor.shutdown();
+
+        // Vérification
+        assertTrue(done.await(10, TimeUnit.SECONDS), "Tous les producteurs devraient avoir terminé");
+        assertEquals(producers * perProducer, received.size(), "Aucun événement ne devrait être perdu");
+        assertEquals(0, buffer.size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.hygie.patientservice.controller;
+
+import com.hygie.patientservice.service.CoOccurrenceAnalyticsService;
+import com.hygie.patientservice.service.CoOccurrenceAnalyticsService.CoOccurrence;
+import com.hygie.patientservice.service.CoOccurrenceAnalyticsService.RefreshSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitaires pour le contrôleur des analyses de pharmacovigilance.
+ *
+ * Ces tests vérifient le bon fonctionnement des endpoints REST
+ * en simulant les requêtes HTTP et les réponses du service.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@WebMvcTest(AnalyticsController.class)
+public class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CoOccurrenceAnalyticsService coOccurrenceAnalyticsService;
+
+    @Test
+    @DisplayName("Test de récupération des paires les plus co-prescrites")
+    void testGetTopCoOccurrences() throws Exception {
+        // Configuration
+        when(coOccurrenceAnalyticsService.getTopCoOccurrences(5, true))
+            .thenReturn(List.of(new CoOccurrence("med1", "med2", 42, true)));
+
+        // Exécution et vérification
+        mockMvc.perform(get("/api/analytics/co-occurrences").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].patientCount", is(42)))
+                .andExpect(jsonPath("$[0].interacting", is(true)));
+
+        // Vérification des appels au service
+        verify(coOccurrenceAnalyticsService, times(1)).getTopCoOccurrences(5, true);
+    }
+
+    @Test
+    @DisplayName("Test du déclenchement d'un rafraîchissement")
+    void testRefreshCoOccurrences() throws Exception {
+        // Configuration
+        when(coOccurrenceAnalyticsService.refresh()).thenReturn(new RefreshSummary(10, 2, 15, 3));
+
+        // Exécution et vérification
+        mockMvc.perform(post("/api/analytics/co-occurrences/refresh"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changedPatients", is(2)))
+                .andExpect(jsonPath("$.distinctPairs", is(15)));
+    }
+}
@@ -0,0 +1,138 @@
+package com.hygie.patientservice.controller;
+
+import com.hygie.patientservice.audit.AuditEvent;
+import com.hygie.patientservice.audit.AuditLogStore;
+import com.hygie.patientservice.audit.AuditLogStore.VerificationReport;
+import com.hygie.patientservice.audit.AuditQuery;
+import com.hygie.patientservice.audit.AuditPipeline;
+import com.hygie.patientservice.audit.AuditRecord;
+import com.hygie.patientservice.config.WebSecurityConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitaires pour le contrôleur de consultation du journal d'audit.
+ *
+ * Ces tests vérifient le bon fonctionnement des endpoints REST
+ * en simulant les requêtes HTTP et les réponses du journal, leur restriction
+ * aux auditeurs et l'audit des recherches elles-mêmes.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@WebMvcTest(AuditController.class)
+@Import(WebSecurityConfig.class)
+@WithMockUser(username = "auditeur", roles = WebSecurityConfig.AUDITOR_ROLE)
+public class AuditControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuditLogStore auditLogStore;
+
+    @MockBean
+    private AuditPipeline auditPipeline;
+
+    @Test
+    @DisplayName("Test de la recherche des accès à un patient sur une période")
+    void testSearchEvents() throws Exception {
+        // Configuration
+        final AuditEvent event = new AuditEvent(AuditEvent.Type.ACCESS_SUCCESS,
+            Instant.parse("2024-03-01T08:00:00Z"), "dr.martin", "PUT", "/api/patients/p1", "/api/patients/{id}",
+            "p1", "10.0.0.1", "corr-1", 200, null, null);
+        when(auditLogStore.query(any(AuditQuery.class))).thenReturn(List.of(new AuditRecord(42, "ab12", event)));
+
+        // Exécution et vérification
+        mockMvc.perform(get("/api/audit/events")
+                        .param("patientId", "p1")
+                        .param("from", "2024-03-01T00:00:00Z")
+                        .param("to", "2024-03-02T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].sequence", is(42)))
+                .andExpect(jsonPath("$[0].event.username", is("dr.martin")));
+
+        // Vérification des critères transmis au journal
+        final ArgumentCaptor<AuditQuery> query = ArgumentCaptor.forClass(AuditQuery.class);
+        verify(auditLogStore).query(query.capture());
+        assertEquals("p1", query.getValue().getPatientId());
+        assertEquals(Instant.parse("2024-03-02T00:00:00Z"), query.getValue().getTo());
+        assertEquals(100, query.getValue().getLimit());
+
+        // Vérification de l'audit de la recherche elle-même
+        final ArgumentCaptor<AuditEvent> audit = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditPipeline, atLeastOnce()).publish(audit.capture());
+        final AuditEvent access = audit.getAllValues().get(audit.getAllValues().size() - 1);
+        assertEquals(AuditEvent.Type.ACCESS_SUCCESS, access.getType());
+        assertEquals("auditeur", access.getUsername());
+        assertEquals("/api/audit/events", access.getRoute());
+        assertEquals("p1", access.getPatientId());
+    }
+
+    @Test
+    @WithMockUser(username = "dr.martin", roles = "PRESCRIBER")
+    @DisplayName("Test du refus de la recherche à un utilisateur sans rôle d'auditeur")
+    void testSearchEventsForbiddenWithoutAuditorRole() throws Exception {
+        // Exécution et vérification
+        mockMvc.perform(get("/api/audit/events").param("patientId", "p1"))
+                .andExpect(status().isForbidden());
+
+        verify(auditLogStore, never()).query(any());
+    }
+
+    @Test
+    @WithAnonymousUser
+    @DisplayName("Test du refus de la vérification à un utilisateur anonyme")
+    void testVerifyForbiddenWhenAnonymous() throws Exception {
+        // Exécution et vérification
+        mockMvc.perform(get("/api/audit/verify"))
+                .andExpect(status().isForbidden());
+
+        verify(auditLogStore, never()).verify();
+    }
+
+    @Test
+    @DisplayName("Test du refus d'une période inversée")
+    void testSearchEventsWithInvertedPeriod() throws Exception {
+        // Exécution et vérification
+        mockMvc.perform(get("/api/audit/events")
+                        .param("from", "2024-03-02T00:00:00Z")
+                        .param("to", "2024-03-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+
+        verify(auditLogStore, never()).query(any());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = WebSecurityConfig.ADMIN_ROLE)
+    @DisplayName("Test de la vérification de la chaîne d'empreintes")
+    void testVerify() throws Exception {
+        // Configuration
+        when(auditLogStore.verify()).thenReturn(new VerificationReport(false, 10, 2L, "ff00"));
+
+        // Exécution et vérification
+        mockMvc.perform(get("/api/audit/verify"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid", is(false)))
+                .andExpect(jsonPath("$.firstInvalidSequence", is(2)));
+    }
+}
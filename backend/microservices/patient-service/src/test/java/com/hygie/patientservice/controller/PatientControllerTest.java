@@ -3,6 +3,9 @@ package com.hygie.patientservice.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hygie.patientservice.model.Patient;
 import com.hygie.patientservice.model.MedicalHistory;
+import com.hygie.patientservice.service.ContraindicationService;
+import com.hygie.patientservice.service.ContraindicationService.AlertType;
+import com.hygie.patientservice.service.ContraindicationService.ContraindicationAlert;
 import com.hygie.patientservice.service.PatientService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -46,6 +49,9 @@ public class PatientControllerTest {
     @MockBean
     private PatientService patientService;
 
+    @MockBean
+    private ContraindicationService contraindicationService;
+
     private Patient patient1;
     private Patient patient2;
     private MedicalHistory medicalHistory1;
@@ -347,4 +353,38 @@ public class PatientControllerTest {
         // Vérification des appels au service
         verify(patientService, never()).savePatient(any(Patient.class));
     }
+
+    @Test
+    @DisplayName("Test de vérification des contre-indications d'un patient")
+    void testGetPatientContraindications() throws Exception {
+        // Configuration
+        final ContraindicationAlert alert = new ContraindicationAlert(
+            "med1", "Ibuprofène", "Asthme", AlertType.CONDITION, "Asthme induit par les AINS");
+        when(contraindicationService.checkPatientContraindications("2")).thenReturn(Optional.of(List.of(alert)));
+
+        // Exécution et vérification
+        mockMvc.perform(get("/api/patients/2/contraindications"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].medicationId", is("med1")))
+                .andExpect(jsonPath("$[0].type", is("CONDITION")));
+
+        // Vérification des appels au service
+        verify(contraindicationService, times(1)).checkPatientContraindications("2");
+    }
+
+    @Test
+    @DisplayName("Test de vérification des contre-indications d'un patient inexistant")
+    void testGetPatientContraindicationsNotFound() throws Exception {
+        // Configuration
+        when(contraindicationService.checkPatientContraindications("999")).thenReturn(Optional.empty());
+
+        // Exécution et vérification
+        mockMvc.perform(get("/api/patients/999/contraindications"))
+                .andExpect(status().isNotFound());
+
+        // Vérification des appels au service
+        verify(contraindicationService, times(1)).checkPatientContraindications("999");
+    }
 }
@@ -3,6 +3,9 @@ package com.hygie.patientservice.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hygie.patientservice.model.Prescription;
 import com.hygie.patientservice.model.PrescriptionItem;
+import com.hygie.patientservice.service.InteractionScreeningService;
+import com.hygie.patientservice.service.InteractionScreeningService.InteractionScreening;
+import com.hygie.patientservice.service.InteractionScreeningService.ScreeningStatus;
 import com.hygie.patientservice.service.PrescriptionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -83,6 +86,9 @@ public class PrescriptionControllerTest {
     @MockBean
     private PrescriptionService prescriptionService;
 
+    @MockBean
+    private InteractionScreeningService interactionScreeningService;
+
     private Prescription prescription1;
     private Prescription prescription2;
     private PrescriptionItem item1;
@@ -444,4 +450,33 @@ public class PrescriptionControllerTest {
         // Vérification des appels au service
         verify(prescriptionService, times(1)).checkMedicationInteractions("1");
     }
+
+    @Test
+    @DisplayName("Test de récupération du dépistage des interactions d'une prescription")
+    void testGetPrescriptionScreening() throws Exception {
+        // Configuration
+        final InteractionScreening screening = new InteractionScreening("1", ScreeningStatus.COMPLETED,
+                List.of(new PrescriptionService.PrescriptionItemPair(item1, item2)), 12);
+        when(interactionScreeningService.getScreening("1")).thenReturn(Optional.of(screening));
+
+        // Exécution et vérification
+        mockMvc.perform(get("/api/prescriptions/1/screening"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.interactions", hasSize(1)));
+
+        // Vérification des appels au service
+        verify(interactionScreeningService, times(1)).getScreening("1");
+    }
+
+    @Test
+    @DisplayName("Test de récupération d'un dépistage inconnu")
+    void testGetPrescriptionScreeningNotFound() throws Exception {
+        // Configuration
+        when(interactionScreeningService.getScreening("999")).thenReturn(Optional.empty());
+
+        // Exécution et vérification
+        mockMvc.perform(get("/api/prescriptions/999/screening"))
+                .andExpect(status().isNotFound());
+    }
 }
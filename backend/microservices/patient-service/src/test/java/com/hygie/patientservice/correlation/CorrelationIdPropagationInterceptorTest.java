@@ -0,0 +1,88 @@
+package com.hygie.patientservice.correlation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests unitaires pour la transmission de l'identifiant de corrélation aux services appelés.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class CorrelationIdPropagationInterceptorTest {
+
+    private static final String URL = "http://pharmacy-service/api/stock";
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server;
+
+    CorrelationIdPropagationInterceptorTest() {
+        restTemplate.getInterceptors().add(new CorrelationIdPropagationInterceptor());
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Test de la transmission de l'identifiant du MDC")
+    void testCorrelationIdIsPropagated() {
+        // Configuration
+        final String correlationId = CorrelationIds.newId();
+        MDC.put(CorrelationIds.MDC_KEY, correlationId);
+        server.expect(requestTo(URL))
+            .andExpect(header(CorrelationIds.HEADER, correlationId))
+            .andRespond(withSuccess());
+
+        // Exécution
+        restTemplate.getForEntity(URL, String.class);
+
+        // Vérification
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Test de l'absence d'en-tête hors d'une requête")
+    void testNoHeaderWithoutCorrelationId() {
+        // Configuration
+        server.expect(requestTo(URL))
+            .andExpect(headerDoesNotExist(CorrelationIds.HEADER))
+            .andRespond(withSuccess());
+
+        // Exécution
+        restTemplate.getForEntity(URL, String.class);
+
+        // Vérification
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Test de la conservation d'un en-tête positionné par l'appelant")
+    void testExplicitHeaderIsKept() {
+        // Configuration
+        MDC.put(CorrelationIds.MDC_KEY, CorrelationIds.newId());
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(CorrelationIds.HEADER, "123e4567-e89b-12d3-a456-426614174000");
+        server.expect(requestTo(URL))
+            .andExpect(header(CorrelationIds.HEADER, "123e4567-e89b-12d3-a456-426614174000"))
+            .andRespond(withSuccess());
+
+        // Exécution
+        restTemplate.exchange(URL, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // Vérification
+        server.verify();
+    }
+}
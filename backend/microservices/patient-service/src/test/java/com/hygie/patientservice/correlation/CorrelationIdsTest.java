@@ -0,0 +1,74 @@
+package com.hygie.patientservice.correlation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la validation et la génération des identifiants de corrélation.
+ *
+ * Ces tests vérifient l'acceptation des seuls UUID canoniques ainsi que la
+ * version, la variante, l'unicité et l'ordre temporel des UUID version 7 générés.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class CorrelationIdsTest {
+
+    @Test
+    @DisplayName("Test de la validation des identifiants reçus")
+    void testIsValid() {
+        // Vérification des formats acceptés
+        assertTrue(CorrelationIds.isValid("123e4567-e89b-12d3-a456-426614174000"));
+        assertTrue(CorrelationIds.isValid("123E4567-E89B-12D3-A456-426614174000"));
+        assertTrue(CorrelationIds.isValid(UUID.randomUUID().toString()));
+
+        // Vérification des formats refusés
+        assertFalse(CorrelationIds.isValid(null));
+        assertFalse(CorrelationIds.isValid(""));
+        assertFalse(CorrelationIds.isValid("123e4567-e89b-12d3-a456-42661417400"), "Trop court");
+        assertFalse(CorrelationIds.isValid("123e4567-e89b-12d3-a456-4266141740000"), "Trop long");
+        assertFalse(CorrelationIds.isValid("123e4567xe89b-12d3-a456-426614174000"), "Séparateur invalide");
+        assertFalse(CorrelationIds.isValid("123e4567-e89b-12d3-a456-42661417400g"), "Chiffre non hexadécimal");
+        assertFalse(CorrelationIds.isValid("1-2-3-4-5"), "Forme abrégée non canonique");
+    }
+
+    @Test
+    @DisplayName("Test de la génération d'UUID version 7")
+    void testNewIdIsUuidV7() {
+        // Exécution
+        final long before = System.currentTimeMillis();
+        final String id = CorrelationIds.newId();
+        final long after = System.currentTimeMillis();
+
+        // Vérification
+        final UUID uuid = UUID.fromString(id);
+        assertTrue(CorrelationIds.isValid(id));
+        assertEquals(7, uuid.version(), "La version devrait être 7");
+        assertEquals(2, uuid.variant(), "La variante devrait être celle de la RFC");
+        final long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after, "L'horodatage devrait être celui de la génération");
+        assertEquals(id, uuid.toString(), "Le format devrait être canonique, en minuscules");
+    }
+
+    @Test
+    @DisplayName("Test de l'unicité et de l'ordre temporel des identifiants")
+    void testNewIdsAreUniqueAndTimeOrdered() throws InterruptedException {
+        // Exécution
+        final Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(ids.add(CorrelationIds.newId()), "Les identifiants devraient être uniques");
+        }
+        final String earlier = CorrelationIds.newId();
+        Thread.sleep(2);
+        final String later = CorrelationIds.newId();
+
+        // Vérification: l'ordre lexicographique suit l'ordre de création
+        assertTrue(earlier.compareTo(later) < 0, "Un identifiant plus récent devrait être trié après");
+    }
+}
@@ -1,10 +1,13 @@
 package com.hygie.patientservice.exception;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -127,6 +130,28 @@ public class GlobalExceptionHandlerTest {
                 "Le statut numérique devrait être 500");
     }
 
+    @Test
+    @DisplayName("Test de gestion d'un appel refusé par un disjoncteur ouvert")
+    void testHandleResilienceRejection() {
+        // Configuration
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("medicationRepository");
+        circuitBreaker.transitionToOpenState();
+        CallNotPermittedException exception = CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+        WebRequest webRequest = mock(WebRequest.class);
+        when(webRequest.getDescription(false)).thenReturn("uri=/api/medications");
+
+        // Exécution
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleResilienceRejection(exception, webRequest);
+
+        // Vérification
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode(),
+                "Le code HTTP devrait être 503 SERVICE_UNAVAILABLE");
+        assertNotNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER),
+                "La réponse devrait indiquer quand réessayer");
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getBody().getStatus(),
+                "Le statut numérique devrait être 503");
+    }
+
     @Test
     @DisplayName("Test de gestion d'une erreur de validation (MethodArgumentNotValidException)")
     void testHandleMethodArgumentNotValidException() throws Exception {
@@ -0,0 +1,120 @@
+package com.hygie.patientservice.interceptor;
+
+import com.hygie.patientservice.audit.AuditEvent;
+import com.hygie.patientservice.audit.AuditLogStore;
+import com.hygie.patientservice.audit.AuditPipeline;
+import com.hygie.patientservice.audit.AuditQuery;
+import com.hygie.patientservice.audit.AuditRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'intercepteur d'audit des accès.
+ *
+ * Ces tests vérifient, de la requête jusqu'au journal segmenté, que les
+ * lectures d'un dossier patient sont retrouvées par une recherche par patient.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class AuditInterceptorTest {
+
+    @TempDir
+    Path directory;
+
+    private AuditLogStore store;
+    private AuditInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        store = new AuditLogStore(directory, 64 * 1024, false, 16);
+        // Pipeline non démarré: chaque événement est écrit immédiatement dans le journal
+        final AuditPipeline pipeline = new AuditPipeline(store::append, new SimpleMeterRegistry(), 1024, 10, 50, 1000);
+        interceptor = new AuditInterceptor(new StaticListableBeanFactory(Map.of("auditPipeline", pipeline))
+            .getBeanProvider(AuditPipeline.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private void handle(String method, String uri, String pattern, Map<String, String> variables) {
+        final MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, variables);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final Object handler = new Object();
+
+        interceptor.preHandle(request, response, handler);
+        interceptor.postHandle(request, response, handler, null);
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+
+    @Test
+    @DisplayName("Test de la recherche par patient d'une lecture de son dossier")
+    void testPatientReadIsFoundByPatient() {
+        // Exécution
+        handle("GET", "/api/patients/p42", "/api/patients/{id}", Map.of("id", "p42"));
+        handle("GET", "/api/patients/p7", "/api/patients/{id}", Map.of("id", "p7"));
+
+        // Vérification
+        final List<AuditRecord> records = store.query(new AuditQuery(null, "p42", null, null, null, 10));
+        assertEquals(1, records.size(), "La lecture du dossier devrait être journalisée une fois");
+        final AuditEvent event = records.get(0).getEvent();
+        assertEquals(AuditEvent.Type.ACCESS_SUCCESS, event.getType());
+        assertEquals("GET", event.getMethod());
+        assertEquals("/api/patients/p42", event.getUri());
+        assertEquals("/api/patients/{id}", event.getRoute());
+    }
+
+    @Test
+    @DisplayName("Test de la tentative et du succès d'une modification")
+    void testMutationRecordsAttemptAndSuccess() {
+        // Exécution
+        handle("PUT", "/api/prescriptions/rx1", "/api/prescriptions/{id}", Map.of("id", "rx1"));
+        handle("GET", "/api/health", "/api/health", Map.of());
+
+        // Vérification
+        final List<AuditRecord> records = store.query(new AuditQuery(null, null, "/api", null, null, 10));
+        assertEquals(List.of(AuditEvent.Type.ACCESS_ATTEMPT, AuditEvent.Type.ACCESS_SUCCESS),
+            records.stream().map(record -> record.getEvent().getType()).collect(Collectors.toList()),
+            "Un chemin non sensible ne devrait pas être journalisé");
+    }
+
+    @Test
+    @DisplayName("Test de la journalisation d'une modification délestée")
+    void testShedMutationRecordsAttemptAndFailure() {
+        // Configuration: l'intercepteur suivant (délestage) refuse la requête
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/prescriptions");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/prescriptions");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final Object handler = new Object();
+
+        // Exécution: seul afterCompletion suit un preHandle refusé plus loin dans la chaîne
+        interceptor.preHandle(request, response, handler);
+        response.setStatus(429);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        // Vérification
+        final List<AuditRecord> records = store.query(new AuditQuery(null, null, "/api", null, null, 10));
+        assertEquals(List.of(AuditEvent.Type.ACCESS_ATTEMPT, AuditEvent.Type.ACCESS_FAILURE),
+            records.stream().map(record -> record.getEvent().getType()).collect(Collectors.toList()));
+        assertEquals(429, records.get(1).getEvent().getStatus());
+    }
+}
@@ -0,0 +1,69 @@
+package com.hygie.patientservice.interceptor;
+
+import com.hygie.patientservice.tracing.RequestTracer;
+import com.hygie.patientservice.tracing.SlowRequestRecorder;
+import com.hygie.patientservice.tracing.SlowRequestRecorder.SlowRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'intercepteur de traçage des requêtes.
+ *
+ * Ces tests vérifient que les requêtes lentes sont enregistrées sous le modèle
+ * de chemin de leur route, sans l'identifiant de patient présent dans l'URI.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class RequestTracingInterceptorTest {
+
+    private final SlowRequestRecorder recorder = new SlowRequestRecorder(new SimpleMeterRegistry(), true, 0, 4, 16);
+
+    private final RequestTracingInterceptor interceptor = new RequestTracingInterceptor(
+        new StaticListableBeanFactory(Map.of("slowRequestRecorder", recorder))
+            .getBeanProvider(SlowRequestRecorder.class));
+
+    @AfterEach
+    void tearDown() {
+        RequestTracer.end();
+    }
+
+    @Test
+    @DisplayName("Test de l'enregistrement du modèle de chemin au lieu de l'URI")
+    void testSlowRequestKeepsRoutePattern() {
+        // Configuration
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patients/1850712345678");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/patients/{id}");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Exécution
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Vérification
+        final List<SlowRequest> recent = recorder.getRecent();
+        assertEquals(1, recent.size());
+        assertEquals("/api/patients/{id}", recent.get(0).getRoute());
+    }
+
+    @Test
+    @DisplayName("Test du libellé fixe d'une requête sans route correspondante")
+    void testUnmatchedRequestHidesUri() {
+        // Configuration
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/patients/1850712345678/x");
+
+        // Exécution et vérification
+        assertEquals(RequestTracingInterceptor.UNMATCHED_ROUTE, RequestTracingInterceptor.route(request));
+    }
+}
@@ -0,0 +1,101 @@
+package com.hygie.patientservice.loadshedding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la limite adaptative de concurrence.
+ *
+ * Ces tests vérifient le refus au-delà de la limite, la croissance de la
+ * limite sous une latence stable, sa réduction lorsque la latence se dégrade
+ * et le respect des bornes.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class GradientConcurrencyLimitTest {
+
+    private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Occupe toutes les places puis les libère avec le temps de traitement donné.
+     */
+    private static void saturate(GradientConcurrencyLimit limit, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(rttNanos, true);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test du refus au-delà de la limite")
+    void testRejectsBeyondLimit() {
+        // Configuration
+        final GradientConcurrencyLimit limit = new GradientConcurrencyLimit(3, 1, 10);
+
+        // Exécution et vérification
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire(), "La quatrième requête devrait être refusée");
+        limit.release(BASE_RTT, true);
+        assertTrue(limit.tryAcquire(), "Une place libérée devrait être réutilisable");
+        assertEquals(3, limit.getInflight());
+    }
+
+    @Test
+    @DisplayName("Test de la croissance de la limite sous une latence stable")
+    void testLimitGrowsWhileLatencyIsStable() {
+        // Configuration
+        final GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 1, 100);
+
+        // Exécution
+        saturate(limit, BASE_RTT, 20);
+
+        // Vérification
+        assertTrue(limit.getLimit() > 10, "La limite devrait augmenter, obtenu " + limit.getLimit());
+        assertTrue(limit.getLimit() <= 100);
+        assertEquals(0, limit.getInflight());
+    }
+
+    @Test
+    @DisplayName("Test de la réduction de la limite lorsque la latence se dégrade")
+    void testLimitShrinksWhenLatencyDegrades() {
+        // Configuration
+        final GradientConcurrencyLimit limit = new GradientConcurrencyLimit(50, 20, 100);
+        saturate(limit, BASE_RTT, 5);
+        final int before = limit.getLimit();
+
+        // Exécution: latence multipliée par dix
+        saturate(limit, BASE_RTT * 10, 5);
+
+        // Vérification
+        assertEquals(20, limit.getLimit(), "La limite devrait descendre jusqu'au minimum, pas en dessous");
+        assertTrue(before > 50, "La limite devrait avoir crû avant la dégradation");
+    }
+
+    @Test
+    @DisplayName("Test de la stabilité de la limite sans saturation")
+    void testLimitIgnoresSamplesWhenUnderused() {
+        // Configuration
+        final GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 1, 100);
+
+        // Exécution: une seule requête à la fois
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(BASE_RTT, true);
+        }
+
+        // Vérification
+        assertEquals(20, limit.getLimit(), "Une limite sous-utilisée ne devrait pas croître");
+    }
+}
@@ -0,0 +1,95 @@
+package com.hygie.patientservice.loadshedding;
+
+import com.hygie.patientservice.config.LoadSheddingProperties;
+import com.hygie.patientservice.config.LoadSheddingProperties.Limits;
+import com.hygie.patientservice.loadshedding.LoadShedder.Permit;
+import com.hygie.patientservice.loadshedding.LoadShedder.Rejection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le délestage par point d'entrée et par client.
+ *
+ * Ces tests vérifient l'isolement des points d'entrée coûteux, la limite par
+ * client, la libération des places et les métriques exportées.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class LoadShedderTest {
+
+    private static final String EXPENSIVE = "GET /api/patients/eligible-for-bpm";
+    private static final String CHEAP = "GET /api/patients/{id}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoadShedder loadShedder;
+
+    @BeforeEach
+    void setUp() {
+        final LoadSheddingProperties properties = new LoadSheddingProperties();
+        properties.setDefaults(new Limits(10, 10, 10, 0));
+        properties.getEndpoints().put(EXPENSIVE, new Limits(3, 1, 3, 2));
+        loadShedder = new LoadShedder(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Test de l'isolement d'un point d'entrée coûteux saturé")
+    void testExpensiveEndpointDoesNotStarveOthers() {
+        // Configuration: le point d'entrée coûteux est saturé par trois clients
+        assertTrue(loadShedder.tryAcquire(EXPENSIVE, "a").isGranted());
+        assertTrue(loadShedder.tryAcquire(EXPENSIVE, "b").isGranted());
+        assertTrue(loadShedder.tryAcquire(EXPENSIVE, "c").isGranted());
+
+        // Exécution
+        final Permit rejected = loadShedder.tryAcquire(EXPENSIVE, "d");
+        final Permit cheap = loadShedder.tryAcquire(CHEAP, "d");
+
+        // Vérification
+        assertEquals(Rejection.SATURATED, rejected.getRejection());
+        assertTrue(cheap.isGranted(), "Les consultations simples devraient rester admises");
+        assertEquals(LoadShedder.DEFAULT_ENDPOINT, cheap.getEndpoint());
+        assertEquals(1.0, meterRegistry.get("hygie.loadshedding.rejected")
+            .tags("endpoint", EXPENSIVE, "reason", "saturated").counter().count());
+        assertEquals(3.0, meterRegistry.get("hygie.loadshedding.inflight")
+            .tag("endpoint", EXPENSIVE).gauge().value());
+    }
+
+    @Test
+    @DisplayName("Test de la limite par client")
+    void testPerClientLimit() {
+        // Configuration
+        final Permit first = loadShedder.tryAcquire(EXPENSIVE, "robot");
+        assertTrue(loadShedder.tryAcquire(EXPENSIVE, "robot").isGranted());
+
+        // Exécution et vérification
+        assertEquals(Rejection.CLIENT_LIMIT, loadShedder.tryAcquire(EXPENSIVE, "robot").getRejection());
+        assertTrue(loadShedder.tryAcquire(EXPENSIVE, "humain").isGranted(), "Un autre client devrait être admis");
+        first.release(true);
+        assertTrue(loadShedder.tryAcquire(EXPENSIVE, "robot").isGranted(),
+            "Le client devrait être réadmis après une libération");
+        assertEquals(1.0, meterRegistry.get("hygie.loadshedding.rejected")
+            .tags("endpoint", EXPENSIVE, "reason", "client").counter().count());
+    }
+
+    @Test
+    @DisplayName("Test de la libération unique d'une place")
+    void testReleaseIsIdempotent() {
+        // Configuration
+        final Permit permit = loadShedder.tryAcquire(EXPENSIVE, "a");
+
+        // Exécution
+        permit.release(true);
+        permit.release(true);
+        loadShedder.tryAcquire(EXPENSIVE, "a").release(false);
+
+        // Vérification
+        assertEquals(0.0, meterRegistry.get("hygie.loadshedding.inflight")
+            .tag("endpoint", EXPENSIVE).gauge().value());
+        assertEquals(3.0, meterRegistry.get("hygie.loadshedding.limit")
+            .tag("endpoint", EXPENSIVE).gauge().value());
+    }
+}
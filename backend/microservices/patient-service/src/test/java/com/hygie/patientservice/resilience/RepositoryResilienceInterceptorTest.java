@@ -0,0 +1,172 @@
+package com.hygie.patientservice.resilience;
+
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.Patient;
+import com.hygie.patientservice.repository.MedicationRepository;
+import com.hygie.patientservice.repository.PatientRepository;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour la protection des dépôts par disjoncteur et cloisonnement.
+ *
+ * Ces tests vérifient le refus des appels lorsque le disjoncteur est ouvert et
+ * le mode dégradé des lectures, servies depuis des copies de leurs derniers
+ * résultats.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class RepositoryResilienceInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CircuitBreaker circuitBreaker;
+    private RepositoryResilienceInterceptor interceptor;
+    private Method findByCisCode;
+
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        circuitBreaker = CircuitBreaker.ofDefaults("medicationRepository");
+        interceptor = new RepositoryResilienceInterceptor("medicationRepository", circuitBreaker,
+            Bulkhead.ofDefaults("medicationRepository"), new StaleReadCache(100, converter), meterRegistry);
+        findByCisCode = MedicationRepository.class.getMethod("findByCisCode", String.class);
+    }
+
+    @Test
+    @DisplayName("Test du dernier résultat servi lorsque le disjoncteur est ouvert")
+    void testServesStaleReadWhenOpen() throws Throwable {
+        // Configuration: une lecture réussie puis l'ouverture du disjoncteur
+        final Optional<Medication> medication = Optional.of(new Medication("60234100", "Doliprane", "Paracétamol"));
+        final MethodInvocation invocation = invocation(findByCisCode, medication, "60234100");
+        assertSame(medication, interceptor.invoke(invocation));
+        circuitBreaker.transitionToOpenState();
+
+        // Exécution
+        final Object stale = interceptor.invoke(invocation);
+
+        // Vérification: une copie du dernier résultat
+        assertEquals(medication, stale);
+        assertNotSame(medication.get(), ((Optional<?>) stale).get(),
+            "L'entité conservée ne devrait pas être partagée");
+        verify(invocation, times(1)).proceed();
+        assertEquals(1.0, meterRegistry.get("hygie.resilience.stale.reads")
+            .tags("repository", "medicationRepository", "outcome", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Test du refus d'une lecture inconnue lorsque le disjoncteur est ouvert")
+    void testRejectsUnknownReadWhenOpen() throws Throwable {
+        // Configuration
+        circuitBreaker.transitionToOpenState();
+        final MethodInvocation invocation = invocation(findByCisCode, Optional.empty(), "60234100");
+
+        // Exécution et vérification
+        assertThrows(CallNotPermittedException.class, () -> interceptor.invoke(invocation));
+        verify(invocation, never()).proceed();
+        assertEquals(1.0, meterRegistry.get("hygie.resilience.stale.reads")
+            .tags("repository", "medicationRepository", "outcome", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Test de l'oubli des derniers résultats après une écriture")
+    void testWriteClearsStaleReads() throws Throwable {
+        // Configuration
+        final Method deleteById = MedicationRepository.class.getMethod("deleteById", Object.class);
+        final MethodInvocation read = invocation(findByCisCode,
+            Optional.of(new Medication("60234100", "Doliprane", "Paracétamol")), "60234100");
+        interceptor.invoke(read);
+        interceptor.invoke(invocation(deleteById, null, "med1"));
+        circuitBreaker.transitionToOpenState();
+
+        // Exécution et vérification
+        assertThrows(CallNotPermittedException.class, () -> interceptor.invoke(read));
+    }
+
+    @Test
+    @DisplayName("Test des lectures non bornées et des longues listes non conservées")
+    void testUnboundedReadsAreNotFrozen() throws Exception {
+        // Configuration
+        final MappingMongoConverter spyConverter = spy(converter);
+        final StaleReadCache cache = new StaleReadCache(100, spyConverter);
+        final Method findAll = MedicationRepository.class.getMethod("findAll");
+        final Method findByName = MedicationRepository.class.getMethod("findByNameContainingIgnoreCase", String.class);
+        final Medication medication = new Medication("60234100", "Doliprane", "Paracétamol");
+        final List<Medication> catalogue = java.util.Collections.nCopies(StaleReadCache.MAX_LIST_SIZE + 1, medication);
+
+        // Exécution
+        cache.put(findAll, new Object[0], List.of(medication));
+        cache.put(findByName, new Object[] {"a"}, catalogue);
+        cache.put(findByName, new Object[] {"doli"}, List.of(medication));
+
+        // Vérification: seule la courte liste d'une lecture bornée est figée
+        assertTrue(cache.get(findAll, new Object[0]).isEmpty());
+        assertTrue(cache.get(findByName, new Object[] {"a"}).isEmpty());
+        assertEquals(1, cache.size());
+        verify(spyConverter, times(1)).write(any(), any(org.bson.conversions.Bson.class));
+    }
+
+    @Test
+    @DisplayName("Test de l'isolement des entités conservées vis-à-vis des modifications des appelants")
+    void testStaleReadsAreIsolatedFromCallerMutations() throws Exception {
+        // Configuration
+        final StaleReadCache cache = new StaleReadCache(100, converter);
+        final Method findBySocialSecurityNumber =
+            PatientRepository.class.getMethod("findBySocialSecurityNumber", String.class);
+        final Patient patient = new Patient("1600512345678", "Dupont", "Jean", LocalDate.of(1960, 5, 15), "M");
+        patient.addActiveCondition("Hypertension");
+        final Object[] arguments = {"1600512345678"};
+
+        // Exécution: l'appelant modifie l'entité lue, puis une réponse en mode dégradé
+        cache.put(findBySocialSecurityNumber, arguments, Optional.of(patient));
+        patient.addActiveCondition("Diabète type 2");
+        final Patient first = (Patient) ((Optional<?>) cache.get(findBySocialSecurityNumber, arguments).get()).get();
+        first.addActiveCondition("Insuffisance rénale");
+        final Patient second = (Patient) ((Optional<?>) cache.get(findBySocialSecurityNumber, arguments).get()).get();
+
+        // Vérification
+        assertEquals(List.of("Hypertension"), first.getActiveConditions().subList(0, 1));
+        assertEquals(List.of("Hypertension"), second.getActiveConditions(),
+            "Ni l'appelant initial ni une réponse précédente ne devraient altérer le cache");
+        assertNotSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Test de la distinction des lectures et des écritures")
+    void testIsRead() throws Exception {
+        assertTrue(RepositoryResilienceInterceptor.isRead(findByCisCode));
+        assertTrue(RepositoryResilienceInterceptor.isRead(
+            MedicationRepository.class.getMethod("existsById", Object.class)));
+        assertFalse(RepositoryResilienceInterceptor.isRead(
+            MedicationRepository.class.getMethod("save", Object.class)));
+    }
+
+    private static MethodInvocation invocation(Method method, Object result, Object... arguments)
+            throws Throwable {
+        final MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.getArguments()).thenReturn(arguments);
+        when(invocation.proceed()).thenReturn(result);
+        return invocation;
+    }
+}
@@ -0,0 +1,197 @@
+package com.hygie.patientservice.service;
+
+import com.hygie.patientservice.model.Prescription;
+import com.hygie.patientservice.model.PrescriptionItem;
+import com.hygie.patientservice.repository.PrescriptionRepository;
+import com.hygie.patientservice.service.CoOccurrenceAnalyticsService.CoOccurrence;
+import com.hygie.patientservice.service.CoOccurrenceAnalyticsService.RefreshSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour le service d'analyse des co-prescriptions.
+ *
+ * Ces tests vérifient le comptage des paires par patient, le rafraîchissement
+ * incrémental à partir des prescriptions modifiées et la requête des K paires
+ * les plus fréquentes sur le classement publié.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+public class CoOccurrenceAnalyticsServiceTest {
+
+    @Mock
+    private PrescriptionRepository prescriptionRepository;
+
+    @Mock
+    private InteractionIndexService interactionIndexService;
+
+    @InjectMocks
+    private CoOccurrenceAnalyticsService coOccurrenceAnalyticsService;
+
+    private Prescription createPrescription(String patientId, String... medicationIds) {
+        final Prescription prescription = new Prescription(patientId, "d1", "Généraliste",
+            LocalDate.now(), 3, false, 0);
+        final List<PrescriptionItem> items = new ArrayList<>();
+        for (String medicationId : medicationIds) {
+            items.add(new PrescriptionItem(medicationId, "Médicament " + medicationId, "1 mg", "1 fois par jour", 30));
+        }
+        try {
+            java.lang.reflect.Field itemsField = Prescription.class.getDeclaredField("prescriptionItems");
+            itemsField.setAccessible(true);
+            itemsField.set(prescription, items);
+        } catch (Exception e) {
+            fail("Erreur lors de la modification des champs finals de la prescription: " + e.getMessage());
+        }
+        return prescription;
+    }
+
+    private void givenActivePrescriptions(Prescription... prescriptions) {
+        when(prescriptionRepository.streamByExpirationDateGreaterThanEqualAndStatusIn(any(), any()))
+            .thenAnswer(invocation -> List.of(prescriptions).stream());
+    }
+
+    @Test
+    @DisplayName("Test du classement des paires les plus co-prescrites")
+    void testTopCoOccurrences() {
+        // Configuration: la paire med1/med2 est partagée par trois patients
+        givenActivePrescriptions(
+            createPrescription("p1", "med1", "med2"),
+            createPrescription("p2", "med1", "med2", "med3"),
+            createPrescription("p3", "med2"),
+            createPrescription("p3", "med1"),
+            createPrescription("p4", "med3", "med4"));
+
+        // Exécution
+        coOccurrenceAnalyticsService.refresh();
+        final List<CoOccurrence> top = coOccurrenceAnalyticsService.getTopCoOccurrences(2, false);
+
+        // Vérification
+        assertEquals(2, top.size());
+        assertEquals("med1", top.get(0).getMedicationId1());
+        assertEquals("med2", top.get(0).getMedicationId2());
+        assertEquals(3, top.get(0).getPatientCount(), "Trois patients prennent med1 et med2");
+        assertEquals(1, top.get(1).getPatientCount());
+    }
+
+    @Test
+    @DisplayName("Test du filtrage des paires en interaction")
+    void testTopCoOccurrencesInteractingOnly() {
+        // Configuration
+        givenActivePrescriptions(
+            createPrescription("p1", "med1", "med2"),
+            createPrescription("p2", "med1", "med2", "med3"));
+        when(interactionIndexService.interacts(anyString(), anyString())).thenReturn(false);
+        when(interactionIndexService.interacts("med2", "med3")).thenReturn(true);
+
+        // Exécution
+        coOccurrenceAnalyticsService.refresh();
+        final List<CoOccurrence> top = coOccurrenceAnalyticsService.getTopCoOccurrences(10, true);
+
+        // Vérification
+        assertEquals(1, top.size(), "Seule la paire en interaction doit être retenue");
+        assertTrue(top.get(0).isInteracting());
+        assertEquals(1, top.get(0).getPatientCount());
+    }
+
+    @Test
+    @DisplayName("Test du rafraîchissement limité aux patients dont une prescription a été enregistrée")
+    void testIncrementalRefresh() {
+        // Configuration: parcours complet initial, puis seuls p2 et p3 ont une prescription modifiée
+        givenActivePrescriptions(
+            createPrescription("p1", "med1", "med2"),
+            createPrescription("p2", "med1", "med2"));
+        when(prescriptionRepository.streamByLastModifiedDateGreaterThan(any()))
+            .thenAnswer(invocation -> Stream.of(createPrescription("p2", "med1", "med3"),
+                createPrescription("p3", "med4")))
+            .thenAnswer(invocation -> Stream.of(createPrescription("p2", "med1", "med3")));
+        when(prescriptionRepository.streamByPatientIdInAndExpirationDateGreaterThanEqualAndStatusIn(
+                anyCollection(), any(), any()))
+            .thenAnswer(invocation -> Stream.of(createPrescription("p2", "med1", "med3"),
+                createPrescription("p3", "med4")))
+            .thenAnswer(invocation -> Stream.empty());
+
+        // Exécution et vérification
+        final RefreshSummary first = coOccurrenceAnalyticsService.refresh();
+        assertEquals(2, first.getChangedPatients());
+
+        final RefreshSummary second = coOccurrenceAnalyticsService.refresh();
+        assertEquals(2, second.getScannedPatients(), "Seuls p2 et p3 devraient être relus");
+        assertEquals(2, second.getChangedPatients(), "p2 a changé de traitement et p3 est nouveau");
+        assertEquals(2, second.getDistinctPairs());
+
+        final RefreshSummary third = coOccurrenceAnalyticsService.refresh();
+        assertEquals(1, third.getChangedPatients(), "p2 n'a plus de traitement actif");
+        assertEquals(1, third.getDistinctPairs());
+
+        final List<CoOccurrence> top = coOccurrenceAnalyticsService.getTopCoOccurrences(5, false);
+        assertEquals(1, top.size());
+        assertEquals("med1", top.get(0).getMedicationId1());
+        assertEquals("med2", top.get(0).getMedicationId2());
+        verify(prescriptionRepository, times(1)).streamByExpirationDateGreaterThanEqualAndStatusIn(any(), any());
+        verify(prescriptionRepository).streamByPatientIdInAndExpirationDateGreaterThanEqualAndStatusIn(
+            eq(Set.of("p2", "p3")), any(), any());
+    }
+
+    @Test
+    @DisplayName("Test d'une requête avant le premier rafraîchissement, sans lecture de la base")
+    void testTopCoOccurrencesBeforeFirstRefresh() {
+        // Exécution
+        final List<CoOccurrence> top = coOccurrenceAnalyticsService.getTopCoOccurrences(10, false);
+
+        // Vérification
+        assertTrue(top.isEmpty(), "Aucun classement n'est encore publié");
+        verifyNoInteractions(prescriptionRepository);
+    }
+
+    @Test
+    @DisplayName("Test du classement publié conservé pendant un rafraîchissement")
+    void testTopCoOccurrencesServedFromPublishedRanking() {
+        // Configuration
+        givenActivePrescriptions(createPrescription("p1", "med1", "med2"));
+        coOccurrenceAnalyticsService.refresh();
+        when(prescriptionRepository.streamByLastModifiedDateGreaterThan(any()))
+            .thenAnswer(invocation -> {
+                // Requête concurrente pendant le rafraîchissement: servie sans attendre le verrou
+                final List<CoOccurrence> during = CompletableFuture
+                    .supplyAsync(() -> coOccurrenceAnalyticsService.getTopCoOccurrences(5, false))
+                    .get(5, TimeUnit.SECONDS);
+                assertEquals(1, during.size(), "Le classement précédent devrait être servi");
+                return Stream.empty();
+            });
+
+        // Exécution et vérification
+        assertEquals(0, coOccurrenceAnalyticsService.refresh().getChangedPatients());
+        assertEquals(1, coOccurrenceAnalyticsService.getTopCoOccurrences(5, false).size());
+    }
+
+    @Test
+    @DisplayName("Test de l'encodage des paires indépendant de l'ordre")
+    void testPairKey() {
+        // Vérification
+        final long key = CoOccurrenceAnalyticsService.pairKey(7, 3);
+        assertEquals(key, CoOccurrenceAnalyticsService.pairKey(3, 7));
+        assertEquals(3, CoOccurrenceAnalyticsService.first(key));
+        assertEquals(7, CoOccurrenceAnalyticsService.second(key));
+    }
+}
@@ -0,0 +1,182 @@
+package com.hygie.patientservice.service;
+
+import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.model.Patient;
+import com.hygie.patientservice.model.PrescriptionItem;
+import com.hygie.patientservice.service.ContraindicationService.AlertType;
+import com.hygie.patientservice.service.ContraindicationService.ContraindicationAlert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour le service de détection des contre-indications.
+ *
+ * Ces tests vérifient le croisement des médicaments actuels d'un patient
+ * avec ses conditions actives et ses allergies via l'index inversé.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+public class ContraindicationServiceTest {
+
+    @Mock
+    private PatientService patientService;
+
+    @Mock
+    private PrescriptionService prescriptionService;
+
+    @Mock
+    private MedicationService medicationService;
+
+    @InjectMocks
+    private ContraindicationService contraindicationService;
+
+    private Patient patient;
+    private Medication ibuprofen;
+    private Medication amoxicillin;
+    private Medication paracetamol;
+    private List<PrescriptionItem> currentMedications;
+
+    @BeforeEach
+    void setUp() {
+        patient = new Patient("1600512345678", "Dupont", "Jean", LocalDate.of(1950, 5, 15), "M");
+        patient.addActiveCondition("Insuffisance rénale sévère");
+        patient.addActiveCondition("Asthme");
+        patient.addAllergy("Pénicilline");
+
+        ibuprofen = createMedication("med1", "12345678", "Ibuprofène", "Ibuprofène",
+            List.of("Insuffisance rénale sévère", "Ulcère gastroduodénal évolutif"));
+        amoxicillin = createMedication("med2", "23456789", "Clamoxyl", "Amoxicilline",
+            List.of("Allergie aux pénicillines", "Mononucléose infectieuse"));
+        paracetamol = createMedication("med3", "34567890", "Doliprane", "Paracétamol",
+            List.of("Insuffisance hépatocellulaire sévère"));
+
+        currentMedications = List.of(
+            new PrescriptionItem("med1", "Ibuprofène", "200 mg", "3 fois par jour", 7),
+            new PrescriptionItem("med2", "Clamoxyl", "1 g", "2 fois par jour", 7),
+            new PrescriptionItem("med3", "Doliprane", "500 mg", "3 fois par jour", 5)
+        );
+    }
+
+    private Medication createMedication(String id, String cisCode, String name, String substance,
+                                        List<String> contraindications) {
+        final Medication medication = new Medication(cisCode, name, substance);
+        try {
+            java.lang.reflect.Field idField = Medication.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(medication, id);
+
+            java.lang.reflect.Field contraindicationsField = Medication.class.getDeclaredField("contraindications");
+            contraindicationsField.setAccessible(true);
+            contraindicationsField.set(medication, new ArrayList<>(contraindications));
+        } catch (Exception e) {
+            fail("Erreur lors de la modification des champs finals du médicament: " + e.getMessage());
+        }
+        return medication;
+    }
+
+    @Test
+    @DisplayName("Test de détection des contre-indications liées aux conditions et allergies")
+    void testCheckPatientContraindications() {
+        // Configuration
+        when(patientService.getPatientById("patient1")).thenReturn(Optional.of(patient));
+        when(prescriptionService.getCurrentMedications("patient1")).thenReturn(currentMedications);
+        when(medicationService.getCatalogueVersion()).thenReturn(1L);
+        when(medicationService.getAllMedications()).thenReturn(List.of(ibuprofen, amoxicillin, paracetamol));
+
+        // Exécution
+        final Optional<List<ContraindicationAlert>> result =
+            contraindicationService.checkPatientContraindications("patient1");
+
+        // Vérification
+        assertTrue(result.isPresent(), "Le patient devrait être trouvé");
+        final List<ContraindicationAlert> alerts = result.get();
+        assertEquals(2, alerts.size(), "Deux contre-indications devraient être détectées");
+        assertTrue(alerts.stream().anyMatch(a -> a.getMedicationId().equals("med1")
+                && a.getType() == AlertType.CONDITION), "L'ibuprofène est contre-indiqué en insuffisance rénale");
+        assertTrue(alerts.stream().anyMatch(a -> a.getMedicationId().equals("med2")
+                && a.getType() == AlertType.ALLERGY), "L'amoxicilline est contre-indiquée en cas d'allergie");
+        assertTrue(alerts.stream().noneMatch(a -> a.getMedicationId().equals("med3")),
+                "Le paracétamol ne devrait pas être signalé");
+    }
+
+    @Test
+    @DisplayName("Test de vérification des contre-indications pour un patient inexistant")
+    void testCheckPatientContraindicationsNotFound() {
+        // Configuration
+        when(patientService.getPatientById("unknown")).thenReturn(Optional.empty());
+
+        // Exécution
+        final Optional<List<ContraindicationAlert>> result =
+            contraindicationService.checkPatientContraindications("unknown");
+
+        // Vérification
+        assertTrue(result.isEmpty(), "Aucun résultat ne devrait être retourné");
+        verify(prescriptionService, never()).getCurrentMedications(anyString());
+    }
+
+    @Test
+    @DisplayName("Test de reconstruction de l'index en arrière-plan au changement de version")
+    void testIndexRebuiltOnlyOnCatalogueChange() {
+        // Configuration
+        when(medicationService.getCatalogueVersion()).thenReturn(1L, 1L, 2L);
+        when(medicationService.getAllMedications()).thenReturn(List.of(ibuprofen, amoxicillin, paracetamol));
+
+        // Exécution: construction initiale, rafraîchissement sans changement, puis changement de version
+        contraindicationService.checkContraindications(patient, currentMedications);
+        contraindicationService.refreshIndex();
+        contraindicationService.checkContraindications(patient, currentMedications);
+        contraindicationService.refreshIndex();
+        contraindicationService.checkContraindications(patient, currentMedications);
+
+        // Vérification: les requêtes ne relisent ni la version ni le référentiel
+        verify(medicationService, times(3)).getCatalogueVersion();
+        verify(medicationService, times(2)).getAllMedications();
+    }
+
+    @Test
+    @DisplayName("Test de conservation de l'index publié lorsque la reconstruction échoue")
+    void testIndexKeptWhenRefreshFails() {
+        // Configuration
+        when(medicationService.getCatalogueVersion()).thenReturn(1L)
+            .thenThrow(new IllegalStateException("Base indisponible"));
+        when(medicationService.getAllMedications()).thenReturn(List.of(ibuprofen, amoxicillin, paracetamol));
+        contraindicationService.checkContraindications(patient, currentMedications);
+
+        // Exécution
+        contraindicationService.refreshIndex();
+        final List<ContraindicationAlert> alerts =
+            contraindicationService.checkContraindications(patient, currentMedications);
+
+        // Vérification
+        assertEquals(2, alerts.size(), "L'index précédent devrait continuer à servir les requêtes");
+        verify(medicationService, times(1)).getAllMedications();
+    }
+
+    @Test
+    @DisplayName("Test de normalisation des jetons sans accents ni mots vides")
+    void testTokenize() {
+        // Exécution
+        final var tokens = ContraindicationService.tokenize("Insuffisance rénale chez les sujets âgés");
+
+        // Vérification
+        assertTrue(tokens.contains("renale"), "Les accents devraient être supprimés");
+        assertTrue(tokens.contains("insuffisance"), "Les jetons significatifs devraient être conservés");
+        assertFalse(tokens.contains("les"), "Les mots vides devraient être ignorés");
+        assertFalse(tokens.contains("chez"), "Les mots vides devraient être ignorés");
+    }
+}
@@ -0,0 +1,165 @@
+package com.hygie.patientservice.service;
+
+import com.hygie.patientservice.model.PrescriptionItem;
+import com.hygie.patientservice.service.PrescriptionService.PrescriptionItemPair;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour le cache incrémental des interactions par patient.
+ *
+ * Ces tests vérifient les succès de cache, le calcul limité aux médicaments
+ * ajoutés et le recalcul complet après un changement du référentiel.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+public class InteractionCacheServiceTest {
+
+    @Mock
+    private InteractionIndexService interactionIndexService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InteractionCacheService interactionCacheService;
+    private PrescriptionItem warfarin;
+    private PrescriptionItem aspirin;
+    private PrescriptionItem paracetamol;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interactionCacheService = new InteractionCacheService(interactionIndexService, meterRegistry, 100);
+        warfarin = new PrescriptionItem("med1", "Coumadine", "5 mg", "1 fois par jour", 30);
+        aspirin = new PrescriptionItem("med2", "Kardégic", "75 mg", "1 fois par jour", 30);
+        paracetamol = new PrescriptionItem("med3", "Doliprane", "1 g", "3 fois par jour", 5);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("hygie.interactions.cache.lookups").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Test du succès de cache lorsque le traitement n'a pas changé")
+    void testCacheHitWhenMedicationSetUnchanged() {
+        // Configuration
+        when(interactionIndexService.getIndexedVersion()).thenReturn(1L);
+        when(interactionIndexService.findInteractingPairs(anyCollection()))
+            .thenReturn(List.<String[]>of(new String[] {"med1", "med2"}));
+
+        // Exécution
+        final List<PrescriptionItemPair> first =
+            interactionCacheService.getInteractions("p1", List.of(warfarin, aspirin));
+        final List<PrescriptionItemPair> second =
+            interactionCacheService.getInteractions("p1", List.of(aspirin, warfarin));
+
+        // Vérification
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertSame(aspirin, second.get(0).getItem1(), "L'ordre doit suivre le traitement en cours");
+        verify(interactionIndexService, times(1)).findInteractingPairs(anyCollection());
+        assertEquals(1.0, lookups("hit"));
+        assertEquals(1.0, lookups("full"));
+        assertEquals(0.5, interactionCacheService.getHitRatio());
+    }
+
+    @Test
+    @DisplayName("Test du calcul limité aux paires du médicament ajouté")
+    void testIncrementalRecomputeOnAddedMedication() {
+        // Configuration
+        when(interactionIndexService.getIndexedVersion()).thenReturn(1L);
+        when(interactionIndexService.findInteractingPairs(anyCollection()))
+            .thenReturn(List.<String[]>of(new String[] {"med1", "med2"}));
+        when(interactionIndexService.interacts(anyString(), anyString())).thenReturn(false);
+        interactionCacheService.getInteractions("p1", List.of(warfarin, aspirin));
+
+        // Exécution
+        final List<PrescriptionItemPair> interactions =
+            interactionCacheService.getInteractions("p1", List.of(warfarin, aspirin, paracetamol));
+
+        // Vérification: 1 paire initiale puis 2 paires impliquant le paracétamol
+        assertEquals(1, interactions.size(), "L'interaction existante doit être conservée");
+        verify(interactionIndexService, times(2)).interacts(eq("med3"), anyString());
+        assertEquals(3.0, meterRegistry.get("hygie.interactions.cache.computed.pairs").counter().count());
+        assertEquals(1.0, lookups("incremental"));
+    }
+
+    @Test
+    @DisplayName("Test de l'abandon des paires dont un médicament a été retiré")
+    void testIncrementalRecomputeOnRemovedMedication() {
+        // Configuration
+        when(interactionIndexService.getIndexedVersion()).thenReturn(1L);
+        when(interactionIndexService.findInteractingPairs(anyCollection()))
+            .thenReturn(List.<String[]>of(new String[] {"med1", "med2"}));
+        interactionCacheService.getInteractions("p1", List.of(warfarin, aspirin, paracetamol));
+
+        // Exécution
+        final List<PrescriptionItemPair> interactions =
+            interactionCacheService.getInteractions("p1", List.of(warfarin, paracetamol));
+
+        // Vérification
+        assertTrue(interactions.isEmpty(), "L'interaction avec le médicament retiré doit disparaître");
+        verify(interactionIndexService, never()).interacts(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Test du recalcul complet après un changement du référentiel")
+    void testFullRecomputeOnCatalogueVersionChange() {
+        // Configuration
+        when(interactionIndexService.getIndexedVersion()).thenReturn(1L, 2L);
+        when(interactionIndexService.findInteractingPairs(anyCollection()))
+            .thenReturn(List.<String[]>of(new String[] {"med1", "med2"}))
+            .thenReturn(List.of());
+
+        // Exécution
+        interactionCacheService.getInteractions("p1", List.of(warfarin, aspirin));
+        final List<PrescriptionItemPair> interactions =
+            interactionCacheService.getInteractions("p1", List.of(warfarin, aspirin));
+
+        // Vérification
+        assertTrue(interactions.isEmpty(), "Le résultat doit refléter le nouveau référentiel");
+        assertEquals(2.0, lookups("full"));
+    }
+
+    @Test
+    @DisplayName("Test d'une paire par item lorsqu'un médicament figure dans plusieurs items")
+    void testDuplicateMedicationItemsKeepPerItemPairs() {
+        // Configuration: la warfarine est prescrite dans deux items du traitement en cours
+        final PrescriptionItem warfarinRenewal = new PrescriptionItem("med1", "Coumadine", "2 mg", "1 fois par jour", 30);
+        when(interactionIndexService.getIndexedVersion()).thenReturn(1L);
+        when(interactionIndexService.findInteractingPairs(anyCollection()))
+            .thenReturn(List.<String[]>of(new String[] {"med1", "med2"}));
+
+        // Exécution
+        final List<PrescriptionItemPair> interactions =
+            interactionCacheService.getInteractions("p1", List.of(warfarin, aspirin, warfarinRenewal));
+
+        // Vérification: mêmes paires que le parcours de toutes les paires d'items
+        assertEquals(2, interactions.size(), "Chaque item de warfarine doit être apparié à l'aspirine");
+        assertSame(warfarin, interactions.get(0).getItem1());
+        assertSame(aspirin, interactions.get(0).getItem2());
+        assertSame(aspirin, interactions.get(1).getItem1());
+        assertSame(warfarinRenewal, interactions.get(1).getItem2());
+        verify(interactionIndexService).findInteractingPairs(argThat(ids -> ids.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Test de l'empreinte indépendante de l'ordre mais sensible aux séparations")
+    void testHash() {
+        // Vérification
+        assertEquals(InteractionCacheService.hash(new String[] {"a", "b"}),
+            InteractionCacheService.hash(new String[] {"a", "b"}));
+        assertNotEquals(InteractionCacheService.hash(new String[] {"ab", "c"}),
+            InteractionCacheService.hash(new String[] {"a", "bc"}));
+    }
+}
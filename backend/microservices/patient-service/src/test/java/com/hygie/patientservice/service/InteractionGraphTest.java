@@ -0,0 +1,93 @@
+package com.hygie.patientservice.service;
+
+import com.hygie.patientservice.model.Medication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le graphe compact des interactions.
+ *
+ * Ces tests vérifient l'équivalence avec {@link Medication#interactsWith}
+ * et la recherche des paires d'un traitement par intersection de bitsets.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class InteractionGraphTest {
+
+    private List<Medication> catalogue;
+    private InteractionGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        catalogue = List.of(
+            createMedication("med1", "11111111", "Coumadine", "Warfarine", List.of("Aspirine à dose antalgique", "Miconazole")),
+            createMedication("med2", "22222222", "Kardégic", "Aspirine", List.of()),
+            createMedication("med3", "33333333", "Daktarin", "Miconazole", List.of()),
+            createMedication("med4", "44444444", "Doliprane", "Paracétamol", List.of()),
+            createMedication("med5", "55555555", "Aspégic", "Aspirine", List.of("Méthotrexate"))
+        );
+        graph = InteractionGraph.build(catalogue);
+    }
+
+    private Medication createMedication(String id, String cisCode, String name, String substance,
+                                        List<String> interactions) {
+        final Medication medication = new Medication(cisCode, name, substance);
+        try {
+            java.lang.reflect.Field idField = Medication.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(medication, id);
+
+            java.lang.reflect.Field interactionsField = Medication.class.getDeclaredField("interactions");
+            interactionsField.setAccessible(true);
+            interactionsField.set(medication, new ArrayList<>(interactions));
+        } catch (Exception e) {
+            fail("Erreur lors de la modification des champs finals du médicament: " + e.getMessage());
+        }
+        return medication;
+    }
+
+    @Test
+    @DisplayName("Test d'équivalence avec la vérification objet des interactions")
+    void testEquivalentToMedicationInteractsWith() {
+        for (Medication med1 : catalogue) {
+            for (Medication med2 : catalogue) {
+                if (med1 == med2) {
+                    continue;
+                }
+                final boolean expected = med1.interactsWith(med2) || med2.interactsWith(med1);
+                assertEquals(expected, graph.interacts(graph.indexOf(med1.getId()), graph.indexOf(med2.getId())),
+                    "Résultat divergent pour " + med1.getId() + " / " + med2.getId());
+            }
+        }
+        assertEquals(3, graph.edgeCount(), "La warfarine interagit avec deux aspirines et le miconazole");
+    }
+
+    @Test
+    @DisplayName("Test de recherche des paires d'un traitement par intersection de bitsets")
+    void testInteractingPairs() {
+        // Exécution
+        final long[] pairs = graph.interactingPairs(new int[] {
+            graph.indexOf("med4"), graph.indexOf("med1"), graph.indexOf("med2"), graph.indexOf("unknown")});
+
+        // Vérification
+        assertEquals(1, pairs.length, "Seule la paire warfarine/aspirine est attendue");
+        assertEquals("med1", graph.medicationIdAt((int) (pairs[0] >>> 32)));
+        assertEquals("med2", graph.medicationIdAt((int) pairs[0]));
+    }
+
+    @Test
+    @DisplayName("Test de l'internement des IDs de médicaments")
+    void testIndexOf() {
+        // Vérification
+        assertEquals(5, graph.size());
+        assertEquals(-1, graph.indexOf("unknown"));
+        assertEquals("med3", graph.medicationIdAt(graph.indexOf("med3")));
+    }
+}
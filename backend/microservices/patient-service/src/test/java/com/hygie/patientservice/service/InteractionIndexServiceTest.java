@@ -0,0 +1,119 @@
+package com.hygie.patientservice.service;
+
+import com.hygie.patientservice.model.Medication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour l'index en mémoire des interactions.
+ *
+ * Ces tests vérifient que les requêtes lisent l'index publié sans consulter
+ * la version du référentiel, et que la reconstruction en arrière-plan ne
+ * remplace l'index qu'au changement de version.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+public class InteractionIndexServiceTest {
+
+    @Mock
+    private MedicationService medicationService;
+
+    @InjectMocks
+    private InteractionIndexService interactionIndexService;
+
+    private Medication warfarin;
+    private Medication aspirin;
+    private Medication miconazole;
+
+    @BeforeEach
+    void setUp() {
+        warfarin = createMedication("med1", "11111111", "Coumadine", "Warfarine", List.of("Aspirine"));
+        aspirin = createMedication("med2", "22222222", "Kardégic", "Aspirine", List.of());
+        miconazole = createMedication("med3", "33333333", "Daktarin", "Miconazole", List.of("Warfarine"));
+    }
+
+    private Medication createMedication(String id, String cisCode, String name, String substance,
+                                        List<String> interactions) {
+        final Medication medication = new Medication(cisCode, name, substance);
+        try {
+            java.lang.reflect.Field idField = Medication.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(medication, id);
+
+            java.lang.reflect.Field interactionsField = Medication.class.getDeclaredField("interactions");
+            interactionsField.setAccessible(true);
+            interactionsField.set(medication, new ArrayList<>(interactions));
+        } catch (Exception e) {
+            fail("Erreur lors de la modification des champs finals du médicament: " + e.getMessage());
+        }
+        return medication;
+    }
+
+    @Test
+    @DisplayName("Test des requêtes servies par l'index publié sans relire la version")
+    void testQueriesUsePublishedIndex() {
+        // Configuration
+        when(medicationService.getCatalogueVersion()).thenReturn(1L);
+        when(medicationService.getAllMedications()).thenReturn(List.of(warfarin, aspirin));
+
+        // Exécution
+        final boolean first = interactionIndexService.interacts("med1", "med2");
+        final boolean second = interactionIndexService.interacts("med2", "med1");
+
+        // Vérification: construction à la première utilisation uniquement
+        assertTrue(first && second, "La warfarine interagit avec l'aspirine");
+        assertEquals(1L, interactionIndexService.getIndexedVersion());
+        verify(medicationService, times(1)).getCatalogueVersion();
+        verify(medicationService, times(1)).getAllMedications();
+    }
+
+    @Test
+    @DisplayName("Test de la reconstruction en arrière-plan au changement de version")
+    void testRefreshRebuildsOnlyOnVersionChange() {
+        // Configuration
+        when(medicationService.getCatalogueVersion()).thenReturn(1L, 1L, 2L);
+        when(medicationService.getAllMedications())
+            .thenReturn(List.of(warfarin, aspirin))
+            .thenReturn(List.of(warfarin, aspirin, miconazole));
+        interactionIndexService.getGraph();
+
+        // Exécution et vérification
+        interactionIndexService.refreshIndex();
+        assertFalse(interactionIndexService.interacts("med1", "med3"), "Le miconazole est encore inconnu");
+
+        interactionIndexService.refreshIndex();
+        assertTrue(interactionIndexService.interacts("med1", "med3"), "Le nouvel index devrait être publié");
+        assertEquals(2L, interactionIndexService.getIndexedVersion());
+        verify(medicationService, times(2)).getAllMedications();
+    }
+
+    @Test
+    @DisplayName("Test de conservation de l'index publié lorsque la reconstruction échoue")
+    void testRefreshFailureKeepsIndex() {
+        // Configuration
+        when(medicationService.getCatalogueVersion()).thenReturn(1L)
+            .thenThrow(new IllegalStateException("Base indisponible"));
+        when(medicationService.getAllMedications()).thenReturn(List.of(warfarin, aspirin));
+        interactionIndexService.getGraph();
+
+        // Exécution
+        interactionIndexService.refreshIndex();
+
+        // Vérification
+        assertTrue(interactionIndexService.interacts("med1", "med2"), "L'index précédent devrait rester servi");
+        assertEquals(1L, interactionIndexService.getIndexedVersion());
+    }
+}
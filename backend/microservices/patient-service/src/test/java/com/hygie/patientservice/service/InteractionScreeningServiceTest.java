@@ -0,0 +1,170 @@
+package com.hygie.patientservice.service;
+
+import com.hygie.patientservice.model.Prescription;
+import com.hygie.patientservice.model.PrescriptionItem;
+import com.hygie.patientservice.service.InteractionScreeningService.InteractionScreening;
+import com.hygie.patientservice.service.InteractionScreeningService.ScreeningStatus;
+import com.hygie.patientservice.service.PrescriptionService.PrescriptionItemPair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour le service de dépistage des interactions à la prescription.
+ *
+ * Ces tests vérifient le dépistage incrémental (nouveaux items uniquement)
+ * et le repli asynchrone lorsque le budget de latence est dépassé.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+public class InteractionScreeningServiceTest {
+
+    @Mock
+    private InteractionIndexService interactionIndexService;
+
+    private ExecutorService executor;
+    private PrescriptionItem warfarin;
+    private PrescriptionItem aspirin;
+    private PrescriptionItem paracetamol;
+    private PrescriptionItem omeprazole;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        warfarin = new PrescriptionItem("med1", "Coumadine", "5 mg", "1 fois par jour", 30);
+        aspirin = new PrescriptionItem("med2", "Kardégic", "75 mg", "1 fois par jour", 30);
+        paracetamol = new PrescriptionItem("med3", "Doliprane", "1 g", "3 fois par jour", 5);
+        omeprazole = new PrescriptionItem("med4", "Mopral", "20 mg", "1 fois par jour", 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Prescription createPrescription(String id, List<PrescriptionItem> items) {
+        final Prescription prescription = new Prescription("p1", "d1", "Généraliste",
+            LocalDate.now(), 3, false, 0);
+        try {
+            java.lang.reflect.Field idField = Prescription.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(prescription, id);
+
+            java.lang.reflect.Field itemsField = Prescription.class.getDeclaredField("prescriptionItems");
+            itemsField.setAccessible(true);
+            itemsField.set(prescription, new ArrayList<>(items));
+        } catch (Exception e) {
+            fail("Erreur lors de la modification des champs finals de la prescription: " + e.getMessage());
+        }
+        return prescription;
+    }
+
+    @Test
+    @DisplayName("Test du dépistage limité aux paires impliquant un nouvel item")
+    void testScreenNewItemsOnlyChecksNewPairs() {
+        // Configuration
+        final InteractionScreeningService service =
+            new InteractionScreeningService(interactionIndexService, executor, 1000);
+        when(interactionIndexService.interacts(anyString(), anyString())).thenReturn(false);
+        when(interactionIndexService.interacts("med2", "med1")).thenReturn(true);
+
+        // Exécution: aspirine nouvellement prescrite, warfarine, paracétamol et oméprazole en cours
+        final List<PrescriptionItemPair> interactions = service.screenNewItems(
+            List.of(aspirin), List.of(warfarin, paracetamol, omeprazole, aspirin));
+
+        // Vérification
+        assertEquals(1, interactions.size(), "Une seule interaction devrait être détectée");
+        assertSame(aspirin, interactions.get(0).getItem1());
+        assertSame(warfarin, interactions.get(0).getItem2());
+        verify(interactionIndexService, times(3)).interacts(anyString(), anyString());
+        verify(interactionIndexService, never()).interacts("med1", "med3");
+    }
+
+    @Test
+    @DisplayName("Test du dépistage terminé dans le budget de latence")
+    void testScreenCompletedWithinBudget() {
+        // Configuration
+        final InteractionScreeningService service =
+            new InteractionScreeningService(interactionIndexService, executor, 5000);
+        when(interactionIndexService.interacts("med2", "med1")).thenReturn(true);
+        final Prescription prescription = createPrescription("presc1", List.of(aspirin));
+
+        // Exécution
+        final InteractionScreening screening = service.screen(prescription, () -> List.of(warfarin, aspirin));
+
+        // Vérification
+        assertEquals(ScreeningStatus.COMPLETED, screening.getStatus());
+        assertEquals(1, screening.getInteractions().size());
+        assertTrue(service.getScreening("presc1").isPresent(), "Le résultat devrait être conservé");
+    }
+
+    @Test
+    @DisplayName("Test du repli asynchrone lorsque le budget de latence est dépassé")
+    void testScreenFallsBackToPendingWhenBudgetExceeded() throws Exception {
+        // Configuration
+        final InteractionScreeningService service =
+            new InteractionScreeningService(interactionIndexService, executor, 10);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Prescription prescription = createPrescription("presc2", List.of(paracetamol));
+
+        // Exécution: le chargement du traitement en cours est bloqué au-delà du budget
+        final InteractionScreening screening = service.screen(prescription, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(omeprazole);
+        });
+
+        // Vérification
+        assertEquals(ScreeningStatus.PENDING, screening.getStatus());
+        assertEquals(ScreeningStatus.PENDING, service.getScreening("presc2").orElseThrow().getStatus());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(ScreeningStatus.COMPLETED, service.getScreening("presc2").orElseThrow().getStatus(),
+            "Le résultat asynchrone devrait remplacer le statut PENDING");
+    }
+
+    @Test
+    @DisplayName("Test du statut FAILED rendu en ligne et conservé lorsque le dépistage échoue")
+    void testScreenFailureIsReportedAndStored() throws Exception {
+        // Configuration
+        final InteractionScreeningService service =
+            new InteractionScreeningService(interactionIndexService, executor, 5000);
+        final Prescription prescription = createPrescription("presc3", List.of(aspirin));
+
+        // Exécution: le chargement du traitement en cours échoue
+        final InteractionScreening screening = service.screen(prescription, () -> {
+            throw new IllegalStateException("Base indisponible");
+        });
+
+        // Vérification
+        assertEquals(ScreeningStatus.FAILED, screening.getStatus(), "L'échec devrait être rendu en ligne");
+        assertTrue(screening.getInteractions().isEmpty());
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(ScreeningStatus.FAILED, service.getScreening("presc3").orElseThrow().getStatus(),
+            "L'échec devrait rester consultable par ID de prescription");
+    }
+}
@@ -1,7 +1,13 @@
 package com.hygie.patientservice.service;
 
+import com.hygie.patientservice.model.CatalogueVersion;
 import com.hygie.patientservice.model.Medication;
+import com.hygie.patientservice.repository.CatalogueVersionRepository;
 import com.hygie.patientservice.repository.MedicationRepository;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -35,6 +42,9 @@ public class MedicationServiceTest {
     @Mock
     private MedicationRepository medicationRepository;
 
+    @Mock
+    private CatalogueVersionRepository catalogueVersionRepository;
+
     @InjectMocks
     private MedicationService medicationService;
 
@@ -237,4 +247,69 @@ public class MedicationServiceTest {
         assertNull(result, "Le résultat devrait être null pour un médicament inexistant");
         verify(medicationRepository, never()).save(any(Medication.class));
     }
+
+    @Test
+    @DisplayName("Test d'incrémentation en base de la version du référentiel à la mise à jour")
+    void testUpdateMedicationIncrementsCatalogueVersion() {
+        // Configuration
+        Medication updatedMedication = new Medication("12345678", "Doliprane Forte", "Paracétamol");
+        when(medicationRepository.findById("1")).thenReturn(Optional.of(medication1));
+        when(medicationRepository.save(any(Medication.class))).thenReturn(updatedMedication);
+        when(catalogueVersionRepository.findAndIncrementVersionById(MedicationService.CATALOGUE_ID)).thenReturn(1L);
+
+        // Exécution
+        medicationService.updateMedication("1", updatedMedication);
+
+        // Vérification
+        verify(catalogueVersionRepository, times(1)).findAndIncrementVersionById(MedicationService.CATALOGUE_ID);
+        verify(catalogueVersionRepository, never()).insert(any(CatalogueVersion.class));
+    }
+
+    @Test
+    @DisplayName("Test de création de la version du référentiel à la première modification")
+    void testFirstModificationCreatesCatalogueVersion() {
+        // Configuration
+        when(medicationRepository.findByCisCode("12345678")).thenReturn(Optional.empty());
+        when(medicationRepository.save(any(Medication.class))).thenReturn(medication1);
+        when(catalogueVersionRepository.findAndIncrementVersionById(MedicationService.CATALOGUE_ID)).thenReturn(0L);
+
+        // Exécution
+        medicationService.saveMedication(medication1);
+
+        // Vérification
+        verify(catalogueVersionRepository, times(1)).insert(argThat((CatalogueVersion version) ->
+                version.getId().equals(MedicationService.CATALOGUE_ID) && version.getVersion() == 1L));
+    }
+
+    @Test
+    @DisplayName("Test de lecture en base de la version du référentiel")
+    void testGetCatalogueVersion() {
+        // Configuration
+        when(catalogueVersionRepository.findById(MedicationService.CATALOGUE_ID))
+            .thenReturn(Optional.empty(), Optional.of(new CatalogueVersion(MedicationService.CATALOGUE_ID, 7L)));
+
+        // Exécution et vérification
+        assertEquals(0L, medicationService.getCatalogueVersion(), "Un référentiel jamais modifié est en version 0");
+        assertEquals(7L, medicationService.getCatalogueVersion(), "La version devrait être lue en base");
+    }
+
+    @Test
+    @DisplayName("Test de la mesure des appels au service par TimedAspect")
+    void testServiceCallsAreTimed() {
+        // Configuration
+        when(medicationRepository.findById("1")).thenReturn(Optional.of(medication1));
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(medicationService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TimedAspect(registry));
+        MedicationService timedService = proxyFactory.getProxy();
+
+        // Exécution
+        timedService.getMedicationById("1");
+
+        // Vérification
+        Timer timer = registry.find("hygie.service").tag("method", "getMedicationById").timer();
+        assertNotNull(timer, "L'appel devrait être mesuré par le timer hygie.service");
+        assertEquals(1, timer.count(), "Un seul appel devrait être comptabilisé");
+    }
 }
@@ -41,6 +41,9 @@ public class PrescriptionServiceTest {
     @Mock
     private MedicationService medicationService;
 
+    @Mock
+    private InteractionCacheService interactionCacheService;
+
     @InjectMocks
     private PrescriptionService prescriptionService;
 
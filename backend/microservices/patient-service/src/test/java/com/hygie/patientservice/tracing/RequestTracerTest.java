@@ -0,0 +1,95 @@
+package com.hygie.patientservice.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la trace des requêtes portée par le thread.
+ *
+ * Ces tests vérifient l'imbrication des étapes, le calcul du temps propre par
+ * catégorie et la limite du nombre d'étapes détaillées.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class RequestTracerTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTracer.end();
+    }
+
+    private static void spin(long nanos) {
+        final long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    @DisplayName("Test des étapes inertes hors d'une requête tracée")
+    void testSpansAreNoOpWithoutTrace() {
+        // Exécution
+        final RequestTrace.Span span = RequestTracer.startSpan(SpanCategory.SERVICE, "PatientService.getPatientById");
+        span.close();
+
+        // Vérification
+        assertFalse(RequestTracer.isActive(), "Aucune trace ne devrait être active");
+        assertNull(RequestTracer.end(), "Aucune trace ne devrait être retournée");
+    }
+
+    @Test
+    @DisplayName("Test de l'imbrication des étapes et du temps propre par catégorie")
+    void testNestedSpansAccountSelfTime() {
+        // Configuration
+        final RequestTrace trace = RequestTracer.begin("corr-1", "GET", "/api/patients/p1", 16);
+
+        // Exécution
+        final RequestTrace.Span service = RequestTracer.startSpan(SpanCategory.SERVICE, "PatientService.getPatientById");
+        spin(2_000_000L);
+        trace.openCommand(7, "find patients");
+        spin(3_000_000L);
+        trace.closeCommand(7);
+        service.close();
+        final RequestTrace.Span write = RequestTracer.startSpan(SpanCategory.SERIALIZATION, "write Patient");
+        write.close();
+
+        // Vérification
+        assertSame(trace, RequestTracer.end(), "La trace démarrée devrait être retournée");
+        final List<RequestTrace.Span> spans = trace.getSpans();
+        assertEquals(3, spans.size(), "Trois étapes devraient être enregistrées");
+        assertEquals(0, spans.get(0).getDepth(), "Le service devrait être à la racine");
+        assertEquals(SpanCategory.MONGO, spans.get(1).getCategory(), "La deuxième étape devrait être MongoDB");
+        assertEquals(1, spans.get(1).getDepth(), "La commande devrait être imbriquée dans le service");
+        assertTrue(spans.stream().allMatch(RequestTrace.Span::isClosed), "Toutes les étapes devraient être fermées");
+
+        final long serviceTotal = spans.get(0).getDurationNanos(System.nanoTime());
+        final long mongoSelf = trace.getSelfNanos(SpanCategory.MONGO);
+        assertTrue(mongoSelf >= 3_000_000L, "Le temps MongoDB devrait couvrir la commande");
+        assertEquals(serviceTotal, trace.getSelfNanos(SpanCategory.SERVICE) + mongoSelf,
+            "Le temps propre du service devrait exclure la commande imbriquée");
+    }
+
+    @Test
+    @DisplayName("Test de la limite du nombre d'étapes détaillées")
+    void testSpanLimitKeepsBreakdown() {
+        // Configuration
+        final RequestTrace trace = RequestTracer.begin("corr-2", "GET", "/api/medications", 2);
+
+        // Exécution
+        for (int i = 0; i < 5; i++) {
+            trace.openCommand(i, "find medications");
+            trace.closeCommand(i);
+        }
+
+        // Vérification
+        assertEquals(2, trace.getSpans().size(), "Seules deux étapes devraient être détaillées");
+        assertEquals(3, trace.getDroppedSpans(), "Trois étapes devraient être comptées comme ignorées");
+        assertTrue(trace.getSelfNanos(SpanCategory.MONGO) > 0, "La ventilation devrait inclure toutes les étapes");
+    }
+}
@@ -0,0 +1,93 @@
+package com.hygie.patientservice.tracing;
+
+import com.hygie.patientservice.tracing.SlowRequestRecorder.SlowRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le tampon circulaire des requêtes lentes.
+ *
+ * Ces tests vérifient le seuil de lenteur, l'ordre de consultation, l'écrasement
+ * des plus anciennes requêtes et la ventilation exposée.
+ *
+ * @author Hygie-AI Team
+ * @version 1.0.0
+ */
+public class SlowRequestRecorderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        RequestTracer.end();
+    }
+
+    private static RequestTrace trace(String correlationId) {
+        final RequestTrace trace = RequestTracer.begin(correlationId, "GET", "/api/prescriptions", 16);
+        trace.openCommand(1, "find prescriptions");
+        trace.closeCommand(1);
+        return RequestTracer.end();
+    }
+
+    @Test
+    @DisplayName("Test de l'ignorance des requêtes sous le seuil")
+    void testFastRequestIsNotRecorded() {
+        // Configuration
+        final SlowRequestRecorder recorder = new SlowRequestRecorder(meterRegistry, true, 60_000, 4, 16);
+
+        // Exécution
+        final SlowRequest result = recorder.offer(trace("corr-fast"), 200);
+
+        // Vérification
+        assertNull(result, "Une requête rapide ne devrait pas être conservée");
+        assertTrue(recorder.getRecent().isEmpty(), "Le tampon devrait rester vide");
+        assertEquals(0.0, meterRegistry.get("hygie.requests.slow").counter().count());
+    }
+
+    @Test
+    @DisplayName("Test de la ventilation d'une requête lente")
+    void testSlowRequestBreakdown() {
+        // Configuration
+        final SlowRequestRecorder recorder = new SlowRequestRecorder(meterRegistry, true, 0, 4, 16);
+
+        // Exécution
+        final SlowRequest result = recorder.offer(trace("corr-slow"), 200);
+
+        // Vérification
+        assertNotNull(result, "La requête devrait être conservée");
+        assertEquals("corr-slow", result.getCorrelationId());
+        assertEquals(1, result.getSpans().size(), "La commande MongoDB devrait être détaillée");
+        assertEquals("find prescriptions", result.getSpans().get(0).getName());
+        assertEquals(List.of("service", "mongo", "serialization", "other"),
+            List.copyOf(result.getBreakdownMs().keySet()), "Toutes les catégories devraient être ventilées");
+        final double breakdownTotal = result.getBreakdownMs().values().stream().mapToDouble(Double::doubleValue).sum();
+        assertEquals(result.getDurationMs(), breakdownTotal, 1e-6, "La ventilation devrait couvrir toute la durée");
+        assertSame(result, recorder.find("corr-slow"), "La requête devrait être retrouvée par son ID de corrélation");
+        assertEquals(1.0, meterRegistry.get("hygie.requests.slow").counter().count());
+    }
+
+    @Test
+    @DisplayName("Test de l'écrasement des plus anciennes requêtes")
+    void testRingBufferKeepsMostRecent() {
+        // Configuration
+        final SlowRequestRecorder recorder = new SlowRequestRecorder(meterRegistry, true, 0, 3, 16);
+
+        // Exécution
+        for (int i = 1; i <= 5; i++) {
+            recorder.offer(trace("corr-" + i), 200);
+        }
+
+        // Vérification
+        final List<SlowRequest> recent = recorder.getRecent();
+        assertEquals(3, recent.size(), "Le tampon devrait être limité à sa capacité");
+        assertEquals("corr-5", recent.get(0).getCorrelationId(), "La plus récente devrait être en tête");
+        assertEquals("corr-3", recent.get(2).getCorrelationId(), "La plus ancienne conservée devrait être la troisième");
+        assertNull(recorder.find("corr-1"), "Les plus anciennes requêtes devraient être écrasées");
+    }
+}